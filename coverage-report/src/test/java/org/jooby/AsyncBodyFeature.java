@@ -0,0 +1,57 @@
+package org.jooby;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+
+public class AsyncBodyFeature extends ServerFeature {
+
+  {
+    post("/body", promise((req, deferred) -> {
+      req.body((body, x) -> {
+        if (x == null) {
+          deferred.resolve(body.value().length());
+        } else {
+          deferred.reject(x);
+        }
+      });
+    }));
+
+    post("/int", promise((req, deferred) -> {
+      req.body((body, x) -> {
+        deferred.resolve(body.intValue() * 2);
+      });
+    }));
+
+    post("/empty", promise((req, deferred) -> {
+      req.body((body, x) -> {
+        deferred.resolve(body.isSet());
+      });
+    }));
+  }
+
+  @Test
+  public void asyncBody() throws Exception {
+    request()
+        .post("/int")
+        .body("21", "text/plain")
+        .expect("42");
+  }
+
+  @Test
+  public void largeBody() throws Exception {
+    request()
+        .post("/body")
+        .body(Strings.repeat("a", 128 * 1024), "text/plain")
+        .expect(String.valueOf(128 * 1024));
+  }
+
+  @Test
+  public void emptyBody() throws Exception {
+    request()
+        .post("/empty")
+        .expect("false");
+  }
+
+}
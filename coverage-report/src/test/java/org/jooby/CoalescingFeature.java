@@ -0,0 +1,177 @@
+package org.jooby;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooby.handlers.CoalescingHandler;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+
+public class CoalescingFeature extends ServerFeature {
+
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  {
+    use("*", new CoalescingHandler().threads(1));
+
+    get("/flight", req -> {
+      int n = counter.incrementAndGet();
+      Thread.sleep(500L);
+      return "flight:" + req.param("q").value() + ":" + n;
+    }).attr("coalesce", "5s");
+
+    get("/slow", () -> {
+      Thread.sleep(1500L);
+      return "slow";
+    }).attr("coalesce", "100ms");
+
+    get("/private", (req, rsp) -> {
+      int n = counter.incrementAndGet();
+      Thread.sleep(500L);
+      rsp.header("Cache-Control", "private").send("private:" + n);
+    }).attr("coalesce", "5s");
+
+    get("/fail", () -> {
+      counter.incrementAndGet();
+      Thread.sleep(500L);
+      throw new Err(Status.BAD_REQUEST);
+    }).attr("coalesce", "5s");
+  }
+
+  @Test
+  public void followersGetLeaderResponse() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      int before = counter.get();
+      List<Future<String>> responses = new ArrayList<>();
+      responses.add(executor.submit(() -> get("/flight?q=1")));
+      Thread.sleep(150L);
+      for (int i = 0; i < 4; i++) {
+        responses.add(executor.submit(() -> get("/flight?q=1")));
+      }
+      String leader = responses.get(0).get();
+      assertEquals("flight:1:" + (before + 1), leader);
+      for (Future<String> rsp : responses) {
+        assertEquals(leader, rsp.get());
+      }
+      assertEquals(before + 1, counter.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void followersRunPrivateResponses() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      int before = counter.get();
+      Future<String> leader = executor.submit(() -> get("/private"));
+      Thread.sleep(150L);
+      Future<String> follower = executor.submit(() -> get("/private"));
+      assertEquals("private:" + (before + 1), leader.get());
+      assertEquals("private:" + (before + 2), follower.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void followersShareBoundedThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      int before = counter.get();
+      Future<String> leader = executor.submit(() -> get("/private"));
+      Thread.sleep(150L);
+      Future<String> f1 = executor.submit(() -> get("/private"));
+      Future<String> f2 = executor.submit(() -> get("/private"));
+      assertEquals("private:" + (before + 1), leader.get());
+      // one follower thread: followers run one after the other
+      assertEquals(ImmutableSet.of("private:" + (before + 2), "private:" + (before + 3)),
+          ImmutableSet.of(f1.get(), f2.get()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void credentialedRequestsAreNotCoalesced() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      int before = counter.get();
+      Future<String> leader = executor.submit(() -> get("/flight?q=2", "Authorization"));
+      Thread.sleep(150L);
+      Future<String> other = executor.submit(() -> get("/flight?q=2", "Cookie"));
+      assertEquals(false, leader.get().equals(other.get()));
+      assertEquals(before + 2, counter.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void maxWait() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> leader = executor.submit(() -> get("/slow"));
+      Thread.sleep(150L);
+      Future<String> follower = executor.submit(() -> get("/slow"));
+      assertEquals("503", follower.get());
+      assertEquals("slow", leader.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void leaderErr() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      int before = counter.get();
+      Future<String> leader = executor.submit(() -> get("/fail"));
+      Thread.sleep(150L);
+      Future<String> follower = executor.submit(() -> get("/fail"));
+      assertEquals("400", leader.get());
+      assertEquals("400", follower.get());
+      assertEquals(before + 1, counter.get());
+      // flight is gone, next request runs the route again
+      assertEquals("400", get("/fail"));
+      assertEquals(before + 2, counter.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private String get(final String path, final String... credentials) throws Exception {
+    HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path)
+        .openConnection();
+    for (String credential : credentials) {
+      connection.setRequestProperty(credential, "Authorization".equals(credential)
+          ? "Basic dTpw"
+          : "sid=1");
+    }
+    try {
+      if (connection.getResponseCode() != 200) {
+        return Integer.toString(connection.getResponseCode());
+      }
+      try (InputStream in = connection.getInputStream()) {
+        return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+}
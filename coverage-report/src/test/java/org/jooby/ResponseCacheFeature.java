@@ -0,0 +1,168 @@
+package org.jooby;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jooby.handlers.ResponseCacheHandler;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+public class ResponseCacheFeature extends ServerFeature {
+
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  private static final AtomicInteger stale = new AtomicInteger();
+
+  private static final AtomicInteger staleAuth = new AtomicInteger();
+
+  {
+    use("*", new ResponseCacheHandler().vary("Accept-Language"));
+
+    get("/cached", req -> "cached:" + req.param("q").value("") + ":"
+        + req.header("Accept-Language").value("") + ":" + counter.incrementAndGet())
+            .attr("cache", "1h");
+
+    get("/nocache", () -> "nocache:" + counter.incrementAndGet());
+
+    get("/cookie", (req, rsp) -> {
+      rsp.cookie("c", "v").send("cookie:" + counter.incrementAndGet());
+    }).attr("cache", "1h");
+
+    get("/auth", () -> "auth:" + counter.incrementAndGet())
+        .attr("cache", "1h");
+
+    get("/auth/public", (req, rsp) -> {
+      rsp.header("Cache-Control", "public").send("public:" + counter.incrementAndGet());
+    }).attr("cache", "1h");
+
+    get("/stale", () -> "stale:" + stale.incrementAndGet())
+        .attr("cache", 0)
+        .attr("staleWhileRevalidate", "1h");
+
+    get("/stale/auth", (req, rsp) -> {
+      rsp.header("Cache-Control", "public")
+          .send(req.header("Authorization").value("anonymous") + ":"
+              + staleAuth.incrementAndGet());
+    }).attr("cache", 0)
+        .attr("staleWhileRevalidate", "1h");
+  }
+
+  @Test
+  public void cache() throws Exception {
+    request()
+        .get("/cached?q=1")
+        .expect(rsp -> {
+          request()
+              .get("/cached?q=2")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+          request()
+              .get("/cached?q=1")
+              .header("Accept-Language", "es")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+          request()
+              .get("/cached?q=1")
+              .header("Accept", "text/plain")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+          request()
+              .get("/cached?q=1")
+              .expect(rsp)
+              .header("Vary", "Accept, Accept-Language")
+              .header("ETag", etag -> {
+                request()
+                    .get("/cached?q=1")
+                    .header("If-None-Match", etag)
+                    .expect(304)
+                    .empty();
+              });
+        });
+  }
+
+  @Test
+  public void skip() throws Exception {
+    request()
+        .get("/nocache")
+        .expect(rsp -> {
+          request()
+              .get("/nocache")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+        });
+    request()
+        .get("/cookie")
+        .expect(rsp -> {
+          request()
+              .get("/cookie")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+        });
+  }
+
+  @Test
+  public void authorized() throws Exception {
+    request()
+        .get("/auth")
+        .header("Authorization", "Basic dTpw")
+        .expect(rsp -> {
+          request()
+              .get("/auth")
+              .header("Authorization", "Basic dTpw")
+              .expect(it -> assertEquals(false, rsp.equals(it)));
+        });
+    request()
+        .get("/auth/public")
+        .header("Authorization", "Basic dTpw")
+        .expect(rsp -> {
+          request()
+              .get("/auth/public")
+              .header("Authorization", "Basic dTpw")
+              .expect(rsp);
+        });
+  }
+
+  @Test
+  public void staleWhileRevalidate() throws Exception {
+    request()
+        .get("/stale")
+        .expect(value -> {
+          int n = Integer.parseInt(value.substring("stale:".length()));
+          // stale response, refresh in background
+          request()
+              .get("/stale")
+              .expect(value);
+          // refresh happens once the stale response was sent
+          String expected = "stale:" + (n + 1);
+          AtomicReference<String> fresh = new AtomicReference<>(value);
+          for (int i = 0; i < 20 && fresh.get().equals(value); i++) {
+            Thread.sleep(50L);
+            request()
+                .get("/stale")
+                .expect(fresh::set);
+          }
+          assertEquals(expected, fresh.get());
+        });
+  }
+
+  @Test
+  public void refreshDoesNotReplayCredentials() throws Exception {
+    request()
+        .get("/stale/auth")
+        .header("Authorization", "Basic dTpw")
+        .expect(value -> {
+          assertEquals(true, value.startsWith("Basic dTpw:"));
+          // stale response, refresh in background
+          request()
+              .get("/stale/auth")
+              .header("Authorization", "Basic dTpw")
+              .expect(value);
+          AtomicReference<String> fresh = new AtomicReference<>(value);
+          for (int i = 0; i < 20 && fresh.get().equals(value); i++) {
+            Thread.sleep(50L);
+            request()
+                .get("/stale/auth")
+                .expect(fresh::set);
+          }
+          assertEquals(true, fresh.get().startsWith("anonymous:"));
+        });
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.jooby;
+
+import java.util.concurrent.CountDownLatch;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Binder;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class StartupDeferredFeature extends ServerFeature {
+
+  @Singleton
+  public static class SlowService {
+    @Inject
+    public SlowService(final CountDownLatch latch) throws InterruptedException {
+      latch.await();
+    }
+  }
+
+  public static class Slow implements Jooby.Module {
+    private CountDownLatch latch;
+
+    public Slow(final CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void configure(final Env env, final Config conf, final Binder binder) {
+      binder.bind(CountDownLatch.class).toInstance(latch);
+      binder.bind(SlowService.class);
+    }
+  }
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("application.env", ConfigValueFactory.fromAnyRef("prod"))
+        .withValue("startup.deferred", ConfigValueFactory
+            .fromIterable(ImmutableList.of(Slow.class.getName()))));
+
+    use(new Slow(new CountDownLatch(1)));
+
+    get("/ready", req -> req.require(Readiness.class).isReady());
+
+    get("/release", req -> {
+      req.require(CountDownLatch.class).countDown();
+      return "released";
+    });
+  }
+
+  @Test
+  public void warmup() throws Exception {
+    request()
+        .get("/ready")
+        .expect("false");
+
+    request()
+        .get("/release")
+        .expect("released");
+
+    for (int i = 0; i < 50; i++) {
+      Thread.sleep(100L);
+      boolean[] ready = {false };
+      request()
+          .get("/ready")
+          .expect(rsp -> ready[0] = Boolean.parseBoolean(rsp));
+      if (ready[0]) {
+        return;
+      }
+    }
+    throw new AssertionError("warm-up didn't complete");
+  }
+
+}
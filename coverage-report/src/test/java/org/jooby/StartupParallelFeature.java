@@ -0,0 +1,71 @@
+package org.jooby;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Binder;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class StartupParallelFeature extends ServerFeature {
+
+  public static class Pool implements Jooby.Module {
+    private List<String> calls;
+
+    public Pool(final List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public void configure(final Env env, final Config conf, final Binder binder) {
+      env.onStart(() -> {
+        Thread.sleep(100L);
+        calls.add("pool");
+      });
+    }
+  }
+
+  public static class Migration implements Jooby.Module {
+    private List<String> calls;
+
+    public Migration(final List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public void configure(final Env env, final Config conf, final Binder binder) {
+      env.onStart(() -> calls.add("migration"));
+    }
+  }
+
+  {
+    List<String> calls = new CopyOnWriteArrayList<>();
+
+    use(ConfigFactory.empty()
+        .withValue("startup.parallel", ConfigValueFactory.fromAnyRef(true))
+        .withValue("startup.dependencies", ConfigValueFactory.fromMap(ImmutableMap.of(
+            Migration.class.getName(), ImmutableList.of(Pool.class.getName())))));
+
+    use(new Migration(calls));
+
+    use(new Pool(calls));
+
+    onStart(() -> calls.add("app"));
+
+    get("/", () -> calls.toString());
+  }
+
+  @Test
+  public void dependencies() throws Exception {
+    request()
+        .get("/")
+        .expect("[pool, migration, app]");
+  }
+
+}
@@ -0,0 +1,48 @@
+package org.jooby;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class TextWriterFeature extends ServerFeature {
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("server.http.ResponseBufferSize", ConfigValueFactory.fromAnyRef(512)));
+
+    renderer((value, ctx) -> {
+      if (value instanceof View) {
+        View view = (View) value;
+        ctx.send(writer -> {
+          writer.write(view.name());
+          writer.write(":");
+          writer.write(view.model().get("text").toString());
+        });
+      }
+    });
+
+    get("/", req -> Results.html("view").put("text", req.param("text").value()));
+  }
+
+  @Test
+  public void shortTextShouldSetContentLength() throws Exception {
+    request()
+        .get("/?text=hello")
+        .expect("view:hello")
+        .header("Content-Length", "10")
+        .header("Content-Type", "text/html;charset=UTF-8");
+  }
+
+  @Test
+  public void largeTextShouldSetContentLength() throws Exception {
+    String text = Strings.repeat("x", 1024);
+    request()
+        .get("/?text=" + text)
+        .expect("view:" + text)
+        .header("Content-Length", "1029");
+  }
+
+}
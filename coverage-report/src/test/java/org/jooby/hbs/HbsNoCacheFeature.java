@@ -1,12 +1,12 @@
 package org.jooby.hbs;
 
-import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.jooby.test.ServerFeature;
 import org.junit.Test;
 
 import com.github.jknack.handlebars.Handlebars;
-import com.github.jknack.handlebars.cache.NullTemplateCache;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 
 public class HbsNoCacheFeature extends ServerFeature {
 
@@ -14,7 +14,8 @@ public class HbsNoCacheFeature extends ServerFeature {
     use(new Hbs());
 
     get("/", req -> {
-      assertSame(NullTemplateCache.INSTANCE, req.require(Handlebars.class).getCache());
+      // dev: templates are reloaded on file changes
+      assertTrue(req.require(Handlebars.class).getCache() instanceof ConcurrentMapTemplateCache);
       return "noop";
     });
   }
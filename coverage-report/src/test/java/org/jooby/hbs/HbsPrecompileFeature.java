@@ -0,0 +1,29 @@
+package org.jooby.hbs;
+
+import org.jooby.Results;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class HbsPrecompileFeature extends ServerFeature {
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("application.env", ConfigValueFactory.fromAnyRef("prod"))
+        .withValue("hbs.precompile", ConfigValueFactory.fromAnyRef(true)));
+
+    use(new Hbs("/org/jooby/hbs"));
+
+    get("/", req -> Results.html("index").put("model", req.param("model").value()));
+  }
+
+  @Test
+  public void hbs() throws Exception {
+    request()
+        .get("/?model=jooby")
+        .expect("<html><title>/org/jooby/hbs/index.html:index</title><body>jooby</body></html>");
+  }
+
+}
@@ -0,0 +1,65 @@
+package org.jooby.jackson;
+
+import org.jooby.json.Cbor;
+import org.jooby.json.Jackson;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class CborFeature extends ServerFeature {
+
+  private static ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+  {
+    use(new Jackson());
+
+    use(new Cbor());
+
+    get("/cbor", req -> ImmutableMap.of("id", 1, "name", "cbor"));
+
+    get("/cbor/iterator", req -> ImmutableList.of(ImmutableMap.of("id", 1)).iterator());
+
+    get("/cbor/produces", req -> ImmutableMap.of("id", 1))
+        .produces(Cbor.TYPE);
+  }
+
+  @Test
+  public void json() throws Exception {
+    request()
+        .get("/cbor")
+        .expect("{\"id\":1,\"name\":\"cbor\"}")
+        .header("Content-Type", "application/json;charset=UTF-8");
+  }
+
+  @Test
+  public void cbor() throws Exception {
+    byte[] bytes = cbor.writeValueAsBytes(ImmutableMap.of("id", 1, "name", "cbor"));
+    request()
+        .get("/cbor")
+        .header("Accept", "application/cbor")
+        .expect(bytes)
+        .header("Content-Type", "application/cbor")
+        .header("Content-Length", bytes.length);
+  }
+
+  @Test
+  public void iterator() throws Exception {
+    request()
+        .get("/cbor/iterator")
+        .header("Accept", "application/cbor")
+        .expect(cbor.writeValueAsBytes(ImmutableList.of(ImmutableMap.of("id", 1))));
+  }
+
+  @Test
+  public void produces() throws Exception {
+    request()
+        .get("/cbor/produces")
+        .expect(cbor.writeValueAsBytes(ImmutableMap.of("id", 1)))
+        .header("Content-Type", "application/cbor");
+  }
+
+}
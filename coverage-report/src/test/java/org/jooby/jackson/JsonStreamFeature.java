@@ -0,0 +1,48 @@
+package org.jooby.jackson;
+
+import java.util.stream.IntStream;
+
+import org.jooby.json.Jackson;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class JsonStreamFeature extends ServerFeature {
+
+  {
+    use(new Jackson());
+
+    get("/iterator", req -> ImmutableList.of(ImmutableMap.of("id", 1), ImmutableMap.of("id", 2))
+        .iterator());
+
+    get("/stream", req -> IntStream.range(0, req.param("size").intValue())
+        .mapToObj(i -> ImmutableMap.of("id", i)));
+  }
+
+  @Test
+  public void iterator() throws Exception {
+    request()
+        .get("/iterator")
+        .expect("[{\"id\":1},{\"id\":2}]")
+        .header("Content-Type", "application/json;charset=UTF-8");
+  }
+
+  @Test
+  public void stream() throws Exception {
+    request()
+        .get("/stream?size=2")
+        .expect("[{\"id\":0},{\"id\":1}]")
+        .header("Content-Type", "application/json;charset=UTF-8")
+        .header("Content-Length", 19);
+  }
+
+  @Test
+  public void largeStream() throws Exception {
+    request()
+        .get("/stream?size=5000")
+        .header("Transfer-Encoding", "chunked");
+  }
+
+}
@@ -0,0 +1,61 @@
+package org.jooby.jackson;
+
+import java.util.List;
+
+import org.jooby.json.Jackson;
+import org.jooby.mvc.Body;
+import org.jooby.mvc.GET;
+import org.jooby.mvc.POST;
+import org.jooby.mvc.Path;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class JsonWarmupFeature extends ServerFeature {
+
+  public static class Member {
+    public int id;
+
+    public String name;
+  }
+
+  @Path("/members")
+  public static class Resource {
+
+    @GET
+    public List<Member> list() {
+      Member member = new Member();
+      member.id = 1;
+      member.name = "pablo";
+      return ImmutableList.of(member);
+    }
+
+    @POST
+    public Member post(@Body final Member member) {
+      return member;
+    }
+  }
+
+  {
+    use(new Jackson());
+
+    use(Resource.class);
+  }
+
+  @Test
+  public void get() throws Exception {
+    request()
+        .get("/members")
+        .expect("[{\"id\":1,\"name\":\"pablo\"}]");
+  }
+
+  @Test
+  public void post() throws Exception {
+    request()
+        .post("/members")
+        .body("{\"id\":2,\"name\":\"vilma\"}", "application/json")
+        .expect("{\"id\":2,\"name\":\"vilma\"}");
+  }
+
+}
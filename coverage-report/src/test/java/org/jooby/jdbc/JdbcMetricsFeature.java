@@ -0,0 +1,88 @@
+package org.jooby.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.jooby.metrics.Metrics;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+import com.zaxxer.hikari.HikariDataSource;
+
+public class JdbcMetricsFeature extends ServerFeature {
+
+  {
+    MetricRegistry registry = new MetricRegistry();
+
+    use(ConfigFactory.empty()
+        .withValue("jdbc.metrics", ConfigValueFactory.fromAnyRef(true))
+        .withValue("db", ConfigValueFactory.fromAnyRef("mem"))
+        .withValue("audit", ConfigValueFactory.fromAnyRef("mem")));
+
+    use(new Metrics(registry));
+    use(new Jdbc());
+    use(new Jdbc("audit"));
+
+    onStart(r -> {
+      try (Connection conn = r.require(DataSource.class).getConnection();
+          Statement stt = conn.createStatement()) {
+        stt.execute("create table pets (id int primary key, name varchar(100))");
+      }
+    });
+
+    get("/pets/:id", req -> {
+      try (Connection conn = req.require(DataSource.class).getConnection();
+          PreparedStatement stt = conn.prepareStatement("select * from pets where id = ?")) {
+        stt.setInt(1, req.param("id").intValue());
+        stt.executeQuery().close();
+      }
+      return registry.getTimers().entrySet().stream()
+          .filter(e -> e.getKey().startsWith("h2.db.query."))
+          .map(e -> e.getKey() + "=" + e.getValue().getCount())
+          .sorted()
+          .collect(Collectors.joining("\n"));
+    });
+
+    get("/gauges", req -> registry.getGauges().keySet().stream()
+        .filter(k -> k.endsWith("ActiveConnections"))
+        .sorted()
+        .collect(Collectors.joining("\n")));
+
+    get("/unwrap", req -> req.require(DataSource.class).unwrap(HikariDataSource.class)
+        .getPoolName());
+  }
+
+  @Test
+  public void queryTimers() throws Exception {
+    request()
+        .get("/pets/1")
+        .expect("h2.db.query.create table pets (id int primary key, name varchar(?))=1\n"
+            + "h2.db.query.select * from pets where id = ?=1");
+
+    request()
+        .get("/pets/2")
+        .expect("h2.db.query.create table pets (id int primary key, name varchar(?))=1\n"
+            + "h2.db.query.select * from pets where id = ?=2");
+  }
+
+  @Test
+  public void poolGauges() throws Exception {
+    request()
+        .get("/gauges")
+        .expect("h2.audit.pool.ActiveConnections\nh2.db.pool.ActiveConnections");
+  }
+
+  @Test
+  public void unwrap() throws Exception {
+    request()
+        .get("/unwrap")
+        .expect("h2.db");
+  }
+}
@@ -0,0 +1,106 @@
+package org.jooby.jdbc;
+
+import static org.junit.Assert.assertNotEquals;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.jooby.jooq.jOOQ;
+import org.jooby.mvc.GET;
+import org.jooby.mvc.POST;
+import org.jooby.mvc.Path;
+import org.jooby.test.ServerFeature;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class QueryCacheFeature extends ServerFeature {
+
+  @Path("/mvc")
+  public static class Resource {
+
+    private static final AtomicInteger calls = new AtomicInteger();
+
+    @Path("/:id")
+    @GET
+    @Cached(value = "mvc", key = "{0}", tags = "pets")
+    public String get(final int id) {
+      return id + ":" + calls.incrementAndGet();
+    }
+
+    @POST
+    @Invalidate("pets")
+    public String save() {
+      return "saved";
+    }
+  }
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("db", ConfigValueFactory.fromAnyRef("mem")));
+
+    use(new jOOQ());
+
+    use(new QueryCache());
+
+    onStart(r -> {
+      try (Connection conn = r.require(DataSource.class).getConnection();
+          Statement stt = conn.createStatement()) {
+        stt.execute("create table pets (id int primary key, name varchar(100))");
+        stt.execute("insert into pets (id, name) values (1, 'pet1')");
+      }
+    });
+
+    get("/jooq/:id", req -> {
+      DSLContext ctx = req.require(DSLContext.class);
+      QueryCache cache = req.require(QueryCache.class);
+      return jOOQ.fetch(cache.of("jooq").tags("pets"), ctx.select(DSL.field("name"))
+          .from(DSL.table("pets"))
+          .where(DSL.field("id").eq(req.param("id").intValue())))
+          .getValue(0, 0);
+    });
+
+    get("/rename/:name", req -> {
+      req.require(DSLContext.class)
+          .update(DSL.table("pets"))
+          .set(DSL.field("name"), req.param("name").value())
+          .where(DSL.field("id").eq(1))
+          .execute();
+      return "renamed";
+    });
+
+    get("/invalidate", req -> {
+      req.require(QueryCache.class).invalidate("pets");
+      return "invalidated";
+    });
+
+    use(Resource.class);
+  }
+
+  @Test
+  public void jooq() throws Exception {
+    request().get("/jooq/1").expect("pet1");
+    request().get("/rename/cached").expect("renamed");
+    request().get("/jooq/1").expect("pet1");
+    request().get("/invalidate").expect("invalidated");
+    request().get("/jooq/1").expect("cached");
+    // reset
+    request().get("/rename/pet1").expect("renamed");
+    request().get("/invalidate").expect("invalidated");
+  }
+
+  @Test
+  public void mvc() throws Exception {
+    String[] value = new String[1];
+    request().get("/mvc/7").expect(v -> value[0] = v);
+    request().get("/mvc/7").expect(value[0]);
+    request().post("/mvc").expect("saved");
+    request().get("/mvc/7").expect(v -> assertNotEquals(value[0], v));
+  }
+}
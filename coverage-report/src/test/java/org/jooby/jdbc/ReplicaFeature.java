@@ -0,0 +1,84 @@
+package org.jooby.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class ReplicaFeature extends ServerFeature {
+
+  private static String url(final String name) {
+    return "jdbc:h2:mem:replica_" + name + ";DB_CLOSE_DELAY=-1";
+  }
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("db.url", ConfigValueFactory.fromAnyRef(url("main")))
+        .withValue("db.user", ConfigValueFactory.fromAnyRef("sa"))
+        .withValue("db.password", ConfigValueFactory.fromAnyRef(""))
+        .withValue("db.replicas", ConfigValueFactory.fromAnyRef(Arrays.asList(url("r1"))))
+        .withValue("hikari.minimumIdle", ConfigValueFactory.fromAnyRef(1)));
+
+    use(new Jdbc());
+
+    onStart(() -> {
+      for (String db : Arrays.asList("main", "r1")) {
+        try (Connection conn = DriverManager.getConnection(url(db), "sa", "");
+            Statement stt = conn.createStatement()) {
+          stt.execute("create table if not exists who (name varchar(10) primary key)");
+          stt.execute("merge into who values ('" + db + "')");
+        }
+      }
+    });
+
+    get("/primary", req -> who(req.require(DataSource.class), false));
+
+    get("/readonly", req -> who(req.require(DataSource.class), true));
+
+    get("/attr", req -> who(req.require(DataSource.class), false))
+        .attr("db", "read");
+  }
+
+  private static String who(final DataSource ds, final boolean readOnly) throws Exception {
+    try (Connection conn = ds.getConnection()) {
+      if (readOnly) {
+        conn.setReadOnly(true);
+      }
+      try (Statement stt = conn.createStatement();
+          ResultSet rs = stt.executeQuery("select name from who")) {
+        rs.next();
+        return rs.getString(1);
+      }
+    }
+  }
+
+  @Test
+  public void primary() throws Exception {
+    request()
+        .get("/primary")
+        .expect("main");
+  }
+
+  @Test
+  public void readOnly() throws Exception {
+    request()
+        .get("/readonly")
+        .expect("r1");
+  }
+
+  @Test
+  public void routeAttribute() throws Exception {
+    request()
+        .get("/attr")
+        .expect("r1");
+  }
+}
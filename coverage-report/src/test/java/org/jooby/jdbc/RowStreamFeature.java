@@ -0,0 +1,145 @@
+package org.jooby.jdbc;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.jooby.jdbc.RowStream.Format;
+import org.jooby.jooq.jOOQ;
+import org.jooby.json.Jackson;
+import org.jooby.test.ServerFeature;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class RowStreamFeature extends ServerFeature {
+
+  {
+    // a single connection: a leaked connection makes the next request to fail
+    use(ConfigFactory.empty()
+        .withValue("db", ConfigValueFactory.fromAnyRef("mem"))
+        .withValue("hikari.maximumPoolSize", ConfigValueFactory.fromAnyRef(1))
+        .withValue("hikari.connectionTimeout", ConfigValueFactory.fromAnyRef(1000)));
+
+    use(new Jackson());
+
+    use(new jOOQ());
+
+    head();
+
+    onStart(r -> {
+      try (Connection conn = r.require(DataSource.class).getConnection();
+          Statement stt = conn.createStatement()) {
+        stt.execute("create table pets (id int primary key, name varchar(100))");
+        for (int i = 1; i <= 3; i++) {
+          stt.execute("insert into pets (id, name) values (" + i + ", 'pet" + i + "')");
+        }
+      }
+    });
+
+    get("/json", req -> req.require(RowStream.class)
+        .query(req.require(DataSource.class), Format.JSON, 2,
+        "select id, name from pets order by id"));
+
+    get("/ndjson", req -> req.require(RowStream.class)
+        .query(req.require(DataSource.class), Format.NDJSON, 2,
+        "select id, name from pets where id > ? order by id", 1));
+
+    get("/csv", req -> req.require(RowStream.class)
+        .query(req.require(DataSource.class), Format.CSV, 2,
+        "select id, name from pets order by id"));
+
+    get("/empty", req -> req.require(RowStream.class)
+        .query(req.require(DataSource.class), Format.JSON, 2,
+        "select id, name from pets where id < 0"));
+
+    get("/err", req -> req.require(RowStream.class)
+        .query(req.require(DataSource.class), Format.JSON, 2,
+        "select id, name from missing"));
+
+    get("/jooq", req -> req.require(RowStream.class).stream(Format.JSON,
+        jOOQ.cursor(req.require(DSLContext.class)
+            .select(DSL.field("id"), DSL.field("name"))
+            .from(DSL.table("pets"))
+            .orderBy(DSL.field("id")), 2)));
+  }
+
+  @Test
+  public void json() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      request()
+          .get("/json")
+          .expect("[{\"ID\":1,\"NAME\":\"pet1\"},{\"ID\":2,\"NAME\":\"pet2\"},"
+              + "{\"ID\":3,\"NAME\":\"pet3\"}]")
+          .header("Content-Type", "application/json;charset=UTF-8");
+    }
+  }
+
+  @Test
+  public void ndjson() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      request()
+          .get("/ndjson")
+          .expect("{\"ID\":2,\"NAME\":\"pet2\"}\n{\"ID\":3,\"NAME\":\"pet3\"}\n");
+    }
+  }
+
+  @Test
+  public void csv() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      request()
+          .get("/csv")
+          .expect("ID,NAME\r\n1,pet1\r\n2,pet2\r\n3,pet3\r\n")
+          .header("Content-Type", "text/csv;charset=UTF-8");
+    }
+  }
+
+  @Test
+  public void empty() throws Exception {
+    request()
+        .get("/empty")
+        .expect("[]");
+
+    request()
+        .get("/empty")
+        .expect("[]");
+  }
+
+  @Test
+  public void headRequest() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      request()
+          .head("/json")
+          .expect(200);
+    }
+    request()
+        .get("/json")
+        .expect(200);
+  }
+
+  @Test
+  public void err() throws Exception {
+    request()
+        .get("/err")
+        .expect(500);
+
+    request()
+        .get("/json")
+        .expect(200);
+  }
+
+  @Test
+  public void jooq() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      request()
+          .get("/jooq")
+          .expect("[{\"id\":1,\"name\":\"pet1\"},{\"id\":2,\"name\":\"pet2\"},"
+              + "{\"id\":3,\"name\":\"pet3\"}]");
+    }
+  }
+
+}
@@ -0,0 +1,113 @@
+package org.jooby.protobuf;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+
+public class ProtobufFeature extends ServerFeature {
+
+  private static FileDescriptorProto file(final String name) {
+    return FileDescriptorProto.newBuilder().setName(name).setPackage("org.jooby").build();
+  }
+
+  {
+    use(new Protobuf());
+
+    get("/proto", req -> file(req.param("name").value("x.proto")));
+
+    post("/proto", req -> req.body().to(FileDescriptorProto.class).getName());
+
+    get("/proto/delimited", req -> Delimited.of(ImmutableList.of(file("a.proto"),
+        file("b.proto"))));
+
+    get("/proto/stream", req -> Delimited.of(IntStream.range(0, 1000)
+        .mapToObj(i -> file(i + ".proto"))));
+
+    get("/proto/list", req -> ImmutableList.of(file("c.proto"), file("d.proto")));
+
+    post("/proto/delimited", req -> {
+      List<FileDescriptorProto> files = req.body().toList(FileDescriptorProto.class);
+      return files.size() + ":" + files.get(0).getName() + ":" + files.get(1).getName();
+    });
+
+    get("/proto/produces", req -> file("p.proto"))
+        .produces(Protobuf.TYPE);
+  }
+
+  @Test
+  public void send() throws Exception {
+    byte[] bytes = file("x.proto").toByteArray();
+    request()
+        .get("/proto")
+        .header("Accept", "application/x-protobuf")
+        .expect(bytes)
+        .header("Content-Type", "application/x-protobuf")
+        .header("Content-Length", bytes.length);
+  }
+
+  @Test
+  public void produces() throws Exception {
+    request()
+        .get("/proto/produces")
+        .expect(file("p.proto").toByteArray())
+        .header("Content-Type", "application/x-protobuf");
+  }
+
+  @Test
+  public void receive() throws Exception {
+    request()
+        .post("/proto")
+        .body(file("r.proto").toByteArray(), "application/x-protobuf")
+        .expect("r.proto");
+  }
+
+  @Test
+  public void sendDelimited() throws Exception {
+    request()
+        .get("/proto/delimited")
+        .header("Accept", "application/x-protobuf")
+        .expect(delimited("a.proto", "b.proto"));
+  }
+
+  @Test
+  public void sendStream() throws Exception {
+    String[] names = IntStream.range(0, 1000).mapToObj(i -> i + ".proto")
+        .toArray(String[]::new);
+    request()
+        .get("/proto/stream")
+        .header("Accept", "application/x-protobuf")
+        .expect(delimited(names))
+        .header("Content-Type", "application/x-protobuf");
+  }
+
+  @Test
+  public void sendList() throws Exception {
+    request()
+        .get("/proto/list")
+        .header("Accept", "application/x-protobuf")
+        .expect(delimited("c.proto", "d.proto"));
+  }
+
+  @Test
+  public void receiveDelimited() throws Exception {
+    request()
+        .post("/proto/delimited")
+        .body(delimited("c.proto", "d.proto"), "application/x-protobuf")
+        .expect("2:c.proto:d.proto");
+  }
+
+  private static byte[] delimited(final String... names) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String name : names) {
+      file(name).writeDelimitedTo(out);
+    }
+    return out.toByteArray();
+  }
+
+}
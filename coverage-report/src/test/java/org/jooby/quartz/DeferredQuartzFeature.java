@@ -0,0 +1,67 @@
+package org.jooby.quartz;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Readiness;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+import org.quartz.Scheduler;
+
+import com.google.common.collect.ImmutableList;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class DeferredQuartzFeature extends ServerFeature {
+
+  private static final CountDownLatch latch = new CountDownLatch(1);
+
+  public static class QJob {
+
+    @Scheduled("1h;delay=0")
+    public void run() {
+      latch.countDown();
+    }
+  }
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("application.env", ConfigValueFactory.fromAnyRef("prod"))
+        .withValue("startup.deferred", ConfigValueFactory
+            .fromIterable(ImmutableList.of(Quartz.class.getName())))
+        .withValue("org.quartz.scheduler.instanceName",
+            ConfigValueFactory.fromAnyRef(UUID.randomUUID().toString())));
+
+    use(new Quartz(QJob.class));
+
+    get("/ready", req -> req.require(Readiness.class).toString());
+
+    get("/started", req -> req.require(Scheduler.class).isStarted());
+  }
+
+  @Test
+  public void schedulerStartsInBackground() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      String[] ready = {null };
+      request()
+          .get("/ready")
+          .expect(rsp -> ready[0] = rsp);
+      if (ready[0].startsWith("failed")) {
+        throw new AssertionError(ready[0]);
+      }
+      if ("ready".equals(ready[0])) {
+        request()
+            .get("/started")
+            .expect("true");
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+          throw new AssertionError("job didn't run");
+        }
+        return;
+      }
+      Thread.sleep(100L);
+    }
+    throw new AssertionError("warm-up didn't complete");
+  }
+
+}
@@ -0,0 +1,44 @@
+package org.jooby.session;
+
+import static org.junit.Assert.assertTrue;
+
+import org.jooby.Session;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class CookieSessionEncryptFeature extends ServerFeature {
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("application.secret", ConfigValueFactory.fromAnyRef("fixed"))
+        .withValue("session.stateless.encrypt", ConfigValueFactory.fromAnyRef(true)));
+
+    cookieSession();
+
+    get("/cookiesession/encrypt", req -> {
+      Session session = req.session();
+      if (!session.isSet("user")) {
+        session.set("user", "edgar");
+      }
+      return session.get("user").value();
+    });
+  }
+
+  @Test
+  public void shouldEncryptSessionCookie() throws Exception {
+    request()
+        .get("/cookiesession/encrypt")
+        .expect(200)
+        .header("Set-Cookie", setCookie -> {
+          assertTrue(setCookie.startsWith("jooby.sid=e1."));
+          assertTrue(!setCookie.contains("edgar"));
+        })
+        .expect(user -> request()
+            .get("/cookiesession/encrypt")
+            .expect("edgar"));
+  }
+
+}
@@ -0,0 +1,98 @@
+package org.jooby.session;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jooby.Session;
+import org.jooby.Status;
+import org.jooby.test.ServerFeature;
+import org.junit.Test;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+public class CookieSessionFeature extends ServerFeature {
+
+  private static final Set<String> created = ConcurrentHashMap.newKeySet();
+
+  {
+    use(ConfigFactory.empty()
+        .withValue("application.secret", ConfigValueFactory.fromAnyRef("fixed"))
+        .withValue("session.stateless.maxSize", ConfigValueFactory.fromAnyRef(256)));
+
+    session(new Session.Mem() {
+      @Override
+      public Session get(final Session.Builder builder) {
+        if (builder.sessionId().length() > 0) {
+          throw new IllegalStateException("Stateless session shouldn't hit the store");
+        }
+        return null;
+      }
+
+      @Override
+      public void create(final Session session) {
+        created.add(session.id());
+        super.create(session);
+      }
+    }).stateless(true);
+
+    get("/cookiesession", req -> {
+      Session session = req.session();
+      if (!session.isSet("count")) {
+        session.set("count", 1);
+      }
+      return session.get("count").value();
+    });
+
+    get("/cookiesession/big", req -> {
+      Session session = req.session();
+      session.set("big", new String(new char[300]).replace('\0', 'x'));
+      return "big";
+    });
+
+    get("/cookiesession/big/nocontent", (req, rsp) -> {
+      Session session = req.session();
+      session.set("big", new String(new char[300]).replace('\0', 'x'));
+      rsp.header("sid", session.id());
+      rsp.status(Status.NO_CONTENT);
+    });
+  }
+
+  @Test
+  public void shouldKeepSessionInCookie() throws Exception {
+    request()
+        .get("/cookiesession")
+        .expect(200)
+        .header("Set-Cookie", setCookie -> assertTrue(setCookie.startsWith("jooby.sid=s1.")))
+        .expect(count -> request()
+            .get("/cookiesession")
+            .expect("1")
+            .header("Set-Cookie", (String) null));
+  }
+
+  @Test
+  public void shouldFallbackToStoreOnBigSessions() throws Exception {
+    request()
+        .get("/cookiesession/big")
+        .expect(200)
+        .header("Set-Cookie", setCookie -> {
+          assertTrue(setCookie.startsWith("jooby.sid="));
+          assertTrue(!setCookie.startsWith("jooby.sid=s1."));
+        });
+  }
+
+  @Test
+  public void shouldFallbackToStoreWhenResponseIsCommittedAfterRequest() throws Exception {
+    request()
+        .get("/cookiesession/big/nocontent")
+        .expect(204)
+        .header("Set-Cookie", setCookie -> {
+          assertTrue(setCookie.startsWith("jooby.sid="));
+          assertTrue(!setCookie.startsWith("jooby.sid=s1."));
+        })
+        .header("sid", sid -> assertTrue(created.contains(sid)));
+  }
+
+}
@@ -74,7 +74,7 @@ public class CleanCss extends AssetProcessor {
   @Override
   public String process(final String filename, final String source, final Config conf)
       throws Exception {
-    return V8Context.run(v8 -> {
+    return V8Context.pooled(v8 -> {
       return v8.invoke("clean-css.js", source, options(), filename);
     });
   }
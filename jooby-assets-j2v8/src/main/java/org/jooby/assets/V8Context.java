@@ -23,10 +23,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -53,10 +60,31 @@ public class V8Context {
 
   }
 
+  /** Max number of idle runtimes per processor. */
+  private static final int POOL_SIZE = Integer.getInteger("jooby.v8.poolSize",
+      Runtime.getRuntime().availableProcessors());
+
+  /** Number of invocations before a runtime is released. */
+  private static final int MAX_USES = Integer.getInteger("jooby.v8.maxUses", 100);
+
+  /** Idle runtimes by processor. */
+  private static final Map<String, BlockingQueue<V8Context>> pool = new ConcurrentHashMap<>();
+
   public final V8 v8;
 
   private String id;
 
+  /** Scripts loaded via <code>assets.load</code>, they run once per runtime. */
+  private final Set<String> loaded = new HashSet<>();
+
+  /** Functions loaded via {@link #invoke(String, Object...)}. */
+  private final Map<String, V8Function> functions = new HashMap<>();
+
+  /** Resources created while running a callback, released once the callback returns. */
+  private List<Releasable> scope;
+
+  private int uses;
+
   private V8Context(final String global, final String id) {
     this(V8.createV8Runtime(global), id);
   }
@@ -93,7 +121,7 @@ public class V8Context {
   }
 
   public String invoke(final String path, final Object... args) throws Exception {
-    V8Function fn = register((V8Function) load(path));
+    V8Function fn = function(path);
     Object value = register(fn.call(v8, array(Arrays.asList(args))));
     if (value instanceof String) {
       return value.toString();
@@ -106,6 +134,16 @@ public class V8Context {
     return ((V8Object) value).getString("output");
   }
 
+  private V8Function function(final String path) throws Exception {
+    V8Function fn = functions.get(path);
+    if (fn == null) {
+      fn = (V8Function) v8.executeScript(readFile(path), path, 0);
+      v8.registerResource(fn);
+      functions.put(path, fn);
+    }
+    return fn;
+  }
+
   private List<AssetProblem> problems(final Object value) {
     if (value instanceof V8Array) {
       return problems((V8Array) value);
@@ -181,6 +219,76 @@ public class V8Context {
     }
   }
 
+  /**
+   * Like {@link #run(Callback)} but the runtime is taken from (and returned to) a pool, so tool
+   * scripts are parsed and loaded once per runtime, not once per file.
+   *
+   * @param callback Callback to run.
+   * @return Callback output.
+   * @throws Exception If something goes wrong.
+   */
+  public static String pooled(final Callback callback) throws Exception {
+    return pooled(null, callback);
+  }
+
+  /**
+   * Like {@link #run(String, Callback)} but the runtime is taken from (and returned to) a pool, so
+   * tool scripts are parsed and loaded once per runtime, not once per file.
+   *
+   * Runtimes are bound to the processor (callback class) and global name. A runtime is released
+   * after <code>jooby.v8.maxUses</code> invocations or when the callback fails with something
+   * different than {@link AssetException}. Up to <code>jooby.v8.poolSize</code> idle runtimes are
+   * kept per processor.
+   *
+   * JavaScript global state lives on across uses of a runtime: scripts must register their hooks
+   * (like logger listeners) once per runtime or remove them before they return.
+   *
+   * @param global Global name or <code>null</code>.
+   * @param callback Callback to run.
+   * @return Callback output.
+   * @throws Exception If something goes wrong.
+   */
+  public static String pooled(final String global, final Callback callback) throws Exception {
+    String id = classname(callback);
+    BlockingQueue<V8Context> idle = pool.computeIfAbsent(id + ":" + global,
+        k -> new ArrayBlockingQueue<>(POOL_SIZE));
+    V8Context ctx = idle.poll();
+    if (ctx == null) {
+      ctx = new V8Context(global, id);
+    } else {
+      ctx.v8.getLocker().acquire();
+    }
+    boolean reuse = false;
+    ctx.scope = new ArrayList<>();
+    try {
+      String result = callback.call(ctx);
+      reuse = true;
+      return result;
+    } catch (AssetException ex) {
+      reuse = true;
+      throw ex;
+    } finally {
+      ctx.releaseScope();
+      if (reuse && ++ctx.uses < MAX_USES) {
+        ctx.v8.getLocker().release();
+        if (!idle.offer(ctx)) {
+          ctx.v8.getLocker().acquire();
+          ctx.v8.release();
+        }
+      } else {
+        ctx.v8.release();
+      }
+    }
+  }
+
+  private void releaseScope() {
+    List<Releasable> resources = scope;
+    scope = null;
+    for (int i = resources.size() - 1; i >= 0; i--) {
+      resources.get(i).release();
+    }
+  }
+
   private static String classname(final Callback callback) {
     String logname = callback.getClass().getSimpleName();
     logname = logname.substring(0, logname.indexOf("$"));
@@ -189,7 +297,11 @@ public class V8Context {
 
   private <T> T register(final T value) {
     if (value instanceof Releasable) {
-      v8.registerResource((Releasable) value);
+      if (scope == null) {
+        v8.registerResource((Releasable) value);
+      } else {
+        scope.add((Releasable) value);
+      }
     }
     return value;
   }
@@ -243,9 +355,15 @@ public class V8Context {
         "exists");
 
     assets.registerJavaMethod((JavaCallback) (receiver, args) -> {
+      String path = args.get(0).toString();
+      if (!loaded.add(path)) {
+        // already loaded
+        return V8.getUndefined();
+      }
       try {
-        return load(args.get(0).toString());
+        return load(path);
       } catch (Exception ex) {
+        loaded.remove(path);
         // we can't fire exceptions from Java :S
         return V8.getUndefined();
       }
@@ -77,7 +77,7 @@ public class Jscs extends AssetProcessor {
 
   @Override
   public String process(final String filename, final String source, final Config conf) throws Exception {
-    return V8Context.run("global", runtime -> {
+    return V8Context.pooled("global", runtime -> {
       return runtime.invoke("jscs.js", source, options(), filename);
     });
   }
@@ -102,7 +102,7 @@ public class Jshint extends AssetProcessor {
   @Override
   public String process(final String filename, final String source, final Config conf)
       throws Exception {
-    return V8Context.run("global", v8 -> {
+    return V8Context.pooled("global", v8 -> {
       Map<String, Object> options = new LinkedHashMap<>(options());
       Map<String, Object> predef = (Map<String, Object>) options.remove("predef");
       options.remove("excludes");
@@ -81,7 +81,7 @@ public class Less extends AssetProcessor {
   @Override
   public String process(final String filename, final String source, final Config conf)
       throws Exception {
-    return V8Context.run(v8 -> {
+    return V8Context.pooled(v8 -> {
       return v8.invoke("less.js", source, options(), filename);
     });
   }
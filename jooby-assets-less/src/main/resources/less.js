@@ -14,13 +14,17 @@
 
   var less = createFromEnvironment(lessEnv);
 
-  /** logger logs! */
-  less.logger.addListener({
+  /**
+   * logger logs! The logger is shared by every call on a (pooled) runtime, so the listener is
+   * removed once we are done.
+   */
+  var logger = {
     debug: console.debug,
     info: console.info,
     warn: console.warn,
     error: console.err
-  });
+  };
+  less.logger.addListener(logger);
 
   /**
    * File manager plugin. Loads from fs or classpath.
@@ -81,18 +85,22 @@
   /**
    * Renderer output
    */
-  less.render(source, options, function (error, output) {
-    if (error) {
-      problems.push({
-        filename: error.filename || filename,
-        line: error.line || -1,
-        column: error.column || -1,
-        message: error.message
-      });
-    } else {
-      css = output.css;
-    }
-  });
+  try {
+    less.render(source, options, function (error, output) {
+      if (error) {
+        problems.push({
+          filename: error.filename || filename,
+          line: error.line || -1,
+          column: error.column || -1,
+          message: error.message
+        });
+      } else {
+        css = output.css;
+      }
+    });
+  } finally {
+    less.logger.removeListener(logger);
+  }
 
   return {
     errors: problems,
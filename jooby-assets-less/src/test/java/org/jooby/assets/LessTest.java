@@ -53,6 +53,25 @@ public class LessTest {
             ConfigFactory.empty()));
   }
 
+  @Test
+  public void pooledRuntimeDoesNotKeepListeners() throws Exception {
+    for (int i = 1; i <= 2; i++) {
+      int use = i;
+      V8Context.pooled(ctx -> {
+        assertEquals(".class {\n" +
+            "  width: 2;\n" +
+            "}\n",
+            ctx.invoke("less.js", ".class { width: (1 + 1) }", ImmutableMap.of(), "/css/x.js"));
+        // same runtime
+        assertEquals(use, ctx.v8.executeIntegerScript(
+            "var uses = (typeof uses === 'undefined' ? 0 : uses) + 1; uses"));
+        assertEquals(0, ctx.v8.executeIntegerScript(
+            "createFromEnvironment(lessEnv).logger._listeners.length"));
+        return null;
+      });
+    }
+  }
+
   @Test(expected = AssetException.class)
   public void error() throws Exception {
     assertEquals("",
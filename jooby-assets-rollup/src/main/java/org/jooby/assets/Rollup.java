@@ -79,7 +79,7 @@ public class Rollup extends AssetProcessor {
   @Override
   public String process(final String filename, final String source, final Config conf)
       throws Exception {
-    return V8Context.run("window", v8 -> {
+    return V8Context.pooled("window", v8 -> {
       return v8.invoke("rollup.js", source, options(), filename);
     });
   }
@@ -100,7 +100,7 @@ public class Uglify extends AssetProcessor {
   @Override
   public String process(final String filename, final String source, final Config conf)
       throws Exception {
-    return V8Context.run(v8 -> {
+    return V8Context.pooled(v8 -> {
       return v8.invoke("uglify.js", source, options(), filename);
     });
   }
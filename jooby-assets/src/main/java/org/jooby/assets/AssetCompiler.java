@@ -28,6 +28,7 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,6 +42,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -53,6 +57,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
@@ -93,6 +98,10 @@ public class AssetCompiler {
 
   private ClassLoader loader;
 
+  private final int parallelism;
+
+  private File cache;
+
   public AssetCompiler(final Config conf) throws Exception {
     this(conf.getClass().getClassLoader(), conf);
   }
@@ -102,6 +111,9 @@ public class AssetCompiler {
     this.conf = requireNonNull(conf, "Assets conf is required.");
     String basedir = conf.hasPath("assets.basedir") ? spath(conf.getString("assets.basedir")) : "";
     this.charset = Charset.forName(this.conf.getString("assets.charset"));
+    this.parallelism = conf.hasPath("assets.parallelism")
+        ? conf.getInt("assets.parallelism")
+        : Runtime.getRuntime().availableProcessors();
     if (this.conf.hasPath("assets.fileset")) {
       this.fileset = fileset(basedir, this.conf.getConfig("assets.fileset"));
     } else {
@@ -153,31 +165,88 @@ public class AssetCompiler {
     return chain;
   }
 
+  /**
+   * Keep processor output of each file in the given directory. Output is saved under a hash of
+   * the pipeline, the file path and the file content, so unchanged files aren't processed again
+   * on next builds.
+   *
+   * Please note, processors who read files other than the one they process (like less or sass
+   * imports) might produce stale output while those files change. That's why the cache is off by
+   * default, the maven plugin turns it on with <code>-Dassets.cache=dir</code>.
+   *
+   * @param dir Cache directory.
+   * @return This compiler.
+   */
+  public AssetCompiler cache(final File dir) {
+    this.cache = requireNonNull(dir, "Cache directory is required.");
+    return this;
+  }
+
+  /**
+   * Compile all the filesets. Files are processed in parallel (see
+   * <code>assets.parallelism</code>, defaults to number of available processors) and every file is
+   * processed once, even when it is shared by multiple filesets.
+   *
+   * @param dist Pipeline to use.
+   * @param dir Output directory.
+   * @return Generated files by fileset.
+   * @throws Exception If compilation fails.
+   */
   public Map<String, List<File>> build(final String dist, final File dir) throws Exception {
     Map<String, List<File>> output = new LinkedHashMap<>();
     List<AssetProcessor> pipeline = pipeline(dist);
     log.info("{} pipeline: {}", dist, pipeline);
-    for (String fset : keySet()) {
-      List<String> files = assets(fset);
+    String signature = dist + pipeline.stream()
+        .map(it -> it.getClass().getName() + it.options())
+        .collect(Collectors.joining());
+    if (cache != null) {
+      cache.mkdirs();
+    }
+    ForkJoinPool executor = new ForkJoinPool(Math.max(1, parallelism));
+    try {
+      Map<String, CompletableFuture<String>> tasks = new HashMap<>();
+      for (String fset : keySet()) {
+        for (String file : assets(fset)) {
+          if (!tasks.containsKey(file)) {
+            MediaType type = styles.test(file) ? MediaType.css
+                : scripts.test(file) ? MediaType.js : null;
+            if (type != null) {
+              tasks.put(file, CompletableFuture.supplyAsync(() -> {
+                try {
+                  return compile(signature, pipeline, file, type);
+                } catch (Exception ex) {
+                  throw new CompletionException(ex);
+                }
+              }, executor));
+            }
+          }
+        }
+      }
+
+      for (String fset : keySet()) {
+        List<String> files = assets(fset);
 
-      log.info("compiling {}:", fset);
+        log.info("compiling {}:", fset);
 
-      String css = compile(pipeline, files.stream().filter(styles).iterator(), MediaType.css, "");
-      Path pcss = Paths.get(patterns(styles).findFirst().get(), fset + "." + sha1(css) + ".css");
-      File fcss = dir.toPath().resolve(pcss).toFile();
-      fcss.getParentFile().mkdirs();
-      Files.write(css, fcss, charset);
+        String css = join(tasks, files.stream().filter(styles).iterator(), "");
+        Path pcss = Paths.get(patterns(styles).findFirst().get(), fset + "." + sha1(css) + ".css");
+        File fcss = dir.toPath().resolve(pcss).toFile();
+        fcss.getParentFile().mkdirs();
+        Files.write(css, fcss, charset);
 
-      String js = compile(pipeline, files.stream().filter(scripts).iterator(), MediaType.js, ";");
-      Path pjs = Paths.get(patterns(scripts).findFirst().get(), fset + "." + sha1(js) + ".js");
-      File fjs = dir.toPath().resolve(pjs).toFile();
-      fjs.getParentFile().mkdirs();
-      Files.write(js, fjs, charset);
+        String js = join(tasks, files.stream().filter(scripts).iterator(), ";");
+        Path pjs = Paths.get(patterns(scripts).findFirst().get(), fset + "." + sha1(js) + ".js");
+        File fjs = dir.toPath().resolve(pjs).toFile();
+        fjs.getParentFile().mkdirs();
+        Files.write(js, fjs, charset);
 
-      log.info("{}.css {} ({})", fset, humanReadableByteCount(fcss.length()), fcss);
-      log.info("{}.js  {} ({})", fset, humanReadableByteCount(fjs.length()), fjs);
+        log.info("{}.css {} ({})", fset, humanReadableByteCount(fcss.length()), fcss);
+        log.info("{}.js  {} ({})", fset, humanReadableByteCount(fjs.length()), fjs);
 
-      output.put(fset, Arrays.asList(fcss, fjs));
+        output.put(fset, Arrays.asList(fcss, fjs));
+      }
+    } finally {
+      executor.shutdownNow();
     }
     return output;
   }
@@ -218,17 +287,46 @@ public class AssetCompiler {
 
   }
 
-  private String compile(final List<AssetProcessor> pipeline, final Iterator<String> files,
-      final MediaType type, final String sep) throws Exception {
+  private String join(final Map<String, CompletableFuture<String>> tasks,
+      final Iterator<String> files, final String sep) throws Exception {
     StringBuilder buff = new StringBuilder();
     while (files.hasNext()) {
       String file = files.next();
       log.info("  {}", file);
-      buff.append(compile(pipeline, file, type, readFile(loader, file, charset))).append(sep);
+      try {
+        buff.append(tasks.get(file).join()).append(sep);
+      } catch (CompletionException ex) {
+        Throwables.propagateIfPossible(ex.getCause(), Exception.class);
+        throw Throwables.propagate(ex.getCause());
+      }
     }
     return buff.toString();
   }
 
+  private String compile(final String signature, final List<AssetProcessor> pipeline,
+      final String file, final MediaType type) throws Exception {
+    String input = readFile(loader, file, charset);
+    if (cache == null) {
+      return compile(pipeline, file, type, input);
+    }
+    String key = Hashing.sha1().newHasher()
+        .putString(signature, charset)
+        .putString(file, charset)
+        .putString(input, charset)
+        .hash()
+        .toString();
+    File cached = new File(cache, key);
+    if (cached.exists()) {
+      log.debug("cache hit: {}", file);
+      return Files.toString(cached, charset);
+    }
+    String output = compile(pipeline, file, type, input);
+    File tmp = File.createTempFile(key, ".tmp", cache);
+    Files.write(output, tmp, charset);
+    java.nio.file.Files.move(tmp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    return output;
+  }
+
   private String compile(final List<AssetProcessor> pipeline, final String filename,
       final MediaType type, final String input) throws Exception {
 
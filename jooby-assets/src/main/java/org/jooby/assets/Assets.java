@@ -247,21 +247,16 @@ public class Assets implements Jooby.Module {
       routes.addBinding()
           .toInstance(new Route.Definition("*", "*", new AssetVars(compiler, cpath))
               .name("/assets/vars"));
+
       // live compiler?
       boolean watch = dev;
       if (watch && conf.hasPath("assets.watch")) {
         watch = conf.getBoolean("assets.watch");
       }
-      if (watch) {
-        LiveCompiler liveCompiler = new LiveCompiler(conf, compiler);
-        env.onStart(liveCompiler::start);
-        env.onStop(liveCompiler::stop);
-        routes.addBinding()
-            .toInstance(new Route.Definition("*", "*", liveCompiler).name("/assets/compiler"));
-      }
 
       AssetHandler handler = dev
           ? new AssetHandlerWithCompiler("/", compiler)
+              .watch(watch)
               .etag(false)
               .lastModified(false)
           : new AssetHandler("/")
@@ -269,6 +264,16 @@ public class Assets implements Jooby.Module {
               .cdn(conf.getString("assets.cdn"))
               .lastModified(conf.getBoolean("assets.lastModified"));
 
+      if (watch) {
+        AssetHandlerWithCompiler devHandler = (AssetHandlerWithCompiler) handler;
+        LiveCompiler liveCompiler = new LiveCompiler(conf, compiler, devHandler::onChange);
+        env.onStart(liveCompiler::start);
+        env.onStop(liveCompiler::stop);
+        env.onStop(devHandler::stop);
+        routes.addBinding()
+            .toInstance(new Route.Definition("*", "*", liveCompiler).name("/assets/compiler"));
+      }
+
       if (conf.hasPath("assets.cache.maxAge")) {
         handler.maxAge(Duration
             .ofSeconds(conf.getDuration("assets.cache.maxAge", TimeUnit.SECONDS)));
@@ -20,23 +20,156 @@ package org.jooby.internal.assets;
 
 import static java.util.Objects.requireNonNull;
 
+import java.nio.file.Path;
+import java.nio.file.WatchEvent.Kind;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.jooby.Asset;
 import org.jooby.Request;
 import org.jooby.Response;
 import org.jooby.assets.AssetCompiler;
 import org.jooby.handlers.AssetHandler;
+import org.jooby.internal.URLAsset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class AssetHandlerWithCompiler extends AssetHandler {
 
+  /**
+   * A compiled asset, the version of the source who produced it and the cache generation at the
+   * time the compilation started.
+   */
+  private static class Compiled {
+    final Asset source;
+
+    final long lastModified;
+
+    final long length;
+
+    final long generation;
+
+    final Asset asset;
+
+    Compiled(final Asset source, final long generation, final Asset asset) {
+      this.source = source;
+      this.lastModified = source.lastModified();
+      this.length = source.length();
+      this.generation = generation;
+      this.asset = asset;
+    }
+
+    boolean matches(final Asset source, final long generation) {
+      return this.generation == generation && lastModified == source.lastModified()
+          && length == source.length();
+    }
+  }
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
   private AssetCompiler compiler;
 
+  private final Map<String, Compiled> cache = new ConcurrentHashMap<>();
+
+  /** Incremented on changes, so a compilation who started before can't be reused. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private boolean watch = true;
+
+  private ExecutorService executor;
+
   public AssetHandlerWithCompiler(final String pattern, final AssetCompiler compiler) {
     super(pattern);
     this.compiler = requireNonNull(compiler, "Asset compiler is required.");
   }
 
+  /**
+   * Set to true when a file watcher calls {@link #onChange(Kind, Path)}. A compiled asset depends
+   * on files we don't know about (less or sass imports, etc.), so compiled assets are cached only
+   * when a file watcher notifies changes. Otherwise, each request compiles the asset again.
+   *
+   * @param watch True when a file watcher calls {@link #onChange(Kind, Path)}. Default is: true.
+   * @return This handler.
+   */
+  public AssetHandlerWithCompiler watch(final boolean watch) {
+    this.watch = watch;
+    return this;
+  }
+
   @Override
   protected void send(final Request req, final Response rsp, final Asset asset) throws Throwable {
-    super.send(req, rsp, compiler.build(asset));
+    if (!watch) {
+      super.send(req, rsp, compiler.build(asset));
+      return;
+    }
+    Compiled compiled = cache.get(asset.path());
+    if (compiled == null || !compiled.matches(asset, generation.get())) {
+      compiled = compile(asset);
+    }
+    super.send(req, rsp, compiled.asset);
+  }
+
+  /**
+   * Source files changed: drop compiled assets and compile them again in background. All the
+   * assets are compiled again, bc a file might be imported by others (less, sass, etc.).
+   *
+   * @param kind Change kind.
+   * @param path Changed file.
+   */
+  public void onChange(final Kind<?> kind, final Path path) {
+    // compilations running now are discarded
+    generation.incrementAndGet();
+    if (cache.isEmpty()) {
+      return;
+    }
+    Map<String, Compiled> snapshot = new ConcurrentHashMap<>(cache);
+    snapshot.keySet().forEach(cache::remove);
+    ExecutorService executor;
+    synchronized (this) {
+      if (this.executor == null) {
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("asset-compiler")
+            .build());
+      }
+      executor = this.executor;
+    }
+    executor.execute(() -> snapshot.values().forEach(it -> {
+      String assetPath = it.source.path();
+      if (!cache.containsKey(assetPath)) {
+        try {
+          compile(new URLAsset(it.source.resource(), assetPath, it.source.type()));
+        } catch (Exception ex) {
+          log.debug("background compilation of {} resulted in exception", assetPath, ex);
+        }
+      }
+    }));
+  }
+
+  public synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  private Compiled compile(final Asset asset) throws Exception {
+    long generation = this.generation.get();
+    Compiled compiled = new Compiled(asset, generation, compiler.build(asset));
+    if (compiled.asset != asset) {
+      cache.merge(asset.path(), compiled,
+          (prev, next) -> prev.generation > next.generation ? prev : next);
+      if (generation != this.generation.get()) {
+        // a change happened while compiling
+        cache.remove(asset.path(), compiled);
+      }
+    }
+    return compiled;
   }
 }
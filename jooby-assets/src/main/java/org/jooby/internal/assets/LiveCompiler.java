@@ -26,6 +26,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.WatchEvent.Kind;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import org.jooby.MediaType;
@@ -56,9 +57,19 @@ public class LiveCompiler implements Route.Handler {
   private final Watcher watcher;
 
   public LiveCompiler(final Config conf, final AssetCompiler compiler) throws IOException {
+    this(conf, compiler, (kind, path) -> {
+    });
+  }
+
+  public LiveCompiler(final Config conf, final AssetCompiler compiler,
+      final BiConsumer<Kind<?>, Path> listener) throws IOException {
     this.conf = requireNonNull(conf, "Config is required.");
     this.compiler = requireNonNull(compiler, "Asset compiler is required.");
-    this.watcher = new Watcher(this::onChange, Paths.get("public"));
+    requireNonNull(listener, "Listener is required.");
+    this.watcher = new Watcher((kind, path) -> {
+      listener.accept(kind, path);
+      onChange(kind, path);
+    }, Paths.get("public"));
   }
 
   private void onChange(final Kind<?> kind, final Path path) {
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
@@ -20,6 +21,7 @@ import org.junit.Test;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
@@ -119,6 +121,32 @@ public class AssetCompilerTest {
             .forEach(it -> assertTrue(it.exists())));
   }
 
+  @Test
+  public void bundleWithCache() throws Exception {
+    File dir = Paths.get("target", "public-cache").toFile();
+    File cache = Paths.get("target", "assets-cache").toFile();
+    if (cache.exists()) {
+      for (File file : cache.listFiles()) {
+        file.delete();
+      }
+    }
+    Config conf = conf("assets-pipeline.conf", "dist")
+        .withValue("assets.parallelism", ConfigValueFactory.fromAnyRef(2));
+    Map<String, List<File>> files = new AssetCompiler(conf).cache(cache).build("dist", dir);
+    File[] cached = cache.listFiles();
+    assertEquals(2, cached.length);
+
+    // tamper cache: unchanged files must be read from cache
+    for (File file : cached) {
+      Files.write("cached", file, StandardCharsets.UTF_8);
+    }
+    Map<String, List<File>> fromCache = new AssetCompiler(conf).cache(cache).build("dist", dir);
+    assertEquals("cached", Files.toString(fromCache.get("home").get(0), StandardCharsets.UTF_8));
+    assertEquals("cached;",
+        Files.toString(fromCache.get("home").get(1), StandardCharsets.UTF_8));
+    assertTrue(!files.equals(fromCache));
+  }
+
   @Test(expected = FileNotFoundException.class)
   public void fnf() throws Exception {
     File dir = Paths.get("target", "public").toFile();
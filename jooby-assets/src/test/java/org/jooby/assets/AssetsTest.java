@@ -1,9 +1,12 @@
 package org.jooby.assets;
 
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.isA;
 import static org.junit.Assert.assertTrue;
 
+import java.util.function.BiConsumer;
+
 import org.jooby.Env;
 import org.jooby.Request;
 import org.jooby.Response;
@@ -133,12 +136,12 @@ public class AssetsTest {
           AssetCompiler compiler = unit.get(AssetCompiler.class);
 
           unit.constructor(LiveCompiler.class)
-              .args(Config.class, AssetCompiler.class)
-              .build(conf, compiler);
+              .args(Config.class, AssetCompiler.class, BiConsumer.class)
+              .build(eq(conf), eq(compiler), isA(BiConsumer.class));
 
           Env env = unit.get(Env.class);
           expect(env.onStart(isA(CheckedRunnable.class))).andReturn(env);
-          expect(env.onStop(isA(CheckedRunnable.class))).andReturn(env);
+          expect(env.onStop(isA(CheckedRunnable.class))).andReturn(env).times(2);
 
           LinkedBindingBuilder<Definition> lbblc = unit.mock(LinkedBindingBuilder.class);
           lbblc.toInstance(unit.capture(Route.Definition.class));
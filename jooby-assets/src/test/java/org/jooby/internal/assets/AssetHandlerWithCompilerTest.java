@@ -2,6 +2,10 @@ package org.jooby.internal.assets;
 
 import static org.easymock.EasyMock.expect;
 
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.jooby.Asset;
 import org.jooby.Request;
 import org.jooby.Response;
@@ -14,18 +18,142 @@ public class AssetHandlerWithCompilerTest {
   @Test
   public void defaults() throws Exception {
     new MockUnit(Request.class, Response.class, Asset.class, AssetCompiler.class)
-    .expect(unit -> {
-      Asset asset = unit.get(Asset.class);
-      Asset newAsset = unit.mock(Asset.class);
-
-      AssetCompiler compiler = unit.get(AssetCompiler.class);
-      expect(compiler.build(asset)).andReturn(newAsset);
-
-      unit.get(Response.class).send(newAsset);
-    })
-      .run(unit -> {
-        new AssetHandlerWithCompiler("/", unit.get(AssetCompiler.class))
-        .send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
-      });
+        .expect(unit -> {
+          Asset asset = unit.get(Asset.class);
+          expect(asset.path()).andReturn("/assets/index.js").times(2);
+          expect(asset.lastModified()).andReturn(1L);
+          expect(asset.length()).andReturn(10L);
+
+          Asset newAsset = unit.mock(Asset.class);
+
+          AssetCompiler compiler = unit.get(AssetCompiler.class);
+          expect(compiler.build(asset)).andReturn(newAsset);
+
+          unit.get(Response.class).send(newAsset);
+        })
+        .run(unit -> {
+          new AssetHandlerWithCompiler("/", unit.get(AssetCompiler.class))
+              .send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+        });
+  }
+
+  @Test
+  public void cacheCompiledAsset() throws Exception {
+    new MockUnit(Request.class, Response.class, Asset.class, AssetCompiler.class)
+        .expect(unit -> {
+          Asset asset = unit.get(Asset.class);
+          expect(asset.path()).andReturn("/assets/index.js").times(3);
+          expect(asset.lastModified()).andReturn(1L).times(2);
+          expect(asset.length()).andReturn(10L).times(2);
+
+          Asset newAsset = unit.mock(Asset.class);
+
+          AssetCompiler compiler = unit.get(AssetCompiler.class);
+          expect(compiler.build(asset)).andReturn(newAsset);
+
+          unit.get(Response.class).send(newAsset);
+          unit.get(Response.class).send(newAsset);
+        })
+        .run(unit -> {
+          AssetHandlerWithCompiler handler = new AssetHandlerWithCompiler("/",
+              unit.get(AssetCompiler.class));
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+        });
+  }
+
+  @Test
+  public void recompileOnChange() throws Exception {
+    new MockUnit(Request.class, Response.class, Asset.class, AssetCompiler.class)
+        .expect(unit -> {
+          Asset asset = unit.get(Asset.class);
+          expect(asset.path()).andReturn("/assets/index.js").times(4);
+          expect(asset.lastModified()).andReturn(1L).andReturn(2L).times(2);
+          expect(asset.length()).andReturn(10L).times(2);
+
+          Asset v1 = unit.mock(Asset.class);
+          Asset v2 = unit.mock(Asset.class);
+
+          AssetCompiler compiler = unit.get(AssetCompiler.class);
+          expect(compiler.build(asset)).andReturn(v1);
+          expect(compiler.build(asset)).andReturn(v2);
+
+          unit.get(Response.class).send(v1);
+          unit.get(Response.class).send(v2);
+        })
+        .run(unit -> {
+          AssetHandlerWithCompiler handler = new AssetHandlerWithCompiler("/",
+              unit.get(AssetCompiler.class));
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+        });
+  }
+
+  @Test
+  public void compileEveryRequestWithoutWatcher() throws Exception {
+    new MockUnit(Request.class, Response.class, Asset.class, AssetCompiler.class)
+        .expect(unit -> {
+          Asset asset = unit.get(Asset.class);
+
+          Asset v1 = unit.mock(Asset.class);
+          Asset v2 = unit.mock(Asset.class);
+
+          AssetCompiler compiler = unit.get(AssetCompiler.class);
+          expect(compiler.build(asset)).andReturn(v1);
+          expect(compiler.build(asset)).andReturn(v2);
+
+          unit.get(Response.class).send(v1);
+          unit.get(Response.class).send(v2);
+        })
+        .run(unit -> {
+          AssetHandlerWithCompiler handler = new AssetHandlerWithCompiler("/",
+              unit.get(AssetCompiler.class))
+                  .watch(false);
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+          handler.send(unit.get(Request.class), unit.get(Response.class), unit.get(Asset.class));
+        });
+  }
+
+  @Test
+  public void discardCompilationWhoStartedBeforeChange() throws Exception {
+    AtomicReference<AssetHandlerWithCompiler> handler = new AtomicReference<>();
+    new MockUnit(Request.class, Response.class, Asset.class, AssetCompiler.class)
+        .expect(unit -> {
+          Asset asset = unit.get(Asset.class);
+          expect(asset.path()).andReturn("/assets/index.css").times(5);
+          expect(asset.lastModified()).andReturn(1L).times(2);
+          expect(asset.length()).andReturn(10L).times(2);
+
+          Asset v1 = unit.mock(Asset.class);
+          Asset v2 = unit.mock(Asset.class);
+
+          AssetCompiler compiler = unit.get(AssetCompiler.class);
+          expect(compiler.build(asset)).andAnswer(() -> {
+            // an imported file changed while compiling
+            handler.get().onChange(StandardWatchEventKinds.ENTRY_MODIFY,
+                Paths.get("_imported.less"));
+            return v1;
+          });
+          expect(compiler.build(asset)).andReturn(v2);
+
+          unit.get(Response.class).send(v1);
+          unit.get(Response.class).send(v2);
+        })
+        .run(unit -> {
+          handler.set(new AssetHandlerWithCompiler("/", unit.get(AssetCompiler.class)));
+          handler.get().send(unit.get(Request.class), unit.get(Response.class),
+              unit.get(Asset.class));
+          handler.get().send(unit.get(Request.class), unit.get(Response.class),
+              unit.get(Asset.class));
+          handler.get().stop();
+        });
+  }
+
+  @Test
+  public void stopWithoutChanges() throws Exception {
+    new MockUnit(AssetCompiler.class)
+        .run(unit -> {
+          new AssetHandlerWithCompiler("/", unit.get(AssetCompiler.class)).stop();
+        });
   }
 }
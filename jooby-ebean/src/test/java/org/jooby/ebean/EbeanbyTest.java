@@ -6,6 +6,7 @@ import static org.easymock.EasyMock.isA;
 import java.util.Properties;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.sql.DataSource;
 
 import org.jooby.Env;
@@ -42,8 +43,8 @@ public class EbeanbyTest {
     Binder binder = unit.get(Binder.class);
 
     ScopedBindingBuilder scope = unit.mock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
     expect(binding.toProvider(isA(Provider.class))).andReturn(scope).times(2);
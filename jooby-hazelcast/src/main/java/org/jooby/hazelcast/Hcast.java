@@ -24,6 +24,8 @@ import java.util.Properties;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.inject.Singleton;
+
 import org.jooby.Env;
 import org.jooby.Jooby.Module;
 import org.jooby.internal.hazelcast.HcastManaged;
@@ -113,7 +115,7 @@ public class Hcast implements Module {
     }
 
     binder.bind(com.hazelcast.config.Config.class).toInstance(config);
-    binder.bind(HazelcastInstance.class).toProvider(HcastManaged.class).asEagerSingleton();
+    binder.bind(HazelcastInstance.class).toProvider(HcastManaged.class).in(Singleton.class);
     env.lifeCycle(HcastManaged.class);
   }
 
@@ -5,6 +5,8 @@ import static org.easymock.EasyMock.expect;
 import java.util.Properties;
 import java.util.function.Consumer;
 
+import javax.inject.Singleton;
+
 import org.jooby.Env;
 import org.jooby.internal.hazelcast.HcastManaged;
 import org.jooby.test.MockUnit;
@@ -42,7 +44,7 @@ public class HcastTest {
     abbConfig.toInstance(config);
 
     ScopedBindingBuilder sbbHI = unit.mock(ScopedBindingBuilder.class);
-    sbbHI.asEagerSingleton();
+    sbbHI.in(Singleton.class);
 
     AnnotatedBindingBuilder<HazelcastInstance> abbHI = unit
         .mock(AnnotatedBindingBuilder.class);
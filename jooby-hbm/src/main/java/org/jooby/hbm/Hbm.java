@@ -217,7 +217,7 @@ public class Hbm extends Jdbc {
     Map<Object, Object> integration = config(env, config, classes);
     emf = new HbmProvider(descriptor, integration);
     env.onStop(emf::stop);
-    keys(EntityManagerFactory.class, key -> binder.bind(key).toProvider(emf).asEagerSingleton());
+    keys(EntityManagerFactory.class, key -> binder.bind(key).toProvider(emf).in(Singleton.class));
 
     List<Key<EntityManager>> emkeys = new ArrayList<>();
 
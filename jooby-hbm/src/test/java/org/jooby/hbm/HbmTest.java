@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Set;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
@@ -68,8 +69,8 @@ public class HbmTest {
         })
         .expect(unit -> {
           ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-          scope.asEagerSingleton();
-          scope.asEagerSingleton();
+          scope.in(Singleton.class);
+          scope.in(Singleton.class);
 
           LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
           expect(binding.toProvider(isA(Provider.class))).andReturn(scope).times(2);
@@ -87,8 +88,8 @@ public class HbmTest {
           expect(emLBB.toProvider(isA(Provider.class))).andReturn(emSBB).times(2);
 
           ScopedBindingBuilder hpSBB = unit.mock(ScopedBindingBuilder.class);
-          hpSBB.asEagerSingleton();
-          hpSBB.asEagerSingleton();
+          hpSBB.in(Singleton.class);
+          hpSBB.in(Singleton.class);
 
           unit.mockConstructor(HbmUnitDescriptor.class,
               new Class[]{ClassLoader.class, Provider.class, Config.class, Set.class },
@@ -143,8 +144,8 @@ public class HbmTest {
         })
         .expect(unit -> {
           ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-          scope.asEagerSingleton();
-          scope.asEagerSingleton();
+          scope.in(Singleton.class);
+          scope.in(Singleton.class);
 
           LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
           expect(binding.toProvider(isA(Provider.class))).andReturn(scope).times(2);
@@ -162,8 +163,8 @@ public class HbmTest {
           expect(emLBB.toProvider(unit.capture(Provider.class))).andReturn(emSBB).times(2);
 
           ScopedBindingBuilder hpSBB = unit.mock(ScopedBindingBuilder.class);
-          hpSBB.asEagerSingleton();
-          hpSBB.asEagerSingleton();
+          hpSBB.in(Singleton.class);
+          hpSBB.in(Singleton.class);
 
           LinkedBindingBuilder<EntityManagerFactory> emfLBB = unit
               .mock(LinkedBindingBuilder.class);
@@ -222,8 +223,8 @@ public class HbmTest {
         })
         .expect(unit -> {
           ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-          scope.asEagerSingleton();
-          scope.asEagerSingleton();
+          scope.in(Singleton.class);
+          scope.in(Singleton.class);
 
           LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
           expect(binding.toProvider(isA(Provider.class))).andReturn(scope).times(2);
@@ -241,8 +242,8 @@ public class HbmTest {
           expect(emLBB.toProvider(isA(Provider.class))).andReturn(emSBB).times(2);
 
           ScopedBindingBuilder hpSBB = unit.mock(ScopedBindingBuilder.class);
-          hpSBB.asEagerSingleton();
-          hpSBB.asEagerSingleton();
+          hpSBB.in(Singleton.class);
+          hpSBB.in(Singleton.class);
 
           unit.mockConstructor(HbmUnitDescriptor.class,
               new Class[]{ClassLoader.class, Provider.class, Config.class, Set.class },
@@ -20,9 +20,11 @@ package org.jooby.hbs;
 
 import static java.util.Objects.requireNonNull;
 
+import java.nio.file.Path;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiConsumer;
 
@@ -34,9 +36,11 @@ import org.jooby.internal.hbs.HbsEngine;
 import org.jooby.internal.hbs.HbsHelpers;
 import org.jooby.internal.hbs.RequestValueResolver;
 import org.jooby.internal.hbs.SessionValueResolver;
+import org.jooby.internal.hbs.TemplateRegistry;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.ValueResolver;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.cache.GuavaTemplateCache;
 import com.github.jknack.handlebars.cache.NullTemplateCache;
 import com.github.jknack.handlebars.context.FieldValueResolver;
@@ -53,6 +57,8 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
 
+import javaslang.control.Try;
+
 /**
  * Exposes a {@link Handlebars} and a {@link Renderer}.
  *
@@ -125,13 +131,16 @@ import com.typesafe.config.ConfigValueFactory;
  *
  * <h1>cache</h1>
  * <p>
- * Cache is OFF when <code>env=dev</code> (useful for template reloading), otherwise is ON.
+ * Templates are resolved and compiled once and kept in a registry by view name.
  * </p>
  * <p>
- * Cache is backed by Guava and the default cache will expire after <code>100</code> entries.
+ * When <code>env=dev</code> the template directories are watched and the registry is reset every
+ * time a template changes (useful for template reloading). Templates loaded from the root of
+ * classpath are never watched, they are compiled on every request. Outside <code>dev</code>, the
+ * registry is backed by Guava and the default cache will expire after <code>1000</code> entries.
  * </p>
  * <p>
- * If <code>100</code> entries is not enough or you need a more advanced cache setting, just set the
+ * If <code>1000</code> entries is not enough or you need a more advanced cache setting, just set the
  * <code>hbs.cache</code> option:
  * </p>
  *
@@ -140,6 +149,20 @@ import com.typesafe.config.ConfigValueFactory;
  * </pre>
  *
  * <p>
+ * Templates under the template loader prefix can be compiled at startup time (non dev only):
+ * </p>
+ *
+ * <pre>
+ * hbs.precompile = true
+ * </pre>
+ *
+ * <p>
+ * Precompilation requires a template prefix, like <code>new Hbs("/views")</code>. Only
+ * directories are scanned, set <code>hbs.precompileJars = true</code> to compile templates from
+ * jar files too. Templates who fail to compile are logged and compiled again on first use.
+ * </p>
+ *
+ * <p>
  * See {@link CacheBuilderSpec}.
  * </p>
  *
@@ -203,15 +226,27 @@ public class Hbs implements Jooby.Module {
   public void configure(final Env env, final Config config, final Binder binder) {
 
     // cache
-    if ("dev".equals(env.name()) || config.getString("hbs.cache").isEmpty()) {
-      // noop cache
-      hbs.with(NullTemplateCache.INSTANCE);
+    TemplateRegistry registry;
+    if ("dev".equals(env.name())) {
+      registry = devRegistry(env);
     } else {
-      hbs.with(new GuavaTemplateCache(
-          CacheBuilder
-              .from(config.getString("hbs.cache"))
-              .build()
-          ));
+      String cache = config.getString("hbs.cache");
+      if (cache.isEmpty()) {
+        // noop cache
+        hbs.with(NullTemplateCache.INSTANCE);
+        registry = new TemplateRegistry(hbs, null);
+      } else {
+        hbs.with(new GuavaTemplateCache(
+            CacheBuilder
+                .from(cache)
+                .build()
+            ));
+        registry = new TemplateRegistry(hbs, CacheBuilder.from(cache).build());
+        if (config.getBoolean("hbs.precompile")) {
+          boolean jars = config.getBoolean("hbs.precompileJars");
+          env.onStart(() -> registry.precompile(getClass().getClassLoader(), jars));
+        }
+      }
     }
 
     if (configurer != null) {
@@ -224,7 +259,8 @@ public class Hbs implements Jooby.Module {
         .newSetBinder(binder, Object.class, Names.named("hbs.helpers"));
     helpers.forEach(h -> helpersBinding.addBinding().to(h));
 
-    HbsEngine engine = new HbsEngine(hbs, resolvers.toArray(new ValueResolver[resolvers.size()]));
+    HbsEngine engine = new HbsEngine(registry,
+        resolvers.toArray(new ValueResolver[resolvers.size()]));
 
     Multibinder.newSetBinder(binder, Renderer.class).addBinding()
         .toInstance(engine);
@@ -236,7 +272,24 @@ public class Hbs implements Jooby.Module {
   @Override
   public Config config() {
     return ConfigFactory.empty(Hbs.class.getName())
-        .withValue("hbs.cache", ConfigValueFactory.fromAnyRef("maximumSize=100"));
+        .withValue("hbs.cache", ConfigValueFactory.fromAnyRef("maximumSize=1000"))
+        .withValue("hbs.precompile", ConfigValueFactory.fromAnyRef(false))
+        .withValue("hbs.precompileJars", ConfigValueFactory.fromAnyRef(false));
+  }
+
+  private TemplateRegistry devRegistry(final Env env) {
+    TemplateRegistry registry = new TemplateRegistry(hbs, CacheBuilder.newBuilder().build());
+    List<Path> dirs = Try.of(() -> registry.dirs(getClass().getClassLoader()))
+        .get();
+    if (dirs.isEmpty()) {
+      // nothing to watch, compile on every request
+      hbs.with(NullTemplateCache.INSTANCE);
+      return new TemplateRegistry(hbs, null);
+    }
+    hbs.with(new ConcurrentMapTemplateCache());
+    env.onStart(() -> registry.watch(dirs));
+    env.onStop(registry::stop);
+    return registry;
   }
 
 }
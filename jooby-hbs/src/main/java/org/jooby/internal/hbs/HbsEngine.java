@@ -29,28 +29,30 @@ import org.jooby.View;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
 import com.github.jknack.handlebars.ValueResolver;
-import com.github.jknack.handlebars.io.TemplateSource;
 
 public class HbsEngine implements View.Engine {
 
-  private Handlebars handlebars;
-
   private ValueResolver[] resolvers;
 
+  private TemplateRegistry registry;
+
   public HbsEngine(final Handlebars handlebars, final ValueResolver[] resolvers) {
-    this.handlebars = requireNonNull(handlebars, "Handlebars is required.");
+    this(new TemplateRegistry(handlebars, null), resolvers);
+  }
+
+  public HbsEngine(final TemplateRegistry registry, final ValueResolver[] resolvers) {
+    this.registry = requireNonNull(registry, "Registry is required.");
     this.resolvers = requireNonNull(resolvers, "Resolvers are required.");
   }
 
   @Override
   public void render(final View view, final Renderer.Context ctx) throws Exception {
     String vname = view.name();
-    TemplateSource source = handlebars.getLoader().sourceAt(vname);
-    Template template = handlebars.compile(source);
+    Template template = registry.get(vname);
 
     Map<String, Object> locals = ctx.locals();
     locals.putIfAbsent("_vname", vname);
-    locals.putIfAbsent("_vpath", source.filename());
+    locals.putIfAbsent("_vpath", template.filename());
 
     com.github.jknack.handlebars.Context context = com.github.jknack.handlebars.Context
         .newBuilder(view.model())
@@ -61,7 +63,7 @@ public class HbsEngine implements View.Engine {
 
     // rendering it
     ctx.type(MediaType.html)
-        .send(template.apply(context));
+        .send(writer -> template.apply(context, writer));
   }
 
   @Override
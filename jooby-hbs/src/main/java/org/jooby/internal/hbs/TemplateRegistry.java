@@ -0,0 +1,298 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.hbs;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.io.TemplateLoader;
+import com.github.jknack.handlebars.io.TemplateSource;
+import com.google.common.cache.Cache;
+
+/**
+ * Compiled templates by view name. Templates are resolved and compiled once, then reused until
+ * they are evicted or the registry is invalidated.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class TemplateRegistry {
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final Handlebars hbs;
+
+  private final Cache<String, Template> templates;
+
+  /** Incremented on invalidate, so a compilation who started before isn't cached. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private WatchService watcher;
+
+  public TemplateRegistry(final Handlebars hbs, final Cache<String, Template> templates) {
+    this.hbs = requireNonNull(hbs, "Handlebars is required.");
+    this.templates = templates;
+  }
+
+  /**
+   * Find a template by view name.
+   *
+   * @param name View name.
+   * @return A compiled template.
+   * @throws IOException If template is missing or can't be compiled.
+   */
+  public Template get(final String name) throws IOException {
+    if (templates == null) {
+      return compile(name);
+    }
+    Template template = templates.getIfPresent(name);
+    if (template == null) {
+      long generation = this.generation.get();
+      TemplateSource source = hbs.getLoader().sourceAt(name);
+      template = hbs.compile(source);
+      templates.put(name, template);
+      if (generation != this.generation.get()) {
+        // invalidated while compiling, don't keep a stale template
+        templates.asMap().remove(name, template);
+        hbs.getCache().evict(source);
+      }
+    }
+    return template;
+  }
+
+  /**
+   * Discard compiled templates (partials too).
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    if (templates != null) {
+      templates.invalidateAll();
+    }
+    hbs.getCache().clear();
+  }
+
+  /**
+   * Compile all the templates under the loader prefix with the loader suffix. Templates who
+   * fail to compile are logged and skipped.
+   *
+   * Nothing is compiled when the loader prefix is the classpath root (<code>/</code>), because
+   * that requires a scan of the entire classpath.
+   *
+   * @param loader Class loader to scan.
+   * @param jars True, to compile templates from jar files too. Otherwise, only directories are
+   *        scanned.
+   * @return Number of compiled templates.
+   * @throws IOException If class loader fails.
+   */
+  public int precompile(final ClassLoader loader, final boolean jars) throws IOException {
+    String prefix = prefix();
+    if (prefix.isEmpty()) {
+      log.warn("templates can't be precompiled from classpath root, set a template prefix");
+      return 0;
+    }
+    String suffix = hbs.getLoader().getSuffix();
+    Set<String> names = new LinkedHashSet<>();
+    Enumeration<URL> urls = loader.getResources(prefix);
+    while (urls.hasMoreElements()) {
+      URL url = urls.nextElement();
+      if ("file".equals(url.getProtocol())) {
+        try {
+          Path dir = Paths.get(url.toURI());
+          try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(Files::isRegularFile)
+                .map(file -> dir.relativize(file).toString().replace('\\', '/'))
+                .filter(path -> path.endsWith(suffix))
+                .forEach(path -> names.add(path.substring(0, path.length() - suffix.length())));
+          }
+        } catch (URISyntaxException ex) {
+          log.debug("ignoring {}", url, ex);
+        }
+      } else if (jars && "jar".equals(url.getProtocol())) {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = connection.getJarFile()) {
+          Enumeration<JarEntry> entries = jar.entries();
+          while (entries.hasMoreElements()) {
+            String path = entries.nextElement().getName();
+            if (path.startsWith(prefix) && path.endsWith(suffix)) {
+              names.add(path.substring(prefix.length(), path.length() - suffix.length()));
+            }
+          }
+        }
+      } else {
+        log.debug("ignoring {}", url);
+      }
+    }
+    int count = 0;
+    for (String name : names) {
+      try {
+        get(name);
+        count += 1;
+      } catch (Exception ex) {
+        log.error("compilation of {} resulted in exception", name, ex);
+      }
+    }
+    log.info("{} of {} template(s) compiled", count, names.size());
+    return count;
+  }
+
+  /**
+   * Directories of the loader prefix (jars are ignored). There is nothing to watch when the
+   * loader prefix is the classpath root (<code>/</code>).
+   *
+   * @param loader Class loader.
+   * @return Directories where templates live.
+   * @throws IOException If class loader fails.
+   */
+  public List<Path> dirs(final ClassLoader loader) throws IOException {
+    List<Path> dirs = new ArrayList<>();
+    String prefix = prefix();
+    if (prefix.isEmpty()) {
+      log.debug("templates from classpath root are never watched");
+      return dirs;
+    }
+    Enumeration<URL> urls = loader.getResources(prefix);
+    while (urls.hasMoreElements()) {
+      URL url = urls.nextElement();
+      if ("file".equals(url.getProtocol())) {
+        try {
+          Path dir = Paths.get(url.toURI());
+          if (Files.isDirectory(dir)) {
+            dirs.add(dir);
+          }
+        } catch (URISyntaxException ex) {
+          log.debug("ignoring {}", url, ex);
+        }
+      }
+    }
+    return dirs;
+  }
+
+  /**
+   * Invalidate the registry every time a file changes in one of the given directories.
+   *
+   * @param dirs Directories to watch.
+   * @throws IOException If watcher fails.
+   */
+  public synchronized void watch(final List<Path> dirs) throws IOException {
+    WatchService watcher = FileSystems.getDefault().newWatchService();
+    for (Path dir : dirs) {
+      register(watcher, dir);
+    }
+    this.watcher = watcher;
+    Thread scanner = new Thread(() -> {
+      try {
+        while (true) {
+          WatchKey key = watcher.take();
+          Path dir = (Path) key.watchable();
+          for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == ENTRY_CREATE) {
+              Path path = dir.resolve((Path) event.context());
+              if (Files.isDirectory(path)) {
+                try {
+                  register(watcher, path);
+                } catch (IOException ex) {
+                  log.debug("can't watch {}", path, ex);
+                }
+              }
+            }
+          }
+          log.debug("template change detected, resetting templates");
+          invalidate();
+          key.reset();
+        }
+      } catch (InterruptedException | ClosedWatchServiceException ex) {
+        log.trace("template watcher stopped", ex);
+      }
+    }, "hbs-watcher");
+    scanner.setDaemon(true);
+    scanner.start();
+  }
+
+  public synchronized void stop() throws IOException {
+    if (watcher != null) {
+      watcher.close();
+      watcher = null;
+    }
+  }
+
+  private Template compile(final String name) throws IOException {
+    return hbs.compile(hbs.getLoader().sourceAt(name));
+  }
+
+  private static void register(final WatchService watcher, final Path dir) throws IOException {
+    Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+          throws IOException {
+        dir.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * @return Loader prefix without leading slash and with trailing slash, or empty for the
+   *         classpath root.
+   */
+  private String prefix() {
+    String prefix = hbs.getLoader().getPrefix();
+    if (prefix.startsWith("/")) {
+      prefix = prefix.substring(1);
+    }
+    if (prefix.length() > 0 && !prefix.endsWith("/")) {
+      prefix += "/";
+    }
+    return prefix;
+  }
+
+}
@@ -21,6 +21,8 @@ import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import com.typesafe.config.Config;
 
+import javaslang.control.Try.CheckedRunnable;
+
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({Hbs.class, Multibinder.class })
 public class HbsTest {
@@ -32,6 +34,60 @@ public class HbsTest {
         .expect(unit -> {
           Env env = unit.get(Env.class);
           expect(env.name()).andReturn("dev");
+          expect(env.onStart(isA(CheckedRunnable.class))).andReturn(env);
+          expect(env.onStop(isA(CheckedRunnable.class))).andReturn(env);
+        })
+        .expect(unit -> {
+          AnnotatedBindingBuilder<Handlebars> hABB = unit.mock(AnnotatedBindingBuilder.class);
+          hABB.toInstance(isA(Handlebars.class));
+
+          Binder binder = unit.get(Binder.class);
+          expect(binder.bind(Handlebars.class)).andReturn(hABB);
+        })
+        .expect(unit -> {
+          Binder binder = unit.get(Binder.class);
+
+          Multibinder<Object> mbinder = unit.mock(Multibinder.class);
+
+          unit.mockStatic(Multibinder.class);
+          expect(Multibinder.newSetBinder(binder, Object.class, Names.named("hbs.helpers")))
+              .andReturn(mbinder);
+
+          LinkedBindingBuilder<Renderer> fLBB = unit.mock(LinkedBindingBuilder.class);
+          fLBB.toInstance(isA(HbsEngine.class));
+
+          Multibinder<Renderer> mfbinder = unit.mock(Multibinder.class);
+          expect(mfbinder.addBinding()).andReturn(fLBB);
+          expect(Multibinder.newSetBinder(binder, Renderer.class))
+              .andReturn(mfbinder);
+
+          AnnotatedBindingBuilder<HbsHelpers> hhABB = unit.mock(AnnotatedBindingBuilder.class);
+          hhABB.asEagerSingleton();
+
+          expect(binder.bind(HbsHelpers.class)).andReturn(hhABB);
+        })
+        .expect(unit -> {
+
+        })
+        .run(unit -> {
+          new Hbs("/org/jooby/internal/hbs/views")
+              .configure(unit.get(Env.class), unit.get(Config.class), unit.get(Binder.class));
+        });
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void configureProdWithPrecompile() throws Exception {
+    new MockUnit(Env.class, Config.class, Binder.class)
+        .expect(unit -> {
+          Env env = unit.get(Env.class);
+          expect(env.name()).andReturn("prod");
+          expect(env.onStart(isA(CheckedRunnable.class))).andReturn(env);
+
+          Config config = unit.get(Config.class);
+          expect(config.getString("hbs.cache")).andReturn("maximumSize=10");
+          expect(config.getBoolean("hbs.precompile")).andReturn(true);
+          expect(config.getBoolean("hbs.precompileJars")).andReturn(false);
         })
         .expect(unit -> {
           AnnotatedBindingBuilder<Handlebars> hABB = unit.mock(AnnotatedBindingBuilder.class);
@@ -0,0 +1,148 @@
+package org.jooby.internal.hbs;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jooby.test.MockUnit;
+import org.junit.Test;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.TemplateCache;
+import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
+import com.github.jknack.handlebars.io.TemplateLoader;
+import com.github.jknack.handlebars.io.TemplateSource;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+
+public class TemplateRegistryTest {
+
+  @Test
+  public void compileOnce() throws Exception {
+    new MockUnit(Handlebars.class, TemplateLoader.class, TemplateSource.class, Template.class)
+        .expect(compile(1))
+        .run(unit -> {
+          TemplateRegistry registry = new TemplateRegistry(unit.get(Handlebars.class),
+              CacheBuilder.newBuilder().build());
+          assertEquals(unit.get(Template.class), registry.get("index"));
+          assertEquals(unit.get(Template.class), registry.get("index"));
+        });
+  }
+
+  @Test
+  public void noCache() throws Exception {
+    new MockUnit(Handlebars.class, TemplateLoader.class, TemplateSource.class, Template.class)
+        .expect(compile(2))
+        .run(unit -> {
+          TemplateRegistry registry = new TemplateRegistry(unit.get(Handlebars.class), null);
+          assertEquals(unit.get(Template.class), registry.get("index"));
+          assertEquals(unit.get(Template.class), registry.get("index"));
+        });
+  }
+
+  @Test
+  public void invalidate() throws Exception {
+    new MockUnit(Handlebars.class, TemplateLoader.class, TemplateSource.class, Template.class)
+        .expect(compile(2))
+        .expect(unit -> {
+          TemplateCache cache = unit.mock(TemplateCache.class);
+          cache.clear();
+
+          expect(unit.get(Handlebars.class).getCache()).andReturn(cache);
+        })
+        .run(unit -> {
+          TemplateRegistry registry = new TemplateRegistry(unit.get(Handlebars.class),
+              CacheBuilder.newBuilder().build());
+          registry.get("index");
+          registry.invalidate();
+          registry.get("index");
+        });
+  }
+
+  @Test
+  public void invalidateWhileCompiling() throws Exception {
+    Cache<String, Template> templates = CacheBuilder.newBuilder().build();
+    AtomicReference<TemplateRegistry> registry = new AtomicReference<>();
+    new MockUnit(Handlebars.class, TemplateLoader.class, TemplateSource.class, Template.class)
+        .expect(unit -> {
+          TemplateSource source = unit.get(TemplateSource.class);
+
+          TemplateLoader loader = unit.get(TemplateLoader.class);
+          expect(loader.sourceAt("index")).andReturn(source);
+
+          TemplateCache cache = unit.mock(TemplateCache.class);
+          cache.clear();
+          cache.evict(source);
+
+          Handlebars hbs = unit.get(Handlebars.class);
+          expect(hbs.getLoader()).andReturn(loader);
+          expect(hbs.getCache()).andReturn(cache).times(2);
+          expect(hbs.compile(source)).andAnswer(() -> {
+            // a file changed while compiling
+            registry.get().invalidate();
+            return unit.get(Template.class);
+          });
+        })
+        .run(unit -> {
+          registry.set(new TemplateRegistry(unit.get(Handlebars.class), templates));
+          assertEquals(unit.get(Template.class), registry.get().get("index"));
+          assertEquals(0, templates.size());
+        });
+  }
+
+  @Test
+  public void precompile() throws Exception {
+    Cache<String, Template> templates = CacheBuilder.newBuilder().build();
+    Handlebars hbs = new Handlebars(
+        new ClassPathTemplateLoader("/org/jooby/internal/hbs/views", ".html"));
+    TemplateRegistry registry = new TemplateRegistry(hbs, templates);
+    // bad.html fails and is skipped
+    assertEquals(2, registry.precompile(getClass().getClassLoader(), false));
+    assertEquals(Sets.newHashSet("ok", "sub/nested"), templates.asMap().keySet());
+    assertEquals("<p>x</p>\n", templates.getIfPresent("ok").apply("x"));
+  }
+
+  @Test
+  public void precompileRootPrefix() throws Exception {
+    Cache<String, Template> templates = CacheBuilder.newBuilder().build();
+    TemplateRegistry registry = new TemplateRegistry(new Handlebars(), templates);
+    assertEquals(0, registry.precompile(getClass().getClassLoader(), true));
+    assertEquals(0, templates.size());
+  }
+
+  @Test
+  public void dirs() throws Exception {
+    TemplateRegistry registry = new TemplateRegistry(new Handlebars(
+        new ClassPathTemplateLoader("/org/jooby/internal/hbs/views", ".html")), null);
+    List<Path> dirs = registry.dirs(getClass().getClassLoader());
+    assertEquals(1, dirs.size());
+    assertTrue(dirs.get(0).endsWith(Paths.get("org", "jooby", "internal", "hbs", "views")));
+  }
+
+  @Test
+  public void dirsRootPrefix() throws Exception {
+    TemplateRegistry registry = new TemplateRegistry(new Handlebars(), null);
+    assertEquals(Collections.emptyList(), registry.dirs(getClass().getClassLoader()));
+  }
+
+  private MockUnit.Block compile(final int times) {
+    return unit -> {
+      TemplateSource source = unit.get(TemplateSource.class);
+
+      TemplateLoader loader = unit.get(TemplateLoader.class);
+      expect(loader.sourceAt("index")).andReturn(source).times(times);
+
+      Handlebars hbs = unit.get(Handlebars.class);
+      expect(hbs.getLoader()).andReturn(loader).times(times);
+      expect(hbs.compile(source)).andReturn(unit.get(Template.class)).times(times);
+    };
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.json;
+
+import org.jooby.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * CBOR support via <a href="https://github.com/FasterXML/jackson-dataformats-binary">Jackson</a>.
+ *
+ * This module provides an <code>application/cbor</code> {@link org.jooby.Parser} and
+ * {@link org.jooby.Renderer}, but also a <code>&#64;Named("cbor")</code> {@link ObjectMapper}.
+ *
+ * <h1>usage</h1>
+ * <p>
+ * Add the <code>com.fasterxml.jackson.dataformat:jackson-dataformat-cbor</code> dependency and:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use(new Jackson());
+ *
+ *   use(new Cbor());
+ *
+ *   // json or cbor, depending on the Accept header
+ *   get("/my-api", req {@literal ->} new MyObject());
+ *
+ *   // json or cbor, depending on the Content-Type header
+ *   post("/my-api", req {@literal ->} {
+ *     MyObject obj = req.body(MyObject.class);
+ *     return obj;
+ *   });
+ * }
+ * </pre>
+ *
+ * See {@link JacksonBinary} for more details.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class Cbor extends JacksonBinary {
+
+  /** Default media type. */
+  public static final MediaType TYPE = MediaType.valueOf("application/cbor");
+
+  /**
+   * Creates a new {@link Cbor} module.
+   *
+   * @param mapper An object mapper created from a CBOR factory.
+   */
+  public Cbor(final ObjectMapper mapper) {
+    super("cbor", TYPE, mapper);
+  }
+
+  /**
+   * Creates a new {@link Cbor} module.
+   */
+  public Cbor() {
+    super("cbor", TYPE, "com.fasterxml.jackson.dataformat.cbor.CBORFactory",
+        "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor");
+  }
+
+}
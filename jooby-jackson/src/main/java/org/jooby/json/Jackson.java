@@ -21,6 +21,9 @@ package org.jooby.json;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Objects.requireNonNull;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.util.LinkedHashSet;
 import java.util.Locale;
@@ -30,11 +33,18 @@ import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
+import org.jooby.Deferred;
 import org.jooby.Env;
 import org.jooby.Jooby;
 import org.jooby.MediaType;
 import org.jooby.Parser;
 import org.jooby.Renderer;
+import org.jooby.Result;
+import org.jooby.Route;
+import org.jooby.Status;
+import org.jooby.mvc.Body;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -45,6 +55,8 @@ import com.google.inject.Key;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
 
 /**
  * JSON support from the excellent <a href="https://github.com/FasterXML/jackson">Jackson</a>
@@ -112,6 +124,24 @@ import com.typesafe.config.Config;
  *
  * This is useful when your jackson module require some dependencies.
  *
+ * <h1>accelerate</h1>
+ * <p>
+ * Bytecode generated property accessors (instead of reflection) are available via the
+ * <a href="https://github.com/FasterXML/jackson-modules-base">afterburner</a> module. Add the
+ * <code>com.fasterxml.jackson.module:jackson-module-afterburner</code> dependency and set:
+ * </p>
+ *
+ * <pre>
+ * jackson.accelerate = true
+ * </pre>
+ *
+ * <h1>warm up</h1>
+ * <p>
+ * Serializers of MVC route return types and deserializers of <code>&#64;Body</code> parameters
+ * are resolved at startup time, so first requests don't pay the introspection cost. Set
+ * <code>jackson.warmup = false</code> to turn it off.
+ * </p>
+ *
  * @author edgar
  * @since 0.6.0
  */
@@ -126,6 +156,9 @@ public class Jackson implements Jooby.Module {
 
   }
 
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
   private final ObjectMapper mapper;
 
   private final Set<Module> modules = new LinkedHashSet<>();
@@ -159,11 +192,12 @@ public class Jackson implements Jooby.Module {
 
   @Override
   public void configure(final Env mode, final Config config, final Binder binder) {
-    Locale locale = Locale.forLanguageTag(config.getString("application.lang").replace("_", "-"));
-    // Jackson clone the date format in order to make dateFormat thread-safe
-    mapper.setDateFormat(new SimpleDateFormat(config.getString("application.dateFormat"), locale));
-    mapper.setLocale(locale);
-    mapper.setTimeZone(TimeZone.getTimeZone(config.getString("application.tz")));
+    configure(mapper, config);
+
+    // bytecode generated accessors
+    if (config.getBoolean("jackson.accelerate")) {
+      modules.add(afterburner());
+    }
 
     // Jackson Modules from Guice
     Multibinder<Module> moduleBinder = Multibinder.newSetBinder(binder, Module.class);
@@ -190,6 +224,81 @@ public class Jackson implements Jooby.Module {
     binder.bind(Key.get(Renderer.class, Names.named(renderer.toString()))).toInstance(renderer);
     binder.bind(Key.get(Parser.class, Names.named(parser.toString()))).toInstance(parser);
 
+    // resolve (de)serializers of mvc routes
+    if (config.getBoolean("jackson.warmup")) {
+      mode.onStart(registry -> warmup(registry.require(Route.KEY), parser, renderer));
+    }
+  }
+
+  @Override
+  public Config config() {
+    return ConfigFactory.empty(Jackson.class.getName())
+        .withValue("jackson.accelerate", ConfigValueFactory.fromAnyRef(false))
+        .withValue("jackson.warmup", ConfigValueFactory.fromAnyRef(true));
+  }
+
+  /**
+   * Apply application locale, date format and time zone.
+   *
+   * @param mapper Object mapper.
+   * @param config Application config.
+   */
+  static void configure(final ObjectMapper mapper, final Config config) {
+    Locale locale = Locale.forLanguageTag(config.getString("application.lang").replace("_", "-"));
+    // Jackson clone the date format in order to make dateFormat thread-safe
+    mapper.setDateFormat(new SimpleDateFormat(config.getString("application.dateFormat"), locale));
+    mapper.setLocale(locale);
+    mapper.setTimeZone(TimeZone.getTimeZone(config.getString("application.tz")));
+  }
+
+  private static Module afterburner() {
+    String classname = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+    try {
+      return (Module) Jackson.class.getClassLoader().loadClass(classname).newInstance();
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalStateException("jackson.accelerate requires: "
+          + "com.fasterxml.jackson.module:jackson-module-afterburner", ex);
+    } catch (InstantiationException | IllegalAccessException ex) {
+      throw new IllegalStateException("Can't create: " + classname, ex);
+    }
+  }
+
+  private void warmup(final Set<Route.Definition> routes, final JacksonParser parser,
+      final JacksonRenderer renderer) {
+    long start = System.currentTimeMillis();
+    routes.stream()
+        .map(Route.Definition::filter)
+        .filter(Route.MethodHandler.class::isInstance)
+        .map(handler -> ((Route.MethodHandler) handler).method())
+        .distinct()
+        .forEach(method -> warmup(method, parser, renderer));
+    log.debug("json warm up took: {}ms", System.currentTimeMillis() - start);
+  }
+
+  private void warmup(final Method method, final JacksonParser parser,
+      final JacksonRenderer renderer) {
+    try {
+      Type rtype = method.getGenericReturnType();
+      if (warmup(method.getReturnType())) {
+        renderer.warmup(rtype);
+      }
+      for (Parameter param : method.getParameters()) {
+        if (param.isAnnotationPresent(Body.class) && warmup(param.getType())) {
+          parser.warmup(param.getParameterizedType());
+        }
+      }
+    } catch (Exception ex) {
+      log.debug("json warm up of {} resulted in exception", method, ex);
+    }
+  }
+
+  private static boolean warmup(final Class<?> type) {
+    if (type.isPrimitive() || type == Void.class || type == Object.class
+        || type == String.class) {
+      return false;
+    }
+    return !(Result.class.isAssignableFrom(type) || Deferred.class.isAssignableFrom(type)
+        || type == Status.class);
   }
 
 }
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.json;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.jooby.MediaType;
+import org.jooby.Parser;
+import org.jooby.Renderer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import com.typesafe.config.Config;
+
+/**
+ * Base class for binary data formats (like {@link Cbor}, {@link Smile} or {@link MsgPack}) built
+ * on top of a Jackson {@link JsonFactory}.
+ *
+ * This module provides a {@link Parser}, a {@link Renderer} and an {@link ObjectMapper} for the
+ * data format. The {@link ObjectMapper} is bound with a {@link com.google.inject.name.Named}
+ * annotation (the format name), so it can be used side by side with the {@link Jackson} module:
+ *
+ * <pre>
+ * {
+ *   use(new Jackson());
+ *
+ *   use(new Cbor());
+ *
+ *   get("/my-api", req {@literal ->} new MyObject());
+ * }
+ * </pre>
+ *
+ * The format to send is picked from the <code>Accept</code> header and the body is read from the
+ * <code>Content-Type</code> header. Jackson modules wired by Guice are registered too.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public abstract class JacksonBinary implements Jooby.Module {
+
+  private static class PostConfigurer {
+
+    private ObjectMapper mapper;
+
+    public PostConfigurer(final ObjectMapper mapper) {
+      this.mapper = mapper;
+    }
+
+    @Inject
+    public void register(final Set<Module> jacksonModules) {
+      mapper.registerModules(jacksonModules);
+    }
+  }
+
+  private final String name;
+
+  private final MediaType type;
+
+  private final ObjectMapper mapper;
+
+  /**
+   * Creates a new {@link JacksonBinary}.
+   *
+   * @param name Format name, like <code>cbor</code>.
+   * @param type Format media type.
+   * @param mapper Object mapper, created from the format factory.
+   */
+  protected JacksonBinary(final String name, final MediaType type, final ObjectMapper mapper) {
+    this.name = requireNonNull(name, "Name is required.");
+    this.type = requireNonNull(type, "Type is required.");
+    this.mapper = checkNotNull(mapper, "ObjectMapper is required.");
+  }
+
+  /**
+   * Creates a new {@link JacksonBinary}.
+   *
+   * @param name Format name, like <code>cbor</code>.
+   * @param type Format media type.
+   * @param factory Classname of the {@link JsonFactory}.
+   * @param dependency Maven dependency of the {@link JsonFactory}, used for error reporting.
+   */
+  protected JacksonBinary(final String name, final MediaType type, final String factory,
+      final String dependency) {
+    this(name, type, new ObjectMapper(factory(name, factory, dependency)));
+  }
+
+  /**
+   * Customize the {@link ObjectMapper}.
+   *
+   * @param block Callback.
+   * @return This module.
+   */
+  public JacksonBinary doWith(final Consumer<ObjectMapper> block) {
+    requireNonNull(block, "A block is required.").accept(mapper);
+    return this;
+  }
+
+  @Override
+  public void configure(final Env env, final Config config, final Binder binder) {
+    Jackson.configure(mapper, config);
+
+    // Jackson Modules from Guice
+    Multibinder<Module> moduleBinder = Multibinder.newSetBinder(binder, Module.class);
+    moduleBinder.addBinding().toInstance(new Jdk8Module());
+    moduleBinder.addBinding().toInstance(new JavaTimeModule());
+
+    binder.bind(Key.get(ObjectMapper.class, Names.named(name))).toInstance(mapper);
+
+    binder.requestInjection(new PostConfigurer(mapper));
+
+    // parser & renderer
+    JacksonParser parser = new JacksonParser(mapper, type, name, true);
+    JacksonRenderer renderer = new JacksonRenderer(mapper, type, name, true);
+
+    Multibinder.newSetBinder(binder, Renderer.class)
+        .addBinding()
+        .toInstance(renderer);
+
+    Multibinder.newSetBinder(binder, Parser.class)
+        .addBinding()
+        .toInstance(parser);
+
+    // direct access?
+    binder.bind(Key.get(Renderer.class, Names.named(name))).toInstance(renderer);
+    binder.bind(Key.get(Parser.class, Names.named(name))).toInstance(parser);
+  }
+
+  private static JsonFactory factory(final String name, final String classname,
+      final String dependency) {
+    try {
+      return (JsonFactory) JacksonBinary.class.getClassLoader().loadClass(classname)
+          .newInstance();
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalStateException(name + " requires: " + dependency, ex);
+    } catch (InstantiationException | IllegalAccessException ex) {
+      throw new IllegalStateException("Can't create: " + classname, ex);
+    }
+  }
+
+}
@@ -18,12 +18,19 @@
  */
 package org.jooby.json;
 
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.jooby.MediaType;
 import org.jooby.MediaType.Matcher;
 import org.jooby.Parser;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.inject.TypeLiteral;
 
 class JacksonParser implements Parser {
@@ -32,9 +39,24 @@ class JacksonParser implements Parser {
 
   private Matcher matcher;
 
-  public JacksonParser(final ObjectMapper mapper, final MediaType type) {
+  private String name;
+
+  /** True for binary formats (cbor, smile, etc..). */
+  private final boolean binary;
+
+  /** Readers by type, empty when type can't be deserialized. */
+  private final ConcurrentMap<Type, Optional<ObjectReader>> readers = new ConcurrentHashMap<>();
+
+  public JacksonParser(final ObjectMapper mapper, final MediaType type, final String name,
+      final boolean binary) {
     this.mapper = mapper;
     this.matcher = MediaType.matcher(type);
+    this.name = name;
+    this.binary = binary;
+  }
+
+  public JacksonParser(final ObjectMapper mapper, final MediaType type) {
+    this(mapper, type, "json", false);
   }
 
   @Override
@@ -45,18 +67,44 @@ class JacksonParser implements Parser {
       return ctx.next();
     }
 
-    JavaType javaType = mapper.constructType(type.getType());
-    if (matcher.matches(ctype) && mapper.canDeserialize(javaType)) {
-      return ctx
-          .ifparam(values -> mapper.readValue(values.iterator().next(), javaType))
-          .ifbody(body -> mapper.readValue(body.bytes(), javaType));
+    if (matcher.matches(ctype)) {
+      ObjectReader reader = reader(type.getType());
+      if (reader != null) {
+        // binary formats (cbor, smile, etc..) can't be read from a param
+        Parser.Builder builder = binary ? ctx
+            : ctx.ifparam(values -> reader.readValue(values.iterator().next()));
+        return builder.ifbody(body -> {
+          try (InputStream stream = body.stream()) {
+            return reader.readValue(stream);
+          }
+        });
+      }
     }
     return ctx.next();
   }
 
+  /**
+   * Resolve (and cache) the reader of the given type, see {@link Jackson}.
+   *
+   * @param type Type to warm up.
+   */
+  void warmup(final Type type) {
+    reader(type);
+  }
+
+  private ObjectReader reader(final Type type) {
+    return readers.computeIfAbsent(type, key -> {
+      JavaType javaType = mapper.constructType(key);
+      if (mapper.canDeserialize(javaType)) {
+        return Optional.of(mapper.readerFor(javaType));
+      }
+      return Optional.empty();
+    }).orElse(null);
+  }
+
   @Override
   public String toString() {
-    return "json";
+    return name;
   }
 
 }
@@ -18,10 +18,23 @@
  */
 package org.jooby.json;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
 import org.jooby.MediaType;
 import org.jooby.Renderer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 class JacksonRenderer implements Renderer {
 
@@ -29,25 +42,124 @@ class JacksonRenderer implements Renderer {
 
   private MediaType type;
 
-  public JacksonRenderer(final ObjectMapper mapper, final MediaType type) {
+  private String name;
+
+  /** True for binary formats (cbor, smile, etc..). */
+  private final boolean binary;
+
+  /** Writers by type, empty when type can't be serialized. */
+  private final ConcurrentMap<Class<?>, Optional<ObjectWriter>> writers =
+      new ConcurrentHashMap<>();
+
+  public JacksonRenderer(final ObjectMapper mapper, final MediaType type, final String name,
+      final boolean binary) {
     this.mapper = mapper;
     this.type = type;
+    this.name = name;
+    this.binary = binary;
+  }
+
+  public JacksonRenderer(final ObjectMapper mapper, final MediaType type) {
+    this(mapper, type, "json", false);
   }
 
   @Override
   public void render(final Object value, final Context ctx) throws Exception {
-    if (ctx.accepts(type) && mapper.canSerialize(value.getClass())) {
+    if (ctx.accepts(type)) {
+      // binary formats (cbor, smile, etc..) are written as bytes, not text
+      if (binary) {
+        bytes(value, ctx);
+      } else if (value instanceof Iterator) {
+        ctx.type(type);
+        ctx.send(writer -> array(writer, (Iterator<?>) value));
+      } else if (value instanceof Stream) {
+        ctx.type(type);
+        ctx.send(writer -> {
+          try (Stream<?> stream = (Stream<?>) value) {
+            array(writer, stream.iterator());
+          }
+        });
+      } else {
+        ObjectWriter writer = writer(value.getClass());
+        if (writer != null) {
+          ctx.type(type);
+          ctx.send(out -> writer.writeValue(out, value));
+        }
+      }
+    }
+  }
+
+  private void bytes(final Object value, final Context ctx) throws Exception {
+    if (value instanceof Iterator) {
+      ctx.type(type);
+      ctx.send(array((Iterator<?>) value));
+    } else if (value instanceof Stream) {
       ctx.type(type);
-      // use UTF-8 and get byte version
-      byte[] bytes = mapper.writeValueAsBytes(value);
-      ctx.length(bytes.length)
-          .send(bytes);
+      try (Stream<?> stream = (Stream<?>) value) {
+        ctx.send(array(stream.iterator()));
+      }
+    } else {
+      ObjectWriter writer = writer(value.getClass());
+      if (writer != null) {
+        ctx.type(type);
+        ctx.send(writer.writeValueAsBytes(value));
+      }
+    }
+  }
+
+  private byte[] array(final Iterator<?> it) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+      array(generator, it);
     }
+    return out.toByteArray();
+  }
+
+  private void array(final Writer writer, final Iterator<?> it) throws Exception {
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+      array(generator, it);
+    }
+  }
+
+  private static void array(final JsonGenerator generator, final Iterator<?> it)
+      throws Exception {
+    generator.writeStartArray();
+    while (it.hasNext()) {
+      generator.writeObject(it.next());
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Resolve the serializers of the given type, see {@link Jackson}. Writers are cached by the
+   * runtime type of the value, so a writer is cached for concrete types only. Abstract types
+   * (like <code>List</code>) just resolve their (content) serializers and the writer of the
+   * runtime type (like <code>ArrayList</code>) is created on first render.
+   *
+   * @param type Type to warm up.
+   */
+  void warmup(final Type type) {
+    JavaType javaType = mapper.constructType(type);
+    Class<?> raw = javaType.getRawClass();
+    boolean concrete = !raw.isInterface() && !Modifier.isAbstract(raw.getModifiers());
+    if (concrete ? writer(raw) != null : mapper.canSerialize(raw)) {
+      // generic types: resolve content serializers too
+      mapper.writerFor(javaType);
+    }
+  }
+
+  private ObjectWriter writer(final Class<?> type) {
+    return writers.computeIfAbsent(type, key -> {
+      if (mapper.canSerialize(key)) {
+        return Optional.of(mapper.writerFor(key));
+      }
+      return Optional.empty();
+    }).orElse(null);
   }
 
   @Override
   public String name() {
-    return "json";
+    return name;
   }
 
   @Override
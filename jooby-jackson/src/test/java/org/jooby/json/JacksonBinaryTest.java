@@ -0,0 +1,97 @@
+package org.jooby.json;
+
+import static org.easymock.EasyMock.aryEq;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isA;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import org.jooby.MediaType;
+import org.jooby.Parser;
+import org.jooby.Renderer;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+public class JacksonBinaryTest {
+
+  public static class Pet {
+    public String name = "Lassie";
+  }
+
+  private static final Config config = ConfigFactory.parseMap(ImmutableMap.of(
+      "application.lang", "en-US",
+      "application.dateFormat", "dd-MM-yy",
+      "application.tz", "UTC"));
+
+  /**
+   * The mapper below is backed by a text factory (canHandleBinaryNatively is false), so these
+   * tests verify bytes come from the module type and not from the factory.
+   */
+  @Test
+  public void smile() throws Throwable {
+    binary(new Smile(new ObjectMapper()), "smile", Smile.TYPE);
+  }
+
+  @Test
+  public void msgpack() throws Throwable {
+    binary(new MsgPack(new ObjectMapper()), "msgpack", MsgPack.TYPE);
+  }
+
+  @Test
+  public void cbor() throws Throwable {
+    binary(new Cbor(new ObjectMapper()), "cbor", Cbor.TYPE);
+  }
+
+  @Test
+  public void jsonIsText() throws Exception {
+    Renderer.Context ctx = createMock(Renderer.Context.class);
+    expect(ctx.accepts(MediaType.json)).andReturn(true);
+    expect(ctx.type(MediaType.json)).andReturn(ctx);
+    ctx.send(isA(Renderer.Context.TextWriter.class));
+    replay(ctx);
+
+    new JacksonRenderer(new ObjectMapper(), MediaType.json).render(new Pet(), ctx);
+
+    verify(ctx);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked" })
+  private void binary(final JacksonBinary module, final String name, final MediaType type)
+      throws Throwable {
+    Injector injector = Guice.createInjector(binder -> module.configure(null, config, binder));
+    ObjectMapper mapper = injector.getInstance(Key.get(ObjectMapper.class, Names.named(name)));
+    Pet pet = new Pet();
+
+    // renderer sends bytes
+    Renderer.Context rctx = createMock(Renderer.Context.class);
+    expect(rctx.accepts(type)).andReturn(true);
+    expect(rctx.type(type)).andReturn(rctx);
+    rctx.send(aryEq(mapper.writeValueAsBytes(pet)));
+    replay(rctx);
+
+    injector.getInstance(Key.get(Renderer.class, Names.named(name))).render(pet, rctx);
+
+    verify(rctx);
+
+    // parser never reads from a param
+    Parser.Context pctx = createMock(Parser.Context.class);
+    expect(pctx.type()).andReturn(type);
+    expect(pctx.ifbody(isA(Parser.Callback.class))).andReturn(pctx);
+    replay(pctx);
+
+    injector.getInstance(Key.get(Parser.class, Names.named(name)))
+        .parse(TypeLiteral.get(Pet.class), pctx);
+
+    verify(pctx);
+  }
+}
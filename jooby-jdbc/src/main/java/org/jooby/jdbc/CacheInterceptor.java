@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.google.common.primitives.Primitives;
+import com.google.inject.matcher.AbstractMatcher;
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Apply {@link Cached} and {@link Invalidate} annotations.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class CacheInterceptor implements MethodInterceptor {
+
+  private static class CachedMethod {
+
+    final String name;
+
+    final String key;
+
+    final long ttl;
+
+    final String[] tags;
+
+    CachedMethod(final Method method, final Cached cached) {
+      this.name = cached.value().isEmpty()
+          ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+          : cached.value();
+      this.key = cached.key();
+      int params = method.getParameterCount();
+      Matcher matcher = ARG.matcher(key);
+      while (matcher.find()) {
+        int index = Integer.parseInt(matcher.group(1));
+        if (index >= params) {
+          throw new IllegalStateException("Argument {" + index + "} not found, @Cached(key = \""
+              + key + "\") has " + params + " argument(s): " + method);
+        }
+      }
+      if (key.isEmpty()) {
+        for (Class<?> type : method.getParameterTypes()) {
+          if (!simple(type)) {
+            throw new IllegalStateException("Argument of type " + type.getName()
+                + " can't be used as cache key, set @Cached(key) on: " + method);
+          }
+        }
+      }
+      this.ttl = cached.ttl().isEmpty()
+          ? 0
+          : ConfigFactory.parseString("ttl = " + cached.ttl())
+              .getDuration("ttl", TimeUnit.MILLISECONDS);
+      this.tags = cached.tags();
+    }
+
+    String key(final Object[] args) {
+      if (key.isEmpty()) {
+        // length-prefixed, so arguments with separators in them can't collide
+        StringBuilder buff = new StringBuilder();
+        for (Object arg : args) {
+          if (arg == null) {
+            buff.append('~');
+          } else {
+            String value = text(arg);
+            buff.append(value.length()).append(':').append(value);
+          }
+        }
+        return buff.toString();
+      }
+      Matcher matcher = ARG.matcher(key);
+      StringBuffer buff = new StringBuffer();
+      while (matcher.find()) {
+        String value = text(args[Integer.parseInt(matcher.group(1))]);
+        matcher.appendReplacement(buff, Matcher.quoteReplacement(value));
+      }
+      matcher.appendTail(buff);
+      return buff.toString();
+    }
+  }
+
+  private static final Pattern ARG = Pattern.compile("\\{(\\d+)\\}");
+
+  private final QueryCache cache;
+
+  private final Map<Method, CachedMethod> methods = new ConcurrentHashMap<>();
+
+  public CacheInterceptor(final QueryCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Match {@link Cached} and {@link Invalidate} methods. Cached methods are checked while matching,
+   * so a bad key expression fails when the interceptor is bound, not on the first call.
+   *
+   * @return A method matcher.
+   */
+  public com.google.inject.matcher.Matcher<Method> methods() {
+    return new AbstractMatcher<Method>() {
+      @Override
+      public boolean matches(final Method method) {
+        Cached cached = method.getAnnotation(Cached.class);
+        if (cached != null) {
+          methods.computeIfAbsent(method, m -> new CachedMethod(m, cached));
+          return true;
+        }
+        return method.isAnnotationPresent(Invalidate.class);
+      }
+    };
+  }
+
+  @Override
+  public Object invoke(final MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    Object result;
+    Cached cached = method.getAnnotation(Cached.class);
+    if (cached == null) {
+      result = invocation.proceed();
+    } else {
+      CachedMethod spec = methods.computeIfAbsent(method, m -> new CachedMethod(m, cached));
+      result = cache.get(spec.name, spec.key(invocation.getArguments()), spec.ttl, spec.tags,
+          () -> {
+            try {
+              return invocation.proceed();
+            } catch (Exception | Error x) {
+              throw x;
+            } catch (Throwable x) {
+              throw new IllegalStateException(x);
+            }
+          });
+    }
+    Invalidate invalidate = method.getAnnotation(Invalidate.class);
+    if (invalidate != null) {
+      cache.invalidate(invalidate.value());
+    }
+    return result;
+  }
+
+  private static String text(final Object arg) {
+    if (arg != null && arg.getClass().isArray()) {
+      // primitive and nested arrays
+      String value = Arrays.deepToString(new Object[]{arg });
+      return value.substring(1, value.length() - 1);
+    }
+    return String.valueOf(arg);
+  }
+
+  /**
+   * @param type Argument type.
+   * @return True, for types with a meaningful {@link Object#toString()}.
+   */
+  private static boolean simple(final Class<?> type) {
+    if (type.isArray()) {
+      return simple(type.getComponentType());
+    }
+    return type.isPrimitive() || Primitives.isWrapperType(type) || type == String.class
+        || type.isEnum() || type == UUID.class || type == BigDecimal.class
+        || type == BigInteger.class;
+  }
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cache the result of a method in the {@link QueryCache}. Method must be non-private,
+ * non-final and the owner instance must be created by Guice:
+ *
+ * <pre>
+ * public class Pets {
+ *
+ *   &#64;Cached(value = "pets", key = "{0}", ttl = "5m", tags = "pets")
+ *   public Pet get(int id) {
+ *     ...
+ *   }
+ * }
+ * </pre>
+ *
+ * @author edgar
+ * @since 1.0.0
+ * @see Invalidate
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+  /**
+   * @return Cache name. Default is: <code>[Class.getSimpleName].[methodName]</code>.
+   */
+  String value() default "";
+
+  /**
+   * Key expression, where <code>{N}</code> is replaced by the N-th argument of the method, like:
+   * <code>{0}</code> or <code>{0}:{1}</code>. Default is all the arguments, which is only allowed
+   * for simple arguments (primitives, strings, enums, etc.). Methods with any other argument type
+   * (beans, requests, etc.) must set a key. Keys are checked when the interceptor is bound, a
+   * <code>{N}</code> beyond the method arguments is an error.
+   *
+   * @return Key expression.
+   */
+  String key() default "";
+
+  /**
+   * @return Time to live, like <code>30s</code> or <code>5m</code>. Default is no expiration.
+   */
+  String ttl() default "";
+
+  /**
+   * @return Tags for the cached result, see {@link QueryCache#invalidate(String...)}.
+   */
+  String[] tags() default {};
+}
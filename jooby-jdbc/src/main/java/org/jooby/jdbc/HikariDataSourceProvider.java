@@ -18,6 +18,11 @@
  */
 package org.jooby.jdbc;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 import javax.inject.Provider;
 import javax.sql.DataSource;
 
@@ -32,6 +37,12 @@ class HikariDataSourceProvider implements Provider<DataSource> {
 
   private Lazy<HikariDataSource> dataSource;
 
+  private Lazy<InstrumentedDataSource> instrumented;
+
+  private List<HikariDataSourceProvider> replicas = Collections.emptyList();
+
+  private Lazy<RoutingDataSource> routing;
+
   private HikariConfig config;
 
   public HikariDataSourceProvider(final HikariConfig config) {
@@ -48,18 +59,64 @@ class HikariDataSourceProvider implements Provider<DataSource> {
     return config;
   }
 
+  /**
+   * Wrap the data source with an {@link InstrumentedDataSource}.
+   *
+   * @param slowQuery Slow query threshold in nanoseconds, <code>0</code> turns it off.
+   * @return This provider.
+   */
+  public HikariDataSourceProvider instrument(final long slowQuery) {
+    instrumented = Lazy.of(() -> new InstrumentedDataSource(config.getPoolName(),
+        dataSource.get(), slowQuery));
+    return this;
+  }
+
+  public Optional<InstrumentedDataSource> instrumented() {
+    return Optional.ofNullable(instrumented).map(Lazy::get);
+  }
+
+  /**
+   * Route read-only connections to the given replicas, see {@link RoutingDataSource}.
+   *
+   * @param replicas Replicas.
+   * @param retryAfter How long (in millis) a failing replica is skipped.
+   * @return This provider.
+   */
+  public HikariDataSourceProvider replicas(final List<HikariDataSourceProvider> replicas,
+      final long retryAfter) {
+    this.replicas = replicas;
+    this.routing = Lazy.of(() -> new RoutingDataSource(primary(),
+        replicas.stream().map(r -> r.config().getPoolName()).collect(Collectors.toList()),
+        replicas.stream().map(HikariDataSourceProvider::get).collect(Collectors.toList()),
+        retryAfter));
+    return this;
+  }
+
+  public List<HikariDataSourceProvider> replicas() {
+    return replicas;
+  }
+
+  public HikariDataSource dataSource() {
+    return dataSource.get();
+  }
+
   @Override
   public DataSource get() {
-    return dataSource.get();
+    return routing == null ? primary() : routing.get();
   }
 
   public void stop() {
+    replicas.forEach(HikariDataSourceProvider::stop);
     HikariDataSource ds = dataSource.get();
     if (!ds.isClosed()) {
       ds.close();
     }
   }
 
+  private DataSource primary() {
+    return instrumented == null ? dataSource.get() : instrumented.get();
+  }
+
   @Override
   public final String toString() {
     return config.getDataSourceProperties().getProperty("url");
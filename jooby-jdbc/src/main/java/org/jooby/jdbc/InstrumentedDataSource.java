@@ -0,0 +1,308 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Wraps a {@link DataSource} and time every statement execution. Timings are reported by SQL
+ * fingerprint (see {@link #fingerprint(String)}) to a pluggable timer, statements slower than the
+ * configured threshold are logged.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class InstrumentedDataSource implements DataSource {
+
+  private static final Pattern IN_LIST = Pattern.compile("\\bin ?\\( ?\\?(?: ?, ?\\?)* ?\\)");
+
+  private static final ObjLongConsumer<String> NOOP = (sql, nanos) -> {
+  };
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final String name;
+
+  private final DataSource dataSource;
+
+  private final long slowQuery;
+
+  private final LoadingCache<String, String> fingerprints = CacheBuilder.newBuilder()
+      .maximumSize(1000)
+      .build(CacheLoader.from(InstrumentedDataSource::fingerprint));
+
+  private volatile ObjLongConsumer<String> timer = NOOP;
+
+  /**
+   * Creates a new {@link InstrumentedDataSource}.
+   *
+   * @param name Data source name (pool name).
+   * @param dataSource Data source to wrap.
+   * @param slowQuery Slow query threshold in nanoseconds, <code>0</code> turns it off.
+   */
+  public InstrumentedDataSource(final String name, final DataSource dataSource,
+      final long slowQuery) {
+    this.name = name;
+    this.dataSource = dataSource;
+    this.slowQuery = slowQuery;
+  }
+
+  /**
+   * Set the timer who is going to receive SQL fingerprints with the execution time in nanos.
+   *
+   * @param timer A timer.
+   */
+  public void timer(final ObjLongConsumer<String> timer) {
+    this.timer = timer == null ? NOOP : timer;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connection(dataSource.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return connection(dataSource.getConnection(username, password));
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return dataSource.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(final PrintWriter out) throws SQLException {
+    dataSource.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(final int seconds) throws SQLException {
+    dataSource.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return dataSource.getLoginTimeout();
+  }
+
+  @Override
+  public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return dataSource.getParentLogger();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return (T) this;
+    }
+    if (iface.isInstance(dataSource)) {
+      return (T) dataSource;
+    }
+    return dataSource.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || iface.isInstance(dataSource)
+        || dataSource.isWrapperFor(iface);
+  }
+
+  @Override
+  public String toString() {
+    return dataSource.toString();
+  }
+
+  /**
+   * Normalize a SQL statement: comments are removed, whitespaces are collapsed, literals are
+   * replaced by <code>?</code> and <code>IN</code> lists are reduced to a single <code>?</code>.
+   *
+   * <pre>
+   *   SELECT * FROM pets WHERE id IN (1, 2, 3) AND name = 'x'
+   * </pre>
+   *
+   * becomes:
+   *
+   * <pre>
+   *   select * from pets where id in (?) and name = ?
+   * </pre>
+   *
+   * @param sql SQL statement.
+   * @return SQL fingerprint.
+   */
+  static String fingerprint(final String sql) {
+    StringBuilder buff = new StringBuilder(sql.length());
+    int len = sql.length();
+    int i = 0;
+    while (i < len) {
+      char ch = sql.charAt(i);
+      if (ch == '\'') {
+        // string literal
+        i += 1;
+        while (i < len) {
+          if (sql.charAt(i) == '\'') {
+            if (i + 1 < len && sql.charAt(i + 1) == '\'') {
+              i += 2;
+              continue;
+            }
+            break;
+          }
+          i += 1;
+        }
+        i += 1;
+        buff.append('?');
+      } else if (ch == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+        // line comment
+        while (i < len && sql.charAt(i) != '\n') {
+          i += 1;
+        }
+        space(buff);
+      } else if (ch == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {
+        // block comment
+        int end = sql.indexOf("*/", i + 2);
+        i = end < 0 ? len : end + 2;
+        space(buff);
+      } else if (Character.isWhitespace(ch)) {
+        i += 1;
+        space(buff);
+      } else if (Character.isDigit(ch) && !identifier(buff)) {
+        // number literal
+        while (i < len && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+          i += 1;
+        }
+        buff.append('?');
+      } else {
+        buff.append(Character.toLowerCase(ch));
+        i += 1;
+      }
+    }
+    return IN_LIST.matcher(buff.toString().trim()).replaceAll("in (?)");
+  }
+
+  private static void space(final StringBuilder buff) {
+    int len = buff.length();
+    if (len > 0 && buff.charAt(len - 1) != ' ') {
+      buff.append(' ');
+    }
+  }
+
+  private static boolean identifier(final StringBuilder buff) {
+    int len = buff.length();
+    if (len == 0) {
+      return false;
+    }
+    char ch = buff.charAt(len - 1);
+    return Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '"' || ch == '`';
+  }
+
+  private Connection connection(final Connection connection) {
+    return proxy(Connection.class, connection, (proxy, method, args) -> {
+      Object result = invoke(connection, method, args);
+      if (result instanceof Statement) {
+        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+        return statement((Statement) result, proxy, sql);
+      }
+      return result;
+    });
+  }
+
+  private Statement statement(final Statement statement, final Object connection,
+      final String sql) {
+    Class<? extends Statement> type = statement instanceof CallableStatement
+        ? CallableStatement.class
+        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    return proxy(type, statement, (proxy, method, args) -> {
+      String name = method.getName();
+      if (name.startsWith("execute")) {
+        String query = args != null && args.length > 0 && args[0] instanceof String
+            ? (String) args[0]
+            : sql;
+        long start = System.nanoTime();
+        try {
+          return invoke(statement, method, args);
+        } finally {
+          done(query, System.nanoTime() - start);
+        }
+      }
+      if (name.equals("getConnection")) {
+        return connection;
+      }
+      return invoke(statement, method, args);
+    });
+  }
+
+  private void done(final String sql, final long nanos) {
+    String fingerprint = sql == null ? "batch" : fingerprints.getUnchecked(sql);
+    timer.accept(fingerprint, nanos);
+    if (slowQuery > 0 && nanos >= slowQuery) {
+      log.warn("{} slow query took {}ms:\n{}", name, TimeUnit.NANOSECONDS.toMillis(nanos),
+          sql == null ? fingerprint : sql);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(final Class<? extends T> type, final T target,
+      final InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+        new Class[]{type }, (proxy, method, args) -> {
+          if (method.getDeclaringClass() == Object.class) {
+            if (method.getName().equals("equals")) {
+              return proxy == args[0];
+            }
+            return invoke(target, method, args);
+          }
+          return handler.invoke(proxy, method, args);
+        });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException x) {
+      throw x.getCause();
+    }
+  }
+
+}
@@ -21,28 +21,39 @@ package org.jooby.jdbc;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.sql.DataSource;
 
 import org.jooby.Env;
 import org.jooby.Jooby;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.inject.Binder;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigObject;
 import com.typesafe.config.ConfigValue;
 import com.typesafe.config.ConfigValueFactory;
+import com.typesafe.config.ConfigValueType;
 import com.zaxxer.hikari.HikariConfig;
 
+import javaslang.control.Try;
+
 /**
  * <h1>jdbc</h1>
  * <p>
@@ -189,6 +200,111 @@ import com.zaxxer.hikari.HikariConfig;
  * <strong>Name</strong> annotation, like <code>@Name("db.audit")</code>
  * </p>
  *
+ * <h2>read replicas</h2>
+ * <p>
+ * Read-only work can be sent to one or more replicas:
+ * </p>
+ *
+ * <pre>
+ * db.url = "jdbc:mysql://primary/db"
+ * db.replicas = ["jdbc:mysql://replica1/db", "jdbc:mysql://replica2/db"]
+ * </pre>
+ *
+ * <p>
+ * A replica might be an object too, like
+ * <code>{url: "jdbc:mysql://replica1/db", user: "reader"}</code>; missing properties are taken
+ * from the primary database. Every replica gets its own pool, named
+ * <code>[poolName].replica[N]</code>.
+ * </p>
+ *
+ * <p>
+ * Routes opt-in via <code>db</code> attribute, everything else goes to the primary database:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use(new Jdbc());
+ *
+ *   get("/pets", req {@literal ->} ...)
+ *     .attr("db", "read");
+ *
+ *   get("/owners", req {@literal ->} ...)
+ *     .attr("db", "readOnly");
+ * }
+ * </pre>
+ *
+ * <p>
+ * With <code>db=read</code> every connection acquired from the route's thread goes to a replica.
+ * With <code>db=readOnly</code> only connections marked with <code>conn.setReadOnly(true)</code>
+ * go to a replica (useful for libraries who mark read-only transactions). Connections of these
+ * routes are lazy: <code>setReadOnly</code> must be called before anything else, because any
+ * other call acquires the connection. A read connection goes to the replica with the least
+ * outstanding connections. A replica who fails to give a connection is skipped for
+ * <code>jdbc.replicas.retryAfter</code> and the next replica (or the primary) is used.
+ * </p>
+ *
+ * <p>
+ * Mvc routes get the same with a custom annotation, like <code>&#64;Db("read")</code>. Make sure
+ * the module is registered before the routes and keep in mind the attribute doesn't apply to
+ * connections acquired from a different thread (deferred routes, for example).
+ * </p>
+ *
+ * <h2>metrics</h2>
+ * <p>
+ * Pool and query metrics are off by default, because every JDBC call goes through an extra
+ * proxy. Turn them on with:
+ * </p>
+ *
+ * <pre>
+ * jdbc.metrics = true
+ * </pre>
+ *
+ * <p>
+ * When <a href="http://metrics.dropwizard.io">metrics</a> is present and a
+ * <code>MetricRegistry</code> has been bound (see <code>jooby-metrics</code>), pool and query
+ * metrics are published at startup:
+ * </p>
+ *
+ * <ul>
+ * <li><code>[poolName].pool.*</code>: active, idle, pending and total connections, plus the
+ * connection acquire time (Wait) and usage.</li>
+ * <li><code>[poolName].query.[fingerprint]</code>: a timer per statement. The fingerprint is the
+ * normalized SQL, where literals and <code>IN</code> lists are replaced by <code>?</code>.</li>
+ * </ul>
+ *
+ * <p>
+ * The pool name is <code>[dbtype].[name]</code>, like: <code>h2.db</code> or
+ * <code>mysql.db.audit</code>, so every database gets its own namespace.
+ * </p>
+ *
+ * <p>
+ * Statements slower than a threshold are logged when <code>jdbc.slowQuery</code> is set, this
+ * works with or without metrics:
+ * </p>
+ *
+ * <pre>
+ * jdbc.slowQuery = 500ms
+ * </pre>
+ *
+ * <p>
+ * Instrumentation wraps the {@link DataSource}, call <code>ds.unwrap(HikariDataSource.class)</code>
+ * to get the pool.
+ * </p>
+ *
+ * <h2>streaming</h2>
+ * <p>
+ * Large results can be streamed to the client as they are fetched from the database, see
+ * {@link RowStream}:
+ * </p>
+ *
+ * <pre>
+ * get("/pets", req {@literal ->} {
+ *   DataSource ds = req.require(DataSource.class);
+ *   return req.require(RowStream.class)
+ *       .query(ds, RowStream.Format.JSON, 100, "select * from pets");
+ * });
+ * </pre>
+ *
  *
  * That's all folks! Enjoy it!!!
  *
@@ -216,11 +332,48 @@ public class Jdbc implements Jooby.Module {
 
   @Override
   public void configure(final Env env, final Config config, final Binder binder) {
-    this.ds = newDataSource(dbName, dbConfig(dbName, config));
+    Config dbconf = dbConfig(dbName, config);
+    this.dbtype = dbtype(dbName, dbconf);
+    String poolName = dbtype.map(type -> type + "." + dbName).orElse(dbName);
+    this.ds = newDataSource(dbName, dbconf, poolName);
+    List<HikariDataSourceProvider> replicas = replicas(dbName, dbconf, poolName);
+
+    boolean metrics = config.hasPath("jdbc.metrics") && config.getBoolean("jdbc.metrics")
+        && Try.of(() -> Class.forName("com.codahale.metrics.MetricRegistry")).isSuccess();
+    long slowQuery = config.hasPath("jdbc.slowQuery")
+        ? config.getDuration("jdbc.slowQuery", TimeUnit.NANOSECONDS)
+        : 0;
+    for (HikariDataSourceProvider it : Iterables.concat(ImmutableList.of(ds), replicas)) {
+      if (metrics || slowQuery > 0) {
+        it.instrument(slowQuery);
+      }
+      if (metrics) {
+        JdbcMetrics.install(env, it);
+      }
+    }
+
+    if (replicas.size() > 0) {
+      long retryAfter = config.hasPath("jdbc.replicas.retryAfter")
+          ? config.getDuration("jdbc.replicas.retryAfter", TimeUnit.MILLISECONDS)
+          : TimeUnit.SECONDS.toMillis(30);
+      ds.replicas(replicas, retryAfter);
+
+      // db=read routes goes to replicas, db=readOnly routes when conn.setReadOnly(true)
+      env.routes().use("*", (req, rsp, chain) -> {
+        Object db = req.route().attributes().get("db");
+        if ("read".equals(db)) {
+          RoutingDataSource.read(() -> chain.next(req, rsp));
+        } else if ("readOnly".equals(db)) {
+          RoutingDataSource.readOnly(() -> chain.next(req, rsp));
+        } else {
+          chain.next(req, rsp);
+        }
+      }).name("jdbc.replicas");
+    }
 
     env.onStop(ds::stop);
 
-    keys(DataSource.class, key -> binder.bind(key).toProvider(ds).asEagerSingleton());
+    keys(DataSource.class, key -> binder.bind(key).toProvider(ds).in(Singleton.class));
   }
 
   @Override
@@ -252,7 +405,30 @@ public class Jdbc implements Jooby.Module {
     }
   }
 
-  private HikariDataSourceProvider newDataSource(final String key, final Config config) {
+  private List<HikariDataSourceProvider> replicas(final String key, final Config config,
+      final String poolName) {
+    String path = key + ".replicas";
+    if (!config.hasPath(path)) {
+      return Collections.emptyList();
+    }
+    Config primary = config.getConfig(key).withoutPath("replicas");
+    List<HikariDataSourceProvider> replicas = new ArrayList<>();
+    List<? extends ConfigValue> values = config.getList(path);
+    for (int i = 0; i < values.size(); i++) {
+      ConfigValue value = values.get(i);
+      // url or object with url, user, password, etc...
+      Config replica = value.valueType() == ConfigValueType.OBJECT
+          ? ((ConfigObject) value).toConfig()
+          : ConfigFactory.empty().withValue("url", value);
+      replicas.add(newDataSource(key,
+          config.withValue(key, replica.withFallback(primary).root()),
+          poolName + ".replica" + (i + 1)));
+    }
+    return replicas;
+  }
+
+  private HikariDataSourceProvider newDataSource(final String key, final Config config,
+      final String poolName) {
     Properties props = new Properties();
 
     BiConsumer<String, Entry<String, ConfigValue>> dumper = (prefix, entry) -> {
@@ -270,7 +446,7 @@ public class Jdbc implements Jooby.Module {
         .empty();
 
     // figure it out db type.
-    dbtype = dbtype(key, config);
+    Optional<String> dbtype = dbtype(key, config);
 
     /**
      * dump properties from less to higher precedence
@@ -282,7 +458,9 @@ public class Jdbc implements Jooby.Module {
     dbtype.ifPresent(type -> config.getConfig("databases." + type)
         .entrySet().forEach(entry -> dumper.accept("dataSource.", entry)));
 
-    config.getConfig(key).entrySet().forEach(entry -> dumper.accept("dataSource.", entry));
+    config.getConfig(key).entrySet().stream()
+        .filter(entry -> !entry.getKey().equals("replicas"))
+        .forEach(entry -> dumper.accept("dataSource.", entry));
 
     $hikari.entrySet().forEach(entry -> dumper.accept("", entry));
 
@@ -293,7 +471,7 @@ public class Jdbc implements Jooby.Module {
     // remove dataSourceClassName under dataSource
     props.remove("dataSource.dataSourceClassName");
     // set pool name
-    props.setProperty("poolName", dbtype.map(type -> type + "." + dbName).orElse(dbName));
+    props.setProperty("poolName", poolName);
 
     return new HikariDataSourceProvider(new HikariConfig(props));
   }
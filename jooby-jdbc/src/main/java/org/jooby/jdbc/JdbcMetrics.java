@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjLongConsumer;
+
+import org.jooby.Env;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Publish pool and query metrics into a {@link MetricRegistry}. Metrics are registered at
+ * application startup and only if a {@link MetricRegistry} was bound by the application (usually
+ * via the <code>jooby-metrics</code> module).
+ *
+ * Pool metrics are published by Hikari under <code>[poolName].pool.*</code>, query timers under
+ * <code>[poolName].query.[fingerprint]</code>.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+final class JdbcMetrics implements ObjLongConsumer<String> {
+
+  /** Max number of query timers per pool, extra fingerprints are reported as: other. */
+  static final int MAX_QUERIES = 500;
+
+  private final MetricRegistry registry;
+
+  private final String prefix;
+
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /** Number of fingerprint timers, never goes beyond {@link #MAX_QUERIES}. */
+  private final AtomicInteger size = new AtomicInteger();
+
+  private final String other;
+
+  JdbcMetrics(final MetricRegistry registry, final String prefix) {
+    this.registry = registry;
+    this.prefix = MetricRegistry.name(prefix, "query");
+    this.other = MetricRegistry.name(this.prefix, "other");
+  }
+
+  @Override
+  public void accept(final String fingerprint, final long nanos) {
+    Timer timer = timers.computeIfAbsent(fingerprint, key -> {
+      // reserve a slot or give up (null: nothing is added to the map)
+      if (size.getAndUpdate(n -> n < MAX_QUERIES ? n + 1 : n) < MAX_QUERIES) {
+        return registry.timer(MetricRegistry.name(prefix, key));
+      }
+      return null;
+    });
+    if (timer == null) {
+      timer = registry.timer(other);
+    }
+    timer.update(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  static void install(final Env env, final HikariDataSourceProvider ds) {
+    env.onStart(r -> {
+      Binding<MetricRegistry> binding = r.require(Injector.class)
+          .getExistingBinding(Key.get(MetricRegistry.class));
+      if (binding != null) {
+        MetricRegistry registry = binding.getProvider().get();
+        HikariDataSource hikari = ds.dataSource();
+        if (hikari.getMetricRegistry() == null) {
+          hikari.setMetricRegistry(registry);
+        }
+        ds.instrumented()
+            .ifPresent(it -> it.timer(new JdbcMetrics(registry, hikari.getPoolName())));
+      }
+    });
+  }
+}
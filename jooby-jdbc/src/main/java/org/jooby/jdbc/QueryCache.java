@@ -0,0 +1,541 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.jooby.Registry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Binder;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.Matchers;
+import com.typesafe.config.Config;
+
+/**
+ * <h1>query cache</h1>
+ * <p>
+ * Second level cache for query results (or any other expensive call).
+ * </p>
+ *
+ * <h2>usage</h2>
+ *
+ * <pre>
+ * {
+ *   use(new Jdbc());
+ *
+ *   use(new QueryCache());
+ *
+ *   get("/pets", req {@literal ->} {
+ *     QueryCache cache = req.require(QueryCache.class);
+ *     return cache.of("pets")
+ *       .ttl(Duration.ofMinutes(5))
+ *       .tags("pets")
+ *       .get("all", () {@literal ->} ...);
+ *   });
+ *
+ *   post("/pets", req {@literal ->} {
+ *     ...
+ *     req.require(QueryCache.class).invalidate("pets");
+ *   });
+ * }
+ * </pre>
+ *
+ * <p>
+ * Results are cached by name and key. A result might be tagged with one or more tags, calling
+ * {@link #invalidate(String...)} with a tag drops all the results with that tag.
+ * </p>
+ *
+ * <p>
+ * Concurrent misses for the same key are coalesced: just one caller runs the query, the others
+ * wait for the result.
+ * </p>
+ *
+ * <h2>annotations</h2>
+ * <p>
+ * Methods of Guice managed objects (like MVC routes or services) can be cached with
+ * {@link Cached} and invalidated with {@link Invalidate}:
+ * </p>
+ *
+ * <pre>
+ * public class Pets {
+ *
+ *   &#64;Cached(value = "pets", key = "{0}", ttl = "5m", tags = "pets")
+ *   public Pet get(int id) {
+ *     ...
+ *   }
+ *
+ *   &#64;Invalidate("pets")
+ *   public void save(Pet pet) {
+ *     ...
+ *   }
+ * }
+ * </pre>
+ *
+ * <h2>store</h2>
+ * <p>
+ * Results are saved in the <code>Cache&lt;String, Object&gt;</code> created by the
+ * <code>jooby-guava-cache</code> module, when present. Otherwise a local cache with up to
+ * <code>10000</code> entries is used.
+ * </p>
+ *
+ * <p>
+ * Tag versions are kept apart from results, in a local map with no eviction, so an evicted tag
+ * version can't bring back invalidated results.
+ * </p>
+ *
+ * <p>
+ * Any other cache can be plugged in via {@link Store}. Here is Hazelcast, where tag versions are
+ * shared too (so invalidations reach all the nodes):
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use(new Hcast());
+ *
+ *   use(new QueryCache(r {@literal ->} {
+ *     IMap&lt;String, Object&gt; queries = r.require(HazelcastInstance.class).getMap("queries");
+ *     return new QueryCache.Store() {
+ *       public Object get(String key) {
+ *         return queries.get(key);
+ *       }
+ *       public void set(String key, Object value, long ttl) {
+ *         queries.set(key, value, ttl, TimeUnit.MILLISECONDS);
+ *       }
+ *       public void remove(String key) {
+ *         queries.delete(key);
+ *       }
+ *     };
+ *   }, r {@literal ->} {
+ *     // must be a map without eviction
+ *     IMap&lt;String, Object&gt; tags = r.require(HazelcastInstance.class).getMap("query-tags");
+ *     return QueryCache.Store.of(tags);
+ *   }));
+ * }
+ * </pre>
+ *
+ * <p>
+ * and Ehcache:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use(new Eh());
+ *
+ *   use(new QueryCache(r {@literal ->} {
+ *     Ehcache queries = r.require("queries", Ehcache.class);
+ *     return new QueryCache.Store() {
+ *       public Object get(String key) {
+ *         Element e = queries.get(key);
+ *         return e == null ? null : e.getObjectValue();
+ *       }
+ *       public void set(String key, Object value, long ttl) {
+ *         Element e = new Element(key, value);
+ *         if (ttl &gt; 0) {
+ *           e.setTimeToLive((int) Math.max(1, ttl / 1000));
+ *         }
+ *         queries.put(e);
+ *       }
+ *       public void remove(String key) {
+ *         queries.remove(key);
+ *       }
+ *     };
+ *   }));
+ * }
+ * </pre>
+ *
+ * <p>
+ * Expired or invalidated results are removed from the store the next time they are looked up.
+ * Stores with native expiration should honor the <code>ttl</code> argument of
+ * {@link Store#set(String, Object, long)}, so results that are never read again are evicted too.
+ * </p>
+ *
+ * <p>
+ * Distributed stores requires results to be {@link Serializable}.
+ * </p>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class QueryCache implements Jooby.Module {
+
+  /**
+   * Where results are saved.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public interface Store {
+
+    /**
+     * @param key Key.
+     * @return Value or <code>null</code>.
+     */
+    Object get(String key);
+
+    /**
+     * @param key Key.
+     * @param value Value.
+     * @param ttl Time to live in millis, <code>0</code> for no expiration.
+     */
+    void set(String key, Object value, long ttl);
+
+    /**
+     * @param key Key to remove.
+     */
+    void remove(String key);
+
+    /**
+     * A store backed by a Guava cache. Guava doesn't support expiration per entry, expired
+     * entries are removed on lookup or by the cache eviction policy.
+     *
+     * @param cache Cache.
+     * @return A new store.
+     */
+    static Store of(final Cache<String, Object> cache) {
+      requireNonNull(cache, "Cache is required.");
+      return new Store() {
+        @Override
+        public Object get(final String key) {
+          return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void set(final String key, final Object value, final long ttl) {
+          cache.put(key, value);
+        }
+
+        @Override
+        public void remove(final String key) {
+          cache.invalidate(key);
+        }
+      };
+    }
+
+    /**
+     * A store backed by a {@link ConcurrentMap}. Expired entries are removed on lookup, prefer a
+     * custom {@link Store} when the map supports expiration (like Hazelcast <code>IMap</code>).
+     *
+     * @param map Map.
+     * @return A new store.
+     */
+    static Store of(final ConcurrentMap<String, Object> map) {
+      requireNonNull(map, "Map is required.");
+      return new Store() {
+        @Override
+        public Object get(final String key) {
+          return map.get(key);
+        }
+
+        @Override
+        public void set(final String key, final Object value, final long ttl) {
+          map.put(key, value);
+        }
+
+        @Override
+        public void remove(final String key) {
+          map.remove(key);
+        }
+      };
+    }
+  }
+
+  /**
+   * Cache options for a named result.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public class Spec {
+
+    private final String name;
+
+    private long ttl;
+
+    private String[] tags = {};
+
+    Spec(final String name) {
+      this.name = requireNonNull(name, "Name is required.");
+    }
+
+    /**
+     * Set a time to live.
+     *
+     * @param ttl Time to live.
+     * @return This spec.
+     */
+    public Spec ttl(final Duration ttl) {
+      this.ttl = ttl.toMillis();
+      return this;
+    }
+
+    /**
+     * Tag results, see {@link QueryCache#invalidate(String...)}.
+     *
+     * @param tags Tags.
+     * @return This spec.
+     */
+    public Spec tags(final String... tags) {
+      this.tags = tags.clone();
+      return this;
+    }
+
+    /**
+     * Get a cached result or load it.
+     *
+     * @param key Result key.
+     * @param loader Value loader, runs on cache miss.
+     * @return Result.
+     * @throws Exception If loader fails.
+     */
+    public <T> T get(final Object key, final Callable<T> loader) throws Exception {
+      return QueryCache.this.get(name, key, ttl, tags, loader);
+    }
+  }
+
+  /** Cache entry, keeps value with expiration and the tag versions it was loaded with. */
+  private static class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    final Object value;
+
+    final long expiresAt;
+
+    final String[] versions;
+
+    Entry(final Object value, final long expiresAt, final String[] versions) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+      this.versions = versions;
+    }
+
+    boolean fresh(final String[] versions) {
+      return expiresAt > System.currentTimeMillis() && Arrays.equals(this.versions, versions);
+    }
+  }
+
+  private static final String TAG = "tag:";
+
+  private final Function<Registry, Store> factory;
+
+  private final Function<Registry, Store> tagsFactory;
+
+  private volatile Store store;
+
+  private volatile Store tags;
+
+  private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new {@link QueryCache} backed by the given stores.
+   *
+   * @param store Store factory.
+   * @param tags Tag versions store factory. Tag versions must never be evicted.
+   */
+  public QueryCache(final Function<Registry, Store> store, final Function<Registry, Store> tags) {
+    this.factory = requireNonNull(store, "Store is required.");
+    this.tagsFactory = requireNonNull(tags, "Tags store is required.");
+  }
+
+  /**
+   * Creates a new {@link QueryCache} backed by the given store. Tag versions are kept in a local
+   * map.
+   *
+   * @param store Store factory.
+   */
+  public QueryCache(final Function<Registry, Store> store) {
+    this(store, r -> Store.of(new ConcurrentHashMap<String, Object>()));
+  }
+
+  /**
+   * Creates a new {@link QueryCache} backed by a Guava cache.
+   */
+  public QueryCache() {
+    this(QueryCache::defaultStore);
+  }
+
+  @Override
+  public void configure(final Env env, final Config conf, final Binder binder) {
+    binder.bind(QueryCache.class).toInstance(this);
+
+    CacheInterceptor interceptor = new CacheInterceptor(this);
+    binder.bindInterceptor(Matchers.any(), interceptor.methods(), interceptor);
+
+    env.onStart(r -> store(factory.apply(r), tagsFactory.apply(r)));
+  }
+
+  void store(final Store store, final Store tags) {
+    this.tags = tags;
+    this.store = store;
+  }
+
+  /**
+   * Cache options for the given name.
+   *
+   * @param name Cache name.
+   * @return Cache options.
+   */
+  public Spec of(final String name) {
+    return new Spec(name);
+  }
+
+  /**
+   * Get a cached result or load it. Concurrent misses for the same key run the loader once.
+   *
+   * @param name Cache name.
+   * @param key Result key.
+   * @param ttl Time to live in millis, <code>0</code> for no expiration.
+   * @param tags Result tags.
+   * @param loader Value loader, runs on cache miss.
+   * @return Result.
+   * @throws Exception If loader fails.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(final String name, final Object key, final long ttl, final String[] tags,
+      final Callable<T> loader) throws Exception {
+    Store store = this.store;
+    if (store == null) {
+      // not started yet
+      return loader.call();
+    }
+    String id = key(name, key, tags);
+    String[] versions = versions(this.tags, tags);
+    Object value = store.get(id);
+    if (value instanceof Entry) {
+      Entry entry = (Entry) value;
+      if (entry.fresh(versions)) {
+        return (T) entry.value;
+      }
+      // expired or invalidated
+      store.remove(id);
+    }
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    CompletableFuture<Object> existing = loading.putIfAbsent(id, result);
+    if (existing != null) {
+      return (T) await(existing);
+    }
+    try {
+      T loaded = loader.call();
+      long expiresAt = ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE;
+      store.set(id, new Entry(loaded, expiresAt, versions), ttl);
+      result.complete(loaded);
+      return loaded;
+    } catch (Throwable x) {
+      result.completeExceptionally(x);
+      throw x;
+    } finally {
+      loading.remove(id, result);
+    }
+  }
+
+  /**
+   * Drop all the results with any of the given tags.
+   *
+   * @param tags Tags to invalidate.
+   */
+  public void invalidate(final String... tags) {
+    Store store = this.tags;
+    if (store != null) {
+      // random versions are unique across nodes sharing a distributed store
+      String version = UUID.randomUUID().toString();
+      for (String tag : tags) {
+        store.set(TAG + tag, version, 0);
+      }
+    }
+  }
+
+  /**
+   * Every part is length-prefixed, so a name, key or tag can't fake a separator and two different
+   * queries can't share an id.
+   */
+  private static String key(final String name, final Object key, final String[] tags) {
+    StringBuilder id = append(new StringBuilder(), name);
+    append(id, String.valueOf(key));
+    for (String tag : tags) {
+      append(id.append('#'), tag);
+    }
+    return id.toString();
+  }
+
+  private static StringBuilder append(final StringBuilder id, final String value) {
+    return id.append(value.length()).append(':').append(value);
+  }
+
+  private static String[] versions(final Store store, final String[] tags) {
+    String[] versions = new String[tags.length];
+    for (int i = 0; i < tags.length; i++) {
+      String key = TAG + tags[i];
+      Object version = store.get(key);
+      if (version == null) {
+        // new (or lost) tag: start with a new version, so results saved with a previous version
+        // of the tag never match again
+        store.set(key, UUID.randomUUID().toString(), 0);
+        version = store.get(key);
+      }
+      versions[i] = String.valueOf(version);
+    }
+    return versions;
+  }
+
+  private static Object await(final CompletableFuture<Object> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException x) {
+      Throwable cause = x.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw x;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Store defaultStore(final Registry registry) {
+    Key<Cache<String, Object>> key = Key.get(new TypeLiteral<Cache<String, Object>>() {
+    });
+    Binding<Cache<String, Object>> binding = registry.require(Injector.class)
+        .getExistingBinding(key);
+    Cache<String, Object> cache = binding == null
+        ? (Cache<String, Object>) (Cache<?, ?>) CacheBuilder.newBuilder().maximumSize(10000).build()
+        : binding.getProvider().get();
+    return Store.of(cache);
+  }
+}
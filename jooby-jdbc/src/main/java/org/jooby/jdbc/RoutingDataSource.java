@@ -0,0 +1,340 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javaslang.control.Try.CheckedRunnable;
+
+/**
+ * Send read-only connections to replicas and everything else to the primary database.
+ *
+ * By default, connections come straight from the primary database. Routing applies only while a
+ * read intent ({@link #read(CheckedRunnable)}) or a read-only hint
+ * ({@link #readOnly(CheckedRunnable)}) is set for the current thread, Jdbc does this for routes
+ * with a <code>db=read</code> or <code>db=readOnly</code> attribute.
+ *
+ * Routed connections are acquired lazily: {@link Connection#setReadOnly(boolean)} and
+ * {@link Connection#setAutoCommit(boolean)} are recorded until the connection is used for real,
+ * at that point a read-only connection is taken from the replica with the least outstanding
+ * connections. Any other call acquires the connection, so <code>setReadOnly</code> must be the
+ * first call. A replica who fails to hand out a connection is skipped for a while, if no replica
+ * is available the primary database is used.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class RoutingDataSource implements DataSource {
+
+  private static class Replica {
+
+    final String name;
+
+    final DataSource dataSource;
+
+    final AtomicInteger outstanding = new AtomicInteger();
+
+    volatile long downUntil;
+
+    Replica(final String name, final DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    boolean up(final long now) {
+      return now >= downUntil;
+    }
+  }
+
+  /** True for read intent (read-only by default), false for read-only hint. */
+  private static final ThreadLocal<Boolean> READ = new ThreadLocal<>();
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final DataSource primary;
+
+  private final List<Replica> replicas = new ArrayList<>();
+
+  private final long retryAfter;
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  /**
+   * Creates a new {@link RoutingDataSource}.
+   *
+   * @param primary Primary database.
+   * @param names Replica names (pool names).
+   * @param replicas Replicas.
+   * @param retryAfter How long (in millis) a failing replica is skipped.
+   */
+  public RoutingDataSource(final DataSource primary, final List<String> names,
+      final List<DataSource> replicas, final long retryAfter) {
+    this.primary = requireNonNull(primary, "Primary data source is required.");
+    for (int i = 0; i < replicas.size(); i++) {
+      this.replicas.add(new Replica(names.get(i), replicas.get(i)));
+    }
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Run the given task with a read-only intent: connections acquired by the task goes to a
+   * replica, unless they call <code>setReadOnly(false)</code> before anything else.
+   *
+   * @param task Task to run.
+   * @throws Throwable If task fails.
+   */
+  public static void read(final CheckedRunnable task) throws Throwable {
+    run(Boolean.TRUE, task);
+  }
+
+  /**
+   * Run the given task with a read-only hint: connections acquired by the task goes to a replica
+   * when they call <code>setReadOnly(true)</code> before anything else, otherwise they goes to
+   * the primary database.
+   *
+   * @param task Task to run.
+   * @throws Throwable If task fails.
+   */
+  public static void readOnly(final CheckedRunnable task) throws Throwable {
+    run(Boolean.FALSE, task);
+  }
+
+  private static void run(final Boolean read, final CheckedRunnable task) throws Throwable {
+    Boolean previous = READ.get();
+    READ.set(read);
+    try {
+      task.run();
+    } finally {
+      if (previous == null) {
+        READ.remove();
+      } else {
+        READ.set(previous);
+      }
+    }
+  }
+
+  /**
+   * @return Outstanding connections per replica, in the order they were configured.
+   */
+  int[] outstanding() {
+    return replicas.stream().mapToInt(r -> r.outstanding.get()).toArray();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Boolean read = READ.get();
+    if (read == null) {
+      return primary.getConnection();
+    }
+    return lazy(read);
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(final PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(final int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return primary.getParentLogger();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return (T) this;
+    }
+    if (iface.isInstance(primary)) {
+      return (T) primary;
+    }
+    return primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || iface.isInstance(primary) || primary.isWrapperFor(iface);
+  }
+
+  @Override
+  public String toString() {
+    return primary.toString();
+  }
+
+  private Connection lazy(final boolean read) {
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class[]{Connection.class }, new InvocationHandler() {
+
+          Connection target;
+
+          Replica replica;
+
+          boolean readOnly = read;
+
+          Boolean autoCommit;
+
+          boolean closed;
+
+          @Override
+          public Object invoke(final Object proxy, final Method method, final Object[] args)
+              throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+              return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+              return System.identityHashCode(proxy);
+            }
+            if (target == null) {
+              switch (name) {
+                case "setReadOnly":
+                  readOnly = (Boolean) args[0];
+                  return null;
+                case "isReadOnly":
+                  return readOnly;
+                case "setAutoCommit":
+                  autoCommit = (Boolean) args[0];
+                  return null;
+                case "getAutoCommit":
+                  if (autoCommit != null) {
+                    return autoCommit;
+                  }
+                  break;
+                case "close":
+                  closed = true;
+                  return null;
+                case "isClosed":
+                  return closed;
+                case "toString":
+                  return "lazy connection";
+                default:
+                  break;
+              }
+              if (closed) {
+                throw new SQLException("Connection is closed");
+              }
+              if (readOnly) {
+                for (Replica candidate : candidates()) {
+                  candidate.outstanding.incrementAndGet();
+                  try {
+                    target = candidate.dataSource.getConnection();
+                    replica = candidate;
+                    break;
+                  } catch (SQLException x) {
+                    candidate.outstanding.decrementAndGet();
+                    down(candidate, x);
+                  }
+                }
+              }
+              if (target == null) {
+                target = primary.getConnection();
+              }
+              if (readOnly) {
+                target.setReadOnly(true);
+              }
+              if (autoCommit != null) {
+                target.setAutoCommit(autoCommit);
+              }
+            }
+            try {
+              return method.invoke(target, args);
+            } catch (InvocationTargetException x) {
+              throw x.getCause();
+            } finally {
+              if (name.equals("close") && replica != null) {
+                replica.outstanding.decrementAndGet();
+                replica = null;
+              }
+            }
+          }
+        });
+  }
+
+  /**
+   * Healthy replicas sorted by outstanding connections. Replicas with the same load are rotated.
+   *
+   * @return Healthy replicas, least loaded first.
+   */
+  private List<Replica> candidates() {
+    long now = System.currentTimeMillis();
+    int size = replicas.size();
+    List<Replica> candidates = new ArrayList<>(size);
+    // snapshot of outstanding connections, counters keep changing while we sort
+    List<Integer> loads = new ArrayList<>(size);
+    int offset = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((offset + i) % size);
+      if (replica.up(now)) {
+        int load = replica.outstanding.get();
+        int pos = 0;
+        while (pos < loads.size() && loads.get(pos) <= load) {
+          pos += 1;
+        }
+        candidates.add(pos, replica);
+        loads.add(pos, load);
+      }
+    }
+    return candidates;
+  }
+
+  private void down(final Replica replica, final SQLException cause) {
+    replica.downUntil = System.currentTimeMillis() + retryAfter;
+    log.warn("replica {} is down, skipping it for {}ms", replica.name, retryAfter, cause);
+  }
+
+}
@@ -0,0 +1,443 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.jdbc;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.sql.DataSource;
+
+import org.jooby.ChunkedStream;
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+import org.jooby.Result;
+import org.jooby.Results;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Closer;
+
+/**
+ * <h1>row stream</h1>
+ * <p>
+ * Stream rows to the HTTP response as they are fetched from the database, instead of collecting
+ * them into a {@link java.util.List} before rendering. Rows are written as a JSON array, NDJSON or
+ * CSV:
+ * </p>
+ *
+ * <pre>{@code
+ * {
+ *   use(new Jackson());
+ *
+ *   use(new Jdbc());
+ *
+ *   get("/pets", req -> {
+ *     DataSource ds = req.require(DataSource.class);
+ *     return req.require(RowStream.class)
+ *         .query(ds, RowStream.Format.JSON, 100, "select * from pets");
+ *   });
+ * }
+ * }</pre>
+ *
+ * <p>
+ * The query runs and the first row is fetched before the route returns, so errors are reported
+ * with a regular error response. The connection is kept open while rows are written using the
+ * given fetch size. Connection and cursor are released once all the rows were written, on error or
+ * when the client aborts the request.
+ * </p>
+ *
+ * <p>
+ * For JSON and NDJSON each row is rendered by the application JSON {@link Renderer} (Jackson, Gson,
+ * etc.), so date formats, modules, etc. apply to rows too. A JSON renderer is required.
+ * </p>
+ *
+ * <p>
+ * Rows are {@link Map maps} of column label to value, see {@link #row(ResultSet)}. Any other
+ * source of rows (jOOQ, jdbi, etc.) can be streamed via {@link #stream(Format, Callable)}.
+ * </p>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+@Singleton
+public class RowStream {
+
+  /**
+   * Output format.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public enum Format {
+    /** A JSON array. */
+    JSON(MediaType.json),
+
+    /** One JSON object per line. */
+    NDJSON(MediaType.valueOf("application/x-ndjson")),
+
+    /** Comma-separated values with a header line. */
+    CSV(MediaType.valueOf("text/csv"));
+
+    private final MediaType type;
+
+    private Format(final MediaType type) {
+      this.type = type;
+    }
+
+    /**
+     * @return Media type of this format.
+     */
+    public MediaType type() {
+      return type;
+    }
+  }
+
+  /**
+   * A database cursor.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public interface Cursor extends AutoCloseable {
+
+    /**
+     * @return Next row or <code>null</code> when there is no more rows.
+     * @throws Exception If fetch fails.
+     */
+    Map<String, ?> next() throws Exception;
+
+    /**
+     * Creates a cursor from an {@link Iterator}.
+     *
+     * @param rows Rows.
+     * @param resource Resource to close once the iterator has been consumed.
+     * @return A new cursor.
+     */
+    static Cursor of(final Iterator<? extends Map<String, ?>> rows,
+        final AutoCloseable resource) {
+      requireNonNull(rows, "Rows are required.");
+      requireNonNull(resource, "Resource is required.");
+      return new Cursor() {
+        @Override
+        public Map<String, ?> next() {
+          return rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public void close() throws Exception {
+          resource.close();
+        }
+      };
+    }
+
+    /**
+     * Creates a cursor from a {@link ResultSet}.
+     *
+     * @param rs A result set.
+     * @param resources Resources to close after closing the result set (statement, connection,
+     *        etc.).
+     * @return A new cursor.
+     */
+    static Cursor of(final ResultSet rs, final AutoCloseable... resources) {
+      requireNonNull(rs, "ResultSet is required.");
+      return new Cursor() {
+        @Override
+        public Map<String, ?> next() throws SQLException {
+          return rs.next() ? row(rs) : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+          Closer closer = Closer.create();
+          // closer closes in reverse order
+          for (AutoCloseable resource : resources) {
+            closer.register(() -> close(resource));
+          }
+          closer.register(() -> close(rs));
+          closer.close();
+        }
+
+        private void close(final AutoCloseable resource) throws IOException {
+          try {
+            resource.close();
+          } catch (IOException ex) {
+            throw ex;
+          } catch (Exception ex) {
+            throw new IOException(ex);
+          }
+        }
+      };
+    }
+  }
+
+  private static class Rows extends ChunkedStream {
+
+    private final Format format;
+
+    private final Callable<Cursor> source;
+
+    private Cursor cursor;
+
+    private String[] header;
+
+    private int count;
+
+    private boolean done;
+
+    Rows(final Format format, final Callable<Cursor> source, final List<Renderer> renderers,
+        final Charset charset) {
+      super(renderers, MediaType.json, charset);
+      this.format = format;
+      this.source = source;
+    }
+
+    @Override
+    public void close() throws IOException {
+      done = true;
+      super.close();
+      release();
+    }
+
+    /**
+     * Open the cursor and fetch the first row, original errors are propagated.
+     */
+    Rows prefetch() throws Exception {
+      try {
+        fill(true);
+      } catch (IOException ex) {
+        Throwable cause = ex.getCause();
+        if (ex.getClass() == IOException.class && cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw ex;
+      }
+      return this;
+    }
+
+    @Override
+    protected byte[] next(final boolean block) throws IOException {
+      if (done) {
+        return null;
+      }
+      try {
+        if (cursor == null) {
+          cursor = source.call();
+        }
+        Map<String, ?> row = cursor.next();
+        if (row == null) {
+          done = true;
+          release();
+          if (format == Format.JSON) {
+            text(count == 0 ? "[]" : "]");
+          }
+          return chunk();
+        }
+        switch (format) {
+          case JSON:
+            text(count == 0 ? "[" : ",");
+            render(row);
+            break;
+          case NDJSON:
+            render(row);
+            text("\n");
+            break;
+          default:
+            csv(row);
+            break;
+        }
+        count += 1;
+        return chunk();
+      } catch (Exception ex) {
+        done = true;
+        try {
+          release();
+        } catch (IOException x) {
+          ex.addSuppressed(x);
+        }
+        throw ex instanceof IOException ? (IOException) ex : new IOException(ex);
+      }
+    }
+
+    private void release() throws IOException {
+      Cursor cursor = this.cursor;
+      this.cursor = null;
+      if (cursor != null) {
+        try {
+          cursor.close();
+        } catch (IOException ex) {
+          throw ex;
+        } catch (Exception ex) {
+          throw new IOException(ex);
+        }
+      }
+    }
+
+    private void csv(final Map<String, ?> row) {
+      StringBuilder buff = new StringBuilder();
+      if (header == null) {
+        header = row.keySet().toArray(new String[row.size()]);
+        csvLine(buff, header);
+      }
+      Object[] values = new Object[header.length];
+      for (int i = 0; i < header.length; i++) {
+        values[i] = row.get(header[i]);
+      }
+      csvLine(buff, values);
+      text(buff.toString());
+    }
+
+    private static void csvLine(final StringBuilder buff, final Object[] values) {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          buff.append(',');
+        }
+        Object value = values[i];
+        if (value != null) {
+          String text = value instanceof byte[]
+              ? Base64.getEncoder().encodeToString((byte[]) value)
+              : value.toString();
+          if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+              || text.indexOf('\r') >= 0) {
+            buff.append('"').append(text.replace("\"", "\"\"")).append('"');
+          } else {
+            buff.append(text);
+          }
+        }
+      }
+      buff.append("\r\n");
+    }
+  }
+
+  private final List<Renderer> renderers;
+
+  private final Charset charset;
+
+  /**
+   * Creates a new {@link RowStream}.
+   *
+   * @param renderers Application renderers, used to render each row.
+   * @param charset Application charset.
+   */
+  @Inject
+  public RowStream(final Set<Renderer> renderers, final Charset charset) {
+    this.renderers = ImmutableList.copyOf(renderers);
+    this.charset = requireNonNull(charset, "Charset is required.");
+  }
+
+  /**
+   * Creates a streaming {@link Result} from a cursor factory. The cursor is opened and the first
+   * row fetched right away, then closed once all rows were written, on error or client abort.
+   *
+   * @param format Output format.
+   * @param source Cursor factory.
+   * @return A streaming result.
+   * @throws Exception If the cursor can't be opened or the first row fetch fails.
+   */
+  public Result stream(final Format format, final Callable<Cursor> source) throws Exception {
+    requireNonNull(format, "Format is required.");
+    requireNonNull(source, "Source is required.");
+    return Results.ok(new Rows(format, source, renderers, charset).prefetch())
+        .type(format.type());
+  }
+
+  /**
+   * Creates a streaming {@link Result} from a SQL query. Auto-commit is turned off while rows are
+   * fetched (and restored later), otherwise drivers like PostgreSQL ignore the fetch size.
+   *
+   * @param ds Data source.
+   * @param format Output format.
+   * @param fetchSize Number of rows to fetch from the database at once.
+   * @param sql SQL query.
+   * @param params Query parameters.
+   * @return A streaming result.
+   * @throws Exception If the query fails.
+   */
+  public Result query(final DataSource ds, final Format format, final int fetchSize,
+      final String sql, final Object... params) throws Exception {
+    requireNonNull(ds, "DataSource is required.");
+    requireNonNull(sql, "SQL is required.");
+    return stream(format, () -> {
+      Connection conn = ds.getConnection();
+      // some drivers (like PostgreSQL) ignore the fetch size in auto-commit mode and load the
+      // whole result set into memory
+      boolean autoCommit = conn.getAutoCommit();
+      AutoCloseable release = () -> {
+        try {
+          if (autoCommit) {
+            conn.setAutoCommit(true);
+          }
+        } finally {
+          conn.close();
+        }
+      };
+      try {
+        if (autoCommit) {
+          conn.setAutoCommit(false);
+        }
+        PreparedStatement stt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+        stt.setFetchSize(fetchSize);
+        for (int i = 0; i < params.length; i++) {
+          stt.setObject(i + 1, params[i]);
+        }
+        return Cursor.of(stt.executeQuery(), release, stt);
+      } catch (SQLException | RuntimeException ex) {
+        try {
+          release.close();
+        } catch (Exception x) {
+          ex.addSuppressed(x);
+        }
+        throw ex;
+      }
+    });
+  }
+
+  /**
+   * Map the current row of a result set to a {@link Map} of column label to value.
+   *
+   * @param rs A result set.
+   * @return The current row.
+   * @throws SQLException If row read fails.
+   */
+  public static Map<String, Object> row(final ResultSet rs) throws SQLException {
+    ResultSetMetaData md = rs.getMetaData();
+    int columns = md.getColumnCount();
+    Map<String, Object> row = new LinkedHashMap<>(columns * 2);
+    for (int i = 1; i <= columns; i++) {
+      row.put(md.getColumnLabel(i), rs.getObject(i));
+    }
+    return row;
+  }
+
+}
@@ -0,0 +1,131 @@
+package org.jooby.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooby.Env;
+import org.jooby.Registry;
+import org.junit.Test;
+
+import com.google.common.base.Throwables;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.typesafe.config.ConfigFactory;
+
+import javaslang.control.Try.CheckedConsumer;
+
+public class CacheInterceptorTest {
+
+  public static class Pets {
+
+    AtomicInteger calls = new AtomicInteger();
+
+    @Cached(value = "pets", key = "{0}", tags = "pets")
+    public String get(final int id, final String ignored) {
+      return id + ":" + calls.incrementAndGet();
+    }
+
+    @Cached
+    public String all() {
+      return "all:" + calls.incrementAndGet();
+    }
+
+    @Cached
+    public String find(final String name, final String kind) {
+      return name + "/" + kind + ":" + calls.incrementAndGet();
+    }
+
+    @Invalidate("pets")
+    public void save() {
+      calls.incrementAndGet();
+    }
+  }
+
+  public static class Owners {
+
+    @Cached
+    public String get(final Pets pets) {
+      return "owner";
+    }
+  }
+
+  public static class BadKey {
+
+    @Cached(key = "{0}:{1}")
+    public String get(final int id) {
+      return "pet";
+    }
+  }
+
+  @Test
+  public void cachedAndInvalidate() throws Throwable {
+    Pets pets = injector(new QueryCache(
+        r -> QueryCache.Store.of(new ConcurrentHashMap<String, Object>())))
+            .getInstance(Pets.class);
+
+    assertEquals("1:1", pets.get(1, "a"));
+    assertEquals("1:1", pets.get(1, "b"));
+    assertEquals("2:2", pets.get(2, "a"));
+    assertEquals("all:3", pets.all());
+    assertEquals("all:3", pets.all());
+
+    pets.save();
+    assertEquals(4, pets.calls.get());
+
+    assertEquals("1:5", pets.get(1, "a"));
+    assertEquals("all:3", pets.all());
+  }
+
+  @Test
+  public void defaultKeyDoesNotCollide() throws Throwable {
+    Pets pets = injector(new QueryCache()).getInstance(Pets.class);
+
+    assertEquals("a, b/c:1", pets.find("a, b", "c"));
+    assertEquals("a/b, c:2", pets.find("a", "b, c"));
+    assertEquals("null/c:3", pets.find(null, "c"));
+    assertEquals("null/c:4", pets.find("null", "c"));
+    assertEquals("a, b/c:1", pets.find("a, b", "c"));
+  }
+
+  @Test
+  public void defaultKeyRequiresSimpleArguments() throws Throwable {
+    bindFailure(Owners.class, "can't be used as cache key");
+  }
+
+  @Test
+  public void keyArgumentOutOfBounds() throws Throwable {
+    bindFailure(BadKey.class, "Argument {1} not found");
+  }
+
+  private void bindFailure(final Class<?> type, final String message) throws Throwable {
+    try {
+      injector(new QueryCache()).getInstance(type);
+      fail("expected failure");
+    } catch (RuntimeException x) {
+      // guice wraps the IllegalStateException thrown while matching methods
+      String trace = Throwables.getStackTraceAsString(x);
+      assertTrue(trace, trace.contains(message));
+    }
+  }
+
+  @Test
+  public void defaultStore() throws Throwable {
+    Pets pets = injector(new QueryCache()).getInstance(Pets.class);
+
+    assertEquals("all:1", pets.all());
+    assertEquals("all:1", pets.all());
+  }
+
+  private Injector injector(final QueryCache cache) throws Throwable {
+    Env env = Env.DEFAULT.build(ConfigFactory.empty());
+    Injector injector = Guice.createInjector(binder -> cache.configure(env, env.config(), binder));
+    for (CheckedConsumer<Registry> task : env.startTasks()) {
+      task.accept(injector::getInstance);
+    }
+    return injector;
+  }
+}
@@ -0,0 +1,158 @@
+package org.jooby.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+public class InstrumentedDataSourceTest {
+
+  @Test
+  public void fingerprint() {
+    assertEquals("select * from pets where id = ?",
+        InstrumentedDataSource.fingerprint("SELECT *\n  FROM pets\tWHERE id = 17"));
+    assertEquals("select * from pets where name = ? and age > ?",
+        InstrumentedDataSource.fingerprint("select * from pets where name = 'it''s' and age > 1.5"));
+    assertEquals("select * from pets where id in (?)",
+        InstrumentedDataSource.fingerprint("select * from pets where id in (1, 2,3)"));
+    assertEquals("select * from pets where id in (?)",
+        InstrumentedDataSource.fingerprint("select * from pets where id IN( ?,?, ? )"));
+    assertEquals("select t1.col2 from t1 where x=?",
+        InstrumentedDataSource.fingerprint("select t1.col2 /* trace: 99 */ from t1 -- hi\n where x=3"));
+    assertEquals("insert into pets values (?, ?)",
+        InstrumentedDataSource.fingerprint("insert into pets values (?, ?)"));
+  }
+
+  @Test
+  public void timePreparedStatement() throws Exception {
+    DataSource ds = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    PreparedStatement stt = createMock(PreparedStatement.class);
+    ResultSet rs = createMock(ResultSet.class);
+
+    String sql = "select * from pets where id = ?";
+    expect(ds.getConnection()).andReturn(conn);
+    expect(conn.prepareStatement(sql)).andReturn(stt);
+    stt.setInt(1, 7);
+    expect(stt.executeQuery()).andReturn(rs);
+    stt.close();
+    conn.close();
+
+    Object[] mocks = {ds, conn, stt, rs };
+    replay(mocks);
+
+    List<String> queries = new ArrayList<>();
+    InstrumentedDataSource ids = new InstrumentedDataSource("h2.db", ds, 0);
+    ids.timer((fingerprint, nanos) -> {
+      assertTrue(nanos >= 0);
+      queries.add(fingerprint);
+    });
+
+    try (Connection c = ids.getConnection(); PreparedStatement s = c.prepareStatement(sql)) {
+      s.setInt(1, 7);
+      assertSame(rs, s.executeQuery());
+      assertSame(c, s.getConnection());
+    }
+
+    assertEquals(1, queries.size());
+    assertEquals("select * from pets where id = ?", queries.get(0));
+
+    verify(mocks);
+  }
+
+  @Test
+  public void timeStatement() throws Exception {
+    DataSource ds = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    expect(ds.getConnection()).andReturn(conn);
+    expect(conn.createStatement()).andReturn(stt);
+    expect(stt.executeUpdate("DELETE FROM pets WHERE id = 1")).andReturn(1);
+    stt.addBatch("delete from pets");
+    expect(stt.executeBatch()).andReturn(new int[]{1 });
+
+    Object[] mocks = {ds, conn, stt };
+    replay(mocks);
+
+    List<String> queries = new ArrayList<>();
+    InstrumentedDataSource ids = new InstrumentedDataSource("h2.db", ds, 1);
+    ids.timer((fingerprint, nanos) -> queries.add(fingerprint));
+
+    Statement s = ids.getConnection().createStatement();
+    assertEquals(1, s.executeUpdate("DELETE FROM pets WHERE id = 1"));
+    s.addBatch("delete from pets");
+    s.executeBatch();
+
+    assertEquals("delete from pets where id = ?", queries.get(0));
+    assertEquals("batch", queries.get(1));
+
+    verify(mocks);
+  }
+
+  @Test
+  public void timeFailures() throws Exception {
+    DataSource ds = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    SQLException cause = new SQLException("intentional err");
+    expect(ds.getConnection()).andReturn(conn);
+    expect(conn.createStatement()).andReturn(stt);
+    expect(stt.execute("select 1")).andThrow(cause);
+
+    Object[] mocks = {ds, conn, stt };
+    replay(mocks);
+
+    List<String> queries = new ArrayList<>();
+    InstrumentedDataSource ids = new InstrumentedDataSource("h2.db", ds, 0);
+    ids.timer((fingerprint, nanos) -> queries.add(fingerprint));
+
+    try {
+      ids.getConnection().createStatement().execute("select 1");
+    } catch (SQLException x) {
+      assertSame(cause, x);
+    }
+    assertEquals("select ?", queries.get(0));
+
+    verify(mocks);
+  }
+
+  @Test
+  public void unwrap() throws Exception {
+    DataSource ds = createMock(DataSource.class);
+    expect(ds.isWrapperFor(Runnable.class)).andReturn(false);
+    expect(ds.getLoginTimeout()).andReturn(3);
+    ds.setLoginTimeout(5);
+    expectLastCall();
+
+    replay(ds);
+
+    InstrumentedDataSource ids = new InstrumentedDataSource("h2.db", ds, 0);
+    assertSame(ids, ids.unwrap(InstrumentedDataSource.class));
+    assertSame(ds, ids.unwrap(ds.getClass()));
+    assertTrue(ids.isWrapperFor(ds.getClass()));
+    assertEquals(false, ids.isWrapperFor(Runnable.class));
+    assertEquals(3, ids.getLoginTimeout());
+    ids.setLoginTimeout(5);
+    assertEquals(ds.toString(), ids.toString());
+
+    verify(ds);
+  }
+}
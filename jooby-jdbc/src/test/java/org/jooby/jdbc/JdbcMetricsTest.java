@@ -0,0 +1,65 @@
+package org.jooby.jdbc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class JdbcMetricsTest {
+
+  @Test
+  public void timers() {
+    MetricRegistry registry = new MetricRegistry();
+    JdbcMetrics metrics = new JdbcMetrics(registry, "h2.db");
+    metrics.accept("select ?", TimeUnit.MILLISECONDS.toNanos(3));
+    metrics.accept("select ?", TimeUnit.MILLISECONDS.toNanos(5));
+
+    assertEquals(2, registry.timer("h2.db.query.select ?").getCount());
+  }
+
+  @Test
+  public void maxQueries() {
+    MetricRegistry registry = new MetricRegistry();
+    JdbcMetrics metrics = new JdbcMetrics(registry, "h2.db");
+    for (int i = 0; i < JdbcMetrics.MAX_QUERIES + 10; i++) {
+      metrics.accept("select " + i, 1);
+    }
+
+    assertEquals(JdbcMetrics.MAX_QUERIES + 1, registry.getTimers().size());
+    assertEquals(10, registry.timer("h2.db.query.other").getCount());
+  }
+
+  @Test
+  public void maxQueriesConcurrently() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    JdbcMetrics metrics = new JdbcMetrics(registry, "h2.db");
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        int offset = t * JdbcMetrics.MAX_QUERIES;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < JdbcMetrics.MAX_QUERIES; i++) {
+            metrics.accept("select " + (offset + i), 1);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(JdbcMetrics.MAX_QUERIES + 1, registry.getTimers().size());
+    assertEquals(JdbcMetrics.MAX_QUERIES * 7, registry.timer("h2.db.query.other").getCount());
+  }
+}
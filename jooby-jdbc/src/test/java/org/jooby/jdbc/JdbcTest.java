@@ -3,7 +3,9 @@ package org.jooby.jdbc;
 import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import static org.junit.Assert.assertEquals;
@@ -11,6 +13,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
@@ -18,14 +21,17 @@ import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.sql.DataSource;
 
 import org.easymock.Capture;
 import org.jooby.Env;
 import org.jooby.Registry;
+import org.jooby.Route;
 import org.jooby.Routes;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Binder;
 import com.google.inject.Key;
 import com.google.inject.binder.LinkedBindingBuilder;
@@ -64,8 +70,8 @@ public class JdbcTest {
     Binder binder = createMock(Binder.class);
 
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     // config
     config = config.withValue("db", fromAnyRef("mem"));
@@ -117,8 +123,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -156,8 +162,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -196,8 +202,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -235,8 +241,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -278,8 +284,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -318,8 +324,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -358,8 +364,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -402,8 +408,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -458,8 +464,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -505,8 +511,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -564,8 +570,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -616,8 +622,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -657,7 +663,7 @@ public class JdbcTest {
         .withValue("hikari.audit.maximumPoolSize", fromAnyRef(1));
 
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -698,8 +704,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -741,8 +747,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -784,8 +790,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -827,8 +833,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -870,8 +876,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -913,8 +919,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -956,8 +962,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -1001,8 +1007,8 @@ public class JdbcTest {
 
     // binder
     ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     Capture<Provider<DataSource>> provider = new Capture<>();
     LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
@@ -1031,6 +1037,64 @@ public class JdbcTest {
     verify(mocks);
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void replicas() throws Exception {
+    Routes routes = createMock(Routes.class);
+    Route.Definition filter = createMock(Route.Definition.class);
+    expect(routes.use(eq("*"), isA(Route.Filter.class))).andReturn(filter);
+    expect(filter.name("jdbc.replicas")).andReturn(filter);
+
+    Env env = env("dev", routes);
+
+    Config config = ConfigFactory.parseResources(getClass(), "jdbc.conf")
+        .withValue("db.url", fromAnyRef("jdbc:h2:mem:main"))
+        .withValue("db.replicas", fromAnyRef(Arrays.asList("jdbc:h2:mem:r1",
+            ImmutableMap.of("url", "jdbc:h2:mem:r2", "user", "replica"))));
+    Binder binder = createMock(Binder.class);
+
+    ScopedBindingBuilder scope = createMock(ScopedBindingBuilder.class);
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
+
+    Capture<Provider<DataSource>> provider = new Capture<>();
+    LinkedBindingBuilder<DataSource> binding = createMock(LinkedBindingBuilder.class);
+    expect(binding.toProvider(capture(provider))).andReturn(scope).times(2);
+    expect(binder.bind(Key.get(DataSource.class))).andReturn(binding);
+    expect(binder.bind(Key.get(DataSource.class, Names.named("db")))).andReturn(binding);
+
+    Object[] mocks = {binder, binding, scope, routes, filter };
+
+    replay(mocks);
+
+    new Jdbc().configure(env, config, binder);
+
+    withHikariConfig(provider, (hikariConfig, properties) -> {
+      assertEquals("h2.db", hikariConfig.getPoolName());
+      assertEquals("jdbc:h2:mem:main", properties.get("url"));
+      assertEquals(null, properties.get("replicas"));
+    });
+
+    List<HikariDataSourceProvider> replicas = ((HikariDataSourceProvider) provider.getValue())
+        .replicas();
+    assertEquals(2, replicas.size());
+
+    withHikariConfig(replicas.get(0), (hikariConfig, properties) -> {
+      assertEquals("h2.db.replica1", hikariConfig.getPoolName());
+      assertEquals("org.h2.jdbcx.JdbcDataSource", hikariConfig.getDataSourceClassName());
+      assertEquals("jdbc:h2:mem:r1", properties.get("url"));
+      assertEquals(null, properties.get("replicas"));
+    });
+
+    withHikariConfig(replicas.get(1), (hikariConfig, properties) -> {
+      assertEquals("h2.db.replica2", hikariConfig.getPoolName());
+      assertEquals("jdbc:h2:mem:r2", properties.get("url"));
+      assertEquals("replica", properties.get("user"));
+    });
+
+    verify(mocks);
+  }
+
   private static void withHikariConfig(final Capture<Provider<DataSource>> provider,
       final BiConsumer<HikariConfig, Properties> asserts) {
     assertNotNull(provider);
@@ -1051,11 +1115,18 @@ public class JdbcTest {
   }
 
   private static Env env(final String name) {
+    return env(name, null);
+  }
+
+  private static Env env(final String name, final Routes routes) {
     return new Env() {
 
       @Override
       public Routes routes() throws UnsupportedOperationException {
-        throw new UnsupportedOperationException();
+        if (routes == null) {
+          throw new UnsupportedOperationException();
+        }
+        return routes;
       }
 
       @Override
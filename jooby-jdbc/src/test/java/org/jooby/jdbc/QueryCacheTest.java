@@ -0,0 +1,246 @@
+package org.jooby.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.cache.CacheBuilder;
+
+public class QueryCacheTest {
+
+  @Test
+  public void hitAndMiss() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals("v1", cache.of("pets").get(1, () -> "v" + calls.incrementAndGet()));
+    assertEquals("v1", cache.of("pets").get(1, () -> "v" + calls.incrementAndGet()));
+    assertEquals("v2", cache.of("pets").get(2, () -> "v" + calls.incrementAndGet()));
+    assertEquals("v3", cache.of("owners").get(1, () -> "v" + calls.incrementAndGet()));
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void nullValues() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertNull(cache.of("pets").get(1, () -> {
+      calls.incrementAndGet();
+      return null;
+    }));
+    assertNull(cache.of("pets").get(1, () -> {
+      calls.incrementAndGet();
+      return null;
+    }));
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void keysDoNotCollide() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals(1, cache.of("pets").get("1:2", calls::incrementAndGet).intValue());
+    assertEquals(2, cache.of("pets:1").get("2", calls::incrementAndGet).intValue());
+    assertEquals(3, cache.of("pets").tags("a#b").get(1, calls::incrementAndGet).intValue());
+    assertEquals(4, cache.of("pets").tags("a", "b").get(1, calls::incrementAndGet).intValue());
+    assertEquals(5, cache.of("pets").get("1#a#b", calls::incrementAndGet).intValue());
+  }
+
+  @Test
+  public void ttl() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals(1, cache.of("pets").ttl(Duration.ofMillis(50))
+        .get(1, calls::incrementAndGet).intValue());
+    assertEquals(1, cache.of("pets").ttl(Duration.ofMillis(50))
+        .get(1, calls::incrementAndGet).intValue());
+    Thread.sleep(100L);
+    assertEquals(2, cache.of("pets").ttl(Duration.ofMillis(50))
+        .get(1, calls::incrementAndGet).intValue());
+  }
+
+  @Test
+  public void invalidate() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals(1, cache.of("pets").tags("pets").get(1, calls::incrementAndGet).intValue());
+    assertEquals(2, cache.of("owners").tags("owners", "pets")
+        .get(1, calls::incrementAndGet).intValue());
+    assertEquals(3, cache.of("owners").tags("owners").get(1, calls::incrementAndGet).intValue());
+
+    cache.invalidate("pets");
+
+    assertEquals(4, cache.of("pets").tags("pets").get(1, calls::incrementAndGet).intValue());
+    assertEquals(5, cache.of("owners").tags("owners", "pets")
+        .get(1, calls::incrementAndGet).intValue());
+    // not tagged with pets
+    assertEquals(3, cache.of("owners").tags("owners").get(1, calls::incrementAndGet).intValue());
+  }
+
+  @Test
+  public void evictInvalidated() throws Exception {
+    ConcurrentMap<String, Object> map = new ConcurrentHashMap<>();
+    ConcurrentMap<String, Object> tags = new ConcurrentHashMap<>();
+    QueryCache cache = new QueryCache();
+    cache.store(QueryCache.Store.of(map), QueryCache.Store.of(tags));
+    AtomicInteger calls = new AtomicInteger();
+
+    for (int i = 0; i < 5; i++) {
+      cache.of("pets").tags("pets").get(1, calls::incrementAndGet);
+      cache.invalidate("pets");
+    }
+    cache.of("pets").tags("pets").get(1, calls::incrementAndGet);
+
+    assertEquals(6, calls.get());
+    // one tag version and one entry, old results were removed
+    assertEquals(1, map.size());
+    assertEquals(1, tags.size());
+  }
+
+  @Test
+  public void evictExpired() throws Exception {
+    ConcurrentMap<String, Object> map = new ConcurrentHashMap<>();
+    List<Long> ttls = new ArrayList<>();
+    QueryCache cache = new QueryCache();
+    QueryCache.Store store = QueryCache.Store.of(map);
+    cache.store(new QueryCache.Store() {
+      @Override
+      public Object get(final String key) {
+        return store.get(key);
+      }
+
+      @Override
+      public void set(final String key, final Object value, final long ttl) {
+        ttls.add(ttl);
+        store.set(key, value, ttl);
+      }
+
+      @Override
+      public void remove(final String key) {
+        store.remove(key);
+      }
+    }, QueryCache.Store.of(new ConcurrentHashMap<String, Object>()));
+
+    cache.of("pets").ttl(Duration.ofMillis(50)).get(1, () -> "v1");
+    assertEquals(1, map.size());
+    Thread.sleep(100L);
+    assertNull(cache.of("pets").get(2, () -> null));
+    assertEquals(2, map.size());
+    assertEquals("v2", cache.of("pets").ttl(Duration.ofMillis(50)).get(1, () -> "v2"));
+    assertEquals(2, map.size());
+    assertEquals(Arrays.asList(50L, 0L, 50L), ttls);
+  }
+
+  @Test
+  public void invalidateVersionsAreUnique() throws Exception {
+    ConcurrentMap<String, Object> map = new ConcurrentHashMap<>();
+    QueryCache cache = new QueryCache();
+    cache.store(QueryCache.Store.of(new ConcurrentHashMap<String, Object>()),
+        QueryCache.Store.of(map));
+
+    cache.invalidate("pets");
+    Object v1 = map.get("tag:pets");
+    cache.invalidate("pets");
+    Object v2 = map.get("tag:pets");
+    assertNotEquals(v1, v2);
+  }
+
+  @Test
+  public void coalesceMisses() throws Exception {
+    QueryCache cache = cache();
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      results.add(executor.submit(() -> cache.of("pets").get(1, () -> {
+        loading.countDown();
+        release.await();
+        return calls.incrementAndGet();
+      })));
+      loading.await();
+      for (int i = 0; i < 3; i++) {
+        results.add(executor.submit(() -> cache.of("pets").get(1, calls::incrementAndGet)));
+      }
+      Thread.sleep(50L);
+      release.countDown();
+
+      for (Future<Integer> result : results) {
+        assertEquals(1, result.get(5, TimeUnit.SECONDS).intValue());
+      }
+      assertEquals(1, calls.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void failuresAreNotCached() throws Exception {
+    QueryCache cache = cache();
+    IOException cause = new IOException("intentional err");
+    try {
+      cache.of("pets").get(1, () -> {
+        throw cause;
+      });
+    } catch (IOException x) {
+      assertSame(cause, x);
+    }
+    assertEquals("ok", cache.of("pets").get(1, () -> "ok"));
+  }
+
+  @Test
+  public void notStarted() throws Exception {
+    QueryCache cache = new QueryCache();
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals(1, cache.of("pets").get(1, calls::incrementAndGet).intValue());
+    assertEquals(2, cache.of("pets").get(1, calls::incrementAndGet).intValue());
+    cache.invalidate("pets");
+  }
+
+  @Test
+  public void lostTagVersionDoesNotResurrectResults() throws Exception {
+    ConcurrentMap<String, Object> tags = new ConcurrentHashMap<>();
+    QueryCache cache = new QueryCache();
+    cache.store(QueryCache.Store.of(new ConcurrentHashMap<String, Object>()),
+        QueryCache.Store.of(tags));
+    AtomicInteger calls = new AtomicInteger();
+
+    assertEquals(1, cache.of("pets").tags("pets").get(1, calls::incrementAndGet).intValue());
+    cache.invalidate("pets");
+    // tag version is gone (evicted by a custom tag store)
+    tags.clear();
+    assertEquals(2, cache.of("pets").tags("pets").get(1, calls::incrementAndGet).intValue());
+    assertEquals(2, cache.of("pets").tags("pets").get(1, calls::incrementAndGet).intValue());
+  }
+
+  private QueryCache cache() {
+    QueryCache cache = new QueryCache();
+    cache.store(QueryCache.Store.of(CacheBuilder.newBuilder().<String, Object> build()),
+        QueryCache.Store.of(new ConcurrentHashMap<String, Object>()));
+    return cache;
+  }
+}
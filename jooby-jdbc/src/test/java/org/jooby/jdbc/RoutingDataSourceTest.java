@@ -0,0 +1,261 @@
+package org.jooby.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+public class RoutingDataSourceTest {
+
+  @Test
+  public void noIntentGoesToPrimary() throws Exception {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+
+    expect(primary.getConnection()).andReturn(conn);
+
+    Object[] mocks = {primary, replica, conn };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 1000);
+    // not a lazy connection
+    assertSame(conn, ds.getConnection());
+
+    verify(mocks);
+  }
+
+  @Test
+  public void writesGoToPrimary() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    expect(primary.getConnection()).andReturn(conn);
+    conn.setAutoCommit(false);
+    expect(conn.createStatement()).andReturn(stt);
+    conn.close();
+
+    Object[] mocks = {primary, replica, conn, stt };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 1000);
+    RoutingDataSource.readOnly(() -> {
+      try (Connection c = ds.getConnection()) {
+        c.setAutoCommit(false);
+        assertEquals(false, c.getAutoCommit());
+        assertSame(stt, c.createStatement());
+      }
+    });
+
+    verify(mocks);
+  }
+
+  @Test
+  public void readOnlyMustComeFirst() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    expect(primary.getConnection()).andReturn(conn);
+    expect(conn.createStatement()).andReturn(stt);
+    conn.setReadOnly(true);
+
+    Object[] mocks = {primary, replica, conn, stt };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 1000);
+    RoutingDataSource.readOnly(() -> {
+      Connection c = ds.getConnection();
+      assertSame(stt, c.createStatement());
+      // too late: connection was acquired from primary
+      c.setReadOnly(true);
+    });
+
+    verify(mocks);
+  }
+
+  @Test
+  public void readOnlyGoesToReplica() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    expect(replica.getConnection()).andReturn(conn);
+    conn.setReadOnly(true);
+    expect(conn.createStatement()).andReturn(stt);
+    conn.close();
+
+    Object[] mocks = {primary, replica, conn, stt };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 1000);
+    RoutingDataSource.readOnly(() -> {
+      Connection c = ds.getConnection();
+      c.setReadOnly(true);
+      assertTrue(c.isReadOnly());
+      assertSame(stt, c.createStatement());
+      assertArrayEquals(new int[]{1 }, ds.outstanding());
+      c.close();
+      assertArrayEquals(new int[]{0 }, ds.outstanding());
+    });
+
+    verify(mocks);
+  }
+
+  @Test
+  public void readIntent() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    Statement stt = createMock(Statement.class);
+
+    expect(replica.getConnection()).andReturn(conn);
+    conn.setReadOnly(true);
+    expect(conn.createStatement()).andReturn(stt);
+    conn.close();
+
+    Object[] mocks = {primary, replica, conn, stt };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 1000);
+    RoutingDataSource.read(() -> {
+      try (Connection c = ds.getConnection()) {
+        assertSame(stt, c.createStatement());
+      }
+    });
+
+    verify(mocks);
+  }
+
+  @Test
+  public void leastOutstanding() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource r1 = createMock(DataSource.class);
+    DataSource r2 = createMock(DataSource.class);
+    Connection c1 = createMock(Connection.class);
+    Connection c2 = createMock(Connection.class);
+    Connection c3 = createMock(Connection.class);
+
+    // first goes to r1 (round robin start), second to r2 (r1 is busy), third to r2 (r1 is busy)
+    expect(r1.getConnection()).andReturn(c1);
+    c1.setReadOnly(true);
+    expect(c1.isValid(1)).andReturn(true);
+    expect(r2.getConnection()).andReturn(c2);
+    c2.setReadOnly(true);
+    expect(c2.isValid(1)).andReturn(true);
+    c2.close();
+    expect(r2.getConnection()).andReturn(c3);
+    c3.setReadOnly(true);
+    expect(c3.isValid(1)).andReturn(true);
+
+    Object[] mocks = {primary, r1, r2, c1, c2, c3 };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1", "r2"),
+        Arrays.asList(r1, r2), 1000);
+
+    Connection first = readOnly(ds);
+    assertArrayEquals(new int[]{1, 0 }, ds.outstanding());
+
+    Connection second = readOnly(ds);
+    assertArrayEquals(new int[]{1, 1 }, ds.outstanding());
+    second.close();
+    assertArrayEquals(new int[]{1, 0 }, ds.outstanding());
+
+    readOnly(ds);
+    assertArrayEquals(new int[]{1, 1 }, ds.outstanding());
+    assertTrue(first != second);
+
+    verify(mocks);
+  }
+
+  @Test
+  public void fallbackToPrimary() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+    DataSource replica = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+
+    // replica fails once, then is skipped
+    expect(replica.getConnection()).andThrow(new SQLException("intentional err"));
+    expect(primary.getConnection()).andReturn(conn).times(2);
+    conn.setReadOnly(true);
+    conn.setReadOnly(true);
+    expect(conn.isValid(1)).andReturn(true).times(2);
+
+    Object[] mocks = {primary, replica, conn };
+    replay(mocks);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList("r1"),
+        Arrays.asList(replica), 60000);
+    readOnly(ds);
+    readOnly(ds);
+    assertArrayEquals(new int[]{0 }, ds.outstanding());
+
+    verify(mocks);
+  }
+
+  @Test
+  public void closeBeforeUse() throws Throwable {
+    DataSource primary = createMock(DataSource.class);
+
+    replay(primary);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList(), Arrays.asList(), 1);
+    RoutingDataSource.read(() -> {
+      Connection c = ds.getConnection();
+      c.close();
+      assertTrue(c.isClosed());
+      try {
+        c.createStatement();
+      } catch (SQLException x) {
+        assertEquals("Connection is closed", x.getMessage());
+      }
+    });
+
+    verify(primary);
+  }
+
+  @Test
+  public void unwrap() throws Exception {
+    DataSource primary = createMock(DataSource.class);
+
+    replay(primary);
+
+    RoutingDataSource ds = new RoutingDataSource(primary, Arrays.asList(), Arrays.asList(), 1);
+    assertSame(ds, ds.unwrap(RoutingDataSource.class));
+    assertSame(primary, ds.unwrap(primary.getClass()));
+    assertEquals(primary.toString(), ds.toString());
+
+    verify(primary);
+  }
+
+  private Connection readOnly(final RoutingDataSource ds) throws Throwable {
+    Connection[] c = new Connection[1];
+    RoutingDataSource.readOnly(() -> c[0] = ds.getConnection());
+    c[0].setReadOnly(true);
+    c[0].isValid(1);
+    return c[0];
+  }
+}
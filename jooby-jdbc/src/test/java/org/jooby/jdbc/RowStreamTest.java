@@ -0,0 +1,211 @@
+package org.jooby.jdbc;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.jooby.Err;
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+import org.jooby.Result;
+import org.jooby.Status;
+import org.jooby.jdbc.RowStream.Format;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+public class RowStreamTest {
+
+  private List<Map<String, Object>> rows = ImmutableList.of(
+      row(1, "Lassie", true),
+      row(2, "Mr. \"Bean\", \n the dog", null));
+
+  /** Fake json renderer, rows are rendered as a list of values. */
+  private Renderer json = (value, ctx) -> {
+    if (ctx.accepts(MediaType.json) && value instanceof Map) {
+      ctx.send(((Map<?, ?>) value).values().toString());
+    }
+  };
+
+  @Test
+  public void json() throws Exception {
+    AtomicInteger closed = new AtomicInteger();
+    assertEquals("[[1, Lassie, true],[2, Mr. \"Bean\", \n the dog, null]]",
+        text(rowStream(json).stream(Format.JSON, () -> RowStream.Cursor.of(rows.iterator(),
+            closed::incrementAndGet))));
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void emptyJson() throws Exception {
+    assertEquals("[]", text(rowStream(json).stream(Format.JSON,
+        () -> RowStream.Cursor.of(ImmutableList.<Map<String, ?>> of().iterator(), () -> {
+        }))));
+  }
+
+  @Test
+  public void ndjson() throws Exception {
+    assertEquals("[1, Lassie, true]\n[2, Mr. \"Bean\", \n the dog, null]\n",
+        text(rowStream(json).stream(Format.NDJSON,
+            () -> RowStream.Cursor.of(rows.iterator(), () -> {
+            }))));
+  }
+
+  @Test
+  public void csv() throws Exception {
+    AtomicInteger opened = new AtomicInteger();
+    Result result = rowStream().stream(Format.CSV, () -> {
+      opened.incrementAndGet();
+      return RowStream.Cursor.of(rows.iterator(), () -> {
+      });
+    });
+    assertEquals(1, opened.get());
+    assertEquals(MediaType.valueOf("text/csv"), result.type().get());
+    assertEquals("id,name,good\r\n"
+        + "1,Lassie,true\r\n"
+        + "2,\"Mr. \"\"Bean\"\", \n the dog\",\r\n",
+        text(result));
+  }
+
+  @Test
+  public void noRenderer() throws Exception {
+    AtomicInteger closed = new AtomicInteger();
+    try {
+      rowStream().stream(Format.JSON, () -> RowStream.Cursor.of(rows.iterator(),
+          closed::incrementAndGet));
+      fail();
+    } catch (Err ex) {
+      assertEquals(Status.NOT_ACCEPTABLE.value(), ex.statusCode());
+    }
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void closeOnAbort() throws Exception {
+    AtomicInteger closed = new AtomicInteger();
+    Result result = rowStream(json).stream(Format.JSON,
+        () -> RowStream.Cursor.of(rows.iterator(), closed::incrementAndGet));
+    try (InputStream stream = (InputStream) result.ifGet().get()) {
+      assertEquals('[', stream.read());
+    }
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void closeOnError() throws Exception {
+    AtomicInteger closed = new AtomicInteger();
+    Iterator<Map<String, Object>> rows = new Iterator<Map<String, Object>>() {
+      int count = 0;
+
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Map<String, Object> next() {
+        if (count++ > 0) {
+          throw new IllegalStateException("intentional err");
+        }
+        return row(1, "Lassie", true);
+      }
+    };
+    Result result = rowStream(json).stream(Format.JSON,
+        () -> RowStream.Cursor.of(rows, closed::incrementAndGet));
+    try {
+      text(result);
+      fail();
+    } catch (IOException ex) {
+      assertEquals("intentional err", ex.getCause().getMessage());
+    }
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void resultErr() throws Exception {
+    AtomicInteger closed = new AtomicInteger();
+    try {
+      rowStream(json).stream(Format.JSON,
+          () -> RowStream.Cursor.of(new Iterator<Map<String, ?>>() {
+            @Override
+            public boolean hasNext() {
+              throw new IllegalStateException("intentional err");
+            }
+
+            @Override
+            public Map<String, ?> next() {
+              return null;
+            }
+          }, closed::incrementAndGet));
+      fail();
+    } catch (IllegalStateException ex) {
+      assertEquals("intentional err", ex.getMessage());
+    }
+    assertEquals(1, closed.get());
+  }
+
+  @Test
+  public void queryWithoutAutoCommit() throws Exception {
+    DataSource ds = createMock(DataSource.class);
+    Connection conn = createMock(Connection.class);
+    PreparedStatement stt = createMock(PreparedStatement.class);
+    ResultSet rs = createMock(ResultSet.class);
+
+    expect(ds.getConnection()).andReturn(conn);
+    expect(conn.getAutoCommit()).andReturn(true);
+    conn.setAutoCommit(false);
+    expect(conn.prepareStatement("select * from pets", ResultSet.TYPE_FORWARD_ONLY,
+        ResultSet.CONCUR_READ_ONLY)).andReturn(stt);
+    stt.setFetchSize(10);
+    expect(stt.executeQuery()).andReturn(rs);
+    expect(rs.next()).andReturn(false);
+    rs.close();
+    stt.close();
+    // restore auto-commit
+    conn.setAutoCommit(true);
+    conn.close();
+
+    replay(ds, conn, stt, rs);
+    assertEquals("[]", text(rowStream(json).query(ds, Format.JSON, 10, "select * from pets")));
+    verify(ds, conn, stt, rs);
+  }
+
+  private RowStream rowStream(final Renderer... renderers) {
+    Set<Renderer> set = new LinkedHashSet<>(ImmutableList.copyOf(renderers));
+    return new RowStream(set, StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, Object> row(final int id, final String name, final Boolean good) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("id", id);
+    row.put("name", name);
+    row.put("good", good);
+    return row;
+  }
+
+  private String text(final Result result) throws IOException {
+    try (InputStream stream = (InputStream) result.ifGet().get()) {
+      return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -21,12 +21,16 @@ package org.jooby.jdbi;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.inject.Provider;
 
 import org.jooby.Env;
 import org.jooby.jdbc.Jdbc;
+import org.jooby.jdbc.RowStream;
 import org.skife.jdbi.v2.DBI;
 import org.skife.jdbi.v2.DBI2;
 import org.skife.jdbi.v2.ExpandedStmtRewriter;
@@ -34,6 +38,8 @@ import org.skife.jdbi.v2.Handle;
 import org.skife.jdbi.v2.IterableArgumentFactory;
 import org.skife.jdbi.v2.OptionalArgumentFactory;
 import org.skife.jdbi.v2.OptionalContainerFactory;
+import org.skife.jdbi.v2.Query;
+import org.skife.jdbi.v2.ResultIterator;
 import org.skife.jdbi.v2.logging.SLF4JLog;
 
 import com.google.common.collect.Lists;
@@ -154,6 +160,49 @@ public class Jdbi extends Jdbc {
     return this;
   }
 
+  /**
+   * Cursor factory for {@link RowStream#stream(RowStream.Format, Callable)}. A {@link Handle} is
+   * opened with the cursor and closed once all the rows were written, on error or client abort.
+   *
+   * <pre>{@code
+   * {
+   *   get("/pets", req -> {
+   *     DBI dbi = req.require(DBI.class);
+   *     return req.require(RowStream.class).stream(RowStream.Format.JSON,
+   *         Jdbi.cursor(dbi, 100, h -> h.createQuery("select * from pets")));
+   *   });
+   * }
+   * }</pre>
+   *
+   * @param dbi A DBI instance.
+   * @param fetchSize Number of rows to fetch from the database at once.
+   * @param query Query factory.
+   * @return A cursor factory.
+   */
+  public static Callable<RowStream.Cursor> cursor(final DBI dbi, final int fetchSize,
+      final Function<Handle, Query<Map<String, Object>>> query) {
+    requireNonNull(dbi, "DBI is required.");
+    requireNonNull(query, "Query is required.");
+    return () -> {
+      Handle handle = dbi.open();
+      try {
+        ResultIterator<Map<String, Object>> rows = query.apply(handle)
+            .setFetchSize(fetchSize)
+            .iterator();
+        return RowStream.Cursor.of(rows, () -> {
+          try {
+            rows.close();
+          } finally {
+            handle.close();
+          }
+        });
+      } catch (RuntimeException ex) {
+        handle.close();
+        throw ex;
+      }
+    };
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes" })
   @Override
   public void configure(final Env env, final Config config, final Binder binder) {
@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import javax.inject.Named;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.jooby.Env;
@@ -223,12 +224,12 @@ public class Redis implements Jooby.Module {
           .toInstance(pool);
 
       binder.bind(Jedis.class).annotatedWith(Names.named(name)).toProvider(jedis)
-          .asEagerSingleton();
+          .in(Singleton.class);
     } else {
       binder.bind(JedisPool.class).toInstance(pool);
 
       binder.bind(Jedis.class).toProvider(jedis)
-          .asEagerSingleton();
+          .in(Singleton.class);
     }
   }
 
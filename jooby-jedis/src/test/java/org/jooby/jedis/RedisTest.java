@@ -7,6 +7,7 @@ import static org.junit.Assert.assertEquals;
 import java.net.URI;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.jooby.Env;
@@ -76,7 +77,7 @@ public class RedisTest {
           jpABB.toInstance(pool);
 
           ScopedBindingBuilder sbbJABB = unit.mock(ScopedBindingBuilder.class);
-          sbbJABB.asEagerSingleton();
+          sbbJABB.in(Singleton.class);
 
           AnnotatedBindingBuilder<Jedis> jABB = unit.mock(AnnotatedBindingBuilder.class);
           expect(jABB.toProvider(isA(Provider.class))).andReturn(sbbJABB);
@@ -131,7 +132,7 @@ public class RedisTest {
               jpABB.toInstance(pool);
 
               ScopedBindingBuilder sbbJABB = unit.mock(ScopedBindingBuilder.class);
-              sbbJABB.asEagerSingleton();
+              sbbJABB.in(Singleton.class);
 
               AnnotatedBindingBuilder<Jedis> jABB = unit.mock(AnnotatedBindingBuilder.class);
               expect(jABB.toProvider(unit.capture(Provider.class))).andReturn(sbbJABB);
@@ -190,7 +191,7 @@ public class RedisTest {
               expect(jpABB.annotatedWith(Names.named("db"))).andReturn(jpLBB);
 
               ScopedBindingBuilder sbbJABB = unit.mock(ScopedBindingBuilder.class);
-              sbbJABB.asEagerSingleton();
+              sbbJABB.in(Singleton.class);
 
               LinkedBindingBuilder<Jedis> jLBB = unit.mock(LinkedBindingBuilder.class);
               expect(jLBB.toProvider(isA(Provider.class))).andReturn(sbbJABB);
@@ -246,7 +247,7 @@ public class RedisTest {
               jpABB.toInstance(pool);
 
               ScopedBindingBuilder sbbJABB = unit.mock(ScopedBindingBuilder.class);
-              sbbJABB.asEagerSingleton();
+              sbbJABB.in(Singleton.class);
 
               AnnotatedBindingBuilder<Jedis> jABB = unit.mock(AnnotatedBindingBuilder.class);
               expect(jABB.toProvider(isA(Provider.class))).andReturn(sbbJABB);
@@ -301,7 +302,7 @@ public class RedisTest {
               jpABB.toInstance(pool);
 
               ScopedBindingBuilder sbbJABB = unit.mock(ScopedBindingBuilder.class);
-              sbbJABB.asEagerSingleton();
+              sbbJABB.in(Singleton.class);
 
               AnnotatedBindingBuilder<Jedis> jABB = unit.mock(AnnotatedBindingBuilder.class);
               expect(jABB.toProvider(isA(Provider.class))).andReturn(sbbJABB);
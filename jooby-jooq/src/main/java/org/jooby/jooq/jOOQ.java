@@ -20,6 +20,7 @@ package org.jooby.jooq;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.concurrent.Callable;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -28,13 +29,23 @@ import javax.sql.DataSource;
 
 import org.jooby.Env;
 import org.jooby.jdbc.Jdbc;
+import org.jooby.jdbc.QueryCache;
+import org.jooby.jdbc.RowStream;
 import org.jooq.Configuration;
 import org.jooq.ConnectionProvider;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.conf.ParamType;
+import org.jooq.impl.DSL;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultTransactionProvider;
 import org.jooq.tools.jdbc.JDBCUtils;
 
+import com.google.common.collect.Iterators;
 import com.google.inject.Binder;
 import com.typesafe.config.Config;
 
@@ -68,6 +79,39 @@ import com.typesafe.config.Config;
  * }
  * </pre>
  *
+ * <h2>streaming</h2>
+ * <p>
+ * Large results can be streamed to the client with {@link RowStream} and
+ * {@link #cursor(ResultQuery, int)}. Records are written as they are read from the cursor:
+ * </p>
+ * <pre>
+ * {
+ *   get("/pets", req {@literal ->} {
+ *     DSLContext ctx = req.require(DSLContext.class);
+ *     return req.require(RowStream.class)
+ *         .stream(RowStream.Format.JSON, jOOQ.cursor(ctx.selectFrom(PETS), 100));
+ *   });
+ * }
+ * </pre>
+ *
+ * <h2>query cache</h2>
+ * <p>
+ * Results can be cached with {@link #fetch(QueryCache.Spec, ResultQuery)}, the key is the SQL
+ * with inlined bind values:
+ * </p>
+ * <pre>
+ * {
+ *   use(new jOOQ());
+ *   use(new QueryCache());
+ *
+ *   get("/pets", req {@literal ->} {
+ *     DSLContext ctx = req.require(DSLContext.class);
+ *     QueryCache cache = req.require(QueryCache.class);
+ *     return jOOQ.fetch(cache.of("pets").tags("pets"), ctx.selectFrom(PETS));
+ *   });
+ * }
+ * </pre>
+ *
  * <h2>multiple db connections</h2>
  *
  * <pre>
@@ -156,6 +200,61 @@ public class jOOQ extends Jdbc {
     return doWith((configuration, conf) -> callback.accept(configuration));
   }
 
+  /**
+   * Cursor factory for {@link RowStream#stream(RowStream.Format, Callable)}. The query is executed
+   * via {@link ResultQuery#fetchLazy()} when the cursor is opened: {@link RowStream} does it (and
+   * fetches the first record) before the route returns. The cursor (and connection) is closed once
+   * all the records were written, on error or client abort.
+   *
+   * @param query A query.
+   * @param fetchSize Number of records to fetch from the database at once.
+   * @return A cursor factory.
+   */
+  public static Callable<RowStream.Cursor> cursor(final ResultQuery<?> query,
+      final int fetchSize) {
+    requireNonNull(query, "Query is required.");
+    return () -> {
+      Cursor<? extends Record> cursor = query.fetchSize(fetchSize).fetchLazy();
+      return RowStream.Cursor.of(Iterators.transform(cursor.iterator(), Record::intoMap),
+          cursor::close);
+    };
+  }
+
+  /**
+   * Fetch the records of a query from the {@link QueryCache} or from the database on cache miss.
+   * The cache key is the SQL with inlined bind values.
+   *
+   * The cache keeps a detached result and every call gets a copy of it, so changes made to the
+   * returned records aren't visible to other callers. Records are detached, attach them to a
+   * {@link Configuration} before calling <code>store()</code>, <code>refresh()</code>, etc.
+   *
+   * @param cache Cache options, see {@link QueryCache#of(String)}.
+   * @param query A query.
+   * @return A copy of the query result.
+   * @throws Exception If the query fails.
+   */
+  public static <R extends Record> Result<R> fetch(final QueryCache.Spec cache,
+      final ResultQuery<R> query) throws Exception {
+    requireNonNull(cache, "Cache is required.");
+    requireNonNull(query, "Query is required.");
+    Result<R> result = cache.get(query.getSQL(ParamType.INLINED), () -> {
+      Result<R> fetched = query.fetch();
+      fetched.detach();
+      return fetched;
+    });
+    return copy(result);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes" })
+  private static <R extends Record> Result<R> copy(final Result<R> result) {
+    Result<R> copy = (Result) DSL.using(SQLDialect.DEFAULT).newResult(result.fields());
+    for (R record : result) {
+      // original() is a new record (of the same type) with the fetched values
+      copy.add((R) record.original());
+    }
+    return copy;
+  }
+
   @Override
   public void configure(final Env env, final Config conf, final Binder binder) {
     super.configure(env, conf, binder);
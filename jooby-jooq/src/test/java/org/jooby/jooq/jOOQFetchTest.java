@@ -0,0 +1,69 @@
+package org.jooby.jooq;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.table;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooby.Env;
+import org.jooby.Registry;
+import org.jooby.jdbc.QueryCache;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.typesafe.config.ConfigFactory;
+
+import javaslang.control.Try.CheckedConsumer;
+
+public class jOOQFetchTest {
+
+  private static final Field<String> NAME = field("name", String.class);
+
+  @Test
+  public void fetchReturnsCopies() throws Throwable {
+    AtomicInteger calls = new AtomicInteger();
+    DSLContext ctx = DSL.using(new MockConnection(exec -> {
+      calls.incrementAndGet();
+      DSLContext create = DSL.using(SQLDialect.H2);
+      Result<Record1<String>> result = create.newResult(NAME);
+      result.add(create.newRecord(NAME).values("Lassie"));
+      return new MockResult[]{new MockResult(1, result) };
+    }), SQLDialect.H2);
+    QueryCache cache = cache();
+
+    Result<Record1<String>> r1 = jOOQ.fetch(cache.of("pets"),
+        ctx.select(NAME).from(table("pets")));
+    assertEquals("Lassie", r1.get(0).value1());
+    r1.get(0).value1("Snoopy");
+    r1.clear();
+
+    Result<Record1<String>> r2 = jOOQ.fetch(cache.of("pets"),
+        ctx.select(NAME).from(table("pets")));
+    assertNotSame(r1, r2);
+    assertEquals(1, r2.size());
+    assertEquals("Lassie", r2.get(0).value1());
+    assertEquals(false, r2.get(0).changed());
+    assertEquals(1, calls.get());
+  }
+
+  private QueryCache cache() throws Throwable {
+    QueryCache cache = new QueryCache();
+    Env env = Env.DEFAULT.build(ConfigFactory.empty());
+    Injector injector = Guice.createInjector(binder -> cache.configure(env, env.config(), binder));
+    for (CheckedConsumer<Registry> task : env.startTasks()) {
+      task.accept(injector::getInstance);
+    }
+    return cache;
+  }
+}
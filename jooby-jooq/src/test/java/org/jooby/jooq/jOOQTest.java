@@ -5,6 +5,7 @@ import static org.easymock.EasyMock.isA;
 import static org.junit.Assert.assertEquals;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.sql.DataSource;
 
 import org.jooby.Env;
@@ -42,8 +43,8 @@ public class jOOQTest {
     Binder binder = unit.get(Binder.class);
 
     ScopedBindingBuilder scope = unit.mock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
     expect(binding.toProvider(isA(Provider.class))).andReturn(scope).times(2);
@@ -70,6 +70,10 @@ public class AssetMojo extends AbstractMojo {
   @Parameter(defaultValue = "365d")
   private String maxAge;
 
+  /** Optional, opt-in on-disk cache of processor output, see AssetCompiler#cache(File). */
+  @Parameter(property = "assets.cache")
+  private File cache;
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
     long start = System.currentTimeMillis();
@@ -102,6 +106,9 @@ public class AssetMojo extends AbstractMojo {
         getLog().debug("assets.conf: " + assetConf.getConfig("assets"));
 
         AssetCompiler compiler = new AssetCompiler(loader, assetConf);
+        if (cache != null) {
+          compiler.cache(new File(cache, env));
+        }
 
         Map<String, List<File>> fileset = compiler.build(env, output);
 
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Execute;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.jooby.internal.RouteMetadata;
+
+/**
+ * Precompute metadata (parameter names and line numbers) of MVC routes and save it as
+ * <code>App.routes</code> next to the application class. At startup, the metadata is loaded from
+ * there (except in dev) and bytecode of MVC routes isn't read.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+@Mojo(name = "routes", requiresDependencyResolution = ResolutionScope.COMPILE,
+    defaultPhase = LifecyclePhase.PROCESS_CLASSES)
+@Execute(phase = LifecyclePhase.PROCESS_CLASSES)
+public class RouteIndexMojo extends AbstractMojo {
+
+  @SuppressWarnings("serial")
+  private static class ProcessDone extends RuntimeException {
+  }
+
+  @Component
+  private MavenProject mavenProject;
+
+  @Parameter(property = "main.class", defaultValue = "${application.class}")
+  protected String mainClass;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    try {
+      Path bindir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+      new JoobyRunner(mavenProject)
+          .with(routes -> {
+            process(routes, bindir);
+          })
+          .run(mainClass, app -> {
+          });
+    } catch (ProcessDone ex) {
+    } catch (Throwable ex) {
+      throw new MojoFailureException("Can't build route index for: " + mainClass, ex);
+    }
+  }
+
+  private void process(final List<Route.Definition> routes, final Path bindir) {
+    Set<Class<?>> classes = new LinkedHashSet<>();
+    routes.stream()
+        .map(Route.Definition::filter)
+        .filter(Route.MethodHandler.class::isInstance)
+        .forEach(handler -> classes.add(((Route.MethodHandler) handler).method()
+            .getDeclaringClass()));
+
+    Properties index = RouteMetadata.index(classes);
+
+    Path output = bindir.resolve(RouteMetadata.indexName(mainClass));
+    try (OutputStream out = Files.newOutputStream(output)) {
+      index.store(out, "route metadata of: " + mainClass);
+    } catch (Exception ex) {
+      throw new IllegalStateException("Can't write: " + output, ex);
+    }
+    getLog().debug(output + ": " + classes.size() + " mvc class(es)");
+    throw new ProcessDone();
+  }
+
+}
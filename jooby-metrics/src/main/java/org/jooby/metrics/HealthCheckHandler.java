@@ -20,6 +20,7 @@ package org.jooby.metrics;
 
 import java.util.SortedMap;
 
+import org.jooby.Readiness;
 import org.jooby.Request;
 import org.jooby.Response;
 import org.jooby.Route.Handler;
@@ -32,6 +33,7 @@ import com.google.common.collect.ImmutableSortedMap;
 /**
  * Produces a:
  * <ul>
+ * <li>503: if the application is still warming up, see {@link Readiness}</li>
  * <li>501: if the registry is empty (no health checks)</li>
  * <li>200: if all the health checks are healthy</li>
  * <li>500: otherwise</li>
@@ -44,6 +46,13 @@ public class HealthCheckHandler implements Handler {
 
   @Override
   public void handle(final Request req, final Response rsp) throws Throwable {
+    Readiness readiness = req.require(Readiness.class);
+    if (!readiness.isReady()) {
+      rsp.status(Status.SERVICE_UNAVAILABLE)
+          .header("Cache-Control", "must-revalidate,no-cache,no-store")
+          .send(ImmutableSortedMap.of("warm-up", Result.unhealthy(readiness.toString())));
+      return;
+    }
     HealthCheckRegistry registry = req.require(HealthCheckRegistry.class);
     SortedMap<String, Result> checks = req.param("name").toOptional().map(name -> {
       SortedMap<String, Result> set = ImmutableSortedMap.of(name, registry.runHealthCheck(name));
@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.SortedMap;
 
 import org.jooby.Mutant;
+import org.jooby.Readiness;
 import org.jooby.Request;
 import org.jooby.Response;
 import org.jooby.Status;
@@ -21,6 +22,7 @@ public class HealthCheckHandlerTest {
 
   private Block registry = unit -> {
     Request request = unit.get(Request.class);
+    expect(request.require(Readiness.class)).andReturn(new Readiness(true));
     expect(request.require(HealthCheckRegistry.class))
         .andReturn(unit.get(HealthCheckRegistry.class));
   };
@@ -55,6 +57,24 @@ public class HealthCheckHandlerTest {
         });
   }
 
+  @Test
+  public void warmingUp() throws Exception {
+    new MockUnit(Request.class, Response.class)
+        .expect(unit -> {
+          Request request = unit.get(Request.class);
+          expect(request.require(Readiness.class)).andReturn(new Readiness(false));
+        })
+        .expect(unit -> {
+          Response rsp = unit.get(Response.class);
+          expect(rsp.status(Status.SERVICE_UNAVAILABLE)).andReturn(rsp);
+          expect(rsp.header("Cache-Control", "must-revalidate,no-cache,no-store")).andReturn(rsp);
+          rsp.send(ImmutableSortedMap.of("warm-up", Result.unhealthy("warming up")));
+        })
+        .run(unit -> {
+          new HealthCheckHandler().handle(unit.get(Request.class), unit.get(Response.class));
+        });
+  }
+
   @Test
   public void allchecks() throws Exception {
     SortedMap<String, Result> checks = ImmutableSortedMap.of("c1", Result.healthy(), "c2",
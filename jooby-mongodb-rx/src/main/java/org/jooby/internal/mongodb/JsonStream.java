@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.mongodb;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.jooby.ChunkedStream;
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+
+import rx.Observable;
+import rx.Subscriber;
+
+/**
+ * Stream documents from an {@link Observable} as a JSON array or as NDJSON (one document per
+ * line). Documents are requested in batches, so no more than <code>batchSize</code> documents are
+ * kept in memory. Closing the stream unsubscribe from the {@link Observable} (and so cancel the
+ * cursor).
+ *
+ * Each document is rendered by the application JSON {@link Renderer}, like non-streaming routes
+ * do.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class JsonStream extends ChunkedStream {
+
+  private static final Object COMPLETED = new Object();
+
+  private static class Failure {
+    final Throwable cause;
+
+    Failure(final Throwable cause) {
+      this.cause = cause;
+    }
+  }
+
+  private class BatchSubscriber extends Subscriber<Object> {
+
+    @Override
+    public void onStart() {
+      request(batchSize);
+    }
+
+    @Override
+    public void onNext(final Object value) {
+      queue.offer(value);
+    }
+
+    @Override
+    public void onError(final Throwable cause) {
+      queue.offer(new Failure(cause));
+    }
+
+    @Override
+    public void onCompleted() {
+      queue.offer(COMPLETED);
+    }
+
+    void more(final long n) {
+      request(n);
+    }
+  }
+
+  private final Observable<?> observable;
+
+  private final boolean ndjson;
+
+  private final int batchSize;
+
+  private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+
+  private BatchSubscriber subscriber;
+
+  private int consumed;
+
+  private int count;
+
+  private boolean done;
+
+  /**
+   * Creates a new {@link JsonStream}.
+   *
+   * @param observable Source of documents.
+   * @param renderers Application renderers, used to render each document.
+   * @param charset Application charset.
+   * @param ndjson True for NDJSON, false for JSON array.
+   * @param batchSize Number of documents to request at once.
+   */
+  public JsonStream(final Observable<?> observable, final List<Renderer> renderers,
+      final Charset charset, final boolean ndjson, final int batchSize) {
+    super(renderers, MediaType.json, charset);
+    this.observable = requireNonNull(observable, "Observable is required.");
+    this.ndjson = ndjson;
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be greater than zero: " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void close() throws IOException {
+    done = true;
+    super.close();
+    if (subscriber != null) {
+      subscriber.unsubscribe();
+    }
+    queue.clear();
+  }
+
+  @Override
+  protected byte[] next(final boolean block) throws IOException {
+    if (done) {
+      return null;
+    }
+    if (subscriber == null) {
+      subscriber = new BatchSubscriber();
+      observable.subscribe(subscriber);
+    }
+    Object value = block ? take() : queue.poll();
+    if (value == null) {
+      return null;
+    }
+    if (value == COMPLETED) {
+      done = true;
+      if (!ndjson) {
+        text(count == 0 ? "[]" : "]");
+      }
+      return chunk();
+    }
+    if (value instanceof Failure) {
+      done = true;
+      subscriber.unsubscribe();
+      Throwable cause = ((Failure) value).cause;
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+    // replenish once half of the batch was consumed
+    consumed += 1;
+    if (consumed >= Math.max(1, batchSize / 2)) {
+      subscriber.more(consumed);
+      consumed = 0;
+    }
+    if (!ndjson) {
+      text(count == 0 ? "[" : ",");
+    }
+    render(value);
+    if (ndjson) {
+      text("\n");
+    }
+    count += 1;
+    return chunk();
+  }
+
+  private Object take() throws IOException {
+    try {
+      return queue.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for documents");
+    }
+  }
+
+}
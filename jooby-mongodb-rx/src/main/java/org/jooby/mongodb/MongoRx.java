@@ -24,7 +24,9 @@ import static javaslang.API.Case;
 import static javaslang.API.Match;
 import static javaslang.Predicates.instanceOf;
 
+import java.nio.charset.Charset;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
@@ -36,13 +38,20 @@ import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.jooby.Env;
 import org.jooby.Jooby.Module;
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+import org.jooby.Results;
 import org.jooby.Route;
+import org.jooby.internal.mongodb.JsonStream;
 import org.jooby.rx.Rx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.google.inject.Binder;
 import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
 import com.google.inject.name.Names;
 import com.mongodb.ConnectionString;
 import com.mongodb.ReadConcern;
@@ -211,6 +220,30 @@ import rx.Observable;
  * Jooby async semantics.
  * </p>
  *
+ * <h2>streaming</h2>
+ * <p>
+ * By default, queries are collected into a {@link java.util.List} before rendering. Large results
+ * can be streamed to the client as the driver delivers them:
+ * </p>
+ *
+ * <pre>{@code
+ * {
+ *   use(new MongoRx().stream());
+ *
+ *   get("/pets", req -> {
+ *     MongoDatabase db = req.require(MongoDatabase.class);
+ *     return db.getCollection("pets")
+ *        .find();
+ *   });
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Documents are sent as a chunked JSON array or as NDJSON via
+ * <code>stream(MongoRx.NDJSON)</code>. Documents are requested in batches, so only a batch is kept
+ * in memory, and the cursor is cancelled when the client disconnects.
+ * </p>
+ *
  * <h2>multiple databases</h2>
  * <p>
  * Multiple databases are supported by adding multiple {@link MongoRx} instances to your
@@ -310,6 +343,9 @@ import rx.Observable;
  */
 public class MongoRx implements Module {
 
+  /** NDJSON media type, see {@link #stream(MediaType)}. */
+  public static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+
   private static final AtomicInteger instances = new AtomicInteger(0);
 
   /** The logging system. */
@@ -323,6 +359,10 @@ public class MongoRx implements Module {
 
   private String db;
 
+  private MediaType stream;
+
+  private int batchSize;
+
   /**
    * Creates a new {@link MongoRx} module.
    *
@@ -385,6 +425,58 @@ public class MongoRx implements Module {
     return this;
   }
 
+  /**
+   * Stream documents from {@link FindObservable}, {@link AggregateObservable},
+   * {@link ListCollectionsObservable}, {@link ListDatabasesObservable} and
+   * {@link MapReduceObservable} as a JSON array, see {@link #stream(MediaType, int)}.
+   *
+   * @return This module.
+   */
+  public MongoRx stream() {
+    return stream(MediaType.json);
+  }
+
+  /**
+   * Stream documents as a JSON array ({@link MediaType#json}) or as NDJSON ({@link #NDJSON}), see
+   * {@link #stream(MediaType, int)}.
+   *
+   * @param type Response type: {@link MediaType#json} or {@link #NDJSON}.
+   * @return This module.
+   */
+  public MongoRx stream(final MediaType type) {
+    return stream(type, 100);
+  }
+
+  /**
+   * Stream documents to the HTTP response as the driver delivers them, instead of collecting all
+   * them into a {@link java.util.List} before rendering.
+   *
+   * Documents are requested in batches of <code>batchSize</code> and sent as a chunked JSON array
+   * ({@link MediaType#json}) or as NDJSON ({@link #NDJSON}). A new batch is requested once the
+   * previous one was written to the response, so memory usage is bounded by the batch size. The
+   * cursor is cancelled if the client disconnects.
+   *
+   * Documents are rendered with the application JSON renderer (like <code>jooby-jackson</code>),
+   * so they look the same as in non-streaming routes. {@link DistinctObservable} results are not
+   * streamed.
+   *
+   * @param type Response type: {@link MediaType#json} or {@link #NDJSON}.
+   * @param batchSize Number of documents to request at once.
+   * @return This module.
+   */
+  public MongoRx stream(final MediaType type, final int batchSize) {
+    requireNonNull(type, "Type is required.");
+    if (!type.name().equals(MediaType.json.name()) && !type.name().equals(NDJSON.name())) {
+      throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be greater than zero: " + batchSize);
+    }
+    this.stream = type;
+    this.batchSize = batchSize;
+    return this;
+  }
+
   @Override
   public Config config() {
     return ConfigFactory.empty(MongoRx.class.getName())
@@ -438,8 +530,23 @@ public class MongoRx implements Module {
     });
 
     /** mapper */
-    env.routes()
-        .map(mapper());
+    if (stream == null) {
+      env.routes()
+          .map(mapper());
+    } else {
+      boolean ndjson = stream.name().equals(NDJSON.name());
+      MediaType type = stream;
+      int batchSize = this.batchSize;
+      Charset charset = Charset.forName(conf.getString("application.charset"));
+      Provider<Set<Renderer>> renderers = binder
+          .getProvider(Key.get(new TypeLiteral<Set<Renderer>>() {
+          }));
+      env.routes()
+          .map(mapper(observable -> Results
+              .ok(new JsonStream(observable, ImmutableList.copyOf(renderers.get()), charset,
+                  ndjson, batchSize))
+              .type(type)));
+    }
 
     log.info("Started {}", cstr);
 
@@ -450,15 +557,19 @@ public class MongoRx implements Module {
     });
   }
 
-  @SuppressWarnings("rawtypes")
   static Route.Mapper mapper() {
+    return mapper(Observable::toList);
+  }
+
+  @SuppressWarnings("rawtypes")
+  static Route.Mapper mapper(final Function<Observable, Object> cursor) {
     return Route.Mapper.create("mongo-rx", v -> Match(v).of(
-        Case(instanceOf(FindObservable.class), m -> m.toObservable().toList()),
-        Case(instanceOf(ListCollectionsObservable.class), m -> m.toObservable().toList()),
-        Case(instanceOf(ListDatabasesObservable.class), m -> m.toObservable().toList()),
-        Case(instanceOf(AggregateObservable.class), m -> m.toObservable().toList()),
+        Case(instanceOf(FindObservable.class), m -> cursor.apply(m.toObservable())),
+        Case(instanceOf(ListCollectionsObservable.class), m -> cursor.apply(m.toObservable())),
+        Case(instanceOf(ListDatabasesObservable.class), m -> cursor.apply(m.toObservable())),
+        Case(instanceOf(AggregateObservable.class), m -> cursor.apply(m.toObservable())),
         Case(instanceOf(DistinctObservable.class), m -> m.toObservable().toList()),
-        Case(instanceOf(MapReduceObservable.class), m -> m.toObservable().toList()),
+        Case(instanceOf(MapReduceObservable.class), m -> cursor.apply(m.toObservable())),
         Case(instanceOf(MongoObservable.class), m -> m.toObservable()),
         Case($(), v)));
   }
@@ -0,0 +1,95 @@
+package org.jooby.internal.mongodb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.jooby.Renderer;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+import rx.Observable;
+
+public class JsonStreamTest {
+
+  private List<Renderer> renderers = ImmutableList.of((value, ctx) -> {
+    if (value instanceof Document) {
+      ctx.send(((Document) value).toJson());
+    }
+  });
+
+  @Test
+  public void jsonArray() throws IOException {
+    Observable<Document> docs = Observable.just(new Document("n", 1), new Document("n", 2));
+    assertEquals("[{ \"n\" : 1 },{ \"n\" : 2 }]", text(stream(docs, false, 10)));
+  }
+
+  @Test
+  public void emptyArray() throws IOException {
+    assertEquals("[]", text(stream(Observable.empty(), false, 10)));
+  }
+
+  @Test
+  public void ndjson() throws IOException {
+    Observable<Document> docs = Observable.just(new Document("n", 1), new Document("n", 2));
+    assertEquals("{ \"n\" : 1 }\n{ \"n\" : 2 }\n", text(stream(docs, true, 1)));
+  }
+
+  @Test
+  public void emptyNdjson() throws IOException {
+    assertEquals("", text(stream(Observable.empty(), true, 10)));
+  }
+
+  @Test
+  public void requestInBatches() throws IOException {
+    List<Long> requests = new ArrayList<>();
+    Observable<Document> docs = Observable.range(0, 10)
+        .map(i -> new Document("n", i))
+        .doOnRequest(requests::add);
+    String json = text(stream(docs, true, 4));
+    assertEquals(10, json.split("\n").length);
+    assertEquals(4L, requests.get(0).longValue());
+    assertTrue(requests.stream().allMatch(n -> n <= 4));
+  }
+
+  @Test
+  public void unsubscribeOnClose() throws IOException {
+    AtomicBoolean unsubscribed = new AtomicBoolean();
+    Observable<Document> docs = Observable.range(0, 1000)
+        .map(i -> new Document("n", i))
+        .doOnUnsubscribe(() -> unsubscribed.set(true));
+    try (InputStream in = stream(docs, false, 10)) {
+      assertEquals('[', in.read());
+    }
+    assertEquals(true, unsubscribed.get());
+  }
+
+  @Test(expected = IOException.class)
+  public void err() throws IOException {
+    text(stream(Observable.error(new IllegalStateException("intentional err")), false, 10));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badBatchSize() throws IOException {
+    stream(Observable.empty(), false, 0);
+  }
+
+  private JsonStream stream(final Observable<?> docs, final boolean ndjson, final int batchSize) {
+    return new JsonStream(docs, renderers, StandardCharsets.UTF_8, ndjson, batchSize);
+  }
+
+  private String text(final InputStream in) throws IOException {
+    try (InputStream stream = in) {
+      return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+    }
+  }
+}
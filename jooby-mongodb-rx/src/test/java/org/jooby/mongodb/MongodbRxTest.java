@@ -10,6 +10,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bson.codecs.configuration.CodecRegistry;
 import org.jooby.Env;
+import org.jooby.MediaType;
 import org.jooby.Route;
 import org.jooby.Routes;
 import org.jooby.rx.Rx;
@@ -362,6 +363,33 @@ public class MongodbRxTest {
             });
   }
 
+  @SuppressWarnings({"rawtypes" })
+  @Test
+  public void mongoRxStreamMapper() throws Exception {
+    new MockUnit(FindObservable.class, DistinctObservable.class)
+        .expect(unit -> {
+          Observable observable = unit.powerMock(Observable.class);
+          expect(observable.toList()).andReturn(unit.powerMock(Observable.class));
+
+          FindObservable o1 = unit.get(FindObservable.class);
+          expect(o1.toObservable()).andReturn(observable);
+
+          DistinctObservable o2 = unit.get(DistinctObservable.class);
+          expect(o2.toObservable()).andReturn(observable);
+        })
+        .run(unit -> {
+          Route.Mapper mongorx = MongoRx.mapper(observable -> "stream");
+
+          assertEquals("stream", mongorx.map(unit.get(FindObservable.class)));
+          assertTrue(mongorx.map(unit.get(DistinctObservable.class)) instanceof Observable);
+        });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void streamBadType() throws Exception {
+    new MongoRx().stream(MediaType.xml);
+  }
+
   @Test
   public void withDatabase() throws Exception {
     String db = "mongodb://localhost/pets";
@@ -26,6 +26,7 @@ import java.util.function.BiConsumer;
 
 import javax.inject.Named;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import org.jooby.Env;
 import org.jooby.Jooby;
@@ -198,12 +199,12 @@ public class Mongodb implements Jooby.Module {
 
     binder.bind(key(MongoClient.class, database))
         .toProvider(mongodb)
-        .asEagerSingleton();
+        .in(Singleton.class);
 
     Provider<MongoDatabase> dbprovider = () -> mongodb.get().getDatabase(database);
     binder.bind(key(MongoDatabase.class, database))
         .toProvider(dbprovider)
-        .asEagerSingleton();
+        .in(Singleton.class);
 
     env.onStart(mongodb::start);
     env.onStop(mongodb::stop);
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import org.jooby.Env;
 import org.jooby.test.MockUnit;
@@ -38,7 +39,7 @@ public class MongodbTest {
   @SuppressWarnings("unchecked")
   MockUnit.Block mongodb = unit -> {
     ScopedBindingBuilder mcSBB = unit.mock(ScopedBindingBuilder.class);
-    mcSBB.asEagerSingleton();
+    mcSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoClientURI> mcuABB = unit.mock(AnnotatedBindingBuilder.class);
     mcuABB.toInstance(isA(MongoClientURI.class));
@@ -47,7 +48,7 @@ public class MongodbTest {
     expect(mcABB.toProvider(unit.capture(MongodbManaged.class))).andReturn(mcSBB);
 
     ScopedBindingBuilder dbSBB = unit.mock(ScopedBindingBuilder.class);
-    dbSBB.asEagerSingleton();
+    dbSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoDatabase> dbABB = unit.mock(AnnotatedBindingBuilder.class);
     expect(dbABB.toProvider(unit.capture(Provider.class))).andReturn(dbSBB);
@@ -63,7 +64,7 @@ public class MongodbTest {
   @SuppressWarnings("unchecked")
   MockUnit.Block mongodbNamed = unit -> {
     ScopedBindingBuilder mcSBB = unit.mock(ScopedBindingBuilder.class);
-    mcSBB.asEagerSingleton();
+    mcSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoClientURI> mcuABB = unit.mock(AnnotatedBindingBuilder.class);
     mcuABB.toInstance(isA(MongoClientURI.class));
@@ -72,7 +73,7 @@ public class MongodbTest {
     expect(mcABB.toProvider(unit.capture(MongodbManaged.class))).andReturn(mcSBB);
 
     ScopedBindingBuilder dbSBB = unit.mock(ScopedBindingBuilder.class);
-    dbSBB.asEagerSingleton();
+    dbSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoDatabase> dbABB = unit.mock(AnnotatedBindingBuilder.class);
     expect(dbABB.toProvider(unit.capture(Provider.class))).andReturn(dbSBB);
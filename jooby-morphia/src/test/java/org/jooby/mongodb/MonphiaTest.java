@@ -4,6 +4,7 @@ import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.isA;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import org.jooby.Env;
 import org.jooby.internal.mongodb.AutoIncID;
@@ -42,7 +43,7 @@ public class MonphiaTest {
   @SuppressWarnings("unchecked")
   MockUnit.Block mongodb = unit -> {
     ScopedBindingBuilder mcSBB = unit.mock(ScopedBindingBuilder.class);
-    mcSBB.asEagerSingleton();
+    mcSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoClientURI> mcuABB = unit.mock(AnnotatedBindingBuilder.class);
     mcuABB.toInstance(isA(MongoClientURI.class));
@@ -51,7 +52,7 @@ public class MonphiaTest {
     expect(mcABB.toProvider(unit.capture(MongodbManaged.class))).andReturn(mcSBB);
 
     ScopedBindingBuilder dbSBB = unit.mock(ScopedBindingBuilder.class);
-    dbSBB.asEagerSingleton();
+    dbSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoDatabase> dbABB = unit.mock(AnnotatedBindingBuilder.class);
     expect(dbABB.toProvider(isA(Provider.class))).andReturn(dbSBB);
@@ -67,7 +68,7 @@ public class MonphiaTest {
   @SuppressWarnings("unchecked")
   MockUnit.Block mongodbNamed = unit -> {
     ScopedBindingBuilder mcSBB = unit.mock(ScopedBindingBuilder.class);
-    mcSBB.asEagerSingleton();
+    mcSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoClientURI> mcuABB = unit.mock(AnnotatedBindingBuilder.class);
     mcuABB.toInstance(isA(MongoClientURI.class));
@@ -76,7 +77,7 @@ public class MonphiaTest {
     expect(mcABB.toProvider(isA(Provider.class))).andReturn(mcSBB);
 
     ScopedBindingBuilder dbSBB = unit.mock(ScopedBindingBuilder.class);
-    dbSBB.asEagerSingleton();
+    dbSBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<MongoDatabase> dbABB = unit.mock(AnnotatedBindingBuilder.class);
     expect(dbABB.toProvider(isA(Provider.class))).andReturn(dbSBB);
@@ -171,6 +171,15 @@ public class NettyRequest implements NativeRequest {
     return new ByteBufInputStream(content);
   }
 
+  @Override
+  public void in(final BodyCallback callback) {
+    // body was fully received by the aggregator from the event loop, no need to block here
+    ByteBuf content = ((HttpContent) req).content();
+    byte[] body = new byte[content.readableBytes()];
+    content.getBytes(content.readerIndex(), body);
+    callback.done(body, null);
+  }
+
   @Override
   public String ip() {
     InetSocketAddress remoteAddress = (InetSocketAddress) ctx.channel().remoteAddress();
@@ -40,12 +40,13 @@ public class PebbleRendererTest {
           expect(view.name()).andReturn("vname");
           expect(view.model()).andReturn(vmodel);
 
-          StringWriter writer = unit.constructor(StringWriter.class).build();
+          StringWriter writer = new StringWriter();
+          unit.registerMock(StringWriter.class, writer);
 
           Renderer.Context ctx = unit.get(Renderer.Context.class);
           expect(ctx.locals()).andReturn(locals);
           expect(ctx.type(MediaType.html)).andReturn(ctx);
-          ctx.send(writer.toString());
+          ctx.send(unit.capture(Renderer.Context.TextWriter.class));
 
           PebbleTemplate template = unit.mock(PebbleTemplate.class);
           template.evaluate(writer, model);
@@ -57,6 +58,9 @@ public class PebbleRendererTest {
           PebbleRenderer engine = new PebbleRenderer(unit.get(PebbleEngine.class));
           engine.render(unit.get(View.class), unit.get(Renderer.Context.class));
           assertEquals("pebble", engine.toString());
+        }, unit -> {
+          unit.captured(Renderer.Context.TextWriter.class).iterator().next()
+              .write(unit.get(StringWriter.class));
         });
   }
 }
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.protobuf;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Many protobuf messages, sent one after the other with their length as prefix (see
+ * {@link MessageLite#writeDelimitedTo(java.io.OutputStream)}).
+ *
+ * <pre>
+ * {
+ *   get("/messages", req {@literal ->} Delimited.of(messages.iterator()));
+ * }
+ * </pre>
+ *
+ * Clients read them with {@link com.google.protobuf.Parser#parseDelimitedFrom(java.io.InputStream)}
+ * until <code>null</code>, a route gets them back as a {@link java.util.List} of messages:
+ *
+ * <pre>
+ * {
+ *   post("/messages", req {@literal ->} {
+ *     List&lt;MyMessage&gt; messages = req.body().toList(MyMessage.class);
+ *   });
+ * }
+ * </pre>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class Delimited {
+
+  private Iterator<? extends MessageLite> messages;
+
+  private Stream<? extends MessageLite> stream;
+
+  private Delimited(final Iterator<? extends MessageLite> messages,
+      final Stream<? extends MessageLite> stream) {
+    this.messages = messages;
+    this.stream = stream;
+  }
+
+  /**
+   * @param messages Messages to send.
+   * @return Length delimited messages.
+   */
+  public static Delimited of(final Iterator<? extends MessageLite> messages) {
+    return new Delimited(requireNonNull(messages, "Messages are required."), null);
+  }
+
+  /**
+   * @param messages Messages to send.
+   * @return Length delimited messages.
+   */
+  public static Delimited of(final Iterable<? extends MessageLite> messages) {
+    return of(requireNonNull(messages, "Messages are required.").iterator());
+  }
+
+  /**
+   * @param messages Messages to send. The stream is closed once sent.
+   * @return Length delimited messages.
+   */
+  public static Delimited of(final Stream<? extends MessageLite> messages) {
+    requireNonNull(messages, "Messages are required.");
+    return new Delimited(messages.iterator(), messages);
+  }
+
+  /**
+   * @return Messages to send.
+   */
+  Iterator<? extends MessageLite> messages() {
+    return messages;
+  }
+
+  /**
+   * Release the underlying stream (if any).
+   */
+  void close() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.protobuf;
+
+import static java.util.Objects.requireNonNull;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.jooby.MediaType;
+import org.jooby.Parser;
+import org.jooby.Renderer;
+
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import com.typesafe.config.Config;
+
+/**
+ * <h1>protobuf</h1>
+ * <p>
+ * <a href="https://developers.google.com/protocol-buffers">Protocol Buffers</a> support: a
+ * {@link Parser} and {@link Renderer} of <code>application/x-protobuf</code> for generated
+ * messages.
+ * </p>
+ *
+ * <h2>usage</h2>
+ *
+ * <pre>
+ * {
+ *   use(new Protobuf());
+ *
+ *   // sending
+ *   get("/my-api", req {@literal ->} MyMessage.newBuilder().setId(1).build());
+ *
+ *   // receiving
+ *   post("/my-api", req {@literal ->} {
+ *     MyMessage message = req.body().to(MyMessage.class);
+ *     return message;
+ *   });
+ * }
+ * </pre>
+ *
+ * <p>
+ * Messages are sent when the client accepts <code>application/x-protobuf</code> (or when the
+ * route produces it) and read when the <code>Content-Type</code> header is
+ * <code>application/x-protobuf</code>. Bodies are parsed from the request stream.
+ * </p>
+ *
+ * <h2>length delimited</h2>
+ * <p>
+ * Many messages can be sent at once with {@link Delimited}, where each message is prefixed by
+ * its length:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   get("/messages", req {@literal ->} Delimited.of(messages.iterator()));
+ *
+ *   post("/messages", req {@literal ->} {
+ *     List&lt;MyMessage&gt; messages = req.body().toList(MyMessage.class);
+ *     return messages.size();
+ *   });
+ * }
+ * </pre>
+ *
+ * <p>
+ * Delimited messages are encoded while they are sent, so they are never buffered all at once. A
+ * non empty {@link java.util.Collection} of messages (like the result of
+ * <code>Observable.toList()</code>) is sent as length delimited messages too.
+ * </p>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class Protobuf implements Jooby.Module {
+
+  /** Default media type. */
+  public static final MediaType TYPE = MediaType.valueOf("application/x-protobuf");
+
+  private MediaType type;
+
+  /**
+   * Creates a new {@link Protobuf}.
+   *
+   * @param type {@link MediaType} to use.
+   */
+  public Protobuf(final MediaType type) {
+    this.type = requireNonNull(type, "Media type is required.");
+  }
+
+  /**
+   * Creates a new {@link Protobuf} and set type to: <code>application/x-protobuf</code>.
+   */
+  public Protobuf() {
+    this(TYPE);
+  }
+
+  @Override
+  public void configure(final Env env, final Config config, final Binder binder) {
+    ProtobufParser parser = new ProtobufParser(type);
+    ProtobufRenderer renderer = new ProtobufRenderer(type);
+
+    Multibinder.newSetBinder(binder, Parser.class).addBinding()
+        .toInstance(parser);
+
+    Multibinder.newSetBinder(binder, Renderer.class).addBinding()
+        .toInstance(renderer);
+
+    // direct access?
+    binder.bind(Key.get(Renderer.class, Names.named(renderer.toString()))).toInstance(renderer);
+    binder.bind(Key.get(Parser.class, Names.named(parser.toString()))).toInstance(parser);
+  }
+
+}
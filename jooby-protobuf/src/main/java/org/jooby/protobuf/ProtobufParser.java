@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.protobuf;
+
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jooby.MediaType;
+import org.jooby.Parser;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.TypeLiteral;
+import com.google.protobuf.MessageLite;
+
+class ProtobufParser implements Parser {
+
+  private MediaType.Matcher matcher;
+
+  /** Protobuf parsers by message type, empty when type isn't a generated message. */
+  private final ConcurrentMap<Class<?>, Optional<com.google.protobuf.Parser<?>>> parsers =
+      new ConcurrentHashMap<>();
+
+  public ProtobufParser(final MediaType type) {
+    this.matcher = MediaType.matcher(type);
+  }
+
+  @Override
+  public Object parse(final TypeLiteral<?> type, final Context ctx) throws Throwable {
+    MediaType ctype = ctx.type();
+    if (!ctype.isAny() && matcher.matches(ctype)) {
+      com.google.protobuf.Parser<?> parser = parser(type.getRawType());
+      if (parser != null) {
+        return ctx.ifbody(body -> {
+          try (InputStream stream = body.stream()) {
+            return parser.parseFrom(stream);
+          }
+        });
+      }
+      // length delimited messages
+      Type element = listOf(type.getType());
+      if (element instanceof Class) {
+        com.google.protobuf.Parser<?> eparser = parser((Class<?>) element);
+        if (eparser != null) {
+          return ctx.ifbody(body -> {
+            try (InputStream stream = body.stream()) {
+              ImmutableList.Builder<Object> messages = ImmutableList.builder();
+              Object message = eparser.parseDelimitedFrom(stream);
+              while (message != null) {
+                messages.add(message);
+                message = eparser.parseDelimitedFrom(stream);
+              }
+              return messages.build();
+            }
+          });
+        }
+      }
+    }
+    return ctx.next();
+  }
+
+  private static Type listOf(final Type type) {
+    if (type instanceof ParameterizedType) {
+      ParameterizedType ptype = (ParameterizedType) type;
+      if (ptype.getRawType() == List.class) {
+        return ptype.getActualTypeArguments()[0];
+      }
+    }
+    return null;
+  }
+
+  private com.google.protobuf.Parser<?> parser(final Class<?> type) {
+    if (!MessageLite.class.isAssignableFrom(type)) {
+      return null;
+    }
+    return parsers.computeIfAbsent(type, key -> {
+      try {
+        // generated messages
+        MessageLite message = (MessageLite) key.getMethod("getDefaultInstance").invoke(null);
+        return Optional.of(message.getParserForType());
+      } catch (Exception ex) {
+        return Optional.empty();
+      }
+    }).orElse(null);
+  }
+
+  @Override
+  public String toString() {
+    return "protobuf";
+  }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.protobuf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+class ProtobufRenderer implements Renderer {
+
+  /**
+   * Length delimited messages as a stream. Messages are encoded while the stream is read, so they
+   * are never buffered all at once.
+   */
+  private static class DelimitedStream extends InputStream {
+
+    private final Delimited delimited;
+
+    private final Iterator<? extends MessageLite> messages;
+
+    private byte[] message = new byte[0];
+
+    private int pos;
+
+    DelimitedStream(final Delimited delimited) {
+      this.delimited = delimited;
+      this.messages = delimited.messages();
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!next()) {
+        return -1;
+      }
+      return message[pos++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int off, final int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      int count = 0;
+      while (count < len && next()) {
+        int n = Math.min(len - count, message.length - pos);
+        System.arraycopy(message, pos, bytes, off + count, n);
+        pos += n;
+        count += n;
+      }
+      return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+      delimited.close();
+    }
+
+    private boolean next() throws IOException {
+      while (pos == message.length) {
+        if (!messages.hasNext()) {
+          return false;
+        }
+        MessageLite next = messages.next();
+        int size = next.getSerializedSize();
+        message = new byte[CodedOutputStream.computeRawVarint32Size(size) + size];
+        pos = 0;
+        CodedOutputStream stream = CodedOutputStream.newInstance(message);
+        stream.writeRawVarint32(size);
+        next.writeTo(stream);
+        stream.checkNoSpaceLeft();
+      }
+      return true;
+    }
+  }
+
+  private MediaType type;
+
+  public ProtobufRenderer(final MediaType type) {
+    this.type = type;
+  }
+
+  @Override
+  public void render(final Object value, final Context ctx) throws Exception {
+    if (value instanceof MessageLite) {
+      if (ctx.accepts(type)) {
+        // exact size, written by a CodedOutputStream
+        ctx.type(type)
+            .send(((MessageLite) value).toByteArray());
+      }
+    } else if (value instanceof Delimited) {
+      delimited((Delimited) value, ctx);
+    } else if (messages(value)) {
+      // like Observable.toList()
+      @SuppressWarnings("unchecked")
+      Collection<? extends MessageLite> messages = (Collection<? extends MessageLite>) value;
+      delimited(Delimited.of(messages), ctx);
+    }
+  }
+
+  private void delimited(final Delimited delimited, final Context ctx) throws Exception {
+    if (ctx.accepts(type)) {
+      DelimitedStream stream = new DelimitedStream(delimited);
+      try {
+        // streamed, closed once sent
+        ctx.type(type)
+            .send(stream);
+      } catch (Exception ex) {
+        stream.close();
+        throw ex;
+      }
+    } else {
+      delimited.close();
+    }
+  }
+
+  private static boolean messages(final Object value) {
+    if (value instanceof Collection) {
+      Collection<?> values = (Collection<?>) value;
+      return values.size() > 0 && values.stream().allMatch(MessageLite.class::isInstance);
+    }
+    return false;
+  }
+
+  @Override
+  public String name() {
+    return "protobuf";
+  }
+
+  @Override
+  public String toString() {
+    return name();
+  }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.quartz;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import javax.inject.Provider;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+
+import com.google.inject.Injector;
+
+/**
+ * A resolved job method: owner class, instance provider and method handle are computed once and
+ * reused on every execution.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class JobMethod {
+
+  /** Instance provider, bound to the injector who created it. */
+  private static class Instance {
+    final Injector injector;
+
+    final Provider<?> provider;
+
+    Instance(final Injector injector, final Class<?> owner) {
+      this.injector = injector;
+      this.provider = injector.getProvider(owner);
+    }
+  }
+
+  private final Class<?> owner;
+
+  private final MethodHandle handle;
+
+  private final boolean context;
+
+  private final boolean result;
+
+  private volatile Instance instance;
+
+  public JobMethod(final Method method) {
+    this.owner = method.getDeclaringClass();
+    this.context = method.getParameterCount() == 1;
+    this.result = method.getReturnType() != void.class;
+    try {
+      method.setAccessible(true);
+      MethodType type = context
+          ? MethodType.methodType(Object.class, Object.class, JobExecutionContext.class)
+          : MethodType.methodType(Object.class, Object.class);
+      this.handle = MethodHandles.lookup().unreflect(method).asType(type);
+    } catch (IllegalAccessException ex) {
+      throw new IllegalArgumentException("Job method isn't accessible: " + method, ex);
+    }
+  }
+
+  /**
+   * Resolve a job method from a job key, like: <code>package.Class.method</code>.
+   *
+   * @param key Job key.
+   * @param loader Class loader.
+   * @return A job method.
+   * @throws ClassNotFoundException If the job class is missing.
+   */
+  public static JobMethod of(final JobKey key, final ClassLoader loader)
+      throws ClassNotFoundException {
+    String[] names = key.getName().split("\\.");
+    String classname = key.getGroup() + "." + names[0];
+    Class<?> loadedClass = loader.loadClass(classname);
+    String methodname = names[1];
+    Method method = Arrays.stream(loadedClass.getDeclaredMethods())
+        .filter(m -> m.getName().equals(methodname))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Job method not found: " + key));
+    return new JobMethod(method);
+  }
+
+  /**
+   * Execute the job method and save the result (if any) in the job context.
+   *
+   * @param injector Injector, used it to get the job instance.
+   * @param ctx Job context.
+   * @throws Throwable If job execution fails.
+   */
+  public void invoke(final Injector injector, final JobExecutionContext ctx) throws Throwable {
+    requireNonNull(injector, "An injector is required.");
+    Instance instance = this.instance;
+    if (instance == null || instance.injector != injector) {
+      instance = new Instance(injector, owner);
+      this.instance = instance;
+    }
+    Object job = instance.provider.get();
+    Object value = context ? handle.invokeExact(job, ctx) : handle.invokeExact(job);
+    if (result) {
+      ctx.setResult(value);
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal.quartz;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.JobListener;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.TriggerListener;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+
+/**
+ * Publish per job metrics:
+ *
+ * <ul>
+ * <li><code>quartz.[group].[name].duration</code>: execution time.</li>
+ * <li><code>quartz.[group].[name].errors</code>: failed executions.</li>
+ * <li><code>quartz.[group].[name].misfires</code>: misfired triggers.</li>
+ * <li><code>quartz.[group].[name].overlaps</code>: executions started while a previous execution
+ * of the same job was still running.</li>
+ * <li><code>quartz.[group].[name].skips</code>: executions vetoed by a trigger listener.</li>
+ * </ul>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class JobMetrics implements JobListener, TriggerListener {
+
+  private final MetricRegistry registry;
+
+  private final ConcurrentMap<JobKey, AtomicInteger> running = new ConcurrentHashMap<>();
+
+  public JobMetrics(final MetricRegistry registry) {
+    this.registry = requireNonNull(registry, "Registry is required.");
+  }
+
+  /**
+   * Add job metrics to the scheduler, but only when a {@link MetricRegistry} is bound.
+   *
+   * @param injector Injector.
+   * @param scheduler Scheduler.
+   * @throws SchedulerException If listeners can't be added.
+   */
+  public static void install(final Injector injector, final Scheduler scheduler)
+      throws SchedulerException {
+    Binding<MetricRegistry> binding = injector.getExistingBinding(Key.get(MetricRegistry.class));
+    if (binding != null) {
+      JobMetrics metrics = new JobMetrics(binding.getProvider().get());
+      scheduler.getListenerManager().addJobListener(metrics);
+      scheduler.getListenerManager().addTriggerListener(metrics);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "jooby.metrics";
+  }
+
+  @Override
+  public void jobToBeExecuted(final JobExecutionContext context) {
+    JobKey key = context.getJobDetail().getKey();
+    int executions = running.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    if (executions > 1) {
+      registry.meter(name(key, "overlaps")).mark();
+    }
+  }
+
+  @Override
+  public void jobExecutionVetoed(final JobExecutionContext context) {
+    registry.meter(name(context.getJobDetail().getKey(), "skips")).mark();
+  }
+
+  @Override
+  public void jobWasExecuted(final JobExecutionContext context,
+      final JobExecutionException cause) {
+    JobKey key = context.getJobDetail().getKey();
+    AtomicInteger executions = running.get(key);
+    if (executions != null) {
+      executions.decrementAndGet();
+    }
+    registry.timer(name(key, "duration")).update(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+    if (cause != null) {
+      registry.meter(name(key, "errors")).mark();
+    }
+  }
+
+  @Override
+  public void triggerFired(final Trigger trigger, final JobExecutionContext context) {
+  }
+
+  @Override
+  public boolean vetoJobExecution(final Trigger trigger, final JobExecutionContext context) {
+    return false;
+  }
+
+  @Override
+  public void triggerMisfired(final Trigger trigger) {
+    registry.meter(name(trigger.getJobKey(), "misfires")).mark();
+  }
+
+  @Override
+  public void triggerComplete(final Trigger trigger, final JobExecutionContext context,
+      final CompletedExecutionInstruction instruction) {
+  }
+
+  private static String name(final JobKey key, final String metric) {
+    return MetricRegistry.name("quartz", key.getGroup(), key.getName(), metric);
+  }
+
+}
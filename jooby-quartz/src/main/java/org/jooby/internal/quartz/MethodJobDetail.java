@@ -29,8 +29,18 @@ public class MethodJobDetail extends JobDetailImpl {
 
   private Class<?> owner;
 
+  private transient JobMethod method;
+
   public MethodJobDetail(final Method method) {
     this.owner = method.getDeclaringClass();
+    this.method = new JobMethod(method);
+  }
+
+  /**
+   * @return Resolved job method or <code>null</code> after deserialization.
+   */
+  public JobMethod method() {
+    return method;
   }
 
   @Override
@@ -67,10 +67,12 @@ public class QuartzProvider implements Provider<Scheduler> {
 
   private Set<Entry<JobDetail, Trigger>> jobs;
 
+  private Injector injector;
+
   @Inject
   public QuartzProvider(final Injector injector, final Config config,
       @Named("org.quartz.jobs") final Map<JobDetail, Trigger> triggers) throws Exception {
-    requireNonNull(injector, "An injector is required.");
+    this.injector = requireNonNull(injector, "An injector is required.");
 
     this.scheduler = new StdSchedulerFactory(properties(config)).getScheduler();
     this.jobs = triggers.entrySet();
@@ -101,6 +103,10 @@ public class QuartzProvider implements Provider<Scheduler> {
       log.info("  {} {}", detail.getKey(), describe(trigger));
       scheduler.scheduleJob(detail, trigger);
     }
+    // job metrics (optional)
+    if (metrics()) {
+      JobMetrics.install(injector, scheduler);
+    }
     scheduler.start();
   }
 
@@ -114,6 +120,15 @@ public class QuartzProvider implements Provider<Scheduler> {
     return scheduler;
   }
 
+  private static boolean metrics() {
+    try {
+      QuartzProvider.class.getClassLoader().loadClass("com.codahale.metrics.MetricRegistry");
+      return true;
+    } catch (ClassNotFoundException ex) {
+      return false;
+    }
+  }
+
   private Properties properties(final Config config) {
     Properties props = new Properties();
 
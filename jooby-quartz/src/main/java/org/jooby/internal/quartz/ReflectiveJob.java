@@ -20,9 +20,8 @@ package org.jooby.internal.quartz;
 
 import static java.util.Objects.requireNonNull;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 
@@ -36,6 +35,9 @@ import com.google.inject.Injector;
 
 public class ReflectiveJob implements Job {
 
+  /** Job methods resolved from job keys, when the job detail doesn't hold the method. */
+  private static final ConcurrentMap<JobKey, JobMethod> methods = new ConcurrentHashMap<>();
+
   private Injector injector;
 
   @Inject
@@ -48,29 +50,28 @@ public class ReflectiveJob implements Job {
     JobDetail detail = context.getJobDetail();
     JobKey key = detail.getKey();
     try {
-      String[] names = key.getName().split("\\.");
-      String classname = key.getGroup() + "." + names[0];
-      Class<?> loadedClass = getClass().getClassLoader().loadClass(classname);
-      String methodname = names[1];
-      Object job = this.injector.getInstance(loadedClass);
-      Method method = Arrays.stream(loadedClass.getDeclaredMethods())
-        .filter(m-> m.getName().equals(methodname))
-        .findFirst()
-        .get();
-      final Object result;
-      if (method.getParameterCount() == 1) {
-        result = method.invoke(job, context);
-      } else {
-        result = method.invoke(job);
-      }
-      if (method.getReturnType() != void.class) {
-        context.setResult(result);
+      JobMethod method = detail instanceof MethodJobDetail
+          ? ((MethodJobDetail) detail).method()
+          : null;
+      if (method == null) {
+        method = method(key);
       }
-    } catch (InvocationTargetException ex) {
-      throw new JobExecutionException("Job execution resulted in error: " + key, ex.getCause());
-    } catch (Exception ex) {
+      method.invoke(injector, context);
+    } catch (Throwable ex) {
       throw new JobExecutionException("Job execution resulted in error: " + key, ex);
     }
   }
 
+  private JobMethod method(final JobKey key) throws ClassNotFoundException {
+    JobMethod method = methods.get(key);
+    if (method == null) {
+      method = JobMethod.of(key, getClass().getClassLoader());
+      JobMethod existing = methods.putIfAbsent(key, method);
+      if (existing != null) {
+        method = existing;
+      }
+    }
+    return method;
+  }
+
 }
@@ -26,6 +26,8 @@ import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.inject.Singleton;
+
 import org.jooby.Env;
 import org.jooby.Jooby;
 import org.jooby.internal.quartz.JobExpander;
@@ -293,6 +295,15 @@ import com.typesafe.config.ConfigFactory;
  *   }
  * </pre>
  *
+ * <h2>metrics</h2>
+ * <p>
+ * If a {@link com.codahale.metrics.MetricRegistry} is bound (see the <code>jooby-metrics</code>
+ * module), each job publishes: <code>quartz.[group].[name].duration</code>,
+ * <code>.errors</code>, <code>.misfires</code>, <code>.overlaps</code> (executions started while a
+ * previous execution was still running) and <code>.skips</code> (executions vetoed by a trigger
+ * listener).
+ * </p>
+ *
  * Enjoy it!
  *
  * @author edgar
@@ -389,7 +400,7 @@ public class Quartz implements Jooby.Module {
   @Override
   public void configure(final Env env, final Config config, final Binder binder) {
     jobMap.putAll(JobExpander.jobs(config, jobs));
-    binder.bind(Scheduler.class).toProvider(QuartzProvider.class).asEagerSingleton();
+    binder.bind(Scheduler.class).toProvider(QuartzProvider.class).in(Singleton.class);
     env.lifeCycle(QuartzProvider.class);
     binder.bind(new TypeLiteral<Map<JobDetail, Trigger>>() {
     }).annotatedWith(Names.named("org.quartz.jobs")).toInstance(jobMap);
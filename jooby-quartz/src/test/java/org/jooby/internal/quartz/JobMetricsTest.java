@@ -0,0 +1,90 @@
+package org.jooby.internal.quartz;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+
+import org.jooby.test.MockUnit;
+import org.junit.Test;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.Trigger;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class JobMetricsTest {
+
+  private JobKey key = JobKey.jobKey("Job.run", "app");
+
+  @Test
+  public void durationAndErrors() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    new MockUnit(JobExecutionContext.class, JobDetail.class)
+        .expect(unit -> {
+          JobDetail detail = unit.get(JobDetail.class);
+          expect(detail.getKey()).andReturn(key).times(4);
+
+          JobExecutionContext ctx = unit.get(JobExecutionContext.class);
+          expect(ctx.getJobDetail()).andReturn(detail).times(4);
+          expect(ctx.getJobRunTime()).andReturn(5L).times(2);
+        })
+        .run(unit -> {
+          JobMetrics metrics = new JobMetrics(registry);
+          JobExecutionContext ctx = unit.get(JobExecutionContext.class);
+          metrics.jobToBeExecuted(ctx);
+          metrics.jobWasExecuted(ctx, null);
+          metrics.jobToBeExecuted(ctx);
+          metrics.jobWasExecuted(ctx, new JobExecutionException("intentional err"));
+        });
+    assertEquals(2, registry.timer("quartz.app.Job.run.duration").getCount());
+    assertEquals(1, registry.meter("quartz.app.Job.run.errors").getCount());
+    assertEquals(0, registry.meter("quartz.app.Job.run.overlaps").getCount());
+  }
+
+  @Test
+  public void overlaps() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    new MockUnit(JobExecutionContext.class, JobDetail.class)
+        .expect(unit -> {
+          JobDetail detail = unit.get(JobDetail.class);
+          expect(detail.getKey()).andReturn(key).times(2);
+
+          JobExecutionContext ctx = unit.get(JobExecutionContext.class);
+          expect(ctx.getJobDetail()).andReturn(detail).times(2);
+        })
+        .run(unit -> {
+          JobMetrics metrics = new JobMetrics(registry);
+          JobExecutionContext ctx = unit.get(JobExecutionContext.class);
+          metrics.jobToBeExecuted(ctx);
+          metrics.jobToBeExecuted(ctx);
+        });
+    assertEquals(1, registry.meter("quartz.app.Job.run.overlaps").getCount());
+  }
+
+  @Test
+  public void misfiresAndSkips() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    new MockUnit(JobExecutionContext.class, JobDetail.class, Trigger.class)
+        .expect(unit -> {
+          Trigger trigger = unit.get(Trigger.class);
+          expect(trigger.getJobKey()).andReturn(key);
+
+          JobDetail detail = unit.get(JobDetail.class);
+          expect(detail.getKey()).andReturn(key);
+
+          JobExecutionContext ctx = unit.get(JobExecutionContext.class);
+          expect(ctx.getJobDetail()).andReturn(detail);
+        })
+        .run(unit -> {
+          JobMetrics metrics = new JobMetrics(registry);
+          metrics.triggerMisfired(unit.get(Trigger.class));
+          metrics.jobExecutionVetoed(unit.get(JobExecutionContext.class));
+          assertEquals(false, metrics.vetoJobExecution(unit.get(Trigger.class),
+              unit.get(JobExecutionContext.class)));
+        });
+    assertEquals(1, registry.meter("quartz.app.Job.run.misfires").getCount());
+    assertEquals(1, registry.meter("quartz.app.Job.run.skips").getCount());
+  }
+
+}
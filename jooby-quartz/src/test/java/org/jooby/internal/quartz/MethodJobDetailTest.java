@@ -1,6 +1,7 @@
 package org.jooby.internal.quartz;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 import org.junit.Test;
 import org.quartz.DisallowConcurrentExecution;
@@ -49,4 +50,9 @@ public class MethodJobDetailTest {
         new MethodJobDetail(NotConcurrentJob.class.getDeclaredMethod("doWork"))
             .isPersistJobDataAfterExecution());
   }
+
+  @Test
+  public void shouldResolveJobMethod() throws Exception {
+    assertNotNull(new MethodJobDetail(ConcurrentJob.class.getDeclaredMethod("doWork")).method());
+  }
 }
@@ -24,6 +24,7 @@ import org.quartz.DateBuilder.IntervalUnit;
 import org.quartz.Job;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
+import org.quartz.ListenerManager;
 import org.quartz.Scheduler;
 import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
@@ -33,8 +34,10 @@ import org.quartz.spi.JobFactory;
 import org.quartz.spi.TriggerFiredBundle;
 import org.quartz.utils.DBConnectionManager;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.name.Names;
@@ -256,6 +259,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
@@ -270,6 +276,51 @@ public class QuartzProviderTest {
         });
   }
 
+  @SuppressWarnings({"unchecked", "rawtypes" })
+  @Test
+  public void startWithMetrics() throws Exception {
+    Config conf = ConfigFactory.empty()
+        .withValue("org.quartz.jobStore.class", ConfigValueFactory.fromAnyRef("X"));
+    Properties props = new Properties();
+    props.setProperty("org.quartz.jobStore.class", "X");
+    new MockUnit(Injector.class, Scheduler.class, Map.class, Binding.class, ListenerManager.class)
+        .expect(unit -> {
+          Scheduler scheduler = unit.get(Scheduler.class);
+
+          scheduler.setJobFactory(isA(JobFactory.class));
+        })
+        .expect(unit -> {
+          Map triggers = unit.get(Map.class);
+
+          expect(triggers.entrySet()).andReturn(Collections.emptySet());
+
+          Binding binding = unit.get(Binding.class);
+          expect(binding.getProvider()).andReturn((com.google.inject.Provider) () -> new MetricRegistry());
+
+          Injector injector = unit.get(Injector.class);
+          expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(binding);
+
+          ListenerManager listeners = unit.get(ListenerManager.class);
+          listeners.addJobListener(isA(JobMetrics.class));
+          listeners.addTriggerListener(isA(JobMetrics.class));
+
+          Scheduler scheduler = unit.get(Scheduler.class);
+          expect(scheduler.getListenerManager()).andReturn(listeners).times(2);
+
+          scheduler.start();
+        })
+        .expect(unit -> {
+          Scheduler scheduler = unit.get(Scheduler.class);
+
+          StdSchedulerFactory factory = unit.mockConstructor(StdSchedulerFactory.class,
+              new Class[]{Properties.class }, props);
+          expect(factory.getScheduler()).andReturn(scheduler);
+        })
+        .run(unit -> {
+          new QuartzProvider(unit.get(Injector.class), conf, unit.get(Map.class)).start();
+        });
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes" })
   @Test
   public void stop() throws Exception {
@@ -362,6 +413,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
@@ -406,6 +460,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
@@ -452,6 +509,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
@@ -498,6 +558,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
@@ -542,6 +605,9 @@ public class QuartzProviderTest {
               Scheduler scheduler = unit.get(Scheduler.class);
               expect(scheduler.scheduleJob(job, trigger)).andReturn(new Date());
 
+              Injector injector = unit.get(Injector.class);
+              expect(injector.getExistingBinding(Key.get(MetricRegistry.class))).andReturn(null);
+
               scheduler.start();
             })
         .expect(unit -> {
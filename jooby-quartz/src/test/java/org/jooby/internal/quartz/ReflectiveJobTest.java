@@ -36,7 +36,7 @@ public class ReflectiveJobTest {
 
           Injector injector = unit.get(Injector.class);
 
-          expect(injector.getInstance(Runnable.class)).andReturn(runnable);
+          expect(injector.getProvider(Runnable.class)).andReturn(() -> runnable);
         })
         .expect(unit -> {
           JobKey key = JobKey.jobKey("Runnable.run", "java.lang");
@@ -61,7 +61,7 @@ public class ReflectiveJobTest {
 
           Injector injector = unit.get(Injector.class);
 
-          expect(injector.getInstance(MyJob.class)).andReturn(runnable);
+          expect(injector.getProvider(MyJob.class)).andReturn(() -> runnable);
         })
         .expect(unit -> {
           JobKey key = JobKey.jobKey("ReflectiveJobTest$" + MyJob.class.getSimpleName()
@@ -87,7 +87,7 @@ public class ReflectiveJobTest {
 
           Injector injector = unit.get(Injector.class);
 
-          expect(injector.getInstance(MyJobWithReturnType.class)).andReturn(runnable);
+          expect(injector.getProvider(MyJobWithReturnType.class)).andReturn(() -> runnable);
         })
         .expect(
             unit -> {
@@ -116,7 +116,7 @@ public class ReflectiveJobTest {
           expectLastCall().andThrow(new RuntimeException("intentional err"));
 
           Injector injector = unit.get(Injector.class);
-          expect(injector.getInstance(Runnable.class)).andReturn(runnable);
+          expect(injector.getProvider(Runnable.class)).andReturn(() -> runnable);
         })
         .expect(unit -> {
           JobKey key = JobKey.jobKey("Runnable.run", "java.lang");
@@ -137,7 +137,7 @@ public class ReflectiveJobTest {
     new MockUnit(Injector.class, JobExecutionContext.class)
         .expect(unit -> {
           Injector injector = unit.get(Injector.class);
-          expect(injector.getInstance(Runnable.class)).andReturn(null);
+          expect(injector.getProvider(Runnable.class)).andReturn(() -> null);
         })
         .expect(unit -> {
           JobKey key = JobKey.jobKey("Runnable.run", "java.lang");
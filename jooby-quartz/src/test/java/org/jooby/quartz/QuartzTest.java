@@ -8,6 +8,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.inject.Singleton;
+
 import org.jooby.Env;
 import org.jooby.internal.quartz.JobExpander;
 import org.jooby.internal.quartz.QuartzProvider;
@@ -38,7 +40,7 @@ public class QuartzTest {
   @SuppressWarnings("unchecked")
   MockUnit.Block scheduler = unit -> {
     ScopedBindingBuilder scopeBB = unit.mock(ScopedBindingBuilder.class);
-    scopeBB.asEagerSingleton();
+    scopeBB.in(Singleton.class);
 
     AnnotatedBindingBuilder<Scheduler> schedulerBB = unit
         .mock(AnnotatedBindingBuilder.class);
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import javax.sql.DataSource;
 
 import org.jooby.Env;
@@ -48,8 +49,8 @@ public class QueryDSLTest {
     Binder binder = unit.get(Binder.class);
 
     ScopedBindingBuilder scope = unit.mock(ScopedBindingBuilder.class);
-    scope.asEagerSingleton();
-    scope.asEagerSingleton();
+    scope.in(Singleton.class);
+    scope.in(Singleton.class);
 
     LinkedBindingBuilder<DataSource> binding = unit.mock(LinkedBindingBuilder.class);
     expect(binding.toProvider(unit.capture(Provider.class))).andReturn(scope).times(2);
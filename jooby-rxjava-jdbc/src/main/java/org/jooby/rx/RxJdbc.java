@@ -18,16 +18,26 @@
  */
 package org.jooby.rx;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
 import javax.inject.Provider;
 import javax.sql.DataSource;
 
 import org.jooby.Env;
 import org.jooby.jdbc.Jdbc;
+import org.jooby.jdbc.RowStream;
 
 import com.github.davidmoten.rx.jdbc.Database;
 import com.google.inject.Binder;
 import com.typesafe.config.Config;
 
+import rx.Observable;
+import rx.Subscription;
+
 /**
  * <h1>rxjdbc</h1>
  * <p>
@@ -125,6 +135,37 @@ public class RxJdbc extends Jdbc {
     this(DEFAULT_DB);
   }
 
+  /**
+   * Cursor factory for {@link RowStream#stream(RowStream.Format, Callable)}. Rows are consumed with
+   * backpressure from the thread who writes the response and the subscription (and so the query)
+   * is cancelled on client abort.
+   *
+   * <pre>{@code
+   * {
+   *   get("/pets", req -> {
+   *     Database db = req.require(Database.class);
+   *     return req.require(RowStream.class).stream(RowStream.Format.NDJSON,
+   *         RxJdbc.cursor(db.select("select * from pets").get(RowStream::row)));
+   *   });
+   * }
+   * }</pre>
+   *
+   * @param rows Rows.
+   * @return A cursor factory.
+   */
+  public static Callable<RowStream.Cursor> cursor(
+      final Observable<? extends Map<String, ?>> rows) {
+    requireNonNull(rows, "Rows are required.");
+    return () -> {
+      Iterator<? extends Map<String, ?>> iterator = rows.toBlocking().getIterator();
+      return RowStream.Cursor.of(iterator, () -> {
+        if (iterator instanceof Subscription) {
+          ((Subscription) iterator).unsubscribe();
+        }
+      });
+    };
+  }
+
   @Override
   public void configure(final Env env, final Config config, final Binder binder) {
     super.configure(env, config, binder);
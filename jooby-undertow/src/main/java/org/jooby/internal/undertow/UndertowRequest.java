@@ -165,6 +165,13 @@ public class UndertowRequest implements NativeRequest {
     return exchange.getInputStream();
   }
 
+  @Override
+  public void in(final BodyCallback callback) {
+    exchange.getRequestReceiver().receiveFullBytes(
+        (exchange, body) -> dispatch(exchange, () -> callback.done(body, null)),
+        (exchange, x) -> dispatch(exchange, () -> callback.done(null, x)));
+  }
+
   @Override
   public String ip() {
     return Optional.ofNullable(exchange.getSourceAddress())
@@ -203,6 +210,18 @@ public class UndertowRequest implements NativeRequest {
     exchange.dispatch();
   }
 
+  /**
+   * Receiver callbacks might run on the IO thread, move them to a worker thread so they are free
+   * to block (parse, render, etc.).
+   */
+  private static void dispatch(final HttpServerExchange exchange, final Runnable task) {
+    if (exchange.isInIoThread()) {
+      exchange.getConnection().getWorker().execute(task);
+    } else {
+      task.run();
+    }
+  }
+
   private FormData parseForm(final HttpServerExchange exchange, final String tmpdir,
       final String charset) throws IOException {
     String value = exchange.getRequestHeaders().getFirst("Content-Type");
@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.jooby.internal.BytesRendererContext;
+
+/**
+ * <p>
+ * Input stream backed by chunks of bytes produced on demand, like one chunk per database row or
+ * per document. Use it to stream large results without holding them in memory:
+ * </p>
+ *
+ * <pre>{@code
+ * class Rows extends ChunkedStream {
+ *
+ *   Rows(List<Renderer> renderers, Charset charset) {
+ *     super(renderers, MediaType.json, charset);
+ *   }
+ *
+ *   protected byte[] next(boolean block) throws IOException {
+ *     Object row = ...;
+ *     if (row == null) {
+ *       return null;
+ *     }
+ *     render(row);
+ *     text("\n");
+ *     return chunk();
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Values are rendered by the given {@link Renderer renderers} (usually the application renderers,
+ * see {@link Renderer.Context}), so they look like the ones sent by non-streaming routes.
+ * </p>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public abstract class ChunkedStream extends InputStream {
+
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+  private final Charset charset;
+
+  private final BytesRendererContext renderer;
+
+  private byte[] chunk;
+
+  private int pos;
+
+  private boolean done;
+
+  /**
+   * Creates a new {@link ChunkedStream} without renderers. Chunks must be produced by subclasses,
+   * {@link #render(Object)} isn't supported.
+   */
+  protected ChunkedStream() {
+    this.charset = null;
+    this.renderer = null;
+  }
+
+  /**
+   * Creates a new {@link ChunkedStream}.
+   *
+   * @param renderers Renderers, used by {@link #render(Object)}.
+   * @param type Type to render, like <code>application/json</code>.
+   * @param charset Charset, used by {@link #render(Object)} and {@link #text(String)}.
+   */
+  protected ChunkedStream(final List<Renderer> renderers, final MediaType type,
+      final Charset charset) {
+    this.charset = requireNonNull(charset, "Charset is required.");
+    this.renderer = new BytesRendererContext(requireNonNull(renderers, "Renderers are required."),
+        requireNonNull(type, "Type is required."), charset, buffer);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fill(true)) {
+      return -1;
+    }
+    return chunk[pos++] & 0xff;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!fill(true)) {
+      return -1;
+    }
+    int n = 0;
+    do {
+      int size = Math.min(chunk.length - pos, len - n);
+      System.arraycopy(chunk, pos, b, off + n, size);
+      pos += size;
+      n += size;
+      // keep going with chunks we can get right away
+    } while (n < len && fill(false));
+    return n;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return chunk == null ? 0 : chunk.length - pos;
+  }
+
+  @Override
+  public void close() throws IOException {
+    done = true;
+    chunk = null;
+  }
+
+  /**
+   * Make sure there is at least one byte available.
+   *
+   * @param block True, to wait for the next chunk.
+   * @return False when there is nothing else to read (or would block).
+   * @throws IOException If next chunk fails.
+   */
+  protected final boolean fill(final boolean block) throws IOException {
+    while (chunk == null || pos == chunk.length) {
+      if (done) {
+        return false;
+      }
+      byte[] next = next(block);
+      if (next == null) {
+        done = block;
+        return false;
+      }
+      chunk = next;
+      pos = 0;
+    }
+    return true;
+  }
+
+  /**
+   * Produces the next chunk.
+   *
+   * @param block True, if caller can wait for the next chunk.
+   * @return Next chunk (might be empty). <code>null</code> on end of stream or, when
+   *         <code>block</code> is false, when the next chunk isn't ready yet.
+   * @throws IOException If chunk can't be produced.
+   */
+  protected abstract byte[] next(boolean block) throws IOException;
+
+  /**
+   * Render a value and append the output to the current chunk.
+   *
+   * @param value Value to render.
+   * @throws IOException If rendering fails.
+   */
+  protected final void render(final Object value) throws IOException {
+    if (renderer == null) {
+      throw new IllegalStateException("No renderers, see ChunkedStream(List, MediaType, Charset)");
+    }
+    try {
+      renderer.render(value);
+    } catch (IOException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  /**
+   * Append text to the current chunk.
+   *
+   * @param text Text to append.
+   */
+  protected final void text(final String text) {
+    if (charset == null) {
+      throw new IllegalStateException("No charset, see ChunkedStream(List, MediaType, Charset)");
+    }
+    byte[] bytes = text.getBytes(charset);
+    buffer.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Bytes appended via {@link #render(Object)} and {@link #text(String)} since the last call. The
+   * current chunk is reset.
+   *
+   * @return Current chunk.
+   */
+  protected final byte[] chunk() {
+    byte[] bytes = buffer.toByteArray();
+    buffer.reset();
+    return bytes;
+  }
+
+}
@@ -23,6 +23,8 @@ import static java.util.Objects.requireNonNull;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
@@ -395,6 +397,16 @@ public interface Cookie {
     /** Signature separator. */
     private static final String SEP = "|";
 
+    /** Max number of keys to keep per thread, see {@link #MACS}. */
+    private static final int MAX_KEYS = 8;
+
+    /**
+     * Initialized {@link Mac} instances per thread and secret key. A {@link Mac} isn't thread-safe
+     * and creating/initializing a new one on every call is expensive.
+     */
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal
+        .withInitial(HashMap::new);
+
     /**
      * Sign a value using a secret key. A value and secret key are required. Sign is done with
      * {@link #HMAC_SHA256}.
@@ -413,9 +425,7 @@ public interface Cookie {
       requireNonNull(secret, "A secret is required.");
 
       try {
-        Mac mac = Mac.getInstance(HMAC_SHA256);
-        mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-        byte[] bytes = mac.doFinal(value.getBytes());
+        byte[] bytes = mac(secret).doFinal(value.getBytes());
         return value + SEP + EQ.matcher(BaseEncoding.base64().encode(bytes)).replaceAll("");
       } catch (Exception ex) {
         throw new IllegalArgumentException("Can't sing value", ex);
@@ -440,7 +450,27 @@ public interface Cookie {
       String str = value.substring(0, sep);
       String mac = sign(str, secret);
 
-      return mac.equals(value) ? str : null;
+      return MessageDigest.isEqual(mac.getBytes(), value.getBytes()) ? str : null;
+    }
+
+    /**
+     * Un-sign a value, previously signed with {@link #sign(String, String)} using one of the given
+     * secret keys. Useful for key rotation: the first key is the current key, while the others are
+     * previous keys still accepted on verification.
+     *
+     * @param value A signed value.
+     * @param secrets Secret keys to try, in order.
+     * @return A new signed value or <code>null</code> if none of the keys match.
+     */
+    public static String unsign(final String value, final Iterable<String> secrets) {
+      requireNonNull(secrets, "Secrets are required.");
+      for (String secret : secrets) {
+        String str = unsign(value, secret);
+        if (str != null) {
+          return str;
+        }
+      }
+      return null;
     }
 
     /**
@@ -454,6 +484,20 @@ public interface Cookie {
       return unsign(value, secret) != null;
     }
 
+    private static Mac mac(final String secret) throws Exception {
+      Map<String, Mac> macs = MACS.get();
+      Mac mac = macs.get(secret);
+      if (mac == null) {
+        if (macs.size() >= MAX_KEYS) {
+          macs.clear();
+        }
+        mac = Mac.getInstance(HMAC_SHA256);
+        mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
+        macs.put(secret, mac);
+      }
+      return mac;
+    }
+
   }
 
   /**
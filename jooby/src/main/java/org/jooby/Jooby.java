@@ -56,7 +56,10 @@ import static com.typesafe.config.ConfigValueFactory.fromAnyRef;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
@@ -74,6 +77,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -83,6 +87,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLContext;
 
@@ -102,7 +107,10 @@ import org.jooby.internal.RequestScope;
 import org.jooby.internal.RouteMetadata;
 import org.jooby.internal.ServerLookup;
 import org.jooby.internal.SessionManager;
+import org.jooby.internal.StartTasks;
+import org.jooby.internal.StartupProfiler;
 import org.jooby.internal.TypeConverters;
+import org.jooby.internal.WarmUp;
 import org.jooby.internal.handlers.HeadHandler;
 import org.jooby.internal.handlers.OptionsHandler;
 import org.jooby.internal.handlers.TraceHandler;
@@ -140,6 +148,7 @@ import com.google.inject.util.Types;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigUtil;
 import com.typesafe.config.ConfigValue;
 import com.typesafe.config.ConfigValueFactory;
 
@@ -618,6 +627,9 @@ public class Jooby implements Routes, LifeCycle, Registry {
   /** Keep the global injector instance. */
   private Injector injector;
 
+  /** Instantiate singletons of deferred modules. Optional. */
+  private WarmUp warmup;
+
   /** Session store. */
   private Session.Definition session = new Session.Definition(Session.Mem.class);
 
@@ -1113,6 +1125,22 @@ public class Jooby implements Routes, LifeCycle, Registry {
     return this.session;
   }
 
+  /**
+   * Keep sessions on the client side: session attributes are saved in a signed (and optionally
+   * encrypted) cookie, so there is no server-side lookup. Requires an
+   * <code>application.secret</code>.
+   *
+   * Sessions whose cookie exceed <code>session.stateless.maxSize</code> are saved in the
+   * {@link Session.Mem} store. Use {@link #session(Class)} plus
+   * {@link Session.Definition#stateless(boolean)} for a different store.
+   *
+   * @return A session definition.
+   */
+  public Session.Definition cookieSession() {
+    this.session = new Session.Definition(Session.Mem.class).stateless(true);
+    return this.session;
+  }
+
   /**
    * Register a new param converter. See {@link Parser} for more details.
    *
@@ -3509,7 +3537,9 @@ public class Jooby implements Routes, LifeCycle, Registry {
     // shutdown hook
     Runtime.getRuntime().addShutdownHook(new Thread(() -> stop()));
 
-    this.injector = bootstrap(args(args), routes);
+    StartupProfiler profiler = new StartupProfiler();
+
+    this.injector = bootstrap(args(args), routes, profiler);
 
     started.set(true);
 
@@ -3518,9 +3548,15 @@ public class Jooby implements Routes, LifeCycle, Registry {
     Logger log = LoggerFactory.getLogger(getClass());
     log.debug("config tree:\n{}", configTree(conf.origin().description()));
 
-    // start services
-    for (CheckedConsumer<Registry> onStart : this.onStart) {
-      onStart.accept(this);
+    // start services, deferred modules start in background
+    List<CheckedConsumer<Registry>> tasks = warmup == null
+        ? this.onStart
+        : warmup.onStart(this.onStart, profiler::owner, this);
+    StartTasks startTasks = new StartTasks(tasks, profiler);
+    if (conf.hasPath("startup.parallel") && conf.getBoolean("startup.parallel")) {
+      startTasks.run(this, startupDependencies(conf));
+    } else {
+      startTasks.run(this);
     }
 
     // route mapper
@@ -3535,13 +3571,16 @@ public class Jooby implements Routes, LifeCycle, Registry {
     String serverName = server.getClass().getSimpleName().replace("Server", "").toLowerCase();
 
     server.start();
+    if (warmup != null) {
+      warmup.start();
+    }
     long end = System.currentTimeMillis();
 
     log.info("[{}@{}]: Server started in {}ms\n\n{}\n",
         conf.getString("application.env"),
         serverName,
         end - start,
-        new AppPrinter(routeDefs, sockets, conf));
+        new AppPrinter(routeDefs, sockets, conf, profiler));
 
     boolean join = conf.hasPath("server.join") ? conf.getBoolean("server.join") : true;
     if (join) {
@@ -3770,7 +3809,8 @@ public class Jooby implements Routes, LifeCycle, Registry {
   }
 
   private Injector bootstrap(final Config args,
-      final Consumer<List<Route.Definition>> rcallback) throws Exception {
+      final Consumer<List<Route.Definition>> rcallback, final StartupProfiler profiler)
+      throws Exception {
     Config appconf = ConfigFactory.parseResources("application.conf");
     Config initconf = srcconf == null ? appconf : srcconf.withFallback(appconf);
     List<Config> modconf = modconf(this.bag);
@@ -3791,11 +3831,17 @@ public class Jooby implements Routes, LifeCycle, Registry {
 
     DecimalFormat numberFormat = new DecimalFormat(conf.getString("application.numberFormat"));
 
-    // Guice Stage
-    Stage stage = "dev".equals(envname) ? Stage.DEVELOPMENT : Stage.PRODUCTION;
+    // Guice Stage, lazy if there are deferred modules
+    Set<String> deferred = "dev".equals(envname) || !conf.hasPath("startup.deferred")
+        ? ImmutableSet.of()
+        : ImmutableSet.copyOf(conf.getStringList("startup.deferred"));
+    Stage stage = "dev".equals(envname) || deferred.size() > 0
+        ? Stage.DEVELOPMENT
+        : Stage.PRODUCTION;
+    Readiness readiness = new Readiness(deferred.isEmpty());
 
     // expand and normalize bag
-    RouteMetadata rm = new RouteMetadata(env);
+    RouteMetadata rm = new RouteMetadata(env, routeIndex());
     List<Object> realbag = processEnvDep(this.bag, env);
     List<Config> realmodconf = modconf(realbag);
     List<Object> bag = normalize(realbag, env, rm, prefix);
@@ -3821,6 +3867,7 @@ public class Jooby implements Routes, LifeCycle, Registry {
     }
 
     /** dependency injection */
+    long injectorStart = System.currentTimeMillis();
     @SuppressWarnings("unchecked")
     Injector injector = Guice.createInjector(stage, binder -> {
 
@@ -3836,6 +3883,9 @@ public class Jooby implements Routes, LifeCycle, Registry {
       /** bind charset */
       binder.bind(Charset.class).toInstance(charset);
 
+      /** bind readiness */
+      binder.bind(Readiness.class).toInstance(readiness);
+
       /** bind locale */
       binder.bind(Locale.class).toInstance(locales.get(0));
       TypeLiteral<List<Locale>> localeType = (TypeLiteral<List<Locale>>) TypeLiteral
@@ -3914,7 +3964,8 @@ public class Jooby implements Routes, LifeCycle, Registry {
           ehandlers,
           parsers,
           renderers,
-          routeClasses).accept(it));
+          routeClasses,
+          profiler).accept(it));
 
       parsers.addBinding().toInstance(new DateParser(dateFormat));
       parsers.addBinding().toInstance(new LocalDateParser(dateTimeFormatter));
@@ -3965,10 +4016,22 @@ public class Jooby implements Routes, LifeCycle, Registry {
       /** def err */
       ehandlers.addBinding().toInstance(new Err.DefHandler());
     });
+    if (deferred.size() > 0) {
+      warmup = new WarmUp(injector, deferred, readiness);
+      warmup.eager();
+    }
+    profiler.injector(System.currentTimeMillis() - injectorStart);
 
     onStart.addAll(0, finalEnv.startTasks());
     onStop.addAll(finalEnv.stopTasks());
 
+    // route filters with a @PreDestroy method (like filters with background threads)
+    routes.stream()
+        .map(Route.Definition::filter)
+        .distinct()
+        .forEach(filter -> LifeCycle.lifeCycleAnnotation(filter.getClass(), PreDestroy.class)
+            .ifPresent(it -> onStop.add(app -> it.accept(filter))));
+
     // clear bag and freeze it
     this.bag.clear();
     this.bag = ImmutableSet.of();
@@ -3976,6 +4039,24 @@ public class Jooby implements Routes, LifeCycle, Registry {
     return injector;
   }
 
+  /**
+   * Load precomputed route metadata (parameter names, line numbers), generated at build time by
+   * the <code>jooby:routes</code> maven goal.
+   *
+   * @return Route metadata index or empty.
+   * @throws IOException If index is present but can't be read.
+   */
+  private Properties routeIndex() throws IOException {
+    Properties index = new Properties();
+    URL resource = getClass().getResource("/" + RouteMetadata.indexName(getClass().getName()));
+    if (resource != null) {
+      try (InputStream stream = resource.openStream()) {
+        index.load(stream);
+      }
+    }
+    return index;
+  }
+
   private static Consumer<? super Object> bindService(final Set<Object> src,
       final Config conf,
       final Env env,
@@ -3986,11 +4067,12 @@ public class Jooby implements Routes, LifeCycle, Registry {
       final Multibinder<Err.Handler> ehandlers,
       final Multibinder<Parser> parsers,
       final Multibinder<Renderer> renderers,
-      final Set<Object> routeClasses) {
+      final Set<Object> routeClasses,
+      final StartupProfiler profiler) {
     return it -> {
       if (it instanceof Jooby.Module) {
         int from = src.size();
-        install((Jooby.Module) it, env, conf, binder);
+        install((Jooby.Module) it, env, conf, binder, profiler);
         int to = src.size();
         // collect any route a module might add
         if (to > from) {
@@ -4005,7 +4087,8 @@ public class Jooby implements Routes, LifeCycle, Registry {
                   ehandlers,
                   parsers,
                   renderers,
-                  routeClasses).accept(e));
+                  routeClasses,
+                  profiler).accept(e));
         }
       } else if (it instanceof Route.Definition) {
         Route.Definition rdef = (Definition) it;
@@ -4263,14 +4346,35 @@ public class Jooby implements Routes, LifeCycle, Registry {
    * @param env Application env.
    * @param config The configuration object.
    * @param binder A Guice binder.
+   * @param profiler Startup profiler.
    */
   private static void install(final Jooby.Module module, final Env env, final Config config,
-      final Binder binder) {
+      final Binder binder, final StartupProfiler profiler) {
+    long start = System.currentTimeMillis();
+    int from = env.startTasks().size();
     try {
       module.configure(env, config, binder);
     } catch (Exception ex) {
       throw new IllegalStateException("Error found on module: " + module.getClass().getName(), ex);
     }
+    List<CheckedConsumer<Registry>> tasks = env.startTasks();
+    profiler.module(module, System.currentTimeMillis() - start, tasks.subList(from, tasks.size()));
+  }
+
+  /**
+   * Read onStart dependencies between modules from <code>startup.dependencies</code>.
+   *
+   * @param conf App config.
+   * @return Module dependencies.
+   */
+  private static Map<String, List<String>> startupDependencies(final Config conf) {
+    Map<String, List<String>> dependencies = new HashMap<>();
+    if (conf.hasPath("startup.dependencies")) {
+      Config deps = conf.getConfig("startup.dependencies");
+      deps.root().keySet().forEach(module -> dependencies.put(module,
+          deps.getStringList(ConfigUtil.joinPath(module))));
+    }
+    return dependencies;
   }
 
   /**
@@ -33,6 +33,7 @@ import java.util.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -212,6 +213,9 @@ public class MediaType implements Comparable<MediaType> {
    */
   private static final Map<String, String> DEFAULT_PARAMS = ImmutableMap.of("q", "1");
 
+  /** Multipart boundary parameter. */
+  private static final String BOUNDARY = "boundary=";
+
   /**
    * A JSON media type.
    */
@@ -303,9 +307,18 @@ public class MediaType implements Comparable<MediaType> {
   private int hc;
 
   /**
-   * Alias for most used types.
+   * Max number of parsed values to keep in {@link #cache}. Default is <code>1000</code>, override
+   * it with the <code>jooby.mediaType.cacheSize</code> system property.
+   */
+  private static final int CACHE_SIZE = Integer.getInteger("jooby.mediaType.cacheSize", 1000);
+
+  /**
+   * Bounded cache of parsed values (mostly <code>Accept</code> and <code>Content-Type</code>
+   * headers). Headers are client input so we must keep memory usage predictable.
    */
   private static final LoadingCache<String, List<MediaType>> cache = CacheBuilder.newBuilder()
+      .maximumSize(CACHE_SIZE)
+      .recordStats()
       .build(new CacheLoader<String, List<MediaType>>() {
         @Override
         public List<MediaType> load(final String type) throws Exception {
@@ -314,17 +327,69 @@ public class MediaType implements Comparable<MediaType> {
 
       });
 
+  /**
+   * Well-known types by name, parsed types without parameters are resolved to these instances.
+   */
+  private static final Map<String, MediaType> KNOWN = ImmutableMap.<String, MediaType> builder()
+      .put(json.name, json)
+      .put(plain.name, plain)
+      .put(css.name, css)
+      .put(js.name, js)
+      .put(html.name, html)
+      .put(octetstream.name, octetstream)
+      .put(all.name, all)
+      .put(multipart.name, multipart)
+      .put(form.name, form)
+      .put(xml.name, xml)
+      .put(sse.name, sse)
+      .build();
+
+  /**
+   * Alias for most used types plus common <code>Accept</code> headers sent by browsers, curl and
+   * javascript clients. Pre-parsed and never evicted.
+   */
+  private static final Map<String, List<MediaType>> interned;
+
   static {
-    cache.put("html", ImmutableList.of(html));
-    cache.put("json", ImmutableList.of(json));
-    cache.put("css", ImmutableList.of(css));
-    cache.put("js", ImmutableList.of(js));
-    cache.put("octetstream", ImmutableList.of(octetstream));
-    cache.put("form", ImmutableList.of(form));
-    cache.put("multipart", ImmutableList.of(multipart));
-    cache.put("xml", ImmutableList.of(xml));
-    cache.put("plain", ImmutableList.of(plain));
-    cache.put("*", ALL);
+    Map<String, List<MediaType>> common = new LinkedHashMap<>();
+    common.put("html", ImmutableList.of(html));
+    common.put("json", ImmutableList.of(json));
+    common.put("css", ImmutableList.of(css));
+    common.put("js", ImmutableList.of(js));
+    common.put("octetstream", ImmutableList.of(octetstream));
+    common.put("form", ImmutableList.of(form));
+    common.put("multipart", ImmutableList.of(multipart));
+    common.put("xml", ImmutableList.of(xml));
+    common.put("plain", ImmutableList.of(plain));
+    common.put("*", ALL);
+    common.put("*/*", ALL);
+    for (String accept : new String[]{
+        // browsers
+        "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8",
+        "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8",
+        "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,image/apng,*/*;q=0.8",
+        "text/html, application/xhtml+xml, image/jxr, */*",
+        "text/html, application/xhtml+xml, */*",
+        "text/css,*/*;q=0.1",
+        "image/webp,image/apng,image/*,*/*;q=0.8",
+        "image/webp,*/*",
+        "image/png,image/*;q=0.8,*/*;q=0.5",
+        "*/*;q=0.8",
+        // xhr/fetch clients
+        "application/json, text/plain, */*",
+        "application/json, text/javascript, */*; q=0.01",
+        "application/json, text/javascript, */*",
+        "text/event-stream",
+        // common types (Content-Type and Accept)
+        "text/html", "text/plain", "text/css", "application/javascript", "application/json",
+        "application/xml", "application/octet-stream", "application/x-www-form-urlencoded",
+        "multipart/form-data", "application/json; charset=UTF-8", "application/json;charset=UTF-8",
+        "text/plain; charset=UTF-8", "text/plain;charset=UTF-8",
+        "application/x-www-form-urlencoded; charset=UTF-8",
+        "application/x-www-form-urlencoded;charset=UTF-8"}) {
+      common.put(accept, parseInternal(accept));
+    }
+    interned = ImmutableMap.copyOf(common);
   }
 
   static final Config types = ConfigFactory
@@ -518,10 +583,16 @@ public class MediaType implements Comparable<MediaType> {
     return parse(type).get(0);
   }
 
+  /**
+   * Parse a comma separated list of media types. It scans the input once and avoid regex based
+   * splits plus intermediate arrays.
+   *
+   * @param value Value to parse.
+   * @return Media types sorted by relevance.
+   */
   private static List<MediaType> parseInternal(final String value) {
-    String[] types = value.split(",");
     @SuppressWarnings("serial")
-    List<MediaType> result = new ArrayList<MediaType>(types.length) {
+    List<MediaType> result = new ArrayList<MediaType>(2) {
       int hc = 1;
 
       @Override
@@ -535,38 +606,73 @@ public class MediaType implements Comparable<MediaType> {
         return hc;
       }
     };
-    for (String type : types) {
-      String[] parts = type.trim().split(";");
-      if (parts[0].equals("*")) {
-        // odd and ugly media type
-        result.add(all);
-      } else {
-        String[] typeAndSubtype = parts[0].split("/");
-        checkArgument(typeAndSubtype.length == 2, "Bad media type found '%s' while parsing '%s'",
-            type, value);
-        String stype = typeAndSubtype[0].trim();
-        String subtype = typeAndSubtype[1].trim();
-        checkArgument(!(stype.equals("*") && !subtype.equals("*")),
-            "Bad media type found '%s' while parsing '%s'", type, value);
-        Map<String, String> parameters = DEFAULT_PARAMS;
-        if (parts.length > 1) {
-          parameters = new LinkedHashMap<>(DEFAULT_PARAMS);
-          for (int i = 1; i < parts.length; i++) {
-            String[] parameter = parts[i].split("=");
-            if (parameter.length > 1) {
-              parameters.put(parameter[0].trim(), parameter[1].trim().toLowerCase());
-            }
-          }
-        }
-        result.add(new MediaType(stype, subtype, parameters));
-      }
+    // like String.split: ignore trailing separators
+    int end = value.length();
+    while (end > 0 && value.charAt(end - 1) == ',') {
+      end -= 1;
     }
+    int start = 0;
+    do {
+      int comma = value.indexOf(',', start);
+      if (comma < 0 || comma > end) {
+        comma = end;
+      }
+      result.add(parseOne(value, start, comma));
+      start = comma + 1;
+    } while (start < end);
     if (result.size() > 1) {
       Collections.sort(result);
     }
     return result;
   }
 
+  private static MediaType parseOne(final String value, final int start, final int end) {
+    int semicolon = indexOf(value, ';', start, end);
+    String name = value.substring(start, semicolon).trim();
+    if (name.equals("*")) {
+      // odd and ugly media type
+      return all;
+    }
+    int slash = name.indexOf('/');
+    checkArgument(slash > 0 && slash < name.length() - 1 && name.indexOf('/', slash + 1) < 0,
+        "Bad media type found '%s' while parsing '%s'", value.substring(start, end), value);
+    String stype = name.substring(0, slash).trim();
+    String subtype = name.substring(slash + 1).trim();
+    checkArgument(!(stype.equals("*") && !subtype.equals("*")),
+        "Bad media type found '%s' while parsing '%s'", value.substring(start, end), value);
+    if (semicolon == end) {
+      MediaType known = KNOWN.get(name);
+      if (known != null) {
+        return known;
+      }
+      return new MediaType(stype, subtype, DEFAULT_PARAMS);
+    }
+    Map<String, String> parameters = new LinkedHashMap<>(DEFAULT_PARAMS);
+    int pstart = semicolon + 1;
+    while (pstart < end) {
+      int pend = indexOf(value, ';', pstart, end);
+      int eq = indexOf(value, '=', pstart, pend);
+      if (eq < pend) {
+        int vend = indexOf(value, '=', eq + 1, pend);
+        String pvalue = value.substring(eq + 1, vend).trim();
+        if (pvalue.length() > 0) {
+          parameters.put(value.substring(pstart, eq).trim(), pvalue.toLowerCase());
+        }
+      }
+      pstart = pend + 1;
+    }
+    return new MediaType(stype, subtype, parameters);
+  }
+
+  private static int indexOf(final String value, final char ch, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      if (value.charAt(i) == ch) {
+        return i;
+      }
+    }
+    return end;
+  }
+
   /**
    * Convert one or more media types expressed as String into a {@link MediaType}.
    *
@@ -589,6 +695,14 @@ public class MediaType implements Comparable<MediaType> {
    * @return One ore more {@link MediaType}.
    */
   public static List<MediaType> parse(final String value) {
+    List<MediaType> types = interned.get(value);
+    if (types != null) {
+      return types;
+    }
+    if (value.indexOf(BOUNDARY) > 0) {
+      // multipart boundaries are unique per request, don't waste cache space
+      return parseInternal(value);
+    }
     try {
       return cache.getUnchecked(value);
     } catch (UncheckedExecutionException ex) {
@@ -596,6 +710,23 @@ public class MediaType implements Comparable<MediaType> {
     }
   }
 
+  /**
+   * Statistics of the media type parse cache. Useful for tuning the cache size via the
+   * <code>jooby.mediaType.cacheSize</code> system property.
+   *
+   * @return Cache statistics.
+   */
+  public static CacheStats cacheStats() {
+    return cache.stats();
+  }
+
+  /**
+   * @return Number of parsed values currently in the media type cache.
+   */
+  public static long cacheSize() {
+    return cache.size();
+  }
+
   /**
    * Produces a matcher for the given media type.
    *
@@ -18,7 +18,9 @@
  */
 package org.jooby;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.Map;
@@ -162,6 +164,16 @@ public interface Parser {
      */
     String text() throws IOException;
 
+    /**
+     * Returns the HTTP body as an input stream. Caller is responsible for closing it.
+     *
+     * @return HTTP body as input stream.
+     * @throws IOException If reading fails.
+     */
+    default InputStream stream() throws IOException {
+      return new ByteArrayInputStream(bytes());
+    }
+
     /**
      * @return Body length.
      */
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby;
+
+import java.util.Optional;
+
+/**
+ * <h1>readiness</h1>
+ * <p>
+ * Tell if the application finished its warm-up phase and it is ready to take traffic.
+ * </p>
+ * <p>
+ * An application is ready as soon as the server starts, unless some modules were marked as
+ * deferred via <code>startup.deferred</code>. Deferred modules are instantiated in background
+ * after the server starts and the application becomes ready once all of them are up. If one of
+ * them fails, the application never becomes ready and {@link #failure()} has the cause:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   get("/ready", req {@literal ->} req.require(Readiness.class).isReady());
+ * }
+ * </pre>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class Readiness {
+
+  private volatile boolean ready;
+
+  private volatile Throwable failure;
+
+  /**
+   * Creates a new {@link Readiness}.
+   *
+   * @param ready Initial state.
+   */
+  public Readiness(final boolean ready) {
+    this.ready = ready;
+  }
+
+  /**
+   * @return True, if the application is ready to take traffic.
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Mark the application as ready.
+   */
+  public void ready() {
+    this.ready = true;
+  }
+
+  /**
+   * Mark the warm-up as failed, the application won't be ready.
+   *
+   * @param cause Warm-up failure.
+   */
+  public void failed(final Throwable cause) {
+    this.failure = cause;
+  }
+
+  /**
+   * @return Warm-up failure or empty.
+   */
+  public Optional<Throwable> failure() {
+    return Optional.ofNullable(failure);
+  }
+
+  @Override
+  public String toString() {
+    if (failure != null) {
+      return "failed: " + failure.getMessage();
+    }
+    return ready ? "ready" : "warming up";
+  }
+}
@@ -20,6 +20,8 @@ package org.jooby;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
@@ -98,6 +100,23 @@ public interface Renderer {
    */
   interface Context {
 
+    /**
+     * Write text into a {@link Writer}. See {@link Context#send(TextWriter)}.
+     *
+     * @author edgar
+     * @since 1.0.0
+     */
+    interface TextWriter {
+
+      /**
+       * Write text into the given writer.
+       *
+       * @param writer Writer to use.
+       * @throws Exception When the operation fails.
+       */
+      void write(Writer writer) throws Exception;
+    }
+
     /**
      * @return Request local attributes.
      */
@@ -192,8 +211,8 @@ public interface Renderer {
      * Write bytes into the HTTP response body.
      *
      * It will set a <code>Content-Length</code> if the response size is less than the
-     * <code>server.ResponseBufferSize</code> (default is: 16k). If the response is larger than the
-     * buffer size, it will set a <code>Transfer-Encoding: chunked</code> header.
+     * <code>server.http.ResponseBufferSize</code> (default is: 16k). If the response is larger than
+     * the buffer size, it will set a <code>Transfer-Encoding: chunked</code> header.
      *
      * It will set a <code>Content-Type</code> to {@link MediaType#octetstream} if none was set.
      *
@@ -219,8 +238,8 @@ public interface Renderer {
      * Write text into the HTTP response body.
      *
      * It will set a <code>Content-Length</code> if the response size is less than the
-     * <code>server.ResponseBufferSize</code> (default is: 16k). If the response is larger than the
-     * buffer size, it will set a <code>Transfer-Encoding: chunked</code> header.
+     * <code>server.http.ResponseBufferSize</code> (default is: 16k). If the response is larger than
+     * the buffer size, it will set a <code>Transfer-Encoding: chunked</code> header.
      *
      * It will set a <code>Content-Type</code> to {@link MediaType#html} if none was set.
      *
@@ -229,6 +248,26 @@ public interface Renderer {
      */
     void send(Reader reader) throws Exception;
 
+    /**
+     * Write text into the HTTP response body via a {@link Writer}. Text is encoded with
+     * {@link #charset()} as it is written, without creating an intermediate {@link String}.
+     *
+     * The whole output is kept in memory (in chunks of <code>server.http.ResponseBufferSize</code>,
+     * default is: 16k) until the writer is done, then it is sent with a
+     * <code>Content-Length</code>. The output is never sent with
+     * <code>Transfer-Encoding: chunked</code> and chunks aren't pooled.
+     *
+     * It will set a <code>Content-Type</code> to {@link MediaType#html} if none was set.
+     *
+     * @param text Text writer.
+     * @throws Exception When the operation fails.
+     */
+    default void send(final TextWriter text) throws Exception {
+      StringWriter writer = new StringWriter();
+      text.write(writer);
+      send(writer.toString());
+    }
+
     /**
      * Write file into the HTTP response body, using OS zero-copy transfer (if possible).
      *
@@ -43,6 +43,23 @@ import com.google.inject.TypeLiteral;
  */
 public interface Request extends Registry {
 
+  /**
+   * Callback for {@link Request#body(BodyCallback)}.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  interface BodyCallback {
+
+    /**
+     * Invoked once the HTTP body has been fully received or when the read fails.
+     *
+     * @param body HTTP body or <code>null</code> when the read failed.
+     * @param cause Read failure or <code>null</code>.
+     */
+    void handle(Mutant body, Throwable cause);
+  }
+
   /**
    * Forwarding request.
    *
@@ -173,6 +190,11 @@ public interface Request extends Registry {
       return req.body();
     }
 
+    @Override
+    public void body(final BodyCallback callback) {
+      req.body(callback);
+    }
+
     @Override
     public <T> T require(final Class<T> type) {
       return req.require(type);
@@ -635,6 +657,46 @@ public interface Request extends Registry {
    */
   Mutant body() throws Exception;
 
+  /**
+   * Read the HTTP body without blocking the current thread. The callback is notified once the body
+   * has been fully received by the server (Netty and Undertow read it from their non-blocking IO
+   * path, other servers fallback to a blocking read). It is intended for {@link Deferred} routes:
+   *
+   * <pre>{@code
+   * {
+   *   post("/pets", promise((req, deferred) -> {
+   *     req.body((body, x) -> {
+   *       if (x == null) {
+   *         deferred.resolve(body.to(Pet.class));
+   *       } else {
+   *         deferred.reject(x);
+   *       }
+   *     });
+   *   }));
+   * }
+   * }</pre>
+   *
+   * The callback might be executed from a different thread than the one who calls this method.
+   *
+   * Only bodies with a <code>Content-Length</code> up to <code>server.http.MaxRequestSize</code>
+   * are kept in memory. Bigger bodies, bodies of unknown length and form bodies are read from the
+   * calling thread, like {@link #body()} does.
+   *
+   * Default implementation reads {@link #body()} from the calling thread.
+   *
+   * @param callback Body callback.
+   */
+  default void body(final BodyCallback callback) {
+    Mutant body;
+    try {
+      body = body();
+    } catch (Throwable x) {
+      callback.handle(null, x);
+      return;
+    }
+    callback.handle(body, null);
+  }
+
   /**
    * The charset defined in the request body. If the request doesn't specify a character
    * encoding, this method return the global charset: <code>application.charset</code>.
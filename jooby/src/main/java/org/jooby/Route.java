@@ -1207,7 +1207,8 @@ public interface Route {
           Case(instanceOf(String.class), true),
           Case(instanceOf(Enum.class), true),
           Case(instanceOf(Class.class), true),
-          Case(c -> c.getClass().isArray(), v -> validate(Array.get(v, 0))))
+          Case(c -> c.getClass().isArray(),
+              v -> Array.getLength(v) == 0 || validate(Array.get(v, 0))))
           .getOrElseThrow(() -> new IllegalArgumentException("Unsupported attribute: " + value));
     }
 
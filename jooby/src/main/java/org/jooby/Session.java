@@ -71,6 +71,23 @@ import com.google.common.io.BaseEncoding;
  * In short, a session is persisted when: 1) it is dirty; or 2) save interval has expired it.
  * </p>
  *
+ * <h2>Stateless sessions</h2>
+ * <p>
+ * A session might be kept entirely on the client side with {@link Jooby#cookieSession()} or
+ * {@link Definition#stateless(boolean)}. Session attributes are saved in the session cookie,
+ * signed with <code>application.secret</code> (which is required) and optionally encrypted when
+ * <code>session.stateless.encrypt</code> is set. There is no server-side lookup at all.
+ * </p>
+ * <p>
+ * A stateless session whose cookie is bigger than <code>session.stateless.maxSize</code> is saved
+ * in the {@link Session.Store} and the cookie keeps the session ID only.
+ * </p>
+ * <p>
+ * The <code>session.secrets</code> property (a list) keeps previous values of
+ * <code>application.secret</code>. They are still accepted when verifying a session cookie, which
+ * let you rotate the secret without losing existing sessions.
+ * </p>
+ *
  * <h1>Cookie configuration</h1>
  * <p>
  * Next session describe the most important options:
@@ -124,6 +141,9 @@ public interface Session {
     /** Save interval. */
     private Long saveInterval;
 
+    /** True, for client side sessions. */
+    private boolean stateless;
+
     /**
      * Creates a new session definition.
      *
@@ -164,6 +184,28 @@ public interface Session {
       return this;
     }
 
+    /**
+     * True, if session attributes are kept in the session cookie (no server-side lookup). The
+     * session store is used only when the session cookie gets too big.
+     *
+     * @return True, for stateless/cookie sessions.
+     */
+    public boolean stateless() {
+      return stateless;
+    }
+
+    /**
+     * Keep session attributes in the session cookie (no server-side lookup). The session store
+     * is used only when the session cookie gets bigger than <code>session.stateless.maxSize</code>.
+     *
+     * @param stateless True, for stateless/cookie sessions.
+     * @return This definition.
+     */
+    public Definition stateless(final boolean stateless) {
+      this.stateless = stateless;
+      return this;
+    }
+
     /**
      * @return A session store instance or class.
      */
@@ -0,0 +1,296 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.jooby.Deferred;
+import org.jooby.Err;
+import org.jooby.Request;
+import org.jooby.Response;
+import org.jooby.Route;
+import org.jooby.Status;
+import org.jooby.internal.DeferredExecution;
+import org.jooby.internal.RequestSnapshot;
+import org.jooby.internal.ResponseCapture;
+import org.jooby.internal.ResponseImpl;
+import org.jooby.spi.HttpHandler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <h1>request coalescing</h1>
+ * <p>
+ * Execute identical and concurrent <code>GET</code> requests once:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use("*", new CoalescingHandler());
+ *
+ *   get("/products", () -&gt; products())
+ *     .attr("coalesce", "5s");
+ * }
+ * </pre>
+ *
+ * <p>
+ * The first request (the leader) runs the route as usual. Identical requests who arrive while the
+ * leader is running (the followers) are parked as {@link Deferred} results, so they don't hold a
+ * worker thread. Once the leader is done, every follower gets a replay of the leader's status,
+ * headers and body.
+ * </p>
+ *
+ * <p>
+ * Only a <code>200</code> response without a <code>Set-Cookie</code> header and without a
+ * <code>Cache-Control: private/no-store</code> header is shared (same rules as
+ * {@link ResponseCacheHandler}). Otherwise, followers run the route themselves once the leader is
+ * done. Requests with an <code>Authorization</code> or <code>Cookie</code> header are never
+ * coalesced.
+ * </p>
+ *
+ * <p>
+ * The filter does nothing unless the matching route has a <code>coalesce</code> attribute. The
+ * attribute value is the max time a follower waits for the leader, expressed as a duration string
+ * (<code>5s</code>, <code>500ms</code>, etc.) or as a number of seconds. Followers who wait longer
+ * get a <code>503</code> response. If the leader fails, followers get the same error.
+ * </p>
+ *
+ * <p>
+ * Two requests are identical when they match the same route, path and parameters. If the response
+ * depends on a request header, you must list it via {@link #vary(String...)}:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use("*", new CoalescingHandler().vary("Accept", "Accept-Language"));
+ * }
+ * </pre>
+ *
+ * <p>
+ * Follower timeouts run in a background thread. Followers who run the route themselves use a
+ * bounded pool of {@link #threads(int)} threads: up to <code>1000</code> of them wait for a thread,
+ * the rest get a <code>503</code> response. Threads are stopped when the application stops.
+ * </p>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class CoalescingHandler implements Route.Filter {
+
+  /** Leader's response. */
+  private static class Flight {
+    final int status;
+
+    final Map<String, List<String>> headers;
+
+    final byte[] body;
+
+    final boolean shared;
+
+    Flight(final ResponseCapture rsp) {
+      this.status = rsp.statusCode();
+      this.headers = ImmutableMap.copyOf(rsp.headers());
+      this.body = rsp.body();
+      this.shared = status == 200 && !rsp.header("Set-Cookie").isPresent()
+          && rsp.headers("Cache-Control").stream()
+              .map(String::toLowerCase)
+              .noneMatch(it -> it.contains("no-store") || it.contains("private"));
+    }
+
+    void replay(final Response rsp, final Deferred deferred) {
+      headers.forEach((name, values) -> {
+        if (!name.equalsIgnoreCase("Content-Length")
+            && !name.equalsIgnoreCase("Transfer-Encoding")) {
+          rsp.header(name, new ArrayList<Object>(values));
+        }
+      });
+      Optional.ofNullable(headers.get("Content-Type"))
+          .ifPresent(type -> rsp.type(type.get(0)));
+      rsp.status(status);
+      deferred.resolve(body);
+    }
+  }
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("coalescing-timer").build());
+
+  /** Max number of followers waiting for a thread to run the route themselves. */
+  private static final int QUEUE_SIZE = 1000;
+
+  private final ThreadPoolExecutor executor = newExecutor(
+      Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+  private final ConcurrentMap<String, CompletableFuture<Flight>> flights =
+      new ConcurrentHashMap<>();
+
+  /** True while a follower runs the route itself. */
+  private final ThreadLocal<Boolean> rerun = new ThreadLocal<>();
+
+  private List<String> vary = ImmutableList.of();
+
+  /**
+   * Set the request headers who affect the response and must be part of the request key.
+   *
+   * @param headers Header names.
+   * @return This filter.
+   */
+  public CoalescingHandler vary(final String... headers) {
+    this.vary = ImmutableList.copyOf(headers);
+    return this;
+  }
+
+  /**
+   * Set the max number of threads used by followers who run the route themselves (because the
+   * leader's response can't be shared). Default is the number of processors (at least 2).
+   *
+   * @param threads Max number of threads.
+   * @return This filter.
+   */
+  public CoalescingHandler threads(final int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be greater than zero: " + threads);
+    }
+    if (threads > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(threads);
+      executor.setCorePoolSize(threads);
+    } else {
+      executor.setCorePoolSize(threads);
+      executor.setMaximumPoolSize(threads);
+    }
+    return this;
+  }
+
+  /**
+   * Stop the timeout and follower threads. Called by the application on shutdown.
+   */
+  @PreDestroy
+  public void stop() {
+    timer.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void handle(final Request req, final Response rsp, final Route.Chain chain)
+      throws Throwable {
+    Object maxWait = req.route().attributes().get("coalesce");
+    Response root = Response.Forwarding.unwrap(rsp);
+    if (maxWait == null || !"GET".equals(req.method()) || !(root instanceof ResponseImpl)
+        || req.header("Authorization").isSet() || req.header("Cookie").isSet()
+        || rerun.get() != null) {
+      // credentialed requests and followers running the route themselves
+      chain.next(req, rsp);
+      return;
+    }
+
+    String key = RequestKeys.key(req.route().pattern() + "|", req, vary);
+    CompletableFuture<Flight> flight = new CompletableFuture<>();
+    CompletableFuture<Flight> leader = flights.putIfAbsent(key, flight);
+    if (leader == null) {
+      ((ResponseImpl) root).wrap(target -> new ResponseCapture(capture -> {
+        flights.remove(key, flight);
+        try {
+          capture.flush(target);
+        } finally {
+          flight.complete(new Flight(capture));
+        }
+      }));
+      try {
+        chain.next(req, rsp);
+      } catch (DeferredExecution x) {
+        // response ends once the deferred result is ready
+        throw x;
+      } catch (Throwable x) {
+        flights.remove(key, flight);
+        flight.completeExceptionally(x);
+        throw x;
+      }
+    } else {
+      long millis = RequestKeys.millis(maxWait);
+      rsp.send(new Deferred(deferred -> {
+        CompletableFuture<Flight> follower = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = timer.schedule(() -> follower.completeExceptionally(
+            new Err(Status.SERVICE_UNAVAILABLE, "Timeout while waiting for: " + key)),
+            millis, TimeUnit.MILLISECONDS);
+        leader.whenComplete((result, cause) -> {
+          timeout.cancel(false);
+          if (cause == null) {
+            follower.complete(result);
+          } else {
+            follower.completeExceptionally(cause);
+          }
+        });
+        follower.whenComplete((result, cause) -> {
+          if (cause != null) {
+            deferred.reject(cause);
+          } else if (result.shared) {
+            result.replay(rsp, deferred);
+          } else {
+            run(req, rsp, deferred);
+          }
+        });
+      }));
+    }
+  }
+
+  private void run(final Request req, final Response rsp, final Deferred deferred) {
+    try {
+      HttpHandler handler = req.require(HttpHandler.class);
+      RequestSnapshot snapshot = new RequestSnapshot(req);
+      executor.execute(() -> {
+        rerun.set(Boolean.TRUE);
+        try {
+          handler.handle(snapshot, new ResponseCapture(capture -> new Flight(capture)
+              .replay(rsp, deferred)));
+        } catch (Throwable x) {
+          deferred.reject(x);
+        } finally {
+          rerun.remove();
+        }
+      });
+    } catch (RejectedExecutionException x) {
+      deferred.reject(new Err(Status.SERVICE_UNAVAILABLE, x));
+    }
+  }
+
+  private static ThreadPoolExecutor newExecutor(final int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(QUEUE_SIZE),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("coalescing-%d").build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+}
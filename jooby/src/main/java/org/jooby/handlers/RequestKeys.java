@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.handlers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Mutant;
+import org.jooby.Request;
+
+import com.typesafe.config.ConfigFactory;
+
+/**
+ * Request keys and route attribute durations, shared by the caching handlers.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+class RequestKeys {
+
+  private static final Map<Object, Long> durations = new ConcurrentHashMap<>();
+
+  /**
+   * Build a key from the request path, the request parameters (sorted by name) and the given
+   * request headers. Every name and value is length-prefixed, so a value can't fake a separator
+   * (like a decoded <code>&amp;</code>) and two different requests can't share a key.
+   *
+   * @param prefix Key prefix.
+   * @param req Current request.
+   * @param vary Request headers to include.
+   * @return A request key.
+   */
+  public static String key(final String prefix, final Request req, final List<String> vary) {
+    StringBuilder key = new StringBuilder(prefix);
+    append(key, req.path());
+    Map<String, Mutant> params = new TreeMap<>(req.params().toMap());
+    for (Map.Entry<String, Mutant> param : params.entrySet()) {
+      for (String value : param.getValue().toList()) {
+        append(append(key.append('&'), param.getKey()), value);
+      }
+    }
+    for (String header : vary) {
+      append(key.append('|'), header.toLowerCase());
+      Optional<String> value = req.header(header).toOptional();
+      if (value.isPresent()) {
+        append(key, value.get());
+      } else {
+        // missing header, not the same as an empty header
+        key.append('~');
+      }
+    }
+    return key.toString();
+  }
+
+  private static StringBuilder append(final StringBuilder key, final String value) {
+    return key.append(value.length()).append(':').append(value);
+  }
+
+  /**
+   * Parse a route attribute as duration. Numbers are expressed in seconds, strings are parsed
+   * as config durations (<code>5s</code>, <code>500ms</code>, etc.).
+   *
+   * @param value Attribute value.
+   * @return Duration in millis.
+   */
+  public static long millis(final Object value) {
+    return durations.computeIfAbsent(value, it -> {
+      if (it instanceof Number) {
+        return TimeUnit.SECONDS.toMillis(((Number) it).longValue());
+      }
+      return ConfigFactory.parseString("d = " + it).getDuration("d", TimeUnit.MILLISECONDS);
+    });
+  }
+
+}
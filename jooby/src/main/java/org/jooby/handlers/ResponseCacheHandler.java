@@ -0,0 +1,538 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.handlers;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.jooby.MediaType;
+import org.jooby.Request;
+import org.jooby.Response;
+import org.jooby.Route;
+import org.jooby.Status;
+import org.jooby.internal.RequestSnapshot;
+import org.jooby.internal.ResponseCapture;
+import org.jooby.internal.ResponseImpl;
+import org.jooby.spi.HttpHandler;
+import org.jooby.spi.NativeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <h1>response cache</h1>
+ * <p>
+ * Cache full rendered responses (status, headers and body) of <code>GET</code> and
+ * <code>HEAD</code> requests:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use("*", new ResponseCacheHandler());
+ *
+ *   get("/products", () -&gt; products())
+ *     .attr("cache", "60s");
+ * }
+ * </pre>
+ *
+ * <p>
+ * The filter does nothing unless the matching route has a <code>cache</code> attribute. The
+ * attribute value is the time to live of the response, expressed as a duration string
+ * (<code>60s</code>, <code>5m</code>, etc.) or as a number of seconds.
+ * </p>
+ *
+ * <p>
+ * Only <code>200</code> responses without a <code>Set-Cookie</code> header and without a
+ * <code>Cache-Control: private/no-store</code> header are saved. Responses to a request with an
+ * <code>Authorization</code> header are saved only when marked as
+ * <code>Cache-Control: public</code>. Cached responses are delivered
+ * with a weak <code>ETag</code> computed from the body and a <code>If-None-Match</code> request
+ * header produces a <code>304</code> when the tag matches.
+ * </p>
+ *
+ * <h2>vary</h2>
+ * <p>
+ * The cache key is built from the request method, path, parameters and <code>Accept</code>
+ * header. <code>HEAD</code> requests are served from the <code>GET</code> response. If the
+ * response depends on another request header, you must list it via {@link #vary(String...)}:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use("*", new ResponseCacheHandler().vary("Accept", "Accept-Language"));
+ * }
+ * </pre>
+ *
+ * <p>
+ * Listed headers (plus <code>Accept</code>) are also sent back in a <code>Vary</code> response
+ * header.
+ * </p>
+ *
+ * <h2>stale while revalidate</h2>
+ * <p>
+ * An expired response might be still delivered while a fresh copy is generated:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   get("/products", () -&gt; products())
+ *     .attr("cache", "60s")
+ *     .attr("staleWhileRevalidate", "10m");
+ * }
+ * </pre>
+ *
+ * <p>
+ * Within the window, the stale response is sent to the client and a copy of the request (method,
+ * path, parameters and headers, but no body) is executed again in a background thread (once per
+ * key) to refresh the cache. The copy has no credentials: <code>Authorization</code>,
+ * <code>Proxy-Authorization</code> and <code>Cookie</code> headers are removed. The background
+ * thread is stopped when the application stops.
+ * </p>
+ *
+ * <h2>storage</h2>
+ * <p>
+ * Responses are saved in a bounded in-memory {@link Store}. A distributed cache (Redis,
+ * Hazelcast, Ehcache, etc.) might be used by implementing the {@link Store} interface. Hazelcast
+ * maps are {@link ConcurrentMap}, so:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   use("*", new ResponseCacheHandler(Store.of(hcast.getMap("responses"))));
+ * }
+ * </pre>
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class ResponseCacheHandler implements Route.Filter {
+
+  /**
+   * A cached response.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public static class Entry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    private final LinkedHashMap<String, ArrayList<String>> headers;
+
+    private final byte[] body;
+
+    private final String etag;
+
+    private final long created;
+
+    private final long expiresAt;
+
+    /**
+     * Creates a new {@link Entry}.
+     *
+     * @param status Response status.
+     * @param headers Response headers.
+     * @param body Response body.
+     * @param etag Weak etag.
+     * @param created Creation time (millis).
+     * @param expiresAt Expiration time (millis).
+     */
+    public Entry(final int status, final Map<String, List<String>> headers, final byte[] body,
+        final String etag, final long created, final long expiresAt) {
+      this.status = status;
+      this.headers = new LinkedHashMap<>();
+      headers.forEach((name, values) -> this.headers.put(name, new ArrayList<>(values)));
+      this.body = requireNonNull(body, "Body is required.");
+      this.etag = requireNonNull(etag, "ETag is required.");
+      this.created = created;
+      this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return Response status.
+     */
+    public int status() {
+      return status;
+    }
+
+    /**
+     * @return Response headers.
+     */
+    public Map<String, ? extends List<String>> headers() {
+      return headers;
+    }
+
+    /**
+     * @return Response body.
+     */
+    public byte[] body() {
+      return body;
+    }
+
+    /**
+     * @return Weak etag.
+     */
+    public String etag() {
+      return etag;
+    }
+
+    /**
+     * @return Creation time (millis).
+     */
+    public long created() {
+      return created;
+    }
+
+    /**
+     * @return Expiration time (millis).
+     */
+    public long expiresAt() {
+      return expiresAt;
+    }
+  }
+
+  /**
+   * Storage for cached responses.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  public interface Store {
+
+    /**
+     * Get a cached response.
+     *
+     * @param key Cache key.
+     * @return Cached response or <code>null</code>.
+     */
+    Entry get(String key);
+
+    /**
+     * Save a response.
+     *
+     * @param key Cache key.
+     * @param entry Response to save.
+     * @param ttl How long (millis) the store must keep the response, which is the route time to
+     *        live plus the stale while revalidate window.
+     */
+    void set(String key, Entry entry, long ttl);
+
+    /**
+     * Remove a response.
+     *
+     * @param key Cache key.
+     */
+    void remove(String key);
+
+    /**
+     * Creates an in-memory store who keeps up to <code>maxSize</code> responses. Guava doesn't
+     * support expiration per entry, expired responses are removed on lookup or by the cache
+     * eviction policy.
+     *
+     * @param maxSize Max number of responses.
+     * @return A new store.
+     */
+    static Store memory(final long maxSize) {
+      Cache<String, Entry> cache = CacheBuilder.newBuilder()
+          .maximumSize(maxSize)
+          .build();
+      return of(cache.asMap());
+    }
+
+    /**
+     * Creates a store on top of a {@link ConcurrentMap}. Expired responses are removed on lookup,
+     * prefer a custom {@link Store} when the map supports expiration (like Hazelcast
+     * <code>IMap</code>).
+     *
+     * @param map Map to use.
+     * @return A new store.
+     */
+    static Store of(final ConcurrentMap<String, Entry> map) {
+      requireNonNull(map, "Map is required.");
+      return new Store() {
+        @Override
+        public Entry get(final String key) {
+          return map.get(key);
+        }
+
+        @Override
+        public void set(final String key, final Entry entry, final long ttl) {
+          map.put(key, entry);
+        }
+
+        @Override
+        public void remove(final String key) {
+          map.remove(key);
+        }
+      };
+    }
+  }
+
+  /** Headers we never save. */
+  private static final Set<String> SKIP = ImmutableSet.of("content-length", "transfer-encoding",
+      "etag", "date", "connection");
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  private final Store store;
+
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  /** True while a background refresh runs the request again. */
+  private final ThreadLocal<Boolean> refresh = new ThreadLocal<>();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("response-cache-refresh").build());
+
+  private List<String> vary = ImmutableList.of("Accept");
+
+  /**
+   * Creates a new {@link ResponseCacheHandler}.
+   *
+   * @param store Response storage.
+   */
+  public ResponseCacheHandler(final Store store) {
+    this.store = requireNonNull(store, "Store is required.");
+  }
+
+  /**
+   * Creates a new {@link ResponseCacheHandler} who keeps up to <code>1000</code> responses in
+   * memory.
+   */
+  public ResponseCacheHandler() {
+    this(Store.memory(1000));
+  }
+
+  /**
+   * Set the request headers who affect the response and must be part of the cache key.
+   *
+   * @param headers Header names.
+   * @return This filter.
+   */
+  public ResponseCacheHandler vary(final String... headers) {
+    ImmutableList.Builder<String> vary = ImmutableList.<String> builder().add("Accept");
+    for (String header : headers) {
+      if (!"Accept".equalsIgnoreCase(header)) {
+        vary.add(header);
+      }
+    }
+    this.vary = vary.build();
+    return this;
+  }
+
+  /**
+   * Stop the background refresh thread. Called by the application on shutdown.
+   */
+  @PreDestroy
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void handle(final Request req, final Response rsp, final Route.Chain chain)
+      throws Throwable {
+    Map<String, Object> attrs = req.route().attributes();
+    Object ttl = attrs.get("cache");
+    String method = req.method();
+    Response root = Response.Forwarding.unwrap(rsp);
+    boolean get = "GET".equals(method);
+    if (ttl == null || !(get || "HEAD".equals(method)) || !(root instanceof ResponseImpl)
+        || refresh.get() != null) {
+      // background refreshes save the response themselves
+      chain.next(req, rsp);
+      return;
+    }
+
+    // HEAD is served from the GET response
+    String key = RequestKeys.key("GET ", req, vary);
+    // RFC 7234 section 3.2: authorized responses are stored only when explicitly public
+    boolean authorized = req.header("Authorization").isSet();
+    long now = System.currentTimeMillis();
+    long expiresIn = RequestKeys.millis(ttl);
+    long swr = Optional.ofNullable(attrs.get("staleWhileRevalidate"))
+        .map(RequestKeys::millis)
+        .orElse(0L);
+    Entry entry = store.get(key);
+    if (entry != null) {
+      if (now < entry.expiresAt()) {
+        send(req, rsp, entry, now);
+        return;
+      }
+      if (now < entry.expiresAt() + swr) {
+        send(req, rsp, entry, now);
+        if (refreshing.add(key)) {
+          refresh(req, key, expiresIn, swr);
+        }
+        return;
+      }
+      // expired: stores without expiration per entry keep it until it is removed
+      store.remove(key);
+    }
+
+    if (get) {
+      ((ResponseImpl) root).wrap(target -> new ResponseCapture(capture -> {
+        Entry fresh = save(key, capture, expiresIn, swr, authorized);
+        write(req, target, capture, fresh);
+      }));
+    }
+    chain.next(req, rsp);
+  }
+
+  private void refresh(final Request req, final String key, final long ttl, final long swr) {
+    HttpHandler handler = req.require(HttpHandler.class);
+    // cached responses are shared: never replay the credentials of whoever hit the stale entry
+    RequestSnapshot snapshot = new RequestSnapshot(req, false);
+    try {
+      executor.execute(() -> {
+        refresh.set(Boolean.TRUE);
+        try {
+          handler.handle(snapshot, new ResponseCapture(capture -> {
+            refreshing.remove(key);
+            save(key, capture, ttl, swr, false);
+          }));
+        } catch (Throwable ex) {
+          refreshing.remove(key);
+          log.error("refresh of {} resulted in exception", key, ex);
+        } finally {
+          refresh.remove();
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      refreshing.remove(key);
+      log.debug("refresh of {} was rejected", key, ex);
+    }
+  }
+
+  private Entry save(final String key, final ResponseCapture capture, final long ttl,
+      final long swr, final boolean authorized) {
+    if (capture.statusCode() != 200 || capture.header("Set-Cookie").isPresent()) {
+      return null;
+    }
+    List<String> cacheControl = capture.headers("Cache-Control").stream()
+        .map(String::toLowerCase)
+        .collect(Collectors.toList());
+    boolean shared = cacheControl.stream()
+        .noneMatch(it -> it.contains("no-store") || it.contains("private"));
+    if (!shared) {
+      return null;
+    }
+    if (authorized && cacheControl.stream().noneMatch(it -> it.contains("public"))) {
+      return null;
+    }
+    Map<String, List<String>> headers = new LinkedHashMap<>();
+    capture.headers().forEach((name, values) -> {
+      if (!SKIP.contains(name.toLowerCase())) {
+        headers.put(name, values);
+      }
+    });
+    headers.put("Vary", ImmutableList.of(Joiner.on(", ").join(vary)));
+    byte[] body = capture.body();
+    long now = System.currentTimeMillis();
+    Entry entry = new Entry(200, headers, body, etag(body), now, now + ttl);
+    store.set(key, entry, Math.max(1L, ttl + swr));
+    return entry;
+  }
+
+  private void write(final Request req, final NativeResponse target,
+      final ResponseCapture capture, final Entry entry) throws Exception {
+    if (entry == null) {
+      capture.flush(target);
+      return;
+    }
+    entry.headers().forEach(target::header);
+    target.header("ETag", entry.etag());
+    if (notModified(req, entry.etag())) {
+      target.statusCode(Status.NOT_MODIFIED.value());
+      target.end();
+      return;
+    }
+    byte[] body = entry.body();
+    target.statusCode(entry.status());
+    target.header("Content-Length", Integer.toString(body.length));
+    target.send(body);
+    target.end();
+  }
+
+  private void send(final Request req, final Response rsp, final Entry entry, final long now)
+      throws Throwable {
+    entry.headers().forEach((name, values) -> {
+      if (!"Content-Type".equalsIgnoreCase(name)) {
+        rsp.header(name, new ArrayList<Object>(values));
+      }
+    });
+    rsp.header("ETag", entry.etag());
+    rsp.header("Age", Math.max(0, (now - entry.created()) / 1000));
+    if (notModified(req, entry.etag())) {
+      rsp.status(Status.NOT_MODIFIED).end();
+      return;
+    }
+    entry.headers().entrySet().stream()
+        .filter(it -> "Content-Type".equalsIgnoreCase(it.getKey()))
+        .findFirst()
+        .ifPresent(it -> rsp.type(MediaType.valueOf(it.getValue().get(0))));
+    rsp.status(entry.status());
+    rsp.length(entry.body().length);
+    rsp.send(entry.body());
+  }
+
+  private static boolean notModified(final Request req, final String etag) {
+    String tag = strip(etag);
+    return req.header("If-None-Match").toOptional()
+        .map(value -> Splitter.on(',').trimResults().splitToList(value).stream()
+            .anyMatch(it -> it.equals("*") || strip(it).equals(tag)))
+        .orElse(false);
+  }
+
+  private static String strip(final String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+  private static String etag(final byte[] body) {
+    return "W/\"" + BaseEncoding.base64Url().omitPadding()
+        .encode(Hashing.murmur3_128().hashBytes(body).asBytes()) + "\"";
+  }
+
+}
@@ -21,7 +21,9 @@ package org.jooby.internal;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
@@ -42,6 +44,9 @@ import com.google.common.base.Joiner;
 
 public abstract class AbstractRendererContext implements Renderer.Context {
 
+  /** Default buffer size, see <code>server.http.ResponseBufferSize</code>. */
+  private static final int BUFFER_SIZE = 16 * 1024;
+
   private List<Renderer> renderers;
 
   private Matcher matcher;
@@ -56,18 +61,28 @@ public abstract class AbstractRendererContext implements Renderer.Context {
 
   private int rsize;
 
+  private int bufferSize;
+
   public AbstractRendererContext(final List<Renderer> renderers,
       final List<MediaType> produces,
       final Charset charset, final Map<String, Object> locals) {
+    this(renderers, produces, charset, locals, BUFFER_SIZE);
+  }
+
+  public AbstractRendererContext(final List<Renderer> renderers,
+      final List<MediaType> produces,
+      final Charset charset, final Map<String, Object> locals, final int bufferSize) {
     this.renderers = renderers;
     this.produces = produces;
     this.matcher = MediaType.matcher(produces);
     this.charset = charset;
     this.locals = locals;
     rsize = this.renderers.size();
+    this.bufferSize = bufferSize;
   }
 
   public void render(final Object value) throws Exception {
+    committed = false;
     int i = 0;
     List<String> notFound = new ArrayList<>();
     while (!committed && i < rsize) {
@@ -132,6 +147,17 @@ public abstract class AbstractRendererContext implements Renderer.Context {
     send(new ReaderInputStream(reader, charset));
   }
 
+  @Override
+  public void send(final TextWriter text) throws Exception {
+    type(MediaType.html);
+    ChunkedBuffer buffer = new ChunkedBuffer(bufferSize);
+    try (Writer writer = new OutputStreamWriter(buffer, charset)) {
+      text.write(writer);
+    }
+    _send(buffer);
+    committed = true;
+  }
+
   @Override
   public void send(final String text) throws Exception {
     type(MediaType.html);
@@ -181,6 +207,22 @@ public abstract class AbstractRendererContext implements Renderer.Context {
     return renderers.stream().map(Renderer::name).collect(Collectors.joining(", "));
   }
 
+  /**
+   * Send the output of a {@link Renderer.Context.TextWriter} with a length. Output that fits in a
+   * single chunk is sent as a buffer, otherwise it is streamed.
+   *
+   * @param buffer Text output.
+   * @throws Exception If send fails.
+   */
+  protected void _send(final ChunkedBuffer buffer) throws Exception {
+    length(buffer.size());
+    if (buffer.fits()) {
+      _send(buffer.buffer());
+    } else {
+      _send(buffer.stream());
+    }
+  }
+
   protected abstract void _send(final byte[] bytes) throws Exception;
 
   protected abstract void _send(final ByteBuffer buffer) throws Exception;
@@ -39,9 +39,18 @@ public class AppPrinter {
 
   private String[] urls;
 
+  private StartupProfiler profiler;
+
   public AppPrinter(final Set<Route.Definition> routes,
       final Set<WebSocket.Definition> sockets,
       final Config conf) {
+    this(routes, sockets, conf, null);
+  }
+
+  public AppPrinter(final Set<Route.Definition> routes,
+      final Set<WebSocket.Definition> sockets,
+      final Config conf, final StartupProfiler profiler) {
+    this.profiler = profiler;
     this.routes = routes;
     this.sockets = sockets;
     String host = conf.getString("application.host");
@@ -60,6 +69,10 @@ public class AppPrinter {
 
     routes(buffer);
 
+    if (profiler != null) {
+      buffer.append("\nstartup:\n").append(profiler);
+    }
+
     buffer.append("\nlistening on:");
     for (String url : urls) {
       if (url != null) {
@@ -18,6 +18,7 @@
  */
 package org.jooby.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,6 +40,8 @@ public class BodyReferenceImpl implements Parser.BodyReference {
 
   private File file;
 
+  private byte[] bytes;
+
   public BodyReferenceImpl(final long length, final Charset charset, final File file,
       final InputStream in) throws IOException {
     this.length = length;
@@ -48,6 +51,12 @@ public class BodyReferenceImpl implements Parser.BodyReference {
     }
   }
 
+  public BodyReferenceImpl(final Charset charset, final byte[] bytes) {
+    this.length = bytes.length;
+    this.charset = charset;
+    this.bytes = bytes;
+  }
+
   public BodyReferenceImpl() {
   }
 
@@ -59,6 +68,9 @@ public class BodyReferenceImpl implements Parser.BodyReference {
   @Override
   public byte[] bytes() throws IOException {
     checkContent();
+    if (bytes != null) {
+      return bytes;
+    }
     return Files.readAllBytes(file.toPath());
   }
 
@@ -68,8 +80,21 @@ public class BodyReferenceImpl implements Parser.BodyReference {
     return new String(bytes(), charset);
   }
 
+  @Override
+  public InputStream stream() throws IOException {
+    checkContent();
+    if (bytes != null) {
+      return new ByteArrayInputStream(bytes);
+    }
+    return Files.newInputStream(file.toPath());
+  }
+
   @Override
   public void writeTo(final OutputStream output) throws IOException {
+    if (bytes != null) {
+      output.write(bytes);
+      return;
+    }
     Files.copy(file.toPath(), output);
   }
 
@@ -85,7 +110,7 @@ public class BodyReferenceImpl implements Parser.BodyReference {
   }
 
   private void checkContent() {
-    if (file == null) {
+    if (file == null && bytes == null) {
       throw new Err(Status.BAD_REQUEST);
     }
   }
@@ -70,6 +70,11 @@ public enum BuiltinParser implements Parser {
             .put(String.class, this::toString)
             .build();
 
+    @Override
+    public Function<String, Object> converter(final Class<?> type) {
+      return parsers.get(type);
+    }
+
     @Override
     public Object parse(final TypeLiteral<?> type, final Parser.Context ctx) throws Throwable {
       Function<String, Object> parser = parsers.get(type.getRawType());
@@ -229,6 +234,18 @@ public enum BuiltinParser implements Parser {
     public String toString() {
       return "byte[]";
     }
+  };
+
+  /**
+   * String converter for simple types (primitives, wrappers, String, etc.). Only available for
+   * {@link #Basic}, it let {@link org.jooby.internal.parser.ParserExecutor} skip the parser chain
+   * for the most common conversions.
+   *
+   * @param type Target type.
+   * @return A converter or <code>null</code>.
+   */
+  public Function<String, Object> converter(final Class<?> type) {
+    return null;
   }
 
 }
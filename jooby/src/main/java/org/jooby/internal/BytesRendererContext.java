@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Render values with the registered renderers and collect the output into a byte array. Useful
+ * for rendering pieces of a larger response, like each row of a streaming result. A context can
+ * be reused to render multiple values, each {@link #render(Object)} call appends to the output
+ * buffer.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class BytesRendererContext extends AbstractRendererContext {
+
+  /** Text buffer size, single values are usually small. */
+  private static final int BUFFER_SIZE = 1024;
+
+  private final ByteArrayOutputStream out;
+
+  /**
+   * Creates a new {@link BytesRendererContext}.
+   *
+   * @param renderers Renderers.
+   * @param type Expected type, like <code>application/json</code>.
+   * @param charset Charset.
+   * @param out Output buffer.
+   */
+  public BytesRendererContext(final List<Renderer> renderers, final MediaType type,
+      final Charset charset, final ByteArrayOutputStream out) {
+    super(renderers, ImmutableList.of(type), charset, Collections.emptyMap(), BUFFER_SIZE);
+    this.out = out;
+  }
+
+  @Override
+  protected void _send(final ChunkedBuffer buffer) throws Exception {
+    _send(buffer.stream());
+  }
+
+  @Override
+  protected void _send(final byte[] bytes) throws Exception {
+    out.write(bytes);
+  }
+
+  @Override
+  protected void _send(final ByteBuffer buffer) throws Exception {
+    if (buffer.hasArray()) {
+      out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    } else {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      out.write(bytes);
+    }
+  }
+
+  @Override
+  protected void _send(final FileChannel file) throws Exception {
+    try (FileChannel channel = file) {
+      _send(Channels.newInputStream(channel));
+    }
+  }
+
+  @Override
+  protected void _send(final InputStream stream) throws Exception {
+    try (InputStream in = stream) {
+      ByteStreams.copy(in, out);
+    }
+  }
+
+}
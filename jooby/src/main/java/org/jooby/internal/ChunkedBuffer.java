@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Output stream backed by a list of fixed size chunks. Chunks are handed to the server as they
+ * are (no copies), so a response bigger than a chunk is never copied into a bigger array. Chunks
+ * aren't pooled, because servers (like netty) might write them after send returns.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class ChunkedBuffer extends OutputStream {
+
+  private final int chunkSize;
+
+  private final List<byte[]> chunks = new ArrayList<>();
+
+  private byte[] chunk;
+
+  private int pos;
+
+  public ChunkedBuffer(final int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void write(final int b) {
+    if (chunk == null || pos == chunk.length) {
+      next();
+    }
+    chunk[pos++] = (byte) b;
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int off, final int len) {
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      if (chunk == null || pos == chunk.length) {
+        next();
+      }
+      int count = Math.min(remaining, chunk.length - pos);
+      System.arraycopy(bytes, offset, chunk, pos, count);
+      pos += count;
+      offset += count;
+      remaining -= count;
+    }
+  }
+
+  /**
+   * @return Number of written bytes.
+   */
+  public long size() {
+    return chunks.size() == 0 ? 0 : (long) (chunks.size() - 1) * chunkSize + pos;
+  }
+
+  /**
+   * @return True, if the written bytes fit in a single chunk.
+   */
+  public boolean fits() {
+    return chunks.size() <= 1;
+  }
+
+  /**
+   * @return Written bytes as a byte buffer, works only if {@link #fits()}.
+   */
+  public ByteBuffer buffer() {
+    if (chunk == null) {
+      return ByteBuffer.allocate(0);
+    }
+    return ByteBuffer.wrap(chunk, 0, pos);
+  }
+
+  /**
+   * @return A copy of the written bytes.
+   */
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[(int) size()];
+    int offset = 0;
+    int last = chunks.size() - 1;
+    for (int i = 0; i < last; i++) {
+      System.arraycopy(chunks.get(i), 0, bytes, offset, chunkSize);
+      offset += chunkSize;
+    }
+    if (chunk != null) {
+      System.arraycopy(chunk, 0, bytes, offset, pos);
+    }
+    return bytes;
+  }
+
+  /**
+   * @return Written bytes as an input stream.
+   */
+  public InputStream stream() {
+    List<InputStream> streams = new ArrayList<>(chunks.size());
+    int last = chunks.size() - 1;
+    for (int i = 0; i < last; i++) {
+      streams.add(new ByteArrayInputStream(chunks.get(i)));
+    }
+    if (chunk != null) {
+      streams.add(new ByteArrayInputStream(chunk, 0, pos));
+    }
+    return new SequenceInputStream(Collections.enumeration(streams));
+  }
+
+  private void next() {
+    chunk = new byte[chunkSize];
+    chunks.add(chunk);
+    pos = 0;
+  }
+
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.jooby.Cookie;
+import org.jooby.Session;
+import org.jooby.internal.parser.ParserExecutor;
+
+import com.google.common.io.BaseEncoding;
+
+import javaslang.control.Try;
+
+/**
+ * Encode/decode session attributes into/from a signed and optionally encrypted cookie value.
+ *
+ * A signed value looks like: <code>s1.[id]:[createdAt]:[accessedAt]:[k=v&amp;...]|[signature]</code>,
+ * while an encrypted value looks like: <code>e1.[base64(iv + AES/GCM(payload))]|[signature]</code>.
+ *
+ * @author edgar
+ */
+class CookieSessionCodec {
+
+  /** Signed payload prefix. */
+  static final String SIGNED = "s1.";
+
+  /** Encrypted payload prefix. */
+  static final String ENCRYPTED = "e1.";
+
+  private static final String AES_GCM = "AES/GCM/NoPadding";
+
+  private static final int IV_LEN = 12;
+
+  private static final int TAG_LEN = 128;
+
+  /** A cipher per thread, they aren't thread-safe and expensive to create. */
+  private static final ThreadLocal<Cipher> CIPHER = ThreadLocal
+      .withInitial(() -> Try.of(() -> Cipher.getInstance(AES_GCM)).get());
+
+  private final List<String> secrets;
+
+  private final boolean encrypt;
+
+  private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+
+  /**
+   * Creates a new codec.
+   *
+   * @param secrets Secret keys, first key is the current key, the others are previous keys.
+   * @param encrypt True, to encrypt the session attributes.
+   */
+  public CookieSessionCodec(final List<String> secrets, final boolean encrypt) {
+    this.secrets = secrets;
+    this.encrypt = encrypt;
+    secrets.forEach(secret -> keys.put(secret, aesKey(secret)));
+  }
+
+  /**
+   * @param value A cookie value.
+   * @return True, if the value was generated by this codec.
+   */
+  public boolean accept(final String value) {
+    return value.startsWith(SIGNED) || value.startsWith(ENCRYPTED);
+  }
+
+  /**
+   * Encode a session as cookie value.
+   *
+   * @param session Session to encode.
+   * @return A signed (and optionally encrypted) value.
+   */
+  public String encode(final Session session) {
+    String payload = payload(session);
+    String secret = secrets.get(0);
+    if (encrypt) {
+      return Cookie.Signature.sign(ENCRYPTED + encrypt(payload, keys.get(secret)), secret);
+    }
+    return Cookie.Signature.sign(SIGNED + payload, secret);
+  }
+
+  /**
+   * Decode a cookie value previously encoded by {@link #encode(Session)}.
+   *
+   * @param value A cookie value.
+   * @param resolver Parser executor.
+   * @param timeout Session timeout in millis, a value <code>&lt;=0</code> means no timeout.
+   * @return A session or <code>null</code> for invalid, tampered or expired values.
+   */
+  public SessionImpl decode(final String value, final ParserExecutor resolver,
+      final long timeout) {
+    for (String secret : secrets) {
+      String str = Cookie.Signature.unsign(value, secret);
+      if (str != null) {
+        String payload = str.startsWith(ENCRYPTED)
+            ? decrypt(str.substring(ENCRYPTED.length()), keys.get(secret))
+            : str.substring(SIGNED.length());
+        return payload == null ? null : session(payload, resolver, timeout);
+      }
+    }
+    return null;
+  }
+
+  private SessionImpl session(final String payload, final ParserExecutor resolver,
+      final long timeout) {
+    String[] parts = payload.split(":", 4);
+    if (parts.length < 4) {
+      return null;
+    }
+    long accessedAt = Long.parseLong(parts[2], Character.MAX_RADIX);
+    if (timeout > 0 && accessedAt + timeout < System.currentTimeMillis()) {
+      // expired
+      return null;
+    }
+    Session.Builder builder = new SessionImpl.Builder(resolver, false, parts[0], timeout)
+        .createdAt(Long.parseLong(parts[1], Character.MAX_RADIX))
+        .accessedAt(accessedAt);
+    String attributes = parts[3];
+    int start = 0;
+    while (start < attributes.length()) {
+      int end = attributes.indexOf('&', start);
+      if (end < 0) {
+        end = attributes.length();
+      }
+      int eq = attributes.indexOf('=', start);
+      if (eq > start && eq < end) {
+        builder.set(decode(attributes.substring(start, eq)),
+            decode(attributes.substring(eq + 1, end)));
+      }
+      start = end + 1;
+    }
+    return (SessionImpl) builder.build();
+  }
+
+  private static String payload(final Session session) {
+    StringBuilder payload = new StringBuilder()
+        .append(session.id()).append(':')
+        .append(Long.toString(session.createdAt(), Character.MAX_RADIX)).append(':')
+        .append(Long.toString(session.accessedAt(), Character.MAX_RADIX)).append(':');
+    String sep = "";
+    for (Map.Entry<String, String> attr : session.attributes().entrySet()) {
+      payload.append(sep)
+          .append(encode(attr.getKey()))
+          .append('=')
+          .append(encode(attr.getValue()));
+      sep = "&";
+    }
+    return payload.toString();
+  }
+
+  private static String encrypt(final String payload, final SecretKeySpec key) {
+    try {
+      byte[] iv = new byte[IV_LEN];
+      Session.Store.rnd.nextBytes(iv);
+      Cipher cipher = CIPHER.get();
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LEN, iv));
+      byte[] bytes = cipher.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+      return BaseEncoding.base64Url().omitPadding().encode(ByteBuffer
+          .allocate(iv.length + bytes.length)
+          .put(iv)
+          .put(bytes)
+          .array());
+    } catch (Exception ex) {
+      throw new IllegalStateException("Can't encrypt session", ex);
+    }
+  }
+
+  private static String decrypt(final String value, final SecretKeySpec key) {
+    try {
+      byte[] bytes = BaseEncoding.base64Url().omitPadding().decode(value);
+      Cipher cipher = CIPHER.get();
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LEN, bytes, 0, IV_LEN));
+      return new String(cipher.doFinal(bytes, IV_LEN, bytes.length - IV_LEN),
+          StandardCharsets.UTF_8);
+    } catch (Exception ex) {
+      // bad input or bad key
+      return null;
+    }
+  }
+
+  private static SecretKeySpec aesKey(final String secret) {
+    byte[] hash = Try.of(() -> MessageDigest.getInstance("SHA-256"))
+        .get()
+        .digest(("session:" + secret).getBytes(StandardCharsets.UTF_8));
+    return new SecretKeySpec(Arrays.copyOf(hash, 16), "AES");
+  }
+
+  private static String encode(final String value) {
+    return Try.of(() -> URLEncoder.encode(value, StandardCharsets.UTF_8.name())).get();
+  }
+
+  private static String decode(final String value) {
+    return Try.of(() -> URLDecoder.decode(value, StandardCharsets.UTF_8.name())).get();
+  }
+
+}
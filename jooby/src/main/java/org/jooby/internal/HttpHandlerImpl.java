@@ -173,6 +173,10 @@ public class HttpHandlerImpl implements HttpHandler {
 
   private final Map<String, Renderer> rendererMap;
 
+  private final int bufferSize;
+
+  private final long maxRequestSize;
+
   private StatusCodeProvider sc;
 
   @Inject
@@ -197,6 +201,8 @@ public class HttpHandlerImpl implements HttpHandler {
     this.config = injector.getInstance(Config.class);
     _method = Strings.emptyToNull(this.config.getString("server.http.Method").trim());
     this.port = config.getInt("application.port");
+    this.bufferSize = config.getBytes("server.http.ResponseBufferSize").intValue();
+    this.maxRequestSize = config.getBytes("server.http.MaxRequestSize");
     this.charset = charset;
     this.locale = locale;
     this.parserExecutor = parserExecutor;
@@ -240,10 +246,10 @@ public class HttpHandlerImpl implements HttpHandler {
     Route notFound = RouteImpl.notFound(verb, path, MediaType.ALL);
 
     RequestImpl req = new RequestImpl(injector, request, contextPath, port, notFound, charset,
-        locale, scope, locals);
+        locale, scope, locals, maxRequestSize);
 
     ResponseImpl rsp = new ResponseImpl(parserExecutor, response, notFound, renderers,
-        rendererMap, locals, req.charset(), request.header(REFERER));
+        rendererMap, locals, req.charset(), request.header(REFERER), bufferSize);
 
     MediaType type = req.type();
 
@@ -43,8 +43,9 @@ public class HttpRendererContext extends AbstractRendererContext {
 
   public HttpRendererContext(final List<Renderer> renderers,
       final NativeResponse rsp, final Consumer<Long> len, final Consumer<MediaType> type,
-      final Map<String, Object> locals, final List<MediaType> produces, final Charset charset) {
-    super(renderers, produces, charset, locals);
+      final Map<String, Object> locals, final List<MediaType> produces, final Charset charset,
+      final int bufferSize) {
+    super(renderers, produces, charset, locals, bufferSize);
     this.rsp = rsp;
     this.length = len;
     this.type = type;
@@ -24,7 +24,6 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -33,6 +32,7 @@ import java.util.Locale.LanguageRange;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -53,7 +53,7 @@ import org.jooby.spi.NativeRequest;
 import org.jooby.spi.NativeUpload;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 
@@ -61,7 +61,22 @@ import javaslang.control.Try;
 
 public class RequestImpl implements Request {
 
-  private final Map<String, Mutant> params = new HashMap<>();
+  /**
+   * Param, header and cookie slots are concurrent maps: a request might be used from a
+   * {@link org.jooby.Deferred} executor thread.
+   */
+  private final Map<String, Mutant> params = new ConcurrentHashMap<>();
+
+  /** Header slots, by lower-case name. Created on first access. */
+  private final Map<String, Mutant> headers = new ConcurrentHashMap<>();
+
+  /** Cookie slots, by lower-case name. Created on first access. */
+  private final Map<String, Mutant> cookieParams = new ConcurrentHashMap<>();
+
+  /** Parsed cookies, created on first access. */
+  private volatile List<Cookie> cookies;
+
+  private ParserExecutor parser;
 
   private final List<MediaType> accept;
 
@@ -91,9 +106,12 @@ public class RequestImpl implements Request {
 
   private List<Locale> locales;
 
+  private long maxRequestSize;
+
   public RequestImpl(final Injector injector, final NativeRequest req, final String contextPath,
       final int port, final Route route, final Charset charset, final List<Locale> locale,
-      final Map<Object, Object> scope, final Map<String, Object> locals) {
+      final Map<Object, Object> scope, final Map<String, Object> locals,
+      final long maxRequestSize) {
     this.injector = injector;
     this.req = req;
     this.route = route;
@@ -110,6 +128,8 @@ public class RequestImpl implements Request {
 
     this.port = port;
 
+    this.maxRequestSize = maxRequestSize;
+
     Optional<String> type = req.header("Content-Type");
     this.type = type.isPresent() ? MediaType.valueOf(type.get()) : MediaType.all;
 
@@ -167,7 +187,6 @@ public class RequestImpl implements Request {
 
   @Override
   public Mutant params() {
-    ImmutableMap.Builder<String, Mutant> params = ImmutableMap.<String, Mutant> builder();
     Set<String> names = new LinkedHashSet<>();
     for (Object name : route.vars().keySet()) {
       if (name instanceof String) {
@@ -175,10 +194,8 @@ public class RequestImpl implements Request {
       }
     }
     names.addAll(paramNames());
-    for (String name : names) {
-      params.put(name, param(name));
-    }
-    return new MutantImpl(require(ParserExecutor.class), params.build());
+    // lazy view: params are created on first access
+    return new MutantImpl(parser(), Maps.asMap(Collections.unmodifiableSet(names), this::param));
   }
 
   @Override
@@ -191,8 +208,7 @@ public class RequestImpl implements Request {
         List<Upload> uploads = files.stream()
             .map(upload -> new UploadImpl(injector, upload))
             .collect(Collectors.toList());
-        param = new MutantImpl(require(ParserExecutor.class), type(),
-            new UploadParamReferenceImpl(name, uploads));
+        param = new MutantImpl(parser(), type(), new UploadParamReferenceImpl(name, uploads));
 
         this.params.put(name, param);
       } else {
@@ -204,7 +220,7 @@ public class RequestImpl implements Request {
         values.addAll(params(name));
         StrParamReferenceImpl paramref = new StrParamReferenceImpl("parameter", name,
             values.build());
-        param = new MutantImpl(require(ParserExecutor.class), paramref);
+        param = new MutantImpl(parser(), paramref);
 
         if (paramref.size() > 0) {
           this.params.put(name, param);
@@ -217,8 +233,14 @@ public class RequestImpl implements Request {
   @Override
   public Mutant header(final String name) {
     requireNonNull(name, "Header's name is missing.");
-    return new MutantImpl(require(ParserExecutor.class),
-        new StrParamReferenceImpl("header", name, req.headers(name)));
+    String key = name.toLowerCase();
+    Mutant header = headers.get(key);
+    if (header == null) {
+      header = new MutantImpl(parser(),
+          new StrParamReferenceImpl("header", name, req.headers(name)));
+      headers.put(key, header);
+    }
+    return header;
   }
 
   @Override
@@ -230,18 +252,28 @@ public class RequestImpl implements Request {
 
   @Override
   public Mutant cookie(final String name) {
-    List<String> values = req.cookies().stream().filter(c -> c.name().equalsIgnoreCase(name))
-        .findFirst()
-        .map(cookie -> ImmutableList.of(cookie.value().get()))
-        .orElse(ImmutableList.of());
-
-    return new MutantImpl(require(ParserExecutor.class),
-        new StrParamReferenceImpl("cookie", name, values));
+    String key = name.toLowerCase();
+    Mutant cookie = cookieParams.get(key);
+    if (cookie == null) {
+      List<String> values = ImmutableList.of();
+      for (Cookie it : cookies()) {
+        if (it.name().equalsIgnoreCase(name)) {
+          values = ImmutableList.of(it.value().get());
+          break;
+        }
+      }
+      cookie = new MutantImpl(parser(), new StrParamReferenceImpl("cookie", name, values));
+      cookieParams.put(key, cookie);
+    }
+    return cookie;
   }
 
   @Override
   public List<Cookie> cookies() {
-    return req.cookies();
+    if (cookies == null) {
+      cookies = req.cookies();
+    }
+    return cookies;
   }
 
   @Override
@@ -256,9 +288,31 @@ public class RequestImpl implements Request {
           Integer.toHexString(System.identityHashCode(this)));
       files.add(fbody);
       Parser.BodyReference body = new BodyReferenceImpl(length, charset(), fbody, req.in());
-      return new MutantImpl(require(ParserExecutor.class), type(), body);
+      return new MutantImpl(parser(), type(), body);
+    }
+    return new MutantImpl(parser(), type(), new BodyReferenceImpl());
+  }
+
+  @Override
+  public void body(final BodyCallback callback) {
+    requireNonNull(callback, "Callback is required.");
+    long length = length();
+    if (length < 0 || length > maxRequestSize
+        || MediaType.form.matches(type()) || MediaType.multipart.matches(type())) {
+      // unknown, big or form body: don't keep it in memory, read it from the calling thread
+      Request.super.body(callback);
+      return;
     }
-    return new MutantImpl(require(ParserExecutor.class), type(), new BodyReferenceImpl());
+    req.in((bytes, cause) -> {
+      if (cause == null) {
+        Parser.BodyReference body = bytes.length > 0
+            ? new BodyReferenceImpl(charset(), bytes)
+            : new BodyReferenceImpl();
+        callback.handle(new MutantImpl(parser(), type(), body), null);
+      } else {
+        callback.handle(null, cause);
+      }
+    });
   }
 
   @Override
@@ -376,6 +430,13 @@ public class RequestImpl implements Request {
     return route().toString();
   }
 
+  private ParserExecutor parser() {
+    if (parser == null) {
+      parser = require(ParserExecutor.class);
+    }
+    return parser;
+  }
+
   private List<String> paramNames() {
     try {
       return req.paramNames();
@@ -99,6 +99,7 @@ public class RequestScopedSession implements Session {
   @Override
   public Session set(final String name, final String value) {
     session.set(name, value);
+    sm.updated(session, rsp);
     return this;
   }
 
@@ -109,12 +110,15 @@ public class RequestScopedSession implements Session {
 
   @Override
   public Mutant unset(final String name) {
-    return session.unset(name);
+    Mutant value = session.unset(name);
+    sm.updated(session, rsp);
+    return value;
   }
 
   @Override
   public Session unset() {
     session.unset();
+    sm.updated(session, rsp);
     return this;
   }
 
@@ -129,7 +133,12 @@ public class RequestScopedSession implements Session {
       // clear cookie
       org.jooby.Cookie.Definition cookie = sm.cookie();
       log.debug("  removing cookie: {}", cookie);
-      rsp.clearCookie(cookie.name().get());
+      if (sm.stateless()) {
+        // session data lives in the cookie, make sure the browser expires it
+        rsp.cookie(new org.jooby.Cookie.Definition(cookie).value("").maxAge(0));
+      } else {
+        rsp.clearCookie(cookie.name().get());
+      }
       // destroy session from storage
       sm.destroy(session);
 
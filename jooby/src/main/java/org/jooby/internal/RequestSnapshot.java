@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jooby.Cookie;
+import org.jooby.Request;
+import org.jooby.spi.NativeRequest;
+import org.jooby.spi.NativeUpload;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A body-less copy of a request, useful for executing the same request again once the original
+ * request has been completed (like a background refresh of a cached response).
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class RequestSnapshot implements NativeRequest {
+
+  private final String method;
+
+  private final String path;
+
+  private final Map<String, List<String>> params = new TreeMap<>();
+
+  private final Map<String, List<String>> headers = new TreeMap<>(
+      String.CASE_INSENSITIVE_ORDER);
+
+  private final List<Cookie> cookies;
+
+  private final String ip;
+
+  private final String protocol;
+
+  private final boolean secure;
+
+  /** Headers who carry credentials. */
+  private static final Set<String> CREDENTIALS = ImmutableSet.of("authorization",
+      "proxy-authorization", "cookie");
+
+  /**
+   * Creates a new {@link RequestSnapshot}.
+   *
+   * @param req Request to copy.
+   */
+  public RequestSnapshot(final Request req) {
+    this(req, true);
+  }
+
+  /**
+   * Creates a new {@link RequestSnapshot}.
+   *
+   * @param req Request to copy.
+   * @param credentials False, to remove the <code>Authorization</code>,
+   *        <code>Proxy-Authorization</code> and <code>Cookie</code> headers (and so cookies).
+   */
+  public RequestSnapshot(final Request req, final boolean credentials) {
+    this.method = req.method();
+    this.path = req.contextPath() + req.path();
+    req.params().toMap().forEach((name, value) -> {
+      // skip path variables, they are part of the path
+      if (!req.route().vars().containsKey(name)) {
+        params.put(name, ImmutableList.copyOf(value.toList()));
+      }
+    });
+    req.headers().forEach((name, value) -> {
+      if (credentials || !CREDENTIALS.contains(name.toLowerCase())) {
+        headers.put(name, ImmutableList.copyOf(value.toList()));
+      }
+    });
+    this.cookies = credentials ? ImmutableList.copyOf(req.cookies()) : ImmutableList.of();
+    this.ip = req.ip();
+    this.protocol = req.protocol();
+    this.secure = req.secure();
+  }
+
+  @Override
+  public String method() {
+    return method;
+  }
+
+  @Override
+  public String path() {
+    return path;
+  }
+
+  @Override
+  public List<String> paramNames() {
+    return ImmutableList.copyOf(params.keySet());
+  }
+
+  @Override
+  public List<String> params(final String name) {
+    return params.getOrDefault(name, Collections.emptyList());
+  }
+
+  @Override
+  public List<String> headers(final String name) {
+    return headers.getOrDefault(name, Collections.emptyList());
+  }
+
+  @Override
+  public Optional<String> header(final String name) {
+    return headers(name).stream().findFirst();
+  }
+
+  @Override
+  public List<String> headerNames() {
+    return ImmutableList.copyOf(headers.keySet());
+  }
+
+  @Override
+  public List<Cookie> cookies() {
+    return cookies;
+  }
+
+  @Override
+  public List<NativeUpload> files(final String name) throws IOException {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public InputStream in() throws IOException {
+    return new ByteArrayInputStream(new byte[0]);
+  }
+
+  @Override
+  public String ip() {
+    return ip;
+  }
+
+  @Override
+  public String protocol() {
+    return protocol;
+  }
+
+  @Override
+  public boolean secure() {
+    return secure;
+  }
+
+  @Override
+  public <T> T upgrade(final Class<T> type) throws Exception {
+    throw new UnsupportedOperationException("Not supported: " + type.getName());
+  }
+
+  @Override
+  public void startAsync() {
+    // nothing to do, the response is captured in memory
+  }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.jooby.spi.NativeResponse;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * A {@link NativeResponse} who buffers status, headers and body in memory. Once the response
+ * ends, the {@link Callback} is notified and must decide what to do with the captured response.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class ResponseCapture implements NativeResponse {
+
+  /**
+   * Notified once, when the captured response ends.
+   */
+  public interface Callback {
+
+    /**
+     * Called when the captured response ends.
+     *
+     * @param rsp Captured response.
+     * @throws Exception If something goes wrong.
+     */
+    void done(ResponseCapture rsp) throws Exception;
+  }
+
+  private final Callback callback;
+
+  private Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+  private ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+  private int status = 200;
+
+  private boolean sent;
+
+  private boolean ended;
+
+  /**
+   * Creates a new {@link ResponseCapture}.
+   *
+   * @param callback Callback to notify when the response ends.
+   */
+  public ResponseCapture(final Callback callback) {
+    this.callback = requireNonNull(callback, "Callback is required.");
+  }
+
+  @Override
+  public Optional<String> header(final String name) {
+    List<String> values = headers(name);
+    return values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+  }
+
+  @Override
+  public List<String> headers(final String name) {
+    List<String> values = headers.get(name);
+    return values == null ? Collections.emptyList() : values;
+  }
+
+  @Override
+  public void header(final String name, final Iterable<String> values) {
+    headers.put(name, ImmutableList.copyOf(values));
+  }
+
+  @Override
+  public void header(final String name, final String value) {
+    headers.put(name, ImmutableList.of(value));
+  }
+
+  @Override
+  public void send(final byte[] bytes) throws Exception {
+    body.write(bytes);
+    sent = true;
+  }
+
+  @Override
+  public void send(final ByteBuffer buffer) throws Exception {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    send(bytes);
+  }
+
+  @Override
+  public void send(final InputStream stream) throws Exception {
+    try (InputStream in = stream) {
+      ByteStreams.copy(in, body);
+    }
+    sent = true;
+  }
+
+  @Override
+  public void send(final FileChannel channel) throws Exception {
+    try (FileChannel in = channel) {
+      ByteStreams.copy(in, Channels.newChannel(body));
+    }
+    sent = true;
+  }
+
+  @Override
+  public int statusCode() {
+    return status;
+  }
+
+  @Override
+  public void statusCode(final int code) {
+    this.status = code;
+  }
+
+  @Override
+  public boolean committed() {
+    return sent || ended;
+  }
+
+  @Override
+  public void end() {
+    if (!ended) {
+      ended = true;
+      try {
+        callback.done(this);
+      } catch (RuntimeException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        throw new IllegalStateException("Captured response resulted in exception", ex);
+      }
+    }
+  }
+
+  @Override
+  public void reset() {
+    status = 200;
+    headers.clear();
+    body.reset();
+    sent = false;
+  }
+
+  /**
+   * Write the captured status, headers and body to the given response and end it.
+   *
+   * @param target Response to write to.
+   * @throws Exception If write fails.
+   */
+  public void flush(final NativeResponse target) throws Exception {
+    headers.forEach((name, values) -> {
+      if (!name.equalsIgnoreCase("Content-Length")
+          && !name.equalsIgnoreCase("Transfer-Encoding")) {
+        target.header(name, values);
+      }
+    });
+    target.statusCode(status);
+    boolean hasBody = !(status >= 100 && status < 200 || status == 204 || status == 304);
+    if (hasBody) {
+      target.header("Content-Length", Integer.toString(body.size()));
+      if (body.size() > 0) {
+        target.send(body.toByteArray());
+      }
+    }
+    target.end();
+  }
+
+  /**
+   * @return All the captured headers.
+   */
+  public Map<String, List<String>> headers() {
+    return Collections.unmodifiableMap(headers);
+  }
+
+  /**
+   * @return Captured body.
+   */
+  public byte[] body() {
+    return body.toByteArray();
+  }
+
+}
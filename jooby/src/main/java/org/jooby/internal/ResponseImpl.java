@@ -20,6 +20,7 @@ package org.jooby.internal;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -47,6 +49,8 @@ import org.jooby.Route;
 import org.jooby.Status;
 import org.jooby.internal.parser.ParserExecutor;
 import org.jooby.spi.NativeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 
@@ -55,7 +59,10 @@ public class ResponseImpl implements Response {
   /** Char encoded content disposition. */
   private static final String CONTENT_DISPOSITION = "attachment; filename=\"%s\"; filename*=%s''%s";
 
-  private final NativeResponse rsp;
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(Response.class);
+
+  private NativeResponse rsp;
 
   private final Map<String, Object> locals;
 
@@ -65,6 +72,8 @@ public class ResponseImpl implements Response {
 
   private final Optional<String> referer;
 
+  private final int bufferSize;
+
   private Status status;
 
   private MediaType type;
@@ -82,7 +91,7 @@ public class ResponseImpl implements Response {
   public ResponseImpl(final ParserExecutor parserExecutor,
       final NativeResponse rsp, final Route route, final List<Renderer> renderers,
       final Map<String, Renderer> rendererMap, final Map<String, Object> locals,
-      final Charset charset, final Optional<String> referer) {
+      final Charset charset, final Optional<String> referer, final int bufferSize) {
     this.parserExecutor = parserExecutor;
     this.rsp = rsp;
     this.route = route;
@@ -91,6 +100,7 @@ public class ResponseImpl implements Response {
     this.rendererMap = rendererMap;
     this.charset = charset;
     this.referer = referer;
+    this.bufferSize = bufferSize;
   }
 
   @Override
@@ -273,6 +283,15 @@ public class ResponseImpl implements Response {
     writeCookies();
 
     if (Route.HEAD.equals(route.method())) {
+      // body is never read on HEAD, release streaming bodies (open cursors, files, etc.)
+      Optional<Object> body = result.ifGet();
+      if (body.isPresent() && body.get() instanceof Closeable) {
+        try {
+          ((Closeable) body.get()).close();
+        } catch (IOException ex) {
+          log.debug("close of {} resulted in exception", body.get(), ex);
+        }
+      }
       end();
       return;
     }
@@ -308,7 +327,8 @@ public class ResponseImpl implements Response {
           setType,
           locals,
           produces,
-          charset);
+          charset,
+          bufferSize);
       // explicit renderer?
       Renderer renderer = rendererMap.get(route.attr("renderer"));
       if (renderer != null) {
@@ -335,6 +355,19 @@ public class ResponseImpl implements Response {
     rsp.reset();
   }
 
+  /**
+   * Replace the underlying {@link NativeResponse}. Useful for filters who need to buffer and/or
+   * post process the rendered response.
+   *
+   * @param wrapper A function who get the current native response and produces a new one.
+   * @return The previous native response.
+   */
+  public NativeResponse wrap(final Function<NativeResponse, NativeResponse> wrapper) {
+    NativeResponse prev = this.rsp;
+    this.rsp = requireNonNull(wrapper.apply(prev), "A native response is required.");
+    return prev;
+  }
+
   void route(final Route route) {
     this.route = route;
   }
@@ -19,12 +19,20 @@
 package org.jooby.internal;
 
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 import org.jooby.Env;
 import org.objectweb.asm.ClassReader;
@@ -38,6 +46,7 @@ import com.google.common.base.Throwables;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Closeables;
 import com.google.common.io.Resources;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -46,17 +55,104 @@ public class RouteMetadata implements ParameterNameProvider {
 
   private static final String[] NO_ARG = new String[0];
 
+  private static final String PARAMS = ".params";
+
+  private static final String START_AT = ".startAt";
+
+  private static final String FINGERPRINT = ".fingerprint";
+
   private final LoadingCache<Class<?>, Map<String, Object>> cache;
 
   public RouteMetadata(final Env env) {
-    CacheLoader<Class<?>, Map<String, Object>> loader = CacheLoader
-        .from(RouteMetadata::extractMetadata);
+    this(env, new Properties());
+  }
 
-    cache = env.name().equals("dev")
+  /**
+   * Creates a new {@link RouteMetadata}.
+   *
+   * @param env Application env.
+   * @param index Precomputed metadata (see {@link #index(Iterable)}). Ignored in dev, where
+   *        classes might change. Outside dev, a class whose bytecode doesn't match the index
+   *        fingerprint is read again.
+   */
+  public RouteMetadata(final Env env, final Properties index) {
+    boolean dev = env.name().equals("dev");
+    Map<String, Map<String, Object>> precomputed = dev ? new HashMap<>() : load(index);
+    CacheLoader<Class<?>, Map<String, Object>> loader = CacheLoader.from(owner -> {
+      Map<String, Object> md = precomputed.get(owner.getName());
+      if (md != null && fingerprint(owner).equals(md.get(FINGERPRINT))) {
+        return md;
+      }
+      return extractMetadata(owner);
+    });
+
+    cache = dev
         ? CacheBuilder.newBuilder().maximumSize(0).build(loader)
         : CacheBuilder.newBuilder().build(loader);
   }
 
+  /**
+   * Classpath location of the metadata index of an application, like
+   * <code>com/foo/App.routes</code> or <code>com/foo/Outer$App.routes</code> for nested classes.
+   * The binary name is used, so anonymous applications never pick up an index of someone else.
+   *
+   * @param app Application class name, as given by {@link Class#getName()}.
+   * @return Classpath location of the metadata index.
+   */
+  public static String indexName(final String app) {
+    return app.replace('.', '/') + ".routes";
+  }
+
+  /**
+   * Precompute metadata (parameter names and line numbers) of the given classes, so bytecode
+   * don't need to be read at startup time.
+   *
+   * @param classes Classes to process, usually MVC routes.
+   * @return Metadata index.
+   */
+  public static Properties index(final Iterable<Class<?>> classes) {
+    Properties index = new Properties();
+    for (Class<?> owner : classes) {
+      index.setProperty(owner.getName() + "#" + FINGERPRINT, fingerprint(owner));
+      extractMetadata(owner).forEach((key, value) -> {
+        String property = owner.getName() + "#" + key;
+        if (value instanceof String[]) {
+          index.setProperty(property, Arrays.stream((String[]) value)
+              .map(name -> name == null ? "" : name)
+              .collect(Collectors.joining(",")));
+        } else {
+          index.setProperty(property, value.toString());
+        }
+      });
+    }
+    return index;
+  }
+
+  private static Map<String, Map<String, Object>> load(final Properties index) {
+    Map<String, Map<String, Object>> result = new HashMap<>();
+    for (String property : index.stringPropertyNames()) {
+      int sep = property.indexOf('#');
+      String key = property.substring(sep + 1);
+      String value = index.getProperty(property);
+      Map<String, Object> md = result.computeIfAbsent(property.substring(0, sep),
+          owner -> new HashMap<>());
+      if (key.equals(FINGERPRINT)) {
+        md.put(key, value);
+      } else if (key.endsWith(PARAMS)) {
+        String seed = key.substring(0, key.length() - PARAMS.length());
+        int arity = Type.getArgumentTypes(seed.substring(seed.indexOf('('))).length;
+        String[] names = arity == 0 ? NO_ARG : value.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+          names[i] = names[i].isEmpty() ? null : names[i];
+        }
+        md.put(key, names);
+      } else {
+        md.put(key, Integer.valueOf(value));
+      }
+    }
+    return result;
+  }
+
   @Override
   public String[] names(final Executable exec) {
     Map<String, Object> md = md(exec);
@@ -92,6 +188,46 @@ public class RouteMetadata implements ParameterNameProvider {
     }
   }
 
+  /**
+   * @param owner A class.
+   * @return Size and CRC-32 of the class file, cheaper than a bytecode scan.
+   */
+  private static String fingerprint(final Class<?> owner) {
+    return fingerprint(Resources.getResource(owner, classfile(owner)));
+  }
+
+  /**
+   * Size and CRC-32 of a class file. A packaged class gets both from the jar directory, without
+   * reading the class file. Otherwise, the class file is read.
+   *
+   * @param classfile Class file location.
+   * @return Size and CRC-32 of the class file.
+   */
+  static String fingerprint(final URL classfile) {
+    CheckedInputStream stream = null;
+    try {
+      URLConnection connection = classfile.openConnection();
+      if (connection instanceof JarURLConnection) {
+        JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+        if (entry.getSize() >= 0 && entry.getCrc() >= 0) {
+          return fingerprint(entry.getSize(), entry.getCrc());
+        }
+      }
+      stream = new CheckedInputStream(connection.getInputStream(), new CRC32());
+      long size = ByteStreams.copy(stream, ByteStreams.nullOutputStream());
+      return fingerprint(size, stream.getChecksum().getValue());
+    } catch (Exception ex) {
+      // won't happen, but...
+      throw new IllegalStateException("Can't read class: " + classfile, ex);
+    } finally {
+      Closeables.closeQuietly(stream);
+    }
+  }
+
+  private static String fingerprint(final long size, final long crc) {
+    return size + ":" + Long.toHexString(crc);
+  }
+
   private static String classfile(final Class<?> owner) {
     StringBuilder sb = new StringBuilder();
     Class<?> dc = owner.getDeclaringClass();
@@ -169,7 +305,7 @@ public class RouteMetadata implements ParameterNameProvider {
   }
 
   private static String paramsKey(final String key) {
-    return key + ".params";
+    return key + PARAMS;
   }
 
   private static String startAtKey(final Executable exec) {
@@ -177,7 +313,7 @@ public class RouteMetadata implements ParameterNameProvider {
   }
 
   private static String startAtKey(final String key) {
-    return key + ".startAt";
+    return key + START_AT;
   }
 
   @SuppressWarnings("rawtypes")
@@ -116,6 +116,12 @@ public class SessionImpl implements Session {
 
   private volatile long savedAt;
 
+  private volatile boolean stateless;
+
+  private volatile boolean sendCookie;
+
+  private volatile String cookie;
+
   private ParserExecutor resolver;
 
   public SessionImpl(final ParserExecutor resolver, final boolean isNew, final String sessionId,
@@ -220,6 +226,39 @@ public class SessionImpl implements Session {
     dirty = false;
   }
 
+  /**
+   * @return True, if session attributes are kept in the session cookie.
+   */
+  boolean stateless() {
+    return stateless;
+  }
+
+  void stateless(final boolean stateless) {
+    this.stateless = stateless;
+  }
+
+  /**
+   * @return True, if the stateless session cookie must be (re)sent in the current response.
+   */
+  boolean sendCookie() {
+    return sendCookie;
+  }
+
+  void sendCookie(final boolean sendCookie) {
+    this.sendCookie = sendCookie;
+  }
+
+  /**
+   * @return Stateless session cookie value or <code>null</code> if it wasn't computed yet.
+   */
+  String cookie() {
+    return cookie;
+  }
+
+  void cookie(final String cookie) {
+    this.cookie = cookie;
+  }
+
   public void touch() {
     this.accessedAt = System.currentTimeMillis();
   }
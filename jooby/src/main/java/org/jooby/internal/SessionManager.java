@@ -32,6 +32,10 @@
  */
 package org.jooby.internal;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
@@ -66,6 +70,12 @@ public class SessionManager {
 
   private final long timeout;
 
+  private final List<String> secrets;
+
+  private final CookieSessionCodec codec;
+
+  private final int maxSize;
+
   @Inject
   public SessionManager(final Config config, final Definition def, final Session.Store store,
       final ParserExecutor resolver) {
@@ -77,6 +87,27 @@ public class SessionManager {
 
     Config $session = config.getConfig("session");
 
+    // secret rotation: current secret first, then previous secrets
+    this.secrets = new ArrayList<>();
+    if (secret != null) {
+      secrets.add(secret);
+      if ($session.hasPath("secrets")) {
+        secrets.addAll($session.getStringList("secrets"));
+      }
+    }
+
+    // stateless sessions
+    if (def.stateless()) {
+      if (secret == null) {
+        throw new IllegalStateException("Stateless sessions require: application.secret");
+      }
+      this.codec = new CookieSessionCodec(secrets, $session.getBoolean("stateless.encrypt"));
+      this.maxSize = $session.getBytes("stateless.maxSize").intValue();
+    } else {
+      this.codec = null;
+      this.maxSize = 0;
+    }
+
     // save interval
     this.saveInterval = def.saveInterval()
         .orElse($session.getDuration("saveInterval", TimeUnit.MILLISECONDS));
@@ -114,8 +145,14 @@ public class SessionManager {
   }
 
   public Session create(final Request req, final Response rsp) {
-    Session session = new SessionImpl.Builder(resolver, true, store.generateID(), timeout).build();
+    SessionImpl session = (SessionImpl) new SessionImpl.Builder(resolver, true,
+        store.generateID(), timeout).build();
     log.debug("session created: {}", session);
+    if (codec != null) {
+      session.stateless(true);
+      sendCookie(session, rsp);
+      return session;
+    }
     Cookie.Definition cookie = cookie(session);
     log.debug("  new cookie: {}", cookie);
     rsp.cookie(cookie);
@@ -125,7 +162,14 @@ public class SessionManager {
   public Session get(final Request req, final Response rsp) {
     return req.cookie(template.name().get()).toOptional()
         .map(cookie -> {
+          if (codec != null && codec.accept(cookie)) {
+            return stateless(cookie, rsp);
+          }
           String sessionId = unsign(cookie);
+          if (sessionId == null) {
+            log.debug("ignoring invalid session cookie: {}", cookie);
+            return null;
+          }
           log.debug("loading session: {}", sessionId);
           Session session = store.get(
               new SessionImpl.Builder(resolver, false, sessionId, timeout)
@@ -139,6 +183,25 @@ public class SessionManager {
         }).orElse(null);
   }
 
+  /**
+   * Notify a session was modified. Stateless sessions (re)write the session cookie.
+   *
+   * @param session Modified session.
+   * @param rsp HTTP response.
+   */
+  public void updated(final Session session, final Response rsp) {
+    if (session instanceof SessionImpl && ((SessionImpl) session).stateless()) {
+      sendCookie((SessionImpl) session, rsp);
+    }
+  }
+
+  /**
+   * @return True, for stateless/cookie sessions.
+   */
+  public boolean stateless() {
+    return codec != null;
+  }
+
   public void destroy(final Session session) {
     log.debug("  deleting: {}", session.id());
     store.delete(session.id());
@@ -146,7 +209,24 @@ public class SessionManager {
 
   public void requestDone(final Session session) {
     try {
-      createOrUpdate((SessionImpl) ((RequestScopedSession) session).session());
+      SessionImpl impl = (SessionImpl) ((RequestScopedSession) session).session();
+      if (impl.sendCookie()) {
+        // response might be committed after this point: decide now if session fits in a cookie
+        seal(impl);
+        impl.sendCookie(false);
+        if (!impl.stateless()) {
+          log.debug("  moving stateless session to store: {}", impl);
+          impl.aboutToSave();
+          store.create(impl);
+          impl.markAsSaved();
+        }
+        return;
+      }
+      if (impl.stateless()) {
+        // nothing to save, session lives in the cookie
+        return;
+      }
+      createOrUpdate(impl);
     } catch (Exception ex) {
       log.error("Unable to create/update HTTP session", ex);
     }
@@ -183,7 +263,53 @@ public class SessionManager {
     if (secret == null) {
       return sessionId;
     }
-    return Cookie.Signature.unsign(sessionId, secret);
+    return Cookie.Signature.unsign(sessionId, secrets);
+  }
+
+  private Session stateless(final String cookie, final Response rsp) {
+    SessionImpl session = codec.decode(cookie, resolver, timeout);
+    if (session == null) {
+      log.debug("ignoring invalid or expired session cookie: {}", cookie);
+      return null;
+    }
+    log.debug("stateless session: {}", session);
+    session.stateless(true);
+    if (timeout > 0 && session.accessedAt() + timeout / 2 < System.currentTimeMillis()) {
+      // touch cookie, but only once half of the session timeout is gone
+      sendCookie(session, rsp);
+    }
+    return session;
+  }
+
+  private void sendCookie(final SessionImpl session, final Response rsp) {
+    session.sendCookie(true);
+    session.cookie(null);
+    rsp.cookie(new StatelessCookie(session));
+  }
+
+  /**
+   * Compute the cookie value of a stateless session (once per request). Sessions that don't fit
+   * in a cookie are moved to the session store and the cookie keeps the session ID.
+   *
+   * @param session A stateless session.
+   * @return Cookie value.
+   */
+  private String seal(final SessionImpl session) {
+    String value = session.cookie();
+    if (value == null) {
+      session.touch();
+      value = codec.encode(session);
+      int size = new Cookie.Definition(template).value(value).toCookie().encode()
+          .getBytes(StandardCharsets.UTF_8).length;
+      if (size > maxSize) {
+        log.debug("session {} is too big for a cookie ({} > {}), using session store", session,
+            size, maxSize);
+        session.stateless(false);
+        value = sign(session.id());
+      }
+      session.cookie(value);
+    }
+    return value;
   }
 
   private Cookie.Definition cookie(final Session session) {
@@ -191,6 +317,79 @@ public class SessionManager {
     return new Cookie.Definition(this.template).value(sign(session.id()));
   }
 
+  /**
+   * Session cookie whose value is computed when the response is about to be committed, so it
+   * reflects the last session changes and it is signed/encrypted just once per request.
+   * Sessions that don't fit in the cookie are moved to the session store.
+   */
+  private class StatelessCookie implements Cookie {
+
+    private final SessionImpl session;
+
+    private Cookie cookie;
+
+    public StatelessCookie(final SessionImpl session) {
+      this.session = session;
+    }
+
+    @Override
+    public String name() {
+      return template.name().get();
+    }
+
+    @Override
+    public Optional<String> value() {
+      return cookie().value();
+    }
+
+    @Override
+    public Optional<String> comment() {
+      return template.comment();
+    }
+
+    @Override
+    public Optional<String> domain() {
+      return template.domain();
+    }
+
+    @Override
+    public int maxAge() {
+      return template.maxAge().orElse(-1);
+    }
+
+    @Override
+    public Optional<String> path() {
+      return template.path();
+    }
+
+    @Override
+    public boolean secure() {
+      return template.secure().orElse(Boolean.FALSE);
+    }
+
+    @Override
+    public boolean httpOnly() {
+      return template.httpOnly().orElse(Boolean.FALSE);
+    }
+
+    @Override
+    public String encode() {
+      return cookie().encode();
+    }
+
+    private Cookie cookie() {
+      if (cookie == null) {
+        cookie = new Cookie.Definition(template).value(seal(session)).toCookie();
+      }
+      return cookie;
+    }
+
+    @Override
+    public String toString() {
+      return name() + "=" + session.id();
+    }
+  }
+
   private int seconds(final Config $session, final String name) {
     Object value = $session.getAnyRef(name);
     if (value instanceof Number) {
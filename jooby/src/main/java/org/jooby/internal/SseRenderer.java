@@ -88,6 +88,12 @@ public class SseRenderer extends AbstractRendererContext {
     return bytes;
   }
 
+  @Override
+  protected void _send(final ChunkedBuffer buffer) throws Exception {
+    // streaming isn't supported: send all the bytes at once
+    _send(buffer.toByteArray());
+  }
+
   @Override
   protected void _send(final byte[] bytes) throws Exception {
     List<Tuple2<Integer, Integer>> lines = split(bytes);
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jooby.Registry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javaslang.control.Try.CheckedConsumer;
+
+/**
+ * Run onStart callbacks, one by one or concurrently.
+ *
+ * When running concurrently, callbacks registered by the same module run in order, callbacks of
+ * different modules run at the same time, unless a module declares it depends on another module.
+ * Callbacks not registered by a module (application callbacks) run at the end, one by one.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class StartTasks {
+
+  private List<CheckedConsumer<Registry>> tasks;
+
+  private StartupProfiler profiler;
+
+  public StartTasks(final List<CheckedConsumer<Registry>> tasks, final StartupProfiler profiler) {
+    this.tasks = tasks;
+    this.profiler = profiler;
+  }
+
+  /**
+   * Run callbacks one by one.
+   *
+   * @param registry Service registry.
+   * @throws Throwable If a callback fails.
+   */
+  public void run(final Registry registry) throws Throwable {
+    for (CheckedConsumer<Registry> task : tasks) {
+      run(task, registry);
+    }
+  }
+
+  /**
+   * Run callbacks of different modules concurrently.
+   *
+   * @param registry Service registry.
+   * @param dependencies Module dependencies, like <code>Hbm -&gt; [Flywaydb]</code>.
+   * @throws Throwable If a callback fails.
+   */
+  public void run(final Registry registry, final Map<String, List<String>> dependencies)
+      throws Throwable {
+    Map<String, List<CheckedConsumer<Registry>>> modules = new LinkedHashMap<>();
+    List<CheckedConsumer<Registry>> app = new ArrayList<>();
+    for (CheckedConsumer<Registry> task : tasks) {
+      String owner = profiler.owner(task);
+      if (owner == null) {
+        app.add(task);
+      } else {
+        modules.computeIfAbsent(owner, k -> new ArrayList<>()).add(task);
+      }
+    }
+
+    if (modules.size() > 0) {
+      ExecutorService executor = Executors.newFixedThreadPool(modules.size(),
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("startup-%d")
+              .build());
+      try {
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        for (String module : modules.keySet()) {
+          future(module, modules, dependencies, futures, new LinkedHashSet<>(), registry,
+              executor);
+        }
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()]))
+            .join();
+      } catch (CompletionException ex) {
+        throw ex.getCause();
+      } finally {
+        executor.shutdown();
+      }
+    }
+
+    for (CheckedConsumer<Registry> task : app) {
+      run(task, registry);
+    }
+  }
+
+  private CompletableFuture<Void> future(final String module,
+      final Map<String, List<CheckedConsumer<Registry>>> modules,
+      final Map<String, List<String>> dependencies,
+      final Map<String, CompletableFuture<Void>> futures, final Set<String> path,
+      final Registry registry, final ExecutorService executor) {
+    CompletableFuture<Void> future = futures.get(module);
+    if (future != null) {
+      return future;
+    }
+    if (!path.add(module)) {
+      throw new IllegalStateException("Circular startup dependency: " + path + " -> " + module);
+    }
+    List<CompletableFuture<Void>> deps = new ArrayList<>();
+    for (String dependency : dependencies.getOrDefault(module, new ArrayList<>())) {
+      // ignore modules without callbacks
+      if (modules.containsKey(dependency)) {
+        deps.add(future(dependency, modules, dependencies, futures, path, registry, executor));
+      }
+    }
+    path.remove(module);
+    future = CompletableFuture.allOf(deps.toArray(new CompletableFuture[deps.size()]))
+        .thenRunAsync(() -> {
+          try {
+            for (CheckedConsumer<Registry> task : modules.get(module)) {
+              run(task, registry);
+            }
+          } catch (Throwable ex) {
+            throw new CompletionException(ex);
+          }
+        }, executor);
+    futures.put(module, future);
+    return future;
+  }
+
+  private void run(final CheckedConsumer<Registry> task, final Registry registry)
+      throws Throwable {
+    long start = System.currentTimeMillis();
+    task.accept(registry);
+    profiler.onStart(task, System.currentTimeMillis() - start);
+  }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jooby.Jooby;
+
+/**
+ * Keep track of startup times: module configure times, injector creation and onStart callbacks.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class StartupProfiler {
+
+  private static class Entry {
+    final String phase;
+
+    final String name;
+
+    final long time;
+
+    Entry(final String phase, final String name, final long time) {
+      this.phase = phase;
+      this.name = name;
+      this.time = time;
+    }
+  }
+
+  private final List<Entry> entries = new ArrayList<>();
+
+  /** Owner (module name) of onStart callbacks. */
+  private final Map<Object, String> owners = new IdentityHashMap<>();
+
+  /**
+   * Record configure time of a module and the onStart callbacks it registered.
+   *
+   * @param module Module.
+   * @param time Configure time in millis.
+   * @param tasks onStart callbacks registered by the module.
+   */
+  public synchronized void module(final Jooby.Module module, final long time,
+      final List<?> tasks) {
+    String name = name(module);
+    entries.add(new Entry("configure", name, time));
+    tasks.forEach(task -> owners.put(task, name));
+  }
+
+  /**
+   * Record injector creation time (modules included).
+   *
+   * @param time Time in millis.
+   */
+  public synchronized void injector(final long time) {
+    entries.add(new Entry("injector", "", time));
+  }
+
+  /**
+   * Record the execution time of an onStart callback.
+   *
+   * @param task onStart callback.
+   * @param time Time in millis.
+   */
+  public synchronized void onStart(final Object task, final long time) {
+    entries.add(new Entry("onStart", name(task), time));
+  }
+
+  /**
+   * @param task onStart callback.
+   * @return Name of the module who registered the callback or <code>null</code>.
+   */
+  public synchronized String owner(final Object task) {
+    return owners.get(task);
+  }
+
+  /**
+   * Readable name of a module or callback, lambdas are reported as the class who declared them.
+   *
+   * @param value Module or callback.
+   * @return Name.
+   */
+  public synchronized String name(final Object value) {
+    String owner = owners.get(value);
+    if (owner != null) {
+      return owner;
+    }
+    String name = value.getClass().getName();
+    int lambda = name.indexOf("$$Lambda$");
+    return lambda > 0 ? name.substring(0, lambda) : name;
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder buffer = new StringBuilder();
+    int phaseMax = 1, nameMax = 1;
+    for (Entry entry : entries) {
+      phaseMax = Math.max(phaseMax, entry.phase.length());
+      nameMax = Math.max(nameMax, entry.name.length());
+    }
+    String format = "  %-" + phaseMax + "s %-" + nameMax + "s %6sms\n";
+    for (Entry entry : entries) {
+      buffer.append(String.format(format, entry.phase, entry.name, entry.time));
+    }
+    return buffer.toString();
+  }
+
+}
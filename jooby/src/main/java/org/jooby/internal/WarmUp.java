@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jooby.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jooby.Readiness;
+import org.jooby.Registry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.ProvisionException;
+import com.google.inject.Scopes;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
+import com.google.inject.spi.ElementSource;
+import com.google.inject.spi.InstanceBinding;
+
+import javaslang.control.Try.CheckedConsumer;
+
+/**
+ * Instantiate singletons of a lazy injector (one created with
+ * {@link com.google.inject.Stage#DEVELOPMENT}).
+ *
+ * Singletons bound by a deferred module are created in background, once the server started.
+ * Everything else is created at startup time, just like {@link com.google.inject.Stage#PRODUCTION}
+ * does. onStart callbacks of deferred modules run in background too, after their singletons.
+ *
+ * Guice creates eager singletons while building the injector, so they can't be deferred. A deferred
+ * module must bind its services with {@link javax.inject.Singleton} scope, not
+ * <code>asEagerSingleton()</code>, otherwise startup fails.
+ *
+ * @author edgar
+ * @since 1.0.0
+ */
+public class WarmUp {
+
+  /** The logging system. */
+  private final Logger log = LoggerFactory.getLogger(getClass());
+
+  /** True for eager singletons. */
+  private static final DefaultBindingScopingVisitor<Boolean> EAGER =
+      new DefaultBindingScopingVisitor<Boolean>() {
+        @Override
+        public Boolean visitEagerSingleton() {
+          return true;
+        }
+
+        @Override
+        protected Boolean visitOther() {
+          return false;
+        }
+      };
+
+  private final Set<String> deferred;
+
+  private final Readiness readiness;
+
+  private final List<Binding<?>> now = new ArrayList<>();
+
+  private final List<Binding<?>> later = new ArrayList<>();
+
+  private final List<CheckedConsumer<Registry>> onStart = new ArrayList<>();
+
+  private Registry registry;
+
+  public WarmUp(final Injector injector, final Set<String> deferred, final Readiness readiness) {
+    this.deferred = deferred;
+    this.readiness = readiness;
+    injector.getBindings().values().stream()
+        .filter(Scopes::isSingleton)
+        .forEach(binding -> (deferred(binding) ? later : now).add(binding));
+
+    List<Key<?>> eager = new ArrayList<>();
+    later.stream()
+        // instances are eager singletons, but there is nothing to create
+        .filter(binding -> !(binding instanceof InstanceBinding))
+        .filter(binding -> binding.acceptScopingVisitor(EAGER))
+        .forEach(binding -> eager.add(binding.getKey()));
+    if (eager.size() > 0) {
+      throw new IllegalStateException("Eager singletons of deferred modules can't be created in "
+          + "background, bind them with .in(Singleton.class): " + eager);
+    }
+  }
+
+  /**
+   * Instantiate singletons of non deferred modules.
+   */
+  public void eager() {
+    now.forEach(binding -> binding.getProvider().get());
+  }
+
+  /**
+   * Take the onStart callbacks of deferred modules, they run in background once the deferred
+   * singletons are created.
+   *
+   * @param tasks onStart callbacks.
+   * @param owner Find the module who registered a callback, or <code>null</code> for application
+   *        callbacks.
+   * @param registry Service registry.
+   * @return onStart callbacks to run at startup time.
+   */
+  public List<CheckedConsumer<Registry>> onStart(final List<CheckedConsumer<Registry>> tasks,
+      final Function<Object, String> owner, final Registry registry) {
+    this.registry = registry;
+    List<CheckedConsumer<Registry>> now = new ArrayList<>();
+    for (CheckedConsumer<Registry> task : tasks) {
+      String name = owner.apply(task);
+      (name != null && deferred(name) ? onStart : now).add(task);
+    }
+    return now;
+  }
+
+  /**
+   * Instantiate singletons of deferred modules in a background thread and mark the application
+   * as ready.
+   *
+   * @return The warm-up thread.
+   */
+  public Thread start() {
+    Thread thread = new Thread(this::run, "warm-up");
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Instantiate singletons of deferred modules, run their onStart callbacks and mark the
+   * application as ready. The application is never ready if one of them fails.
+   */
+  public void run() {
+    long start = System.currentTimeMillis();
+    Throwable failure = null;
+    for (Binding<?> binding : later) {
+      try {
+        binding.getProvider().get();
+      } catch (RuntimeException x) {
+        log.error("warm-up of {} resulted in exception", binding.getKey(), x);
+        failure = failure == null ? cause(x) : failure;
+      }
+    }
+    for (CheckedConsumer<Registry> task : onStart) {
+      try {
+        task.accept(registry);
+      } catch (Throwable x) {
+        log.error("warm-up onStart callback {} resulted in exception", task, x);
+        failure = failure == null ? x : failure;
+      }
+    }
+    if (failure == null) {
+      readiness.ready();
+      log.info("warm-up of {} service(s) completed in {}ms", later.size(),
+          System.currentTimeMillis() - start);
+    } else {
+      readiness.failed(failure);
+      log.error("warm-up of {} service(s) failed in {}ms, application isn't ready", later.size(),
+          System.currentTimeMillis() - start);
+    }
+  }
+
+  private static Throwable cause(final RuntimeException x) {
+    // guice wraps provider failures
+    if (x instanceof ProvisionException && x.getCause() != null) {
+      return x.getCause();
+    }
+    return x;
+  }
+
+  private boolean deferred(final Binding<?> binding) {
+    Object source = binding.getSource();
+    if (source instanceof ElementSource) {
+      ElementSource esource = (ElementSource) source;
+      Object declaringSource = esource.getDeclaringSource();
+      if (declaringSource instanceof StackTraceElement
+          && deferred(((StackTraceElement) declaringSource).getClassName())) {
+        return true;
+      }
+      return esource.getModuleClassNames().stream().anyMatch(this::deferred);
+    }
+    return false;
+  }
+
+  private boolean deferred(final String owner) {
+    return deferred.stream()
+        .anyMatch(name -> owner.equals(name) || owner.startsWith(name + "$"));
+  }
+
+}
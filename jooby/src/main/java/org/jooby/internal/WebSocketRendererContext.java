@@ -58,6 +58,12 @@ public class WebSocketRendererContext extends AbstractRendererContext {
     ws.sendText(text, success, err);
   }
 
+  @Override
+  protected void _send(final ChunkedBuffer buffer) throws Exception {
+    // streaming isn't supported: send all the bytes at once
+    _send(buffer.toByteArray());
+  }
+
   @Override
   protected void _send(final byte[] bytes) throws Exception {
     if (type.isText()) {
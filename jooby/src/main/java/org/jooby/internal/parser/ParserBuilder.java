@@ -47,6 +47,8 @@ public class ParserBuilder implements Parser.Builder {
 
   private Parser.Context ctx;
 
+  private Callback callback;
+
   public ParserBuilder(final Parser.Context ctx, final TypeLiteral<?> toType, final Object value) {
     this.ctx = ctx;
     this.toType = toType;
@@ -105,10 +107,19 @@ public class ParserBuilder implements Parser.Builder {
     return upload(ifcallback(callback));
   }
 
+  /**
+   * @return Callback registered for the value type or <code>null</code>.
+   */
+  public Callback callback() {
+    if (callback == null) {
+      callback = strategies.build().get(type);
+    }
+    return callback;
+  }
+
   @SuppressWarnings("unchecked")
   public Object parse() throws Throwable {
-    Map<TypeLiteral<?>, Callback> map = strategies.build();
-    Callback callback = map.get(type);
+    Callback callback = callback();
     if (callback == null) {
       return ctx.next(toType, value);
     }
@@ -18,9 +18,11 @@
  */
 package org.jooby.internal.parser;
 
+import java.lang.reflect.ParameterizedType;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -33,31 +35,62 @@ import org.jooby.Parser.Callback;
 import org.jooby.Parser.ParamReference;
 import org.jooby.Status;
 import org.jooby.Upload;
+import org.jooby.internal.BodyReferenceImpl;
+import org.jooby.internal.BuiltinParser;
 import org.jooby.internal.StatusCodeProvider;
 import org.jooby.internal.StrParamReferenceImpl;
 import org.jooby.internal.UploadParamReferenceImpl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 
+import javaslang.Tuple;
+import javaslang.Tuple3;
+
 public class ParserExecutor {
 
   public static final Object NO_PARSER = new Object();
 
+  /** Max number of resolved conversions to keep. */
+  private static final int RESOLVED_SIZE = 1024;
+
   private List<Parser> parsers;
 
   private Injector injector;
 
   private StatusCodeProvider sc;
 
+  /** True, when the built-in simple type parser is the first in the chain. */
+  private final boolean basic;
+
+  /** True, when the built-in collection parser is the second in the chain. */
+  private final boolean collection;
+
+  /**
+   * Number of leading parsers who are known to skip a (type, content type, source) conversion,
+   * next time we start from there. A parser is known to skip a conversion when: it is a built-in
+   * parser who called {@link Parser.Context#next()} or when it returned a {@link Parser.Builder}
+   * without a callback for the source. Any other parser stops the count, because it might do
+   * something with the value returned by {@link Parser.Context#next()} (like bean validation).
+   */
+  private final Cache<Tuple3<TypeLiteral<?>, MediaType, Class<?>>, Integer> resolved = CacheBuilder
+      .newBuilder()
+      .maximumSize(RESOLVED_SIZE)
+      .build();
+
   @Inject
   public ParserExecutor(final Injector injector, final Set<Parser> parsers,
       final StatusCodeProvider sc) {
     this.injector = injector;
     this.parsers = ImmutableList.copyOf(parsers);
     this.sc = sc;
+    this.basic = this.parsers.size() > 0 && this.parsers.get(0) == BuiltinParser.Basic;
+    this.collection = basic && this.parsers.size() > 1
+        && this.parsers.get(1) == BuiltinParser.Collection;
   }
 
   public Status statusCode(final Throwable cause) {
@@ -71,133 +104,233 @@ public class ParserExecutor {
   @SuppressWarnings("unchecked")
   public <T> T convert(final TypeLiteral<?> type, final MediaType contentType, final Object data)
       throws Throwable {
-    Object result = ctx(injector, contentType, type, parsers, data).next(type, data);
+    Object result = fastpath(type, data);
+    if (result != null) {
+      return (T) result;
+    }
+    Tuple3<TypeLiteral<?>, MediaType, Class<?>> key = Tuple.of(type, contentType,
+        data.getClass());
+    Integer start = resolved.getIfPresent(key);
+    ContextImpl ctx = new ContextImpl(injector, contentType, type, parsers, data,
+        start == null ? 0 : start);
+    result = ctx.next(type, data);
+    if (start == null && ctx.skipped > 0) {
+      resolved.put(key, ctx.skipped);
+    }
     return (T) result;
   }
 
-  private static Parser.Context ctx(final Injector injector,
-      final MediaType contentType, final TypeLiteral<?> seedType, final List<Parser> parsers,
-      final Object seed) {
-    return new Parser.Context() {
-      int cursor = 0;
+  /**
+   * Convert simple types (int, long, String, etc...) and list of them, without going through the
+   * parser chain. Only possible when the built-in parsers are in their default position.
+   *
+   * @param type Target type.
+   * @param data Data to convert.
+   * @return Converted value or <code>null</code>.
+   */
+  private Object fastpath(final TypeLiteral<?> type, final Object data) throws Throwable {
+    if (!basic) {
+      return null;
+    }
+    Class<?> rawType = type.getRawType();
+    Class<?> dataType = data.getClass();
+    if (dataType == StrParamReferenceImpl.class) {
+      StrParamReferenceImpl param = (StrParamReferenceImpl) data;
+      Function<String, Object> converter = BuiltinParser.Basic.converter(rawType);
+      if (converter != null) {
+        return converter.apply(param.first());
+      }
+      if (collection && rawType == List.class && type.getType() instanceof ParameterizedType) {
+        converter = BuiltinParser.Basic.converter(TypeLiteral.get(
+            ((ParameterizedType) type.getType()).getActualTypeArguments()[0]).getRawType());
+        if (converter != null) {
+          ImmutableList.Builder<Object> list = ImmutableList.builder();
+          for (String value : param) {
+            list.add(converter.apply(value));
+          }
+          return list.build();
+        }
+      }
+    } else if (dataType == BodyReferenceImpl.class) {
+      Function<String, Object> converter = BuiltinParser.Basic.converter(rawType);
+      if (converter != null) {
+        return converter.apply(((BodyReferenceImpl) data).text());
+      }
+    }
+    return null;
+  }
 
-      TypeLiteral<?> type = seedType;
+  private static class ContextImpl implements Parser.Context {
 
-      ParserBuilder builder = new ParserBuilder(this, type, seed);
+    private final Injector injector;
 
-      @Override
-      public MediaType type() {
-        return contentType;
-      }
+    private final MediaType contentType;
 
-      @Override
-      public Builder body(final Callback<Parser.BodyReference> callback) {
-        return builder.body(callback);
-      }
+    private final TypeLiteral<?> seedType;
 
-      @Override
-      public Builder ifbody(final Callback<BodyReference> callback) {
-        return builder.ifbody(callback);
-      }
+    private final List<Parser> parsers;
 
-      @Override
-      public Builder upload(final Callback<Parser.ParamReference<Upload>> callback) {
-        return builder.upload(callback);
-      }
+    private int cursor;
 
-      @Override
-      public Builder ifupload(final Callback<ParamReference<Upload>> callback) {
-        return builder.ifupload(callback);
-      }
+    private TypeLiteral<?> type;
 
-      @Override
-      public Builder param(final Callback<ParamReference<String>> callback) {
-        return builder.param(callback);
-      }
+    private ParserBuilder builder;
 
-      @Override
-      public Builder ifparam(final Callback<ParamReference<String>> callback) {
-        return builder.ifparam(callback);
-      }
+    /** Number of leading parsers who skipped the seed type. */
+    int skipped;
 
-      @Override
-      public Builder params(final Callback<Map<String, Mutant>> callback) {
-        return builder.params(callback);
-      }
+    /** False, once next was called with a type other than the seed type. */
+    private boolean seed = true;
 
-      @Override
-      public Builder ifparams(final Callback<Map<String, Mutant>> callback) {
-        return builder.ifparams(callback);
-      }
+    /** Index of the parser in execution. */
+    private int running = -1;
 
-      @Override
-      public Object next() throws Throwable {
-        return next(builder.toType, builder.value);
-      }
+    public ContextImpl(final Injector injector, final MediaType contentType,
+        final TypeLiteral<?> seedType, final List<Parser> parsers, final Object value,
+        final int start) {
+      this.injector = injector;
+      this.contentType = contentType;
+      this.seedType = seedType;
+      this.parsers = parsers;
+      this.type = seedType;
+      this.cursor = start;
+      this.skipped = start;
+      this.builder = new ParserBuilder(this, seedType, value);
+    }
 
-      @Override
-      public Object next(final TypeLiteral<?> type) throws Throwable {
-        return next(type, builder.value);
-      }
+    @Override
+    public MediaType type() {
+      return contentType;
+    }
 
-      @Override
-      public Object next(final TypeLiteral<?> nexttype, final Object nextval)
-          throws Throwable {
-        if (cursor == parsers.size()) {
-          return NO_PARSER;
-        }
-        if (!type.equals(nexttype)) {
-          // reset cursor on type changes.
-          cursor = 0;
-          type = nexttype;
-        }
-        Parser next = parsers.get(cursor);
-        cursor += 1;
-        ParserBuilder current = builder;
-        builder = new ParserBuilder(this, nexttype, wrap(nextval, builder.value));
-        Object result = next.parse(nexttype, this);
-        if (result instanceof ParserBuilder) {
-          // call a parse
-          result = ((ParserBuilder) result).parse();
-        }
-        builder = current;
-        cursor -= 1;
-        return result;
-      }
+    @Override
+    public Builder body(final Callback<Parser.BodyReference> callback) {
+      return builder.body(callback);
+    }
 
-      @SuppressWarnings("rawtypes")
-      private Object wrap(final Object nextval, final Object value) {
-        if (nextval instanceof String) {
-          ParamReference<?> pref = (ParamReference) value;
-          return new StrParamReferenceImpl(pref.type(), pref.name(),
-              ImmutableList.of((String) nextval));
-        } else if (nextval instanceof Upload) {
-          ParamReference<?> pref = (ParamReference) value;
-          return new UploadParamReferenceImpl(pref.name(), ImmutableList.of((Upload) nextval));
-        }
-        return nextval;
-      }
+    @Override
+    public Builder ifbody(final Callback<BodyReference> callback) {
+      return builder.ifbody(callback);
+    }
 
-      @Override
-      public <T> T require(final Key<T> key) {
-        return injector.getInstance(key);
-      }
+    @Override
+    public Builder upload(final Callback<Parser.ParamReference<Upload>> callback) {
+      return builder.upload(callback);
+    }
 
-      @Override
-      public <T> T require(final Class<T> type) {
-        return injector.getInstance(type);
-      }
+    @Override
+    public Builder ifupload(final Callback<ParamReference<Upload>> callback) {
+      return builder.ifupload(callback);
+    }
 
-      @Override
-      public <T> T require(final TypeLiteral<T> type) {
-        return injector.getInstance(Key.get(type));
-      }
+    @Override
+    public Builder param(final Callback<ParamReference<String>> callback) {
+      return builder.param(callback);
+    }
+
+    @Override
+    public Builder ifparam(final Callback<ParamReference<String>> callback) {
+      return builder.ifparam(callback);
+    }
 
-      @Override
-      public String toString() {
-        return parsers.toString();
+    @Override
+    public Builder params(final Callback<Map<String, Mutant>> callback) {
+      return builder.params(callback);
+    }
+
+    @Override
+    public Builder ifparams(final Callback<Map<String, Mutant>> callback) {
+      return builder.ifparams(callback);
+    }
+
+    @Override
+    public Object next() throws Throwable {
+      return next(builder.toType, builder.value);
+    }
+
+    @Override
+    public Object next(final TypeLiteral<?> type) throws Throwable {
+      return next(type, builder.value);
+    }
+
+    @Override
+    public Object next(final TypeLiteral<?> nexttype, final Object nextval)
+        throws Throwable {
+      if (cursor == parsers.size()) {
+        return NO_PARSER;
+      }
+      if (!type.equals(nexttype)) {
+        // reset cursor on type changes.
+        cursor = 0;
+        type = nexttype;
+      }
+      if (!nexttype.equals(seedType)) {
+        seed = false;
+      } else if (running == skipped && parsers.get(running) instanceof BuiltinParser) {
+        // built-in parser who called next
+        skip(running);
+      }
+      int caller = running;
+      int index = cursor;
+      Parser next = parsers.get(cursor);
+      cursor += 1;
+      ParserBuilder current = builder;
+      builder = new ParserBuilder(this, nexttype, wrap(nextval, builder.value));
+      running = index;
+      Object result = next.parse(nexttype, this);
+      if (result instanceof ParserBuilder) {
+        ParserBuilder pbuilder = (ParserBuilder) result;
+        if (pbuilder.callback() == null && nexttype.equals(seedType)) {
+          // no callback for our source, parser builder moves next
+          skip(index);
+        }
+        // call a parse
+        result = pbuilder.parse();
+      }
+      running = caller;
+      builder = current;
+      cursor -= 1;
+      return result;
+    }
+
+    private void skip(final int index) {
+      if (seed && index == skipped) {
+        skipped = index + 1;
+      }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Object wrap(final Object nextval, final Object value) {
+      if (nextval instanceof String) {
+        ParamReference<?> pref = (ParamReference) value;
+        return new StrParamReferenceImpl(pref.type(), pref.name(),
+            ImmutableList.of((String) nextval));
+      } else if (nextval instanceof Upload) {
+        ParamReference<?> pref = (ParamReference) value;
+        return new UploadParamReferenceImpl(pref.name(), ImmutableList.of((Upload) nextval));
       }
-    };
+      return nextval;
+    }
+
+    @Override
+    public <T> T require(final Key<T> key) {
+      return injector.getInstance(key);
+    }
+
+    @Override
+    public <T> T require(final Class<T> type) {
+      return injector.getInstance(type);
+    }
+
+    @Override
+    public <T> T require(final TypeLiteral<T> type) {
+      return injector.getInstance(Key.get(type));
+    }
+
+    @Override
+    public String toString() {
+      return parsers.toString();
+    }
   }
 
 }
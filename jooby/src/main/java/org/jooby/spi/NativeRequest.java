@@ -25,6 +25,8 @@ import java.util.Optional;
 
 import org.jooby.Cookie;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * Minimal/basic implementation of HTTP request. A server implementor must provide an implementation
  * of {@link NativeRequest}.
@@ -33,6 +35,23 @@ import org.jooby.Cookie;
  * @since 0.5.0
  */
 public interface NativeRequest {
+
+  /**
+   * Callback for {@link NativeRequest#in(BodyCallback)}.
+   *
+   * @author edgar
+   * @since 1.0.0
+   */
+  interface BodyCallback {
+
+    /**
+     * Invoked once the HTTP body has been fully received or when the read fails.
+     *
+     * @param body HTTP body or <code>null</code> when the read failed.
+     * @param cause Read failure or <code>null</code>.
+     */
+    void done(byte[] body, Throwable cause);
+  }
   /**
    * @return The name of the HTTP method with which this request was made, for example, GET, POST,
    *         or PUT.
@@ -105,6 +124,27 @@ public interface NativeRequest {
    */
   InputStream in() throws IOException;
 
+  /**
+   * Read the body without blocking the calling thread and notify the given callback once the body
+   * has been fully received. Server implementors should feed the callback from the non-blocking
+   * read path of the server. The body is kept in memory, so this method is only called for
+   * bodies with a <code>Content-Length</code> up to <code>server.http.MaxRequestSize</code>.
+   *
+   * Default implementation reads {@link #in()} from the calling thread.
+   *
+   * @param callback Body callback.
+   */
+  default void in(final BodyCallback callback) {
+    byte[] body;
+    try (InputStream in = in()) {
+      body = ByteStreams.toByteArray(in);
+    } catch (Throwable x) {
+      callback.done(null, x);
+      return;
+    }
+    callback.done(body, null);
+  }
+
   /**
    * @return The IP address of the client or last proxy that sent the request.
    */
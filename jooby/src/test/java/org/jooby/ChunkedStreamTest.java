@@ -0,0 +1,99 @@
+package org.jooby;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+public class ChunkedStreamTest {
+
+  private static class Chunks extends ChunkedStream {
+    private Iterator<String> chunks;
+
+    private AtomicInteger calls = new AtomicInteger();
+
+    Chunks(final String... chunks) {
+      this.chunks = ImmutableList.copyOf(chunks).iterator();
+    }
+
+    @Override
+    protected byte[] next(final boolean block) throws IOException {
+      calls.incrementAndGet();
+      if (!block) {
+        return null;
+      }
+      return chunks.hasNext() ? chunks.next().getBytes(StandardCharsets.UTF_8) : null;
+    }
+  }
+
+  @Test
+  public void readAll() throws IOException {
+    assertEquals("abcdef", text(new Chunks("ab", "", "cde", "f")));
+  }
+
+  @Test
+  public void empty() throws IOException {
+    Chunks stream = new Chunks();
+    assertEquals(-1, stream.read());
+    assertEquals(-1, stream.read());
+    assertEquals(1, stream.calls.get());
+  }
+
+  @Test
+  public void readDoesNotBlock() throws IOException {
+    Chunks stream = new Chunks("ab", "cd");
+    byte[] bytes = new byte[4];
+    // second chunk is available only for blocking calls
+    assertEquals(2, stream.read(bytes, 0, bytes.length));
+    assertEquals(2, stream.read(bytes, 0, bytes.length));
+    assertEquals(-1, stream.read(bytes, 0, bytes.length));
+  }
+
+  @Test
+  public void close() throws IOException {
+    Chunks stream = new Chunks("ab", "cd");
+    assertEquals('a', stream.read());
+    assertEquals(1, stream.available());
+    stream.close();
+    assertEquals(0, stream.available());
+    assertEquals(-1, stream.read());
+  }
+
+  @Test
+  public void render() throws IOException {
+    Renderer json = (value, ctx) -> ctx.send("{\"v\":\"" + value + "\"}");
+    Iterator<String> values = ImmutableList.of("a", "b").iterator();
+    ChunkedStream stream = new ChunkedStream(ImmutableList.of(json), MediaType.json,
+        StandardCharsets.UTF_8) {
+      @Override
+      protected byte[] next(final boolean block) throws IOException {
+        if (!values.hasNext()) {
+          return null;
+        }
+        render(values.next());
+        text("\n");
+        return chunk();
+      }
+    };
+    assertEquals("{\"v\":\"a\"}\n{\"v\":\"b\"}\n", text(stream));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void renderRequiresRenderers() throws IOException {
+    new Chunks().render("a");
+  }
+
+  private String text(final InputStream in) throws IOException {
+    try (InputStream stream = in) {
+      return new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8);
+    }
+  }
+}
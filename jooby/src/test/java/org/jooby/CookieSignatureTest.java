@@ -4,6 +4,7 @@ import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 import javax.crypto.Mac;
 
@@ -49,6 +50,17 @@ public class CookieSignatureTest {
         Signature.unsign("jooby|qAlLNkSRVE4aZb+tz6avvkVIEmmR30BH8cpr3x9ZdFA", "124Qwerty"));
   }
 
+  @Test
+  public void unsignWithRotatedSecrets() throws Exception {
+    assertEquals("jooby",
+        Signature.unsign("jooby|qAlLNkSRVE4aZb+tz6avvkVIEmmR30BH8cpr3x9ZdFA",
+            Arrays.asList("newSecret", "124Qwerty")));
+
+    assertEquals(null,
+        Signature.unsign("jooby|qAlLNkSRVE4aZb+tz6avvkVIEmmR30BH8cpr3x9ZdFA",
+            Arrays.asList("newSecret", "oldSecret")));
+  }
+
   @Test
   public void valid() throws Exception {
     assertEquals(true,
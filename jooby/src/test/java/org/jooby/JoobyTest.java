@@ -39,6 +39,7 @@ import org.jooby.internal.RequestScope;
 import org.jooby.internal.RouteImpl;
 import org.jooby.internal.RouteMetadata;
 import org.jooby.internal.SessionManager;
+import org.jooby.internal.StartupProfiler;
 import org.jooby.internal.TypeConverters;
 import org.jooby.internal.parser.BeanParser;
 import org.jooby.internal.parser.DateParser;
@@ -196,6 +197,15 @@ public class JoobyTest {
     expect(binder.bind(Charset.class)).andReturn(binding);
   };
 
+  private MockUnit.Block readiness = unit -> {
+    Binder binder = unit.get(Binder.class);
+
+    AnnotatedBindingBuilder<Readiness> binding = unit.mock(AnnotatedBindingBuilder.class);
+    binding.toInstance(isA(Readiness.class));
+
+    expect(binder.bind(Readiness.class)).andReturn(binding);
+  };
+
   private MockUnit.Block locale = unit -> {
     Binder binder = unit.get(Binder.class);
 
@@ -502,13 +512,14 @@ public class JoobyTest {
 
     Config config = unit.mock(Config.class);
     expect(config.getString("application.env")).andReturn("dev");
+    expect(config.hasPath("startup.parallel")).andReturn(false);
     expect(config.hasPath("server.join")).andReturn(true);
     expect(config.getBoolean("server.join")).andReturn(true);
     expect(config.origin()).andReturn(configOrigin);
 
     unit.constructor(AppPrinter.class)
-        .args(Set.class, Set.class, Config.class)
-        .build(isA(Set.class), isA(Set.class), isA(Config.class));
+        .args(Set.class, Set.class, Config.class, StartupProfiler.class)
+        .build(isA(Set.class), isA(Set.class), isA(Config.class), isA(StartupProfiler.class));
 
     Injector injector = unit.mock(Injector.class);
     expect(injector.getInstance(Server.class)).andReturn(server).times(1, 2);
@@ -549,14 +560,16 @@ public class JoobyTest {
               expect(binder.bind(Server.class)).andReturn(serverBinding).times(0, 1);
 
               unit.constructor(AppPrinter.class)
-                  .args(Set.class, Set.class, Config.class)
-                  .build(isA(Set.class), isA(Set.class), isA(Config.class));
+                  .args(Set.class, Set.class, Config.class, StartupProfiler.class)
+                  .build(isA(Set.class), isA(Set.class), isA(Config.class),
+                      isA(StartupProfiler.class));
 
               ConfigOrigin configOrigin = unit.mock(ConfigOrigin.class);
               expect(configOrigin.description()).andReturn("test.conf, mock.conf");
 
               Config config = unit.mock(Config.class);
               expect(config.getString("application.env")).andReturn("dev");
+              expect(config.hasPath("startup.parallel")).andReturn(false);
               expect(config.hasPath("server.join")).andReturn(true);
               expect(config.getBoolean("server.join")).andReturn(true);
               expect(config.origin()).andReturn(configOrigin);
@@ -583,6 +596,7 @@ public class JoobyTest {
         .expect(env)
         .expect(classInfo)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -622,6 +636,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -657,6 +672,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -698,6 +714,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -734,7 +751,7 @@ public class JoobyTest {
         .expect(unit -> {
           Env env = unit.mock(Env.class);
           expect(env.name()).andReturn("dev").times(2);
-          expect(env.startTasks()).andReturn(Collections.emptyList());
+          expect(env.startTasks()).andReturn(Collections.emptyList()).times(3);
           expect(env.stopTasks()).andReturn(Collections.emptyList());
 
           Env.Builder builder = unit.get(Env.Builder.class);
@@ -751,6 +768,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -812,6 +830,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -863,6 +882,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -914,14 +934,16 @@ public class JoobyTest {
               expect(binder.bind(Server.class)).andReturn(serverBinding).times(0, 1);
 
               unit.constructor(AppPrinter.class)
-                  .args(Set.class, Set.class, Config.class)
-                  .build(isA(Set.class), isA(Set.class), isA(Config.class));
+                  .args(Set.class, Set.class, Config.class, StartupProfiler.class)
+                  .build(isA(Set.class), isA(Set.class), isA(Config.class),
+                      isA(StartupProfiler.class));
 
               ConfigOrigin configOrigin = unit.mock(ConfigOrigin.class);
               expect(configOrigin.description()).andReturn("test.conf, mock.conf");
 
               Config config = unit.mock(Config.class);
               expect(config.getString("application.env")).andReturn("dev");
+              expect(config.hasPath("startup.parallel")).andReturn(false);
               expect(config.hasPath("server.join")).andReturn(true);
               expect(config.getBoolean("server.join")).andReturn(true);
               expect(config.origin()).andReturn(configOrigin);
@@ -948,6 +970,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -985,6 +1008,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -1059,6 +1083,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -1134,6 +1159,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1232,6 +1258,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1330,6 +1357,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1430,6 +1458,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1528,6 +1557,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1626,6 +1656,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1725,6 +1756,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1825,6 +1857,7 @@ public class JoobyTest {
             .expect(classInfo)
             .expect(ssl)
             .expect(charset)
+        .expect(readiness)
             .expect(locale)
             .expect(zoneId)
             .expect(timeZone)
@@ -1923,6 +1956,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2056,6 +2090,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2183,6 +2218,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2241,6 +2277,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2303,6 +2340,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2393,6 +2431,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2470,6 +2509,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2517,6 +2557,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2564,6 +2605,7 @@ public class JoobyTest {
         .expect(classInfo)
         .expect(ssl)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2612,6 +2654,7 @@ public class JoobyTest {
         .expect(ssl)
         .expect(classInfo)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -2649,6 +2692,7 @@ public class JoobyTest {
         .expect(ssl)
         .expect(classInfo)
         .expect(charset)
+        .expect(readiness)
         .expect(locale)
         .expect(zoneId)
         .expect(timeZone)
@@ -207,6 +207,45 @@ public class MediaTypeTest {
     assertEquals(null, type.params().get("charset"));
   }
 
+  @Test
+  public void internedAcceptHeader() {
+    String accept = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    List<MediaType> types = MediaType.parse(accept);
+    assertTrue(types == MediaType.parse(accept));
+    assertTrue(MediaType.html == types.get(0));
+    assertEquals("*/*", types.get(types.size() - 1).name());
+    assertEquals("0.8", types.get(types.size() - 1).params().get("q"));
+  }
+
+  @Test
+  public void knownTypes() {
+    assertTrue(MediaType.json == MediaType.valueOf("application/json"));
+    assertTrue(MediaType.html == MediaType.valueOf(" text/html "));
+    assertTrue(MediaType.all == MediaType.valueOf("*"));
+  }
+
+  @Test
+  public void parseCache() {
+    long size = MediaType.cacheSize();
+    long misses = MediaType.cacheStats().missCount();
+    List<MediaType> types = MediaType.parse("application/vnd.cache-test+json, text/*;q=0.5,");
+    assertEquals(2, types.size());
+    assertEquals("application/vnd.cache-test+json", types.get(0).name());
+    assertEquals("text/*", types.get(1).name());
+    assertTrue(types == MediaType.parse("application/vnd.cache-test+json, text/*;q=0.5,"));
+    assertEquals(size + 1, MediaType.cacheSize());
+    assertEquals(misses + 1, MediaType.cacheStats().missCount());
+
+    // boundary are unique per request
+    MediaType.parse("multipart/form-data; boundary=----cache-test");
+    assertEquals(size + 1, MediaType.cacheSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptySubtype() {
+    MediaType.valueOf("text/");
+  }
+
   @Test
   public void acceptHeader() {
     List<MediaType> types = MediaType.valueOf("json", "html");
@@ -303,6 +303,20 @@ public class RequestForwardingTest {
             });
   }
 
+  @Test
+  public void bodyCallback() throws Exception {
+    Request.BodyCallback callback = (body, x) -> {
+    };
+    new MockUnit(Request.class)
+        .expect(unit -> {
+          Request req = unit.get(Request.class);
+          req.body(callback);
+        })
+        .run(unit -> {
+          new Request.Forwarding(unit.get(Request.class)).body(callback);
+        });
+  }
+
   @Test
   public void getInstance() throws Exception {
     Key<Object> key = Key.get(Object.class);
@@ -227,6 +227,40 @@ public class RequestTest {
     assertEquals(Arrays.asList(MediaType.json), dataList);
   }
 
+  @Test
+  public void bodyCallback() throws Exception {
+    new MockUnit(Mutant.class)
+        .run(unit -> {
+          LinkedList<Object> dataList = new LinkedList<>();
+          new RequestMock() {
+            @Override
+            public Mutant body() throws Exception {
+              return unit.get(Mutant.class);
+            }
+          }.body((body, x) -> {
+            dataList.add(body);
+            dataList.add(x);
+          });
+          assertEquals(Arrays.asList(unit.get(Mutant.class), null), dataList);
+        });
+  }
+
+  @Test
+  public void bodyCallbackErr() throws Exception {
+    IllegalStateException cause = new IllegalStateException("intentional err");
+    LinkedList<Object> dataList = new LinkedList<>();
+    new RequestMock() {
+      @Override
+      public Mutant body() throws Exception {
+        throw cause;
+      }
+    }.body((body, x) -> {
+      dataList.add(body);
+      dataList.add(x);
+    });
+    assertEquals(Arrays.asList(null, cause), dataList);
+  }
+
   @Test
   public void getInstance() throws Exception {
     LinkedList<Object> dataList = new LinkedList<>();
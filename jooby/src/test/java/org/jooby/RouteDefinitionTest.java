@@ -337,6 +337,15 @@ public class RouteDefinitionTest {
     assertTrue(Arrays.equals(new int[]{7 }, (int[]) r.attr("i")));
   }
 
+  @Test
+  public void attrsEmptyArray() throws Exception {
+    Function<String, Route.Definition> route = path -> new Route.Definition("*", path, () -> null);
+    Route.Definition r = route.apply("/")
+        .attr("tags", new String[0]);
+
+    assertTrue(Arrays.equals(new String[0], (String[]) r.attr("tags")));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void attrUnsupportedType() throws Exception {
     Function<String, Route.Definition> route = path -> new Route.Definition("*", path, () -> null);
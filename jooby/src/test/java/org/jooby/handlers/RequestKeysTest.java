@@ -0,0 +1,91 @@
+package org.jooby.handlers;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jooby.Mutant;
+import org.jooby.Request;
+import org.junit.Test;
+
+public class RequestKeysTest {
+
+  @Test
+  public void key() throws Exception {
+    assertEquals("GET 5:/pets&1:q1:x|6:accept1:*",
+        key("/pets", params("q", "x"), headers("Accept", "*")));
+  }
+
+  @Test
+  public void paramValueCanNotFakeSeparators() throws Exception {
+    // /pets?q=x%26y%3D1 vs /pets?q=x&y=1
+    assertNotEquals(key("/pets", params("q", "x&y=1"), headers()),
+        key("/pets", params("q", "x", "y", "1"), headers()));
+  }
+
+  @Test
+  public void pathCanNotFakeParams() throws Exception {
+    // /pets%3Fq=x vs /pets?q=x
+    assertNotEquals(key("/pets?q=x", params(), headers()),
+        key("/pets", params("q", "x"), headers()));
+  }
+
+  @Test
+  public void headerValueCanNotFakeHeaders() throws Exception {
+    assertNotEquals(
+        key("/pets", params(), headers("Accept", "a|accept-language=b", "Accept-Language", null)),
+        key("/pets", params(), headers("Accept", "a", "Accept-Language", "b")));
+  }
+
+  @Test
+  public void missingHeaderIsNotEmptyHeader() throws Exception {
+    assertNotEquals(key("/pets", params(), headers("Accept", null)),
+        key("/pets", params(), headers("Accept", "")));
+  }
+
+  private static String key(final String path, final Map<String, Mutant> params,
+      final Map<String, String> headers) {
+    Request req = createMock(Request.class);
+    expect(req.path()).andReturn(path);
+    Mutant mparams = createMock(Mutant.class);
+    expect(mparams.toMap()).andReturn(params);
+    expect(req.params()).andReturn(mparams);
+    headers.forEach((name, value) -> {
+      Mutant header = createMock(Mutant.class);
+      expect(header.toOptional()).andReturn(Optional.ofNullable(value));
+      expect(req.header(name)).andReturn(header);
+      replay(header);
+    });
+    replay(req, mparams);
+    return RequestKeys.key("GET ", req, new ArrayList<>(headers.keySet()));
+  }
+
+  private static Map<String, Mutant> params(final String... pairs) {
+    Map<String, Mutant> params = new LinkedHashMap<>();
+    for (int i = 0; i < pairs.length; i += 2) {
+      Mutant value = createMock(Mutant.class);
+      List<String> values = Collections.singletonList(pairs[i + 1]);
+      expect(value.toList()).andReturn(values);
+      replay(value);
+      params.put(pairs[i], value);
+    }
+    return params;
+  }
+
+  private static Map<String, String> headers(final String... pairs) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    for (int i = 0; i < pairs.length; i += 2) {
+      headers.put(pairs[i], pairs[i + 1]);
+    }
+    return headers;
+  }
+}
@@ -1,5 +1,7 @@
 package org.jooby.internal;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
@@ -17,6 +19,7 @@ import org.jooby.test.MockUnit;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
 
 public class AbstractRendererContextTest {
 
@@ -50,4 +53,52 @@ public class AbstractRendererContextTest {
         });
   }
 
+  @Test
+  public void sendTextWriter() throws Exception {
+    List<Object> sent = new ArrayList<>();
+    AbstractRendererContext ctx = context(sent, 16);
+    ctx.send(writer -> writer.write("hello"));
+    assertEquals(ImmutableList.of(5L, "hello"), sent);
+  }
+
+  @Test
+  public void sendLargeTextWriter() throws Exception {
+    List<Object> sent = new ArrayList<>();
+    AbstractRendererContext ctx = context(sent, 4);
+    ctx.send(writer -> writer.write("hello world"));
+    assertEquals(ImmutableList.of(11L, "hello world"), sent);
+  }
+
+  private AbstractRendererContext context(final List<Object> sent, final int bufferSize) {
+    return new AbstractRendererContext(Collections.emptyList(), ImmutableList.of(MediaType.html),
+        StandardCharsets.UTF_8, Collections.emptyMap(), bufferSize) {
+
+      @Override
+      public Renderer.Context length(final long length) {
+        sent.add(length);
+        return this;
+      }
+
+      @Override
+      protected void _send(final byte[] bytes) throws Exception {
+      }
+
+      @Override
+      protected void _send(final ByteBuffer buffer) throws Exception {
+        sent.add(new String(buffer.array(), buffer.position(), buffer.remaining(),
+            StandardCharsets.UTF_8));
+      }
+
+      @Override
+      protected void _send(final FileChannel file) throws Exception {
+      }
+
+      @Override
+      protected void _send(final InputStream stream) throws Exception {
+        sent.add(new String(ByteStreams.toByteArray(stream), StandardCharsets.UTF_8));
+      }
+
+    };
+  }
+
 }
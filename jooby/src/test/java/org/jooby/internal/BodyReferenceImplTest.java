@@ -1,6 +1,7 @@
 package org.jooby.internal;
 
 import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
@@ -86,4 +87,30 @@ public class BodyReferenceImplTest {
         });
   }
 
+  @Test
+  public void stream() throws Exception {
+    File file = new File("target", Integer.toHexString(System.identityHashCode(this)));
+    new MockUnit(InputStream.class)
+        .expect(unit -> {
+          Path path = file.toPath();
+
+          InputStream in = unit.get(InputStream.class);
+          in.close();
+
+          unit.mockStatic(Files.class);
+          expect(Files.copy(in, path)).andReturn(1L);
+
+          expect(Files.newInputStream(path)).andReturn(in);
+        })
+        .run(unit -> {
+          assertEquals(unit.get(InputStream.class),
+              new BodyReferenceImpl(1, null, file, unit.get(InputStream.class)).stream());
+        });
+  }
+
+  @Test
+  public void bytesStream() throws Exception {
+    assertEquals('a', new BodyReferenceImpl(null, new byte[]{'a' }).stream().read());
+  }
+
 }
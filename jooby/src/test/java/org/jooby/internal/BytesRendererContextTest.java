@@ -0,0 +1,66 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.jooby.Err;
+import org.jooby.MediaType;
+import org.jooby.Renderer;
+import org.jooby.Status;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class BytesRendererContextTest {
+
+  @Test
+  public void render() throws Exception {
+    Renderer skip = (value, ctx) -> {
+      if (ctx.accepts(MediaType.html)) {
+        ctx.send("html");
+      }
+    };
+    Renderer json = (value, ctx) -> {
+      if (ctx.accepts(MediaType.json)) {
+        ctx.send(writer -> writer.write("{\"v\":\"" + value + "\"}"));
+      }
+    };
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BytesRendererContext ctx = new BytesRendererContext(ImmutableList.of(skip, json),
+        MediaType.json, StandardCharsets.UTF_8, out);
+    ctx.render("a");
+    ctx.render("b");
+    assertEquals("{\"v\":\"a\"}{\"v\":\"b\"}", new String(out.toByteArray(),
+        StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void bytes() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BytesRendererContext(ImmutableList.of((value, ctx) -> ctx.send(new byte[]{'a' })),
+        MediaType.json, StandardCharsets.UTF_8, out).render("a");
+    new BytesRendererContext(ImmutableList.of(
+        (value, ctx) -> ctx.send(ByteBuffer.wrap(new byte[]{'x', 'b' }, 1, 1))),
+        MediaType.json, StandardCharsets.UTF_8, out).render("b");
+    new BytesRendererContext(ImmutableList.of(
+        (value, ctx) -> ctx.send(new ByteArrayInputStream(new byte[]{'c' }))),
+        MediaType.json, StandardCharsets.UTF_8, out).render("c");
+    assertEquals("abc", new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void notAcceptable() throws Exception {
+    try {
+      new BytesRendererContext(ImmutableList.of(), MediaType.json, StandardCharsets.UTF_8,
+          new ByteArrayOutputStream()).render("a");
+      fail();
+    } catch (Err ex) {
+      assertEquals(Status.NOT_ACCEPTABLE.value(), ex.statusCode());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class ChunkedBufferTest {
+
+  @Test
+  public void empty() throws Exception {
+    ChunkedBuffer buffer = new ChunkedBuffer(4);
+    assertEquals(0, buffer.size());
+    assertTrue(buffer.fits());
+    assertEquals(0, buffer.buffer().remaining());
+    assertEquals(0, ByteStreams.toByteArray(buffer.stream()).length);
+  }
+
+  @Test
+  public void fits() throws Exception {
+    ChunkedBuffer buffer = new ChunkedBuffer(4);
+    buffer.write("abc".getBytes(StandardCharsets.UTF_8));
+    buffer.write('d');
+    assertEquals(4, buffer.size());
+    assertTrue(buffer.fits());
+    ByteBuffer bytes = buffer.buffer();
+    assertEquals("abcd", new String(bytes.array(), bytes.position(), bytes.remaining(),
+        StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void chunks() throws Exception {
+    ChunkedBuffer buffer = new ChunkedBuffer(4);
+    buffer.write("abcdefghij".getBytes(StandardCharsets.UTF_8));
+    buffer.write('k');
+    assertEquals(11, buffer.size());
+    assertFalse(buffer.fits());
+    assertEquals("abcdefghijk",
+        new String(ByteStreams.toByteArray(buffer.stream()), StandardCharsets.UTF_8));
+    assertEquals("abcdefghijk", new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,91 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.jooby.Session;
+import org.junit.Test;
+
+public class CookieSessionCodecTest {
+
+  @Test
+  public void signed() throws Exception {
+    CookieSessionCodec codec = new CookieSessionCodec(Arrays.asList("secret"), false);
+    Session session = new SessionImpl.Builder(null, true, "sid", -1)
+        .set("user", "edgar")
+        .set("empty", "")
+        .set("ugly", "a=b&c|d:e")
+        .build();
+
+    String value = codec.encode(session);
+    assertTrue(value.startsWith(CookieSessionCodec.SIGNED));
+    assertTrue(codec.accept(value));
+    assertFalse(codec.accept("sid|xyz"));
+
+    Session decoded = codec.decode(value, null, -1);
+    assertEquals("sid", decoded.id());
+    assertEquals(session.createdAt(), decoded.createdAt());
+    assertEquals(session.attributes(), decoded.attributes());
+  }
+
+  @Test
+  public void encrypted() throws Exception {
+    CookieSessionCodec codec = new CookieSessionCodec(Arrays.asList("secret"), true);
+    Session session = new SessionImpl.Builder(null, true, "sid", -1)
+        .set("user", "edgar")
+        .build();
+
+    String value = codec.encode(session);
+    assertTrue(value.startsWith(CookieSessionCodec.ENCRYPTED));
+    assertFalse(value.contains("edgar"));
+
+    Session decoded = codec.decode(value, null, -1);
+    assertEquals("sid", decoded.id());
+    assertEquals(session.attributes(), decoded.attributes());
+  }
+
+  @Test
+  public void tampered() throws Exception {
+    CookieSessionCodec codec = new CookieSessionCodec(Arrays.asList("secret"), false);
+    Session session = new SessionImpl.Builder(null, true, "sid", -1)
+        .set("role", "user")
+        .build();
+
+    String value = codec.encode(session).replace("role=user", "role=admin");
+    assertNull(codec.decode(value, null, -1));
+  }
+
+  @Test
+  public void rotateSecret() throws Exception {
+    Session session = new SessionImpl.Builder(null, true, "sid", -1)
+        .set("user", "edgar")
+        .build();
+    String signed = new CookieSessionCodec(Arrays.asList("old"), false).encode(session);
+    String encrypted = new CookieSessionCodec(Arrays.asList("old"), true).encode(session);
+
+    CookieSessionCodec codec = new CookieSessionCodec(Arrays.asList("new", "old"), true);
+    assertEquals("edgar", codec.decode(signed, null, -1).attributes().get("user"));
+    assertEquals("edgar", codec.decode(encrypted, null, -1).attributes().get("user"));
+
+    CookieSessionCodec newOnly = new CookieSessionCodec(Arrays.asList("new"), true);
+    assertNull(newOnly.decode(signed, null, -1));
+    assertNull(newOnly.decode(encrypted, null, -1));
+  }
+
+  @Test
+  public void expired() throws Exception {
+    CookieSessionCodec codec = new CookieSessionCodec(Arrays.asList("secret"), false);
+    Session session = new SessionImpl.Builder(null, true, "sid", 1000)
+        .accessedAt(System.currentTimeMillis() - 2000)
+        .build();
+
+    String value = codec.encode(session);
+    assertNull(codec.decode(value, null, 1000));
+    assertEquals("sid", codec.decode(value, null, -1).id());
+  }
+
+}
@@ -19,8 +19,10 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jooby.MediaType;
+import org.jooby.Parser;
 import org.jooby.internal.parser.DateParser;
 import org.jooby.internal.parser.LocalDateParser;
 import org.jooby.internal.parser.LocaleParser;
@@ -126,6 +128,63 @@ public class ParamConverterTest {
     assertEquals(2014, calendar.get(Calendar.YEAR));
   }
 
+  @Test
+  public void shouldCallPassThroughParsersOnEveryConversion() throws Throwable {
+    AtomicInteger validated = new AtomicInteger();
+    Parser validate = (type, ctx) -> {
+      Object value = ctx.next();
+      validated.incrementAndGet();
+      return value;
+    };
+    ParserExecutor resolver = new ParserExecutor(createMock(Injector.class),
+        Sets.newLinkedHashSet(Arrays.asList(BuiltinParser.Basic, BuiltinParser.Collection,
+            validate, new StringConstructorParser())),
+        new StatusCodeProvider(ConfigFactory.empty()));
+
+    assertEquals(new StringBean("a"), resolver.convert(TypeLiteral.get(StringBean.class),
+        data("a")));
+    assertEquals(new StringBean("b"), resolver.convert(TypeLiteral.get(StringBean.class),
+        data("b")));
+    assertEquals(2, validated.get());
+  }
+
+  @Test
+  public void shouldSkipParsersWithoutCallbackForSource() throws Throwable {
+    AtomicInteger declined = new AtomicInteger();
+    AtomicInteger validated = new AtomicInteger();
+    Parser body = (type, ctx) -> {
+      declined.incrementAndGet();
+      return ctx.body(ref -> ref.text());
+    };
+    Parser validate = (type, ctx) -> {
+      Object value = ctx.next();
+      validated.incrementAndGet();
+      return value;
+    };
+    ParserExecutor resolver = new ParserExecutor(createMock(Injector.class),
+        Sets.newLinkedHashSet(Arrays.asList(BuiltinParser.Basic, BuiltinParser.Collection,
+            BuiltinParser.Optional, BuiltinParser.Enum, body, validate,
+            new StringConstructorParser())),
+        new StatusCodeProvider(ConfigFactory.empty()));
+
+    assertEquals(new StringBean("a"), resolver.convert(TypeLiteral.get(StringBean.class),
+        data("a")));
+    assertEquals(new StringBean("b"), resolver.convert(TypeLiteral.get(StringBean.class),
+        data("b")));
+    assertEquals(new StringBean("c"), resolver.convert(TypeLiteral.get(StringBean.class),
+        data("c")));
+    assertEquals(1, declined.get());
+    assertEquals(3, validated.get());
+  }
+
+  @Test
+  public void shouldConvertListOfInt() throws Throwable {
+    ParserExecutor resolver = newParser();
+    List<Integer> value = resolver.convert(TypeLiteral.get(Types.listOf(Integer.class)),
+        data("1", "2", "3"));
+    assertEquals(ImmutableList.of(1, 2, 3), value);
+  }
+
   private Object data(final String... value) {
     return new StrParamReferenceImpl("parameter", "test", ImmutableList.copyOf(value));
   }
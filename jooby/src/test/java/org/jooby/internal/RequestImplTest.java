@@ -7,10 +7,14 @@ import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
+import org.jooby.Cookie;
 import org.jooby.Err;
+import org.jooby.Mutant;
 import org.jooby.Route;
+import org.jooby.internal.parser.ParserExecutor;
 import org.jooby.spi.NativeRequest;
 import org.jooby.test.MockUnit;
 import org.jooby.test.MockUnit.Block;
@@ -18,7 +22,10 @@ import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.typesafe.config.ConfigFactory;
 
 public class RequestImplTest {
 
@@ -37,6 +44,13 @@ public class RequestImplTest {
     expect(req.header("Accept-Language")).andReturn(Optional.empty());
   };
 
+  private Block parser = unit -> {
+    Injector injector = unit.get(Injector.class);
+    expect(injector.getInstance(Key.get(ParserExecutor.class)))
+        .andReturn(new ParserExecutor(injector, ImmutableSet.of(BuiltinParser.Basic),
+            new StatusCodeProvider(ConfigFactory.empty())));
+  };
+
   @Test
   public void defaults() throws Exception {
     new MockUnit(Injector.class, NativeRequest.class, Route.class)
@@ -46,7 +60,7 @@ public class RequestImplTest {
         .run(unit -> {
           new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class), "/", 8080,
               unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH),
-              ImmutableMap.of(), ImmutableMap.of());
+              ImmutableMap.of(), ImmutableMap.of(), Long.MAX_VALUE);
         });
   }
 
@@ -65,7 +79,7 @@ public class RequestImplTest {
           RequestImpl req = new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class),
               "/", 8080,
               unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH), ImmutableMap.of(),
-              ImmutableMap.of());
+              ImmutableMap.of(), Long.MAX_VALUE);
           assertEquals(true, req.matches("/path/**"));
         });
   }
@@ -83,7 +97,7 @@ public class RequestImplTest {
           RequestImpl req = new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class),
               "/", 8080,
               unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH), ImmutableMap.of(),
-              ImmutableMap.of());
+              ImmutableMap.of(), Long.MAX_VALUE);
           assertEquals(Locale.ENGLISH, req.locale());
         });
   }
@@ -103,7 +117,7 @@ public class RequestImplTest {
           try {
             new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class), "/", 8080,
                 unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH), ImmutableMap.of(),
-                ImmutableMap.of()).param("f");
+                ImmutableMap.of(), Long.MAX_VALUE).param("f");
             fail("expecting error");
           } catch (Err ex) {
             assertEquals(400, ex.statusCode());
@@ -130,7 +144,7 @@ public class RequestImplTest {
           try {
             new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class), "/", 8080,
                 unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH), ImmutableMap.of(),
-                ImmutableMap.of()).params();
+                ImmutableMap.of(), Long.MAX_VALUE).params();
             fail("expecting error");
           } catch (Err ex) {
             assertEquals(400, ex.statusCode());
@@ -158,7 +172,7 @@ public class RequestImplTest {
           try {
             new RequestImpl(unit.get(Injector.class), unit.get(NativeRequest.class), "/", 8080,
                 unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH), ImmutableMap.of(),
-                ImmutableMap.of()).param("p");
+                ImmutableMap.of(), Long.MAX_VALUE).param("p");
             fail("expecting error");
           } catch (Err ex) {
             assertEquals(400, ex.statusCode());
@@ -167,4 +181,57 @@ public class RequestImplTest {
         });
   }
 
+  @Test
+  public void headerIsResolvedOnce() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(accept)
+        .expect(acceptLan)
+        .expect(contentType)
+        .expect(parser)
+        .expect(unit -> {
+          NativeRequest req = unit.get(NativeRequest.class);
+          expect(req.headers("X-Value")).andReturn(ImmutableList.of("v"));
+          expect(req.headerNames()).andReturn(ImmutableList.of("X-Value")).times(2);
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), "/", 8080,
+              unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH),
+              ImmutableMap.of(), ImmutableMap.of(), Long.MAX_VALUE);
+          assertEquals("v", req.header("X-Value").value());
+          assertEquals("v", req.header("x-value").value());
+          assertEquals("v", req.headers().get("X-Value").value());
+          Map<String, Mutant> headers = req.headers();
+          assertEquals(ImmutableSet.of("X-Value"), headers.keySet());
+          // headers is a copy
+          headers.remove("X-Value");
+          assertEquals("v", req.header("X-Value").value());
+        });
+  }
+
+  @Test
+  public void cookiesAreResolvedOnce() throws Exception {
+    new MockUnit(Injector.class, NativeRequest.class, Route.class)
+        .expect(accept)
+        .expect(acceptLan)
+        .expect(contentType)
+        .expect(parser)
+        .expect(unit -> {
+          NativeRequest req = unit.get(NativeRequest.class);
+          expect(req.cookies()).andReturn(ImmutableList.of(
+              new Cookie.Definition("a", "1").toCookie(),
+              new Cookie.Definition("b", "2").toCookie()));
+        })
+        .run(unit -> {
+          RequestImpl req = new RequestImpl(unit.get(Injector.class),
+              unit.get(NativeRequest.class), "/", 8080,
+              unit.get(Route.class), StandardCharsets.UTF_8, ImmutableList.of(Locale.ENGLISH),
+              ImmutableMap.of(), ImmutableMap.of(), Long.MAX_VALUE);
+          assertEquals("1", req.cookie("a").value());
+          assertEquals("2", req.cookie("b").value());
+          assertEquals(false, req.cookie("c").isSet());
+          assertEquals(2, req.cookies().size());
+        });
+  }
+
 }
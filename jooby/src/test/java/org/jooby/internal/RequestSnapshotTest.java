@@ -0,0 +1,106 @@
+package org.jooby.internal;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.jooby.Cookie;
+import org.jooby.Mutant;
+import org.jooby.Request;
+import org.jooby.Route;
+import org.jooby.test.MockUnit;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+
+public class RequestSnapshotTest {
+
+  @Test
+  public void snapshot() throws Exception {
+    new MockUnit(Request.class, Route.class, Cookie.class)
+        .expect(unit -> {
+          Request req = unit.get(Request.class);
+          expect(req.method()).andReturn("GET");
+          expect(req.contextPath()).andReturn("/app");
+          expect(req.path()).andReturn("/pets/1");
+
+          Mutant q = unit.mock(Mutant.class);
+          expect(q.toList()).andReturn(Arrays.asList("a", "b"));
+          Mutant id = unit.mock(Mutant.class);
+          Mutant params = unit.mock(Mutant.class);
+          expect(params.toMap()).andReturn(ImmutableMap.of("q", q, "id", id));
+          expect(req.params()).andReturn(params);
+
+          Route route = unit.get(Route.class);
+          expect(route.vars()).andReturn(ImmutableMap.of("id", "1")).times(2);
+          expect(req.route()).andReturn(route).times(2);
+
+          Mutant accept = unit.mock(Mutant.class);
+          expect(accept.toList()).andReturn(Arrays.asList("text/html"));
+          expect(req.headers()).andReturn(ImmutableMap.of("Accept", accept));
+
+          expect(req.cookies()).andReturn(Arrays.asList(unit.get(Cookie.class)));
+          expect(req.ip()).andReturn("127.0.0.1");
+          expect(req.protocol()).andReturn("HTTP/1.1");
+          expect(req.secure()).andReturn(true);
+        })
+        .run(unit -> {
+          RequestSnapshot snapshot = new RequestSnapshot(unit.get(Request.class));
+          assertEquals("GET", snapshot.method());
+          assertEquals("/app/pets/1", snapshot.path());
+          assertEquals(Arrays.asList("q"), snapshot.paramNames());
+          assertEquals(Arrays.asList("a", "b"), snapshot.params("q"));
+          assertEquals(Collections.emptyList(), snapshot.params("id"));
+          assertEquals(Arrays.asList("Accept"), snapshot.headerNames());
+          assertEquals(Optional.of("text/html"), snapshot.header("accept"));
+          assertEquals(Collections.emptyList(), snapshot.headers("X"));
+          assertEquals(Arrays.asList(unit.get(Cookie.class)), snapshot.cookies());
+          assertEquals(Collections.emptyList(), snapshot.files("f"));
+          assertEquals(0, ByteStreams.toByteArray(snapshot.in()).length);
+          assertEquals("127.0.0.1", snapshot.ip());
+          assertEquals("HTTP/1.1", snapshot.protocol());
+          assertTrue(snapshot.secure());
+          snapshot.startAsync();
+          assertFalse(snapshot.headers("Accept").isEmpty());
+        });
+  }
+
+  @Test
+  public void withoutCredentials() throws Exception {
+    new MockUnit(Request.class, Route.class)
+        .expect(unit -> {
+          Request req = unit.get(Request.class);
+          expect(req.method()).andReturn("GET");
+          expect(req.contextPath()).andReturn("");
+          expect(req.path()).andReturn("/pets");
+
+          Mutant params = unit.mock(Mutant.class);
+          expect(params.toMap()).andReturn(ImmutableMap.of());
+          expect(req.params()).andReturn(params);
+
+          Mutant accept = unit.mock(Mutant.class);
+          expect(accept.toList()).andReturn(Arrays.asList("text/html"));
+          Mutant auth = unit.mock(Mutant.class);
+          Mutant cookie = unit.mock(Mutant.class);
+          expect(req.headers()).andReturn(ImmutableMap.of("Accept", accept,
+              "Authorization", auth, "Cookie", cookie));
+
+          expect(req.ip()).andReturn("127.0.0.1");
+          expect(req.protocol()).andReturn("HTTP/1.1");
+          expect(req.secure()).andReturn(false);
+        })
+        .run(unit -> {
+          RequestSnapshot snapshot = new RequestSnapshot(unit.get(Request.class), false);
+          assertEquals(Arrays.asList("Accept"), snapshot.headerNames());
+          assertEquals(Optional.empty(), snapshot.header("Authorization"));
+          assertEquals(Collections.emptyList(), snapshot.cookies());
+        });
+  }
+
+}
@@ -0,0 +1,62 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ResponseCaptureTest {
+
+  @Test
+  public void capture() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    ResponseCapture rsp = new ResponseCapture(it -> {
+      calls.incrementAndGet();
+      assertEquals(201, it.statusCode());
+      assertEquals(Optional.of("text/plain"), it.header("content-type"));
+      assertEquals(Arrays.asList("a", "b"), it.headers("X"));
+      assertArrayEquals("abc".getBytes(), it.body());
+    });
+    assertFalse(rsp.committed());
+    rsp.statusCode(201);
+    rsp.header("Content-Type", "text/plain");
+    rsp.header("X", Arrays.asList("a", "b"));
+    rsp.send("a".getBytes());
+    assertTrue(rsp.committed());
+    rsp.send(ByteBuffer.wrap("b".getBytes()));
+    rsp.send(new ByteArrayInputStream("c".getBytes()));
+    rsp.end();
+    rsp.end();
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void reset() throws Exception {
+    ResponseCapture rsp = new ResponseCapture(it -> {
+    });
+    rsp.statusCode(500);
+    rsp.header("X", "x");
+    rsp.send("x".getBytes());
+    rsp.reset();
+    assertEquals(200, rsp.statusCode());
+    assertEquals(Optional.empty(), rsp.header("X"));
+    assertEquals(0, rsp.body().length);
+    assertFalse(rsp.committed());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void callbackErr() throws Exception {
+    new ResponseCapture(it -> {
+      throw new java.io.IOException("intentional err");
+    }).end();
+  }
+
+}
@@ -240,4 +240,104 @@ public class RouteMetadataTest {
         });
   }
 
+  @Test
+  public void index() throws Exception {
+    java.util.Properties index = RouteMetadata
+        .index(com.google.common.collect.ImmutableList.of(Mvc.class));
+    String prefix = Mvc.class.getName() + "#";
+    assertEquals("v,u", index.getProperty(prefix + "arg(DI)V.params"));
+    assertEquals("55", index.getProperty(prefix + "arg(DI)V.startAt"));
+    assertEquals("", index.getProperty(prefix + "noarg()V.params"));
+    org.junit.Assert.assertTrue(index.getProperty(prefix + ".fingerprint")
+        .matches("\\d+:[0-9a-f]+"));
+  }
+
+  @Test
+  public void withIndex() throws Exception {
+    java.util.Properties index = new java.util.Properties();
+    index.setProperty(Mvc.class.getName() + "#arg(Ljava/lang/String;)V.params", "y");
+    index.setProperty(Mvc.class.getName() + "#arg(Ljava/lang/String;)V.startAt", "7");
+    index.setProperty(Mvc.class.getName() + "#arg(DI)V.params", ",u");
+    index.setProperty(Mvc.class.getName() + "#noarg()V.params", "");
+    index.setProperty(Mvc.class.getName() + "#.fingerprint", fingerprint(Mvc.class));
+    new MockUnit(Config.class)
+        .expect(unit -> {
+          Config config = unit.get(Config.class);
+          expect(config.hasPath("application.env")).andReturn(true);
+          expect(config.getString("application.env")).andReturn("prod");
+        })
+        .run(unit -> {
+          RouteMetadata ci = new RouteMetadata(Env.DEFAULT.build(unit.get(Config.class)), index);
+          Method m = Mvc.class.getDeclaredMethod("arg", String.class);
+          assertArrayEquals(new String[]{"y" }, ci.names(m));
+          assertEquals(7, ci.startAt(m));
+          assertArrayEquals(new String[]{null, "u" },
+              ci.names(Mvc.class.getDeclaredMethod("arg", double.class, int.class)));
+          assertArrayEquals(new String[0], ci.names(Mvc.class.getDeclaredMethod("noarg")));
+        });
+  }
+
+  @Test
+  public void ignoreStaleIndex() throws Exception {
+    java.util.Properties index = new java.util.Properties();
+    index.setProperty(Mvc.class.getName() + "#arg(Ljava/lang/String;)V.params", "y");
+    index.setProperty(Mvc.class.getName() + "#.fingerprint", "1:0");
+    new MockUnit(Config.class)
+        .expect(unit -> {
+          Config config = unit.get(Config.class);
+          expect(config.hasPath("application.env")).andReturn(true);
+          expect(config.getString("application.env")).andReturn("prod");
+        })
+        .run(unit -> {
+          RouteMetadata ci = new RouteMetadata(Env.DEFAULT.build(unit.get(Config.class)), index);
+          Method m = Mvc.class.getDeclaredMethod("arg", String.class);
+          assertArrayEquals(new String[]{"x" }, ci.names(m));
+        });
+  }
+
+  @Test
+  public void ignoreIndexOnDev() throws Exception {
+    java.util.Properties index = new java.util.Properties();
+    index.setProperty(Mvc.class.getName() + "#arg(Ljava/lang/String;)V.params", "y");
+    new MockUnit(Config.class)
+        .expect(unit -> {
+          Config config = unit.get(Config.class);
+          expect(config.hasPath("application.env")).andReturn(true);
+          expect(config.getString("application.env")).andReturn("dev");
+        })
+        .run(unit -> {
+          RouteMetadata ci = new RouteMetadata(Env.DEFAULT.build(unit.get(Config.class)), index);
+          Method m = Mvc.class.getDeclaredMethod("arg", String.class);
+          assertArrayEquals(new String[]{"x" }, ci.names(m));
+        });
+  }
+
+  @Test
+  public void jarFingerprint() throws Exception {
+    String classfile = Mvc.class.getName().replace('.', '/') + ".class";
+    URL url = Resources.getResource(classfile);
+    java.io.File jar = java.io.File.createTempFile("mvc", ".jar");
+    jar.deleteOnExit();
+    try (java.util.jar.JarOutputStream out = new java.util.jar.JarOutputStream(
+        new java.io.FileOutputStream(jar))) {
+      out.putNextEntry(new java.util.jar.JarEntry(classfile));
+      Resources.copy(url, out);
+      out.closeEntry();
+    }
+    assertEquals(RouteMetadata.fingerprint(url),
+        RouteMetadata.fingerprint(new URL("jar:" + jar.toURI() + "!/" + classfile)));
+  }
+
+  @Test
+  public void indexName() {
+    assertEquals("org/jooby/Jooby.routes", RouteMetadata.indexName("org.jooby.Jooby"));
+    assertEquals("org/jooby/internal/RouteMetadataTest$Mvc.routes",
+        RouteMetadata.indexName(Mvc.class.getName()));
+  }
+
+  private static String fingerprint(final Class<?> owner) {
+    return RouteMetadata.index(com.google.common.collect.ImmutableList.of(owner))
+        .getProperty(owner.getName() + "#.fingerprint");
+  }
+
 }
@@ -0,0 +1,106 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.jooby.Registry;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Binder;
+import com.typesafe.config.Config;
+
+import javaslang.control.Try.CheckedConsumer;
+
+public class StartTasksTest {
+
+  public static class A implements Jooby.Module {
+    @Override
+    public void configure(final Env env, final Config conf, final Binder binder) {
+    }
+  }
+
+  public static class B extends A {
+  }
+
+  @Test
+  public void sequential() throws Throwable {
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    new StartTasks(Arrays.asList(r -> calls.add("1"), r -> calls.add("2"), r -> calls.add("3")),
+        new StartupProfiler()).run(null);
+    assertEquals(Arrays.asList("1", "2", "3"), calls);
+  }
+
+  @Test
+  public void parallel() throws Throwable {
+    CountDownLatch latch = new CountDownLatch(2);
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    CheckedConsumer<Registry> a = r -> {
+      latch.countDown();
+      // wait for B, fail if B never runs concurrently
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      calls.add("a");
+    };
+    CheckedConsumer<Registry> b = r -> {
+      latch.countDown();
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      calls.add("b");
+    };
+    CheckedConsumer<Registry> app = r -> calls.add("app");
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.module(new A(), 0, Arrays.asList(a));
+    profiler.module(new B(), 0, Arrays.asList(b));
+    new StartTasks(Arrays.asList(a, b, app), profiler).run(null, ImmutableMap.of());
+    assertEquals(3, calls.size());
+    assertEquals("app", calls.get(2));
+  }
+
+  @Test
+  public void parallelWithDependencies() throws Throwable {
+    List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    CheckedConsumer<Registry> a1 = r -> calls.add("a1");
+    CheckedConsumer<Registry> a2 = r -> calls.add("a2");
+    CheckedConsumer<Registry> b = r -> calls.add("b");
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.module(new A(), 0, Arrays.asList(a1, a2));
+    profiler.module(new B(), 0, Arrays.asList(b));
+    new StartTasks(Arrays.asList(a1, a2, b), profiler)
+        .run(null, ImmutableMap.of(A.class.getName(), Arrays.asList(B.class.getName())));
+    assertEquals(Arrays.asList("b", "a1", "a2"), calls);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void circularDependencies() throws Throwable {
+    CheckedConsumer<Registry> a = r -> {
+    };
+    CheckedConsumer<Registry> b = r -> {
+    };
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.module(new A(), 0, Arrays.asList(a));
+    profiler.module(new B(), 0, Arrays.asList(b));
+    new StartTasks(Arrays.asList(a, b), profiler)
+        .run(null, ImmutableMap.of(A.class.getName(), Arrays.asList(B.class.getName()),
+            B.class.getName(), Arrays.asList(A.class.getName())));
+  }
+
+  @Test(expected = IOException.class)
+  public void parallelFailure() throws Throwable {
+    CheckedConsumer<Registry> a = r -> {
+      throw new IOException("intentional err");
+    };
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.module(new A(), 0, Arrays.asList(a));
+    new StartTasks(Arrays.asList(a), profiler).run(null, ImmutableMap.of());
+  }
+
+}
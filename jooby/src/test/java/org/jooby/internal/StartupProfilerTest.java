@@ -0,0 +1,60 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jooby.Env;
+import org.jooby.Jooby;
+import org.junit.Test;
+
+import com.google.inject.Binder;
+import com.typesafe.config.Config;
+
+public class StartupProfilerTest {
+
+  public static class Mod implements Jooby.Module {
+    @Override
+    public void configure(final Env env, final Config conf, final Binder binder) {
+    }
+  }
+
+  @Test
+  public void print() {
+    Runnable task = () -> {
+    };
+    Runnable appTask = () -> {
+    };
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.module(new Mod(), 3, Arrays.asList(task));
+    profiler.injector(25);
+    profiler.onStart(task, 120);
+    profiler.onStart(appTask, 1);
+    assertEquals("  configure org.jooby.internal.StartupProfilerTest$Mod      3ms\n" +
+        "  injector                                                 25ms\n" +
+        "  onStart   org.jooby.internal.StartupProfilerTest$Mod    120ms\n" +
+        "  onStart   org.jooby.internal.StartupProfilerTest          1ms\n", profiler.toString());
+  }
+
+  @Test
+  public void owner() {
+    Runnable task = () -> {
+    };
+    StartupProfiler profiler = new StartupProfiler();
+    assertNull(profiler.owner(task));
+    profiler.module(new Mod(), 0, Arrays.asList(task));
+    assertEquals("org.jooby.internal.StartupProfilerTest$Mod", profiler.owner(task));
+  }
+
+  @Test
+  public void lambdaName() {
+    StartupProfiler profiler = new StartupProfiler();
+    Jooby.Module module = (env, conf, binder) -> {
+    };
+    profiler.module(module, 0, Collections.emptyList());
+    assertEquals("org.jooby.internal.StartupProfilerTest", profiler.name(module));
+  }
+
+}
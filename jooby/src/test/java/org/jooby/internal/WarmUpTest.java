@@ -0,0 +1,184 @@
+package org.jooby.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jooby.Readiness;
+import org.jooby.Registry;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.name.Names;
+
+import javaslang.control.Try.CheckedConsumer;
+
+public class WarmUpTest {
+
+  static final AtomicInteger eager = new AtomicInteger();
+
+  static final AtomicInteger deferred = new AtomicInteger();
+
+  public static class EagerService {
+    public EagerService() {
+      eager.incrementAndGet();
+    }
+  }
+
+  public static class DeferredService {
+    public DeferredService() {
+      deferred.incrementAndGet();
+    }
+  }
+
+  public static class EagerModule implements Module {
+    @Override
+    public void configure(final Binder binder) {
+      binder.bind(EagerService.class).in(javax.inject.Singleton.class);
+    }
+  }
+
+  public static class DeferredModule implements Module {
+    @Override
+    public void configure(final Binder binder) {
+      binder.bind(DeferredService.class).in(javax.inject.Singleton.class);
+      binder.bind(Integer.class).toInstance(1);
+      binder.bind(String.class).annotatedWith(Names.named("d")).toProvider(() -> {
+        deferred.incrementAndGet();
+        return "d";
+      }).in(javax.inject.Singleton.class);
+    }
+  }
+
+  public static class EagerDeferredModule implements Module {
+    @Override
+    public void configure(final Binder binder) {
+      binder.bind(DeferredService.class).asEagerSingleton();
+    }
+  }
+
+  @Test
+  public void warmup() throws Exception {
+    eager.set(0);
+    deferred.set(0);
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new EagerModule(),
+        new DeferredModule());
+    assertEquals(0, eager.get());
+    assertEquals(0, deferred.get());
+
+    Readiness readiness = new Readiness(false);
+    WarmUp warmup = new WarmUp(injector, ImmutableSet.of(DeferredModule.class.getName()),
+        readiness);
+    warmup.eager();
+    assertEquals(1, eager.get());
+    assertEquals(0, deferred.get());
+    assertFalse(readiness.isReady());
+
+    warmup.start().join();
+    assertEquals(1, eager.get());
+    assertEquals(2, deferred.get());
+    assertTrue(readiness.isReady());
+  }
+
+  @Test
+  public void readinessOnFailure() throws Exception {
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, binder -> {
+      binder.bind(String.class).toProvider(() -> {
+        throw new IllegalStateException("intentional err");
+      }).in(javax.inject.Singleton.class);
+    });
+    Readiness readiness = new Readiness(false);
+    WarmUp warmup = new WarmUp(injector, ImmutableSet.of(getClass().getName()), readiness);
+    warmup.eager();
+    warmup.run();
+    assertFalse(readiness.isReady());
+    assertEquals("intentional err", readiness.failure().get().getMessage());
+    assertEquals("failed: intentional err", readiness.toString());
+  }
+
+  @Test
+  public void deferOnStartOfDeferredModules() throws Exception {
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new EagerModule(),
+        new DeferredModule());
+    Readiness readiness = new Readiness(false);
+    WarmUp warmup = new WarmUp(injector, ImmutableSet.of(DeferredModule.class.getName()),
+        readiness);
+    List<String> started = new ArrayList<>();
+    CheckedConsumer<Registry> appTask = registry -> started.add("app");
+    CheckedConsumer<Registry> eagerTask = registry -> started.add("eager");
+    CheckedConsumer<Registry> deferredTask = registry -> {
+      assertTrue(deferredStarted(registry));
+      started.add("deferred");
+    };
+    Map<Object, String> owners = new IdentityHashMap<>();
+    owners.put(eagerTask, EagerModule.class.getName());
+    owners.put(deferredTask, DeferredModule.class.getName());
+    Registry registry = new Registry() {
+      @Override
+      public <T> T require(final Key<T> type) {
+        return injector.getInstance(type);
+      }
+    };
+
+    assertEquals(ImmutableList.of(appTask, eagerTask),
+        warmup.onStart(ImmutableList.of(appTask, eagerTask, deferredTask), owners::get, registry));
+    assertEquals(ImmutableList.of(), started);
+
+    warmup.eager();
+    warmup.run();
+    assertEquals(ImmutableList.of("deferred"), started);
+    assertTrue(readiness.isReady());
+  }
+
+  @Test
+  public void readinessOnStartFailure() throws Exception {
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new DeferredModule());
+    Readiness readiness = new Readiness(false);
+    WarmUp warmup = new WarmUp(injector, ImmutableSet.of(DeferredModule.class.getName()),
+        readiness);
+    CheckedConsumer<Registry> deferredTask = registry -> {
+      throw new IllegalStateException("intentional err");
+    };
+    warmup.onStart(ImmutableList.of(deferredTask), task -> DeferredModule.class.getName(), null);
+    warmup.run();
+    assertFalse(readiness.isReady());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void eagerSingletonOfDeferredModule() throws Exception {
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT, new EagerModule(),
+        new EagerDeferredModule());
+    new WarmUp(injector, ImmutableSet.of(EagerDeferredModule.class.getName()),
+        new Readiness(false));
+  }
+
+  @Test
+  public void eagerSingletonOfNonDeferredModule() throws Exception {
+    Injector injector = Guice.createInjector(Stage.DEVELOPMENT,
+        binder -> binder.bind(EagerService.class).asEagerSingleton(), new DeferredModule());
+    Readiness readiness = new Readiness(false);
+    WarmUp warmup = new WarmUp(injector, ImmutableSet.of(DeferredModule.class.getName()),
+        readiness);
+    warmup.eager();
+    warmup.run();
+    assertTrue(readiness.isReady());
+  }
+
+  private static boolean deferredStarted(final Registry registry) {
+    return registry.require(Key.get(String.class, Names.named("d"))).equals("d");
+  }
+
+}
@@ -26,6 +26,7 @@ import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContexts;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.impl.client.BasicCookieStore;
@@ -115,6 +116,11 @@ public class Client extends ExternalResource {
       return this;
     }
 
+    public Request body(final byte[] body, final String type) {
+      req.body(new ByteArrayEntity(body, ContentType.parse(type)));
+      return this;
+    }
+
   }
 
   public static class Body {